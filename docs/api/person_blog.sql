@@ -77,6 +77,7 @@ CREATE TABLE tb_category (
     is_delete TINYINT DEFAULT 0 COMMENT '是否删除：0-未删除，1-已删除',
     
     INDEX idx_parent_id (parent_id),
+    INDEX idx_path (path),
     INDEX idx_slug (slug),
     INDEX idx_status (status),
     INDEX idx_sort_order (sort_order),
@@ -113,8 +114,11 @@ CREATE TABLE tb_article (
     title VARCHAR(255) NOT NULL COMMENT '文章标题',
     slug VARCHAR(255) UNIQUE COMMENT '文章别名（URL友好）',
     summary TEXT COMMENT '文章摘要',
-    content LONGTEXT NOT NULL COMMENT '文章内容（Markdown格式）',
-    content_html LONGTEXT COMMENT '文章HTML内容',
+    content LONGBLOB NOT NULL COMMENT '文章内容（Markdown格式，压缩存储，兼容未压缩的UTF-8原文）',
+    content_html LONGBLOB COMMENT '文章HTML内容（压缩存储，兼容未压缩的UTF-8原文）',
+    content_toc TEXT COMMENT '文章目录（JSON格式）',
+    content_hash CHAR(64) COMMENT '已渲染内容的SHA-256摘要',
+    render_version INT COMMENT '渲染规则版本，NULL表示尚未渲染',
     cover_image VARCHAR(500) COMMENT '封面图片URL',
     author_id BIGINT NOT NULL COMMENT '作者ID',
     category_id BIGINT NOT NULL COMMENT '分类ID',
@@ -149,9 +153,9 @@ CREATE TABLE tb_article (
     INDEX idx_view_count (view_count),
     INDEX idx_like_count (like_count),
     INDEX idx_create_time (create_time),
+    INDEX idx_update_time (update_time),
     INDEX idx_is_delete (is_delete),
     INDEX idx_slug (slug),
-    FULLTEXT KEY ft_title_content (title, content),
     
     FOREIGN KEY (author_id) REFERENCES tb_user(id) ON DELETE RESTRICT,
     FOREIGN KEY (category_id) REFERENCES tb_category(id) ON DELETE RESTRICT
@@ -175,6 +179,51 @@ CREATE TABLE tb_article_tag (
     FOREIGN KEY (tag_id) REFERENCES tb_tag(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章标签关联表';
 
+-- 文章卡片表（列表读模型，仅保存已发布文章的列表字段，由文章、分类、标签写操作同步）
+CREATE TABLE tb_article_card (
+    article_id BIGINT PRIMARY KEY COMMENT '文章ID',
+    title VARCHAR(255) NOT NULL COMMENT '文章标题',
+    summary VARCHAR(500) COMMENT '文章摘要（截断）',
+    cover_image VARCHAR(500) COMMENT '封面图片URL',
+    author_id BIGINT COMMENT '作者ID',
+    category_id BIGINT COMMENT '分类ID',
+    category_name VARCHAR(100) COMMENT '分类名称',
+    tag_names VARCHAR(1000) COMMENT '标签名称（JSON数组）',
+    is_top TINYINT DEFAULT 0 COMMENT '是否置顶：0-否，1-是',
+    is_recommend TINYINT DEFAULT 0 COMMENT '是否推荐：0-否，1-是',
+    view_count INT DEFAULT 0 COMMENT '浏览次数',
+    like_count INT DEFAULT 0 COMMENT '点赞次数',
+    comment_count INT DEFAULT 0 COMMENT '评论次数',
+    collect_count INT DEFAULT 0 COMMENT '收藏次数',
+    word_count INT DEFAULT 0 COMMENT '字数统计',
+    reading_time INT DEFAULT 0 COMMENT '预计阅读时间（分钟）',
+    published_time DATETIME COMMENT '发布时间',
+    create_time DATETIME COMMENT '文章创建时间',
+    update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '卡片同步时间',
+    
+    INDEX idx_top_time (is_top, create_time, article_id),
+    INDEX idx_category_top_time (category_id, is_top, create_time, article_id),
+    INDEX idx_hot (view_count, like_count),
+    INDEX idx_recommend (is_recommend, view_count),
+    INDEX idx_published_time (published_time, create_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章卡片表';
+
+-- 文章修订表（正文历史，快照与差量均经Deflate压缩）
+CREATE TABLE tb_article_revision (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '修订ID',
+    article_id BIGINT NOT NULL COMMENT '文章ID',
+    revision_no INT NOT NULL COMMENT '修订号（文章内从1递增）',
+    snapshot_no INT NOT NULL COMMENT '恢复所需的最近快照修订号',
+    is_snapshot TINYINT NOT NULL DEFAULT 0 COMMENT '是否快照：0-相对上一修订的差量，1-完整快照',
+    payload MEDIUMBLOB NOT NULL COMMENT '压缩后的快照或差量',
+    content_length INT DEFAULT 0 COMMENT '正文字符数',
+    content_hash CHAR(64) NOT NULL COMMENT '正文SHA-256',
+    source TINYINT NOT NULL DEFAULT 1 COMMENT '来源：1-自动保存，2-保存文章，3-恢复修订',
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    
+    UNIQUE KEY uk_article_revision (article_id, revision_no)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章修订表';
+
 -- ================================================
 -- 3. 互动模块
 -- ================================================
@@ -214,6 +263,8 @@ CREATE TABLE tb_comment (
     INDEX idx_author_ip (author_ip),
     INDEX idx_create_time (create_time),
     INDEX idx_is_delete (is_delete),
+    INDEX idx_article_sticky_time (article_id, status, is_delete, is_sticky, create_time, id),
+    INDEX idx_article_path (article_id, path(191)),
     
     FOREIGN KEY (article_id) REFERENCES tb_article(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='评论表';
@@ -0,0 +1,13 @@
+-- ================================================
+-- 个人博客系统数据库升级脚本（v1.0 -> v1.1）：文章更新时间索引
+-- ================================================
+-- 数据库版本: MySQL 8.0+
+-- 字符集: utf8mb4
+-- 适用范围: 已按 person_blog.sql v1.0 建库的存量环境，按文件名序号依次执行；新环境直接执行 person_blog.sql 即可
+-- ================================================
+
+USE person_blog;
+
+-- 检索索引按更新时间追赶变更
+ALTER TABLE tb_article
+    ADD INDEX idx_update_time (update_time);
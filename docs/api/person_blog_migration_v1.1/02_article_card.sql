@@ -0,0 +1,41 @@
+-- ================================================
+-- 个人博客系统数据库升级脚本（v1.0 -> v1.1）：文章卡片表
+-- ================================================
+-- 数据库版本: MySQL 8.0+
+-- 字符集: utf8mb4
+-- 适用范围: 已按 person_blog.sql v1.0 建库的存量环境，按文件名序号依次执行；新环境直接执行 person_blog.sql 即可
+-- ================================================
+-- 说明:
+-- 1. 卡片在应用启动时自动回填，无需手工导数
+-- ================================================
+
+USE person_blog;
+
+-- 文章卡片表（列表读模型，仅保存已发布文章的列表字段，由文章、分类、标签写操作同步）
+CREATE TABLE IF NOT EXISTS tb_article_card (
+    article_id BIGINT PRIMARY KEY COMMENT '文章ID',
+    title VARCHAR(255) NOT NULL COMMENT '文章标题',
+    summary VARCHAR(500) COMMENT '文章摘要（截断）',
+    cover_image VARCHAR(500) COMMENT '封面图片URL',
+    author_id BIGINT COMMENT '作者ID',
+    category_id BIGINT COMMENT '分类ID',
+    category_name VARCHAR(100) COMMENT '分类名称',
+    tag_names VARCHAR(1000) COMMENT '标签名称（JSON数组）',
+    is_top TINYINT DEFAULT 0 COMMENT '是否置顶：0-否，1-是',
+    is_recommend TINYINT DEFAULT 0 COMMENT '是否推荐：0-否，1-是',
+    view_count INT DEFAULT 0 COMMENT '浏览次数',
+    like_count INT DEFAULT 0 COMMENT '点赞次数',
+    comment_count INT DEFAULT 0 COMMENT '评论次数',
+    collect_count INT DEFAULT 0 COMMENT '收藏次数',
+    word_count INT DEFAULT 0 COMMENT '字数统计',
+    reading_time INT DEFAULT 0 COMMENT '预计阅读时间（分钟）',
+    published_time DATETIME COMMENT '发布时间',
+    create_time DATETIME COMMENT '文章创建时间',
+    update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '卡片同步时间',
+
+    INDEX idx_top_time (is_top, create_time, article_id),
+    INDEX idx_category_top_time (category_id, is_top, create_time, article_id),
+    INDEX idx_hot (view_count, like_count),
+    INDEX idx_recommend (is_recommend, view_count),
+    INDEX idx_published_time (published_time, create_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章卡片表';
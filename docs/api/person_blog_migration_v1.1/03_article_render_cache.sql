@@ -0,0 +1,18 @@
+-- ================================================
+-- 个人博客系统数据库升级脚本（v1.0 -> v1.1）：文章渲染缓存
+-- ================================================
+-- 数据库版本: MySQL 8.0+
+-- 字符集: utf8mb4
+-- 适用范围: 已按 person_blog.sql v1.0 建库的存量环境，按文件名序号依次执行；新环境直接执行 person_blog.sql 即可
+-- ================================================
+-- 说明:
+-- 1. 渲染结果在应用启动时自动回填，无需手工导数
+-- ================================================
+
+USE person_blog;
+
+-- 文章目录与渲染摘要，摘要与渲染规则版本均未变化时跳过重新渲染
+ALTER TABLE tb_article
+    ADD COLUMN content_toc TEXT COMMENT '文章目录（JSON格式）' AFTER content_html,
+    ADD COLUMN content_hash CHAR(64) COMMENT '已渲染内容的SHA-256摘要' AFTER content_toc,
+    ADD COLUMN render_version INT COMMENT '渲染规则版本，NULL表示尚未渲染' AFTER content_hash;
@@ -0,0 +1,25 @@
+-- ================================================
+-- 个人博客系统数据库升级脚本（v1.0 -> v1.1）：文章修订表
+-- ================================================
+-- 数据库版本: MySQL 8.0+
+-- 字符集: utf8mb4
+-- 适用范围: 已按 person_blog.sql v1.0 建库的存量环境，按文件名序号依次执行；新环境直接执行 person_blog.sql 即可
+-- ================================================
+
+USE person_blog;
+
+-- 文章修订表（正文历史，快照与差量均经Deflate压缩）
+CREATE TABLE IF NOT EXISTS tb_article_revision (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '修订ID',
+    article_id BIGINT NOT NULL COMMENT '文章ID',
+    revision_no INT NOT NULL COMMENT '修订号（文章内从1递增）',
+    snapshot_no INT NOT NULL COMMENT '恢复所需的最近快照修订号',
+    is_snapshot TINYINT NOT NULL DEFAULT 0 COMMENT '是否快照：0-相对上一修订的差量，1-完整快照',
+    payload MEDIUMBLOB NOT NULL COMMENT '压缩后的快照或差量',
+    content_length INT DEFAULT 0 COMMENT '正文字符数',
+    content_hash CHAR(64) NOT NULL COMMENT '正文SHA-256',
+    source TINYINT NOT NULL DEFAULT 1 COMMENT '来源：1-自动保存，2-保存文章，3-恢复修订',
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+
+    UNIQUE KEY uk_article_revision (article_id, revision_no)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章修订表';
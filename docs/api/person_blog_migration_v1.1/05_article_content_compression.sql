@@ -0,0 +1,19 @@
+-- ================================================
+-- 个人博客系统数据库升级脚本（v1.0 -> v1.1）：文章正文压缩存储
+-- ================================================
+-- 数据库版本: MySQL 8.0+
+-- 字符集: utf8mb4
+-- 适用范围: 已按 person_blog.sql v1.0 建库的存量环境，按文件名序号依次执行；新环境直接执行 person_blog.sql 即可
+-- ================================================
+-- 说明:
+-- 1. 正文列改为二进制存储后，存量的 UTF-8 原文仍可被读取，首次保存时再压缩写回
+-- 2. 执行前请备份 tb_article，正文列类型转换会重建整张表
+-- ================================================
+
+USE person_blog;
+
+-- 正文改为压缩后的二进制存储，二进制列上的全文索引随之删除，检索改由应用内倒排索引完成
+ALTER TABLE tb_article
+    MODIFY content LONGBLOB NOT NULL COMMENT '文章内容（Markdown格式，压缩存储，兼容未压缩的UTF-8原文）',
+    MODIFY content_html LONGBLOB COMMENT '文章HTML内容（压缩存储，兼容未压缩的UTF-8原文）',
+    DROP INDEX ft_title_content;
@@ -0,0 +1,13 @@
+-- ================================================
+-- 个人博客系统数据库升级脚本（v1.0 -> v1.1）：分类路径索引
+-- ================================================
+-- 数据库版本: MySQL 8.0+
+-- 字符集: utf8mb4
+-- 适用范围: 已按 person_blog.sql v1.0 建库的存量环境，按文件名序号依次执行；新环境直接执行 person_blog.sql 即可
+-- ================================================
+
+USE person_blog;
+
+-- 子树查询按路径前缀匹配
+ALTER TABLE tb_category
+    ADD INDEX idx_path (path);
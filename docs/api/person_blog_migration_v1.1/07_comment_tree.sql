@@ -0,0 +1,31 @@
+-- ================================================
+-- 个人博客系统数据库升级脚本（v1.0 -> v1.1）：评论树查询索引与路径回填
+-- ================================================
+-- 数据库版本: MySQL 8.0+
+-- 字符集: utf8mb4
+-- 适用范围: 已按 person_blog.sql v1.0 建库的存量环境，按文件名序号依次执行；新环境直接执行 person_blog.sql 即可
+-- ================================================
+
+USE person_blog;
+
+-- 评论列表按置顶与时间排序，子孙评论按路径查询
+ALTER TABLE tb_comment
+    ADD INDEX idx_article_sticky_time (article_id, status, is_delete, is_sticky, create_time, id),
+    ADD INDEX idx_article_path (article_id, path(191));
+
+-- 按父子关系补齐升级前写入的回复的路径与层级，评论树查询按路径区间匹配子孙评论
+UPDATE tb_comment c
+JOIN (
+    WITH RECURSIVE tree (id, path, level) AS (
+        SELECT id, CAST('0,' AS CHAR(1000)), 1
+        FROM tb_comment
+        WHERE parent_id = 0
+        UNION ALL
+        SELECT child.id, CONCAT(tree.path, child.parent_id, ','), tree.level + 1
+        FROM tb_comment child
+        JOIN tree ON child.parent_id = tree.id
+    )
+    SELECT id, path, level FROM tree
+) t ON t.id = c.id
+SET c.path = t.path, c.level = t.level
+WHERE NOT (c.path <=> t.path) OR NOT (c.level <=> t.level);
@@ -7,12 +7,13 @@ import com.baomidou.mybatisplus.annotation.TableName;
 import java.io.Serializable;
 import java.util.Date;
 import lombok.Data;
+import pw.pj.common.compress.CompressedTextTypeHandler;
 
 /**
  * 文章表
  * @TableName tb_article
  */
-@TableName(value ="tb_article")
+@TableName(value ="tb_article", autoResultMap = true)
 @Data
 public class TbArticle implements Serializable {
     /**
@@ -37,15 +38,32 @@ public class TbArticle implements Serializable {
     private String summary;
 
     /**
-     * 文章内容（Markdown格式）
+     * 文章内容（Markdown格式，压缩存储）
      */
+    @TableField(typeHandler = CompressedTextTypeHandler.class)
     private String content;
 
     /**
-     * 文章HTML内容
+     * 文章HTML内容（压缩存储）
      */
+    @TableField(typeHandler = CompressedTextTypeHandler.class)
     private String contentHtml;
 
+    /**
+     * 文章目录（JSON格式，渲染时生成）
+     */
+    private String contentToc;
+
+    /**
+     * 已渲染内容的SHA-256摘要
+     */
+    private String contentHash;
+
+    /**
+     * 渲染规则版本，为空表示尚未渲染
+     */
+    private Integer renderVersion;
+
     /**
      * 封面图片URL
      */
@@ -0,0 +1,120 @@
+package pw.pj.POJO.DO;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler;
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 文章卡片表（列表读模型）
+ * 仅保存已发布文章的列表展示字段，不含正文
+ * @TableName tb_article_card
+ */
+@TableName(value ="tb_article_card", autoResultMap = true)
+@Data
+public class TbArticleCard implements Serializable {
+    /**
+     * 文章ID
+     */
+    @TableId(type = IdType.INPUT)
+    private Long articleId;
+
+    /**
+     * 文章标题
+     */
+    private String title;
+
+    /**
+     * 文章摘要（截断）
+     */
+    private String summary;
+
+    /**
+     * 封面图片URL
+     */
+    private String coverImage;
+
+    /**
+     * 作者ID
+     */
+    private Long authorId;
+
+    /**
+     * 分类ID
+     */
+    private Long categoryId;
+
+    /**
+     * 分类名称
+     */
+    private String categoryName;
+
+    /**
+     * 标签名称
+     */
+    @TableField(typeHandler = JacksonTypeHandler.class)
+    private List<String> tagNames;
+
+    /**
+     * 是否置顶：0-否，1-是
+     */
+    private Integer isTop;
+
+    /**
+     * 是否推荐：0-否，1-是
+     */
+    private Integer isRecommend;
+
+    /**
+     * 浏览次数
+     */
+    private Integer viewCount;
+
+    /**
+     * 点赞次数
+     */
+    private Integer likeCount;
+
+    /**
+     * 评论次数
+     */
+    private Integer commentCount;
+
+    /**
+     * 收藏次数
+     */
+    private Integer collectCount;
+
+    /**
+     * 字数统计
+     */
+    private Integer wordCount;
+
+    /**
+     * 预计阅读时间（分钟）
+     */
+    private Integer readingTime;
+
+    /**
+     * 发布时间
+     */
+    private Date publishedTime;
+
+    /**
+     * 文章创建时间
+     */
+    private Date createTime;
+
+    /**
+     * 卡片同步时间
+     */
+    private Date updateTime;
+
+    @TableField(exist = false)
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,70 @@
+package pw.pj.POJO.DO;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import java.io.Serializable;
+import java.util.Date;
+import lombok.Data;
+
+/**
+ * 文章修订表
+ * 快照保存完整正文，差量保存相对上一修订的变化，均经Deflate压缩
+ * @TableName tb_article_revision
+ */
+@TableName(value ="tb_article_revision")
+@Data
+public class TbArticleRevision implements Serializable {
+    /**
+     * 修订ID
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 文章ID
+     */
+    private Long articleId;
+
+    /**
+     * 修订号（文章内从1递增）
+     */
+    private Integer revisionNo;
+
+    /**
+     * 恢复所需的最近快照修订号
+     */
+    private Integer snapshotNo;
+
+    /**
+     * 是否快照：0-差量，1-完整快照
+     */
+    private Integer isSnapshot;
+
+    /**
+     * 压缩后的快照或差量
+     */
+    private byte[] payload;
+
+    /**
+     * 正文字符数
+     */
+    private Integer contentLength;
+
+    /**
+     * 正文SHA-256
+     */
+    private String contentHash;
+
+    /**
+     * 来源：1-自动保存，2-保存文章，3-恢复修订
+     */
+    private Integer source;
+
+    /**
+     * 创建时间
+     */
+    private Date createTime;
+
+    private static final long serialVersionUID = 1L;
+}
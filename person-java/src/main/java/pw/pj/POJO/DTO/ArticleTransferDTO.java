@@ -0,0 +1,101 @@
+package pw.pj.POJO.DTO;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 文章导入导出行
+ * JSON Lines 中的一行对应一篇文章；分类与标签按名称引用，便于在不同站点之间迁移
+ */
+@Data
+public class ArticleTransferDTO implements Serializable {
+    /**
+     * 文章ID（仅导出时填写，导入时忽略）
+     */
+    private Long id;
+
+    /**
+     * 文章标题
+     */
+    private String title;
+
+    /**
+     * 文章摘要
+     */
+    private String summary;
+
+    /**
+     * 文章内容（Markdown格式）
+     */
+    private String content;
+
+    /**
+     * 封面图片URL
+     */
+    private String coverImage;
+
+    /**
+     * 分类名称，导入时必须是已存在的分类
+     */
+    private String category;
+
+    /**
+     * 标签名称，导入时不存在的标签自动创建
+     */
+    private List<String> tags;
+
+    /**
+     * 状态：0-草稿，1-发布，2-下线
+     */
+    private Integer status;
+
+    /**
+     * 是否置顶：0-否，1-是
+     */
+    private Integer isTop;
+
+    /**
+     * 是否推荐：0-否，1-是
+     */
+    private Integer isRecommend;
+
+    /**
+     * 是否原创：0-转载，1-原创
+     */
+    private Integer isOriginal;
+
+    /**
+     * 原文链接（转载文章）
+     */
+    private String originalUrl;
+
+    /**
+     * 是否允许评论：0-否，1-是
+     */
+    private Integer allowComment;
+
+    /**
+     * 浏览次数
+     */
+    private Integer viewCount;
+
+    /**
+     * 点赞次数
+     */
+    private Integer likeCount;
+
+    /**
+     * 发布时间
+     */
+    private Date publishedTime;
+
+    /**
+     * 创建时间
+     */
+    private Date createTime;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,29 @@
+package pw.pj.POJO.VO;
+
+import lombok.Data;
+
+/**
+ * 归档月份VO
+ * 
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Data
+public class ArchiveMonthVO {
+
+    /**
+     * 年份
+     */
+    private Integer year;
+
+    /**
+     * 月份（1-12）
+     */
+    private Integer month;
+
+    /**
+     * 该月文章数量
+     */
+    private Integer count;
+}
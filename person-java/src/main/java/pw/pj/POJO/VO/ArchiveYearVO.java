@@ -0,0 +1,32 @@
+package pw.pj.POJO.VO;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 归档年份VO
+ * 用于前端按年月展示文章归档
+ * 
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Data
+public class ArchiveYearVO {
+
+    /**
+     * 年份
+     */
+    private Integer year;
+
+    /**
+     * 该年文章数量
+     */
+    private Integer count;
+
+    /**
+     * 月份列表（时间倒序）
+     */
+    private List<ArchiveMonthVO> months;
+}
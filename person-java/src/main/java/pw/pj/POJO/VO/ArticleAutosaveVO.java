@@ -0,0 +1,64 @@
+package pw.pj.POJO.VO;
+
+import lombok.Data;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * 文章草稿自动保存请求VO
+ * 编辑器通常只提交补丁；补丁与完整正文二选一，同时提供时以完整正文为准
+ * 
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Data
+public class ArticleAutosaveVO {
+
+    /**
+     * 补丁所基于的草稿正文哈希（上一次保存响应中的contentHash），提交补丁时必填
+     */
+    @Size(max = 64, message = "草稿哈希长度不能超过64个字符")
+    private String baseHash;
+
+    /**
+     * 补丁列表，位置均相对基准正文，按起始位置升序且互不重叠
+     */
+    @Valid
+    @Size(max = 1000, message = "单次补丁数量不能超过1000个")
+    private List<Patch> patches;
+
+    /**
+     * 完整正文
+     */
+    private String content;
+
+    /**
+     * 正文补丁：删除 [start, start + deleteCount) 后在 start 处插入 text
+     */
+    @Data
+    public static class Patch {
+
+        /**
+         * 起始位置（UTF-16字符下标，与前端字符串下标一致）
+         */
+        @NotNull(message = "补丁起始位置不能为空")
+        @Min(value = 0, message = "补丁起始位置不能为负数")
+        private Integer start;
+
+        /**
+         * 删除的字符数
+         */
+        @Min(value = 0, message = "删除字符数不能为负数")
+        private Integer deleteCount;
+
+        /**
+         * 插入的文本
+         */
+        private String text;
+    }
+}
@@ -0,0 +1,44 @@
+package pw.pj.POJO.VO;
+
+import lombok.Data;
+
+/**
+ * 文章草稿VO
+ * 
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Data
+public class ArticleDraftVO {
+
+    /**
+     * 文章ID
+     */
+    private Long articleId;
+
+    /**
+     * 最近一次落库的修订号，尚无修订时为0
+     */
+    private Integer revisionNo;
+
+    /**
+     * 草稿正文SHA-256，下次提交补丁时作为baseHash
+     */
+    private String contentHash;
+
+    /**
+     * 草稿正文字符数
+     */
+    private Integer contentLength;
+
+    /**
+     * 是否有尚未落库的自动保存
+     */
+    private Boolean dirty;
+
+    /**
+     * 草稿正文（自动保存的响应中不返回）
+     */
+    private String content;
+}
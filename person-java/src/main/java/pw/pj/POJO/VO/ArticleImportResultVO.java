@@ -0,0 +1,59 @@
+package pw.pj.POJO.VO;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 文章批量导入结果VO
+ * 
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Data
+public class ArticleImportResultVO {
+
+    /**
+     * 读取的非空行数
+     */
+    private Integer totalLines = 0;
+
+    /**
+     * 成功导入的文章数
+     */
+    private Integer imported = 0;
+
+    /**
+     * 失败的行数
+     */
+    private Integer failed = 0;
+
+    /**
+     * 自动创建的标签数
+     */
+    private Integer createdTags = 0;
+
+    /**
+     * 失败明细（最多保留前100条）
+     */
+    private List<LineError> errors = new ArrayList<>();
+
+    /**
+     * 行级错误
+     */
+    @Data
+    public static class LineError {
+
+        /**
+         * 行号（从1开始）
+         */
+        private Integer line;
+
+        /**
+         * 错误信息
+         */
+        private String message;
+    }
+}
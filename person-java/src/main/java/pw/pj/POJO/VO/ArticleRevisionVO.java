@@ -0,0 +1,56 @@
+package pw.pj.POJO.VO;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章修订VO
+ * 
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Data
+public class ArticleRevisionVO {
+
+    /**
+     * 文章ID
+     */
+    private Long articleId;
+
+    /**
+     * 修订号
+     */
+    private Integer revisionNo;
+
+    /**
+     * 是否完整快照
+     */
+    private Boolean snapshot;
+
+    /**
+     * 正文字符数
+     */
+    private Integer contentLength;
+
+    /**
+     * 正文SHA-256
+     */
+    private String contentHash;
+
+    /**
+     * 来源：1-自动保存，2-保存文章，3-恢复修订
+     */
+    private Integer source;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 修订正文（仅查看单个修订时返回）
+     */
+    private String content;
+}
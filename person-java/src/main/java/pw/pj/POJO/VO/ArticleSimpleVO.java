@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 文章简化版VO
@@ -61,6 +62,11 @@ public class ArticleSimpleVO {
      */
     private String categoryName;
 
+    /**
+     * 标签名称
+     */
+    private List<String> tagNames;
+
     /**
      * 作者昵称
      */
@@ -2,6 +2,7 @@ package pw.pj.POJO.VO;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Data;
+import pw.pj.common.render.TocItem;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -37,6 +38,16 @@ public class ArticleVO {
      */
     private String content;
 
+    /**
+     * 渲染后的HTML内容（已清洗，尚未渲染时为空）
+     */
+    private String contentHtml;
+
+    /**
+     * 文章目录
+     */
+    private List<TocItem> toc;
+
     /**
      * 文章封面图片URL
      */
@@ -71,6 +71,11 @@ public class CategoryVO {
      */
     private Integer articleCount;
 
+    /**
+     * 含全部子分类的文章数量
+     */
+    private Integer totalArticleCount;
+
     /**
      * 创建时间
      */
@@ -0,0 +1,39 @@
+package pw.pj.POJO.VO;
+
+import lombok.Data;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+/**
+ * 游标分页查询参数VO
+ * 基于排序键的键集分页，翻页代价与页深无关，适用于无限滚动等顺序翻页场景
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Data
+public class CursorQueryVO {
+
+    /**
+     * 分页游标（取上一页返回的nextCursor，为空表示第一页）
+     */
+    @Size(max = 128, message = "分页游标长度不能超过128")
+    private String cursor;
+
+    /**
+     * 每页显示数量
+     */
+    @NotNull(message = "每页显示数量不能为空")
+    @Min(value = 1, message = "每页显示数量最小值为1")
+    @Max(value = 100, message = "每页显示数量最大值为100")
+    private Integer size = 10;
+
+    /**
+     * 是否返回近似总数（默认不统计，总数经缓存可能存在短暂偏差）
+     */
+    private Boolean withTotal = false;
+}
@@ -0,0 +1,34 @@
+package pw.pj.POJO.VO;
+
+import lombok.Data;
+
+/**
+ * 数据维护任务执行报告VO
+ * 
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Data
+public class MaintenanceReportVO {
+
+    /**
+     * 任务名称
+     */
+    private String job;
+
+    /**
+     * 影响的行数
+     */
+    private Long rowsAffected = 0L;
+
+    /**
+     * 执行的ID区间数
+     */
+    private Integer chunks = 0;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private Long elapsedMs = 0L;
+}
@@ -0,0 +1,29 @@
+package pw.pj.POJO.VO;
+
+import lombok.Data;
+
+/**
+ * 输入联想结果VO
+ * 
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Data
+public class SuggestionVO {
+
+    /**
+     * 结果类型：tag-标签，article-文章
+     */
+    private String type;
+
+    /**
+     * 标签或文章ID
+     */
+    private Long id;
+
+    /**
+     * 展示文本：标签名称或文章标题
+     */
+    private String text;
+}
@@ -83,6 +83,16 @@ public class TagVO {
      */
     private Integer tagType;
 
+    /**
+     * 标签云权重级别：1-5，仅标签云返回
+     */
+    private Integer weight;
+
+    /**
+     * 标签云字号（px），仅标签云返回
+     */
+    private Integer fontSize;
+
     /**
      * 获取标签状态文本描述
      * 
@@ -0,0 +1,214 @@
+package pw.pj.common.archive;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 文章归档索引
+ *
+ * <p>按年月分组的已发布文章ID：月份按时间倒序，月内文章按发布时间倒序、同时间按ID倒序。
+ * 整体作为一个值缓存在Redis，发布、下线、删除时增量调整，归档页只需读取一次。</p>
+ *
+ * <p>只有字段参与序列化，派生数据一律用不以get/is开头的方法计算。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Data
+public class ArchiveIndex {
+
+    /**
+     * 月份列表，时间倒序
+     */
+    private List<ArchiveMonth> months = new ArrayList<>();
+
+    /**
+     * 由全部条目一次性构建索引，排序后顺序分组，避免逐条插入的二次方开销
+     *
+     * @param entries 归档条目，顺序不限
+     * @return 归档索引
+     */
+    public static ArchiveIndex of(List<ArchiveEntry> entries) {
+        List<ArchiveEntry> sorted = new ArrayList<>(entries);
+        sorted.sort((a, b) -> isBefore(a, b) ? -1 : (isBefore(b, a) ? 1 : 0));
+
+        ArchiveIndex index = new ArchiveIndex();
+        ArchiveMonth current = null;
+        for (ArchiveEntry entry : sorted) {
+            LocalDateTime time = toLocalDateTime(entry.getPublishedTime());
+            if (current == null || current.getYear() != time.getYear() || current.getMonth() != time.getMonthValue()) {
+                current = new ArchiveMonth(time.getYear(), time.getMonthValue(), new ArrayList<>());
+                index.getMonths().add(current);
+            }
+            current.getEntries().add(entry);
+        }
+        return index;
+    }
+
+    /**
+     * 放入文章，已存在时按新的发布时间移动
+     *
+     * @param articleId     文章ID
+     * @param publishedTime 发布时间（毫秒）
+     * @return 索引是否发生变化
+     */
+    public boolean put(long articleId, long publishedTime) {
+        LocalDateTime time = toLocalDateTime(publishedTime);
+        int year = time.getYear();
+        int month = time.getMonthValue();
+
+        ArchiveMonth current = findMonthOf(articleId);
+        if (current != null && current.getYear() == year && current.getMonth() == month) {
+            for (ArchiveEntry entry : current.getEntries()) {
+                if (entry.getArticleId() == articleId && entry.getPublishedTime() == publishedTime) {
+                    return false;
+                }
+            }
+        }
+        remove(articleId);
+
+        ArchiveMonth target = findOrCreateMonth(year, month);
+        List<ArchiveEntry> entries = target.getEntries();
+        ArchiveEntry entry = new ArchiveEntry(articleId, publishedTime);
+        int position = 0;
+        while (position < entries.size() && isBefore(entries.get(position), entry)) {
+            position++;
+        }
+        entries.add(position, entry);
+        return true;
+    }
+
+    /**
+     * 移除文章，月份为空时一并移除
+     *
+     * @param articleId 文章ID
+     * @return 索引是否发生变化
+     */
+    public boolean remove(long articleId) {
+        Iterator<ArchiveMonth> monthIterator = months.iterator();
+        while (monthIterator.hasNext()) {
+            ArchiveMonth archiveMonth = monthIterator.next();
+            if (archiveMonth.getEntries().removeIf(entry -> entry.getArticleId() == articleId)) {
+                if (archiveMonth.getEntries().isEmpty()) {
+                    monthIterator.remove();
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 查找月份
+     *
+     * @param year  年
+     * @param month 月
+     * @return 月份，不存在时返回null
+     */
+    public ArchiveMonth findMonth(int year, int month) {
+        for (ArchiveMonth archiveMonth : months) {
+            if (archiveMonth.getYear() == year && archiveMonth.getMonth() == month) {
+                return archiveMonth;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 文章总数
+     */
+    public int countArticles() {
+        int total = 0;
+        for (ArchiveMonth archiveMonth : months) {
+            total += archiveMonth.getEntries().size();
+        }
+        return total;
+    }
+
+    private ArchiveMonth findMonthOf(long articleId) {
+        for (ArchiveMonth archiveMonth : months) {
+            for (ArchiveEntry entry : archiveMonth.getEntries()) {
+                if (entry.getArticleId() == articleId) {
+                    return archiveMonth;
+                }
+            }
+        }
+        return null;
+    }
+
+    private ArchiveMonth findOrCreateMonth(int year, int month) {
+        int key = year * 100 + month;
+        int position = 0;
+        while (position < months.size()) {
+            ArchiveMonth archiveMonth = months.get(position);
+            int existing = archiveMonth.getYear() * 100 + archiveMonth.getMonth();
+            if (existing == key) {
+                return archiveMonth;
+            }
+            if (existing < key) {
+                break;
+            }
+            position++;
+        }
+        ArchiveMonth created = new ArchiveMonth(year, month, new ArrayList<>());
+        months.add(position, created);
+        return created;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+    }
+
+    /**
+     * a 是否排在 b 之前
+     */
+    private static boolean isBefore(ArchiveEntry a, ArchiveEntry b) {
+        if (a.getPublishedTime() != b.getPublishedTime()) {
+            return a.getPublishedTime() > b.getPublishedTime();
+        }
+        return a.getArticleId() > b.getArticleId();
+    }
+
+    // ==================== 内部类 ====================
+
+    /**
+     * 归档月份
+     * 声明为final，序列化时不写入类型信息
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static final class ArchiveMonth {
+
+        private int year;
+
+        private int month;
+
+        /**
+         * 月内文章，发布时间倒序
+         */
+        private List<ArchiveEntry> entries;
+    }
+
+    /**
+     * 归档条目
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static final class ArchiveEntry {
+
+        private long articleId;
+
+        private long publishedTime;
+    }
+}
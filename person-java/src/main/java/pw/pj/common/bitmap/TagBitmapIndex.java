@@ -0,0 +1,332 @@
+package pw.pj.common.bitmap;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 标签到文章的压缩位图索引
+ *
+ * <p>每个标签一个Roaring位图，记录关联了该标签的未删除文章；另有已发布文章与置顶文章两个掩码。
+ * 标签的与、或、非筛选和计数都是位图运算，分页按"置顶在前、同组内文章ID倒序"从结果位图中按秩取出，
+ * 只有最终一页的ID需要回表。</p>
+ *
+ * <p>文章ID须在int范围内。非线程安全，由调用方加锁。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public class TagBitmapIndex {
+
+    /**
+     * 序列化格式版本
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * 标签ID -> 文章位图
+     */
+    private final Map<Long, RoaringBitmap> tagArticles = new HashMap<>();
+
+    /**
+     * 已发布文章
+     */
+    private final RoaringBitmap published = new RoaringBitmap();
+
+    /**
+     * 置顶文章
+     */
+    private final RoaringBitmap top = new RoaringBitmap();
+
+    // ==================== 维护 ====================
+
+    /**
+     * 增加一条文章标签关联，用于全量构建
+     *
+     * @param articleId 文章ID
+     * @param tagId     标签ID
+     */
+    public void addRelation(long articleId, long tagId) {
+        tagArticles.computeIfAbsent(tagId, id -> new RoaringBitmap()).add(toInt(articleId));
+    }
+
+    /**
+     * 设置文章的发布与置顶状态
+     *
+     * @param articleId   文章ID
+     * @param isPublished 是否已发布
+     * @param isTop       是否置顶
+     */
+    public void setStatus(long articleId, boolean isPublished, boolean isTop) {
+        int id = toInt(articleId);
+        if (isPublished) {
+            published.add(id);
+        } else {
+            published.remove(id);
+        }
+        if (isTop) {
+            top.add(id);
+        } else {
+            top.remove(id);
+        }
+    }
+
+    /**
+     * 清空发布与置顶掩码，保留标签位图，随后由调用方按文章表重新设置
+     */
+    public void clearStatus() {
+        published.clear();
+        top.clear();
+    }
+
+    /**
+     * 用文章的最新标签与状态替换索引中的记录
+     *
+     * @param articleId   文章ID
+     * @param tagIds      文章当前的标签ID
+     * @param isPublished 是否已发布
+     * @param isTop       是否置顶
+     */
+    public void setArticle(long articleId, Collection<Long> tagIds, boolean isPublished, boolean isTop) {
+        int id = toInt(articleId);
+        Set<Long> current = new HashSet<>(tagIds);
+        Iterator<Map.Entry<Long, RoaringBitmap>> iterator = tagArticles.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, RoaringBitmap> entry = iterator.next();
+            if (!current.contains(entry.getKey())) {
+                entry.getValue().remove(id);
+                if (entry.getValue().isEmpty()) {
+                    iterator.remove();
+                }
+            }
+        }
+        for (Long tagId : current) {
+            addRelation(articleId, tagId);
+        }
+        setStatus(articleId, isPublished, isTop);
+    }
+
+    /**
+     * 移除文章（已删除）
+     *
+     * @param articleId 文章ID
+     */
+    public void removeArticle(long articleId) {
+        setArticle(articleId, new ArrayList<>(), false, false);
+    }
+
+    /**
+     * 移除标签（已删除）
+     *
+     * @param tagId 标签ID
+     * @return 索引是否发生变化
+     */
+    public boolean removeTag(long tagId) {
+        return tagArticles.remove(tagId) != null;
+    }
+
+    /**
+     * 压缩连续区间，全量构建或批量修改后调用
+     */
+    public void optimize() {
+        for (RoaringBitmap bitmap : tagArticles.values()) {
+            bitmap.runOptimize();
+        }
+        published.runOptimize();
+        top.runOptimize();
+    }
+
+    // ==================== 查询 ====================
+
+    /**
+     * 按筛选条件计算文章位图
+     *
+     * @param filter 筛选条件
+     * @return 新的结果位图，可由调用方修改
+     */
+    public RoaringBitmap filter(TagFilter filter) {
+        RoaringBitmap result = null;
+        for (Long tagId : filter.getAllOf()) {
+            RoaringBitmap bitmap = tagArticles.get(tagId);
+            if (bitmap == null) {
+                return new RoaringBitmap();
+            }
+            if (result == null) {
+                result = bitmap.clone();
+            } else {
+                result.and(bitmap);
+            }
+        }
+        if (!filter.getAnyOf().isEmpty()) {
+            RoaringBitmap union = union(filter.getAnyOf());
+            if (result == null) {
+                result = union;
+            } else {
+                result.and(union);
+            }
+        }
+        if (result == null) {
+            // 只有排除条件时，以全部已发布文章（或全部带标签的文章）为全集
+            result = filter.isPublishedOnly() ? published.clone() : union(tagArticles.keySet());
+        }
+        if (filter.isPublishedOnly()) {
+            result.and(published);
+        }
+        if (!filter.getNoneOf().isEmpty()) {
+            result.andNot(union(filter.getNoneOf()));
+        }
+        return result;
+    }
+
+    /**
+     * 按"置顶在前、同组内文章ID倒序"取结果中的一页
+     *
+     * @param result 结果位图
+     * @param offset 跳过的条数
+     * @param limit  返回数量
+     * @return 文章ID
+     */
+    public List<Long> page(RoaringBitmap result, long offset, int limit) {
+        RoaringBitmap pinned = result.clone();
+        pinned.and(top);
+        RoaringBitmap rest = result.clone();
+        rest.andNot(top);
+
+        int pinnedCount = pinned.getCardinality();
+        int restCount = rest.getCardinality();
+        List<Long> articleIds = new ArrayList<>(Math.max(0, Math.min(limit, pinnedCount + restCount)));
+        for (long rank = offset; rank < offset + limit && rank < (long) pinnedCount + restCount; rank++) {
+            int id = rank < pinnedCount
+                    ? pinned.select((int) (pinnedCount - 1 - rank))
+                    : rest.select((int) (restCount - 1 - (rank - pinnedCount)));
+            articleIds.add((long) id);
+        }
+        return articleIds;
+    }
+
+    /**
+     * 结果位图中的全部文章ID，升序
+     *
+     * @param result 结果位图
+     * @return 文章ID
+     */
+    public static List<Long> toList(RoaringBitmap result) {
+        List<Long> articleIds = new ArrayList<>(result.getCardinality());
+        for (Integer id : result) {
+            articleIds.add(id.longValue());
+        }
+        return articleIds;
+    }
+
+    /**
+     * 文章当前关联的标签ID，逐个标签位图判断是否包含该文章
+     *
+     * @param articleId 文章ID
+     * @return 标签ID，顺序不定
+     */
+    public List<Long> tagIdsOf(long articleId) {
+        int id = toInt(articleId);
+        List<Long> tagIds = new ArrayList<>();
+        for (Map.Entry<Long, RoaringBitmap> entry : tagArticles.entrySet()) {
+            if (entry.getValue().contains(id)) {
+                tagIds.add(entry.getKey());
+            }
+        }
+        return tagIds;
+    }
+
+    /**
+     * 标签数量
+     */
+    public int tagCount() {
+        return tagArticles.size();
+    }
+
+    /**
+     * 已发布文章数量
+     */
+    public int publishedCount() {
+        return published.getCardinality();
+    }
+
+    // ==================== 序列化 ====================
+
+    /**
+     * 序列化为字节：版本、已发布掩码、置顶掩码、标签数，再逐个写出标签ID与位图
+     *
+     * @return 字节
+     */
+    public byte[] serialize() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(FORMAT_VERSION);
+            published.serialize(output);
+            top.serialize(output);
+            output.writeInt(tagArticles.size());
+            for (Map.Entry<Long, RoaringBitmap> entry : tagArticles.entrySet()) {
+                output.writeLong(entry.getKey());
+                entry.getValue().serialize(output);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("标签位图索引序列化失败", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 从字节恢复索引
+     *
+     * @param data 字节
+     * @return 索引，格式版本不匹配时返回null
+     */
+    public static TagBitmapIndex deserialize(byte[] data) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (input.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            TagBitmapIndex index = new TagBitmapIndex();
+            index.published.deserialize(input);
+            index.top.deserialize(input);
+            int tagCount = input.readInt();
+            for (int i = 0; i < tagCount; i++) {
+                long tagId = input.readLong();
+                RoaringBitmap bitmap = new RoaringBitmap();
+                bitmap.deserialize(input);
+                index.tagArticles.put(tagId, bitmap);
+            }
+            return index;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("标签位图索引已损坏", e);
+        }
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private RoaringBitmap union(Collection<Long> tagIds) {
+        RoaringBitmap union = new RoaringBitmap();
+        for (Long tagId : tagIds) {
+            RoaringBitmap bitmap = tagArticles.get(tagId);
+            if (bitmap != null) {
+                union.or(bitmap);
+            }
+        }
+        return union;
+    }
+
+    private static int toInt(long articleId) {
+        return Math.toIntExact(articleId);
+    }
+}
@@ -0,0 +1,88 @@
+package pw.pj.common.bitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * 标签筛选条件
+ * 结果 = 全部包含 allOf 中的标签 且 至少包含 anyOf 中的一个标签 且 不包含 noneOf 中的任何标签
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class TagFilter {
+
+    private final List<Long> allOf;
+
+    private final List<Long> anyOf;
+
+    private final List<Long> noneOf;
+
+    /**
+     * 是否只保留已发布的文章
+     */
+    private final boolean publishedOnly;
+
+    public TagFilter(Collection<Long> allOf, Collection<Long> anyOf, Collection<Long> noneOf, boolean publishedOnly) {
+        this.allOf = distinct(allOf);
+        this.anyOf = distinct(anyOf);
+        this.noneOf = distinct(noneOf);
+        this.publishedOnly = publishedOnly;
+    }
+
+    /**
+     * 已发布且包含全部标签的文章
+     *
+     * @param tagIds 标签ID
+     * @return 筛选条件
+     */
+    public static TagFilter allOf(Collection<Long> tagIds) {
+        return new TagFilter(tagIds, null, null, true);
+    }
+
+    /**
+     * 已发布且包含指定标签的文章
+     *
+     * @param tagId 标签ID
+     * @return 筛选条件
+     */
+    public static TagFilter of(Long tagId) {
+        return allOf(Collections.singletonList(tagId));
+    }
+
+    public List<Long> getAllOf() {
+        return allOf;
+    }
+
+    public List<Long> getAnyOf() {
+        return anyOf;
+    }
+
+    public List<Long> getNoneOf() {
+        return noneOf;
+    }
+
+    public boolean isPublishedOnly() {
+        return publishedOnly;
+    }
+
+    /**
+     * 是否没有任何标签条件
+     */
+    public boolean isEmpty() {
+        return allOf.isEmpty() && anyOf.isEmpty() && noneOf.isEmpty();
+    }
+
+    private static List<Long> distinct(Collection<Long> tagIds) {
+        if (tagIds == null || tagIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        LinkedHashSet<Long> unique = new LinkedHashSet<>(tagIds);
+        unique.remove(null);
+        return Collections.unmodifiableList(new ArrayList<>(unique));
+    }
+}
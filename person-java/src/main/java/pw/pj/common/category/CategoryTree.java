@@ -0,0 +1,168 @@
+package pw.pj.common.category;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 分类树
+ *
+ * <p>按父分类ID组织的全部分类，以及每个分类自身与整棵子树的已发布文章数。
+ * 子树查询从内存展开后代ID，文章数增减时沿祖先链逐级累加，不必重新统计。</p>
+ *
+ * <p>父子关系出现环时在环上截断，不会无限循环。非线程安全，由调用方加锁。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public class CategoryTree {
+
+    /**
+     * 顶级分类的父分类ID
+     */
+    public static final long ROOT_ID = 0L;
+
+    /**
+     * 分类ID -> 父分类ID
+     */
+    private final Map<Long, Long> parents = new HashMap<>();
+
+    /**
+     * 分类ID -> 子分类ID
+     */
+    private final Map<Long, List<Long>> children = new HashMap<>();
+
+    /**
+     * 分类ID -> 自身的已发布文章数
+     */
+    private final Map<Long, Integer> directCounts = new HashMap<>();
+
+    /**
+     * 分类ID -> 子树（含自身）的已发布文章数
+     */
+    private final Map<Long, Integer> subtreeCounts = new HashMap<>();
+
+    // ==================== 构建 ====================
+
+    /**
+     * 加入分类，须在加入文章数之前完成全部分类的加入
+     *
+     * @param categoryId 分类ID
+     * @param parentId   父分类ID，顶级分类为0或null
+     */
+    public void addCategory(long categoryId, Long parentId) {
+        long parent = parentId == null ? ROOT_ID : parentId;
+        parents.put(categoryId, parent);
+        children.computeIfAbsent(parent, id -> new ArrayList<>()).add(categoryId);
+    }
+
+    /**
+     * 调整分类自身的文章数，并逐级累加到所有祖先的子树文章数
+     *
+     * @param categoryId 分类ID
+     * @param delta      增量，可为负数
+     */
+    public void addArticles(long categoryId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        directCounts.merge(categoryId, delta, Integer::sum);
+        subtreeCounts.merge(categoryId, delta, Integer::sum);
+        for (Long ancestorId : ancestorIds(categoryId)) {
+            subtreeCounts.merge(ancestorId, delta, Integer::sum);
+        }
+    }
+
+    /**
+     * 复制出一棵独立的树，在副本上调整文章数不影响原树
+     *
+     * @return 副本
+     */
+    public CategoryTree copy() {
+        CategoryTree copy = new CategoryTree();
+        copy.parents.putAll(parents);
+        children.forEach((parentId, childIds) -> copy.children.put(parentId, new ArrayList<>(childIds)));
+        copy.directCounts.putAll(directCounts);
+        copy.subtreeCounts.putAll(subtreeCounts);
+        return copy;
+    }
+
+    // ==================== 查询 ====================
+
+    /**
+     * 分类是否存在
+     *
+     * @param categoryId 分类ID
+     */
+    public boolean contains(long categoryId) {
+        return parents.containsKey(categoryId);
+    }
+
+    /**
+     * 子树中的全部分类ID（含自身，自身在首位）
+     *
+     * @param categoryId 分类ID
+     * @return 分类ID列表，分类不存在时只含自身
+     */
+    public List<Long> subtreeIds(long categoryId) {
+        List<Long> result = new ArrayList<>();
+        Set<Long> visited = new HashSet<>();
+        result.add(categoryId);
+        visited.add(categoryId);
+        for (int i = 0; i < result.size(); i++) {
+            for (Long childId : children.getOrDefault(result.get(i), new ArrayList<>())) {
+                if (visited.add(childId)) {
+                    result.add(childId);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 祖先分类ID，由近及远，不含自身与根
+     *
+     * @param categoryId 分类ID
+     * @return 分类ID列表
+     */
+    public List<Long> ancestorIds(long categoryId) {
+        List<Long> result = new ArrayList<>();
+        Set<Long> visited = new HashSet<>();
+        visited.add(categoryId);
+        Long current = parents.get(categoryId);
+        while (current != null && current != ROOT_ID && visited.add(current)) {
+            result.add(current);
+            current = parents.get(current);
+        }
+        return result;
+    }
+
+    /**
+     * 分类自身的已发布文章数
+     *
+     * @param categoryId 分类ID
+     */
+    public int directCount(long categoryId) {
+        return directCounts.getOrDefault(categoryId, 0);
+    }
+
+    /**
+     * 子树（含自身）的已发布文章数
+     *
+     * @param categoryId 分类ID
+     */
+    public int subtreeCount(long categoryId) {
+        return subtreeCounts.getOrDefault(categoryId, 0);
+    }
+
+    /**
+     * 分类数量
+     */
+    public int size() {
+        return parents.size();
+    }
+}
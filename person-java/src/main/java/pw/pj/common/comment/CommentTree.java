@@ -0,0 +1,101 @@
+package pw.pj.common.comment;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * 评论树组装
+ *
+ * <p>输入按ID升序排列的评论（父评论ID一定小于子评论ID，因此父评论总在子评论之前），
+ * 单次遍历即可挂接全部子评论：ID到下标的映射使用 long/int 数组的开放寻址表，不装箱。
+ * 父评论不在输入中的评论（父评论未通过审核或已删除）连同其子树被丢弃。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class CommentTree {
+
+    private CommentTree() {
+    }
+
+    /**
+     * 组装评论树
+     *
+     * @param nodes          按ID升序排列的评论
+     * @param idOf           取评论ID
+     * @param parentIdOf     取父评论ID，0表示顶级评论
+     * @param childrenSetter 设置子评论列表，只对有子评论的节点调用，子评论按ID升序
+     * @param rootOrder      顶级评论的排序
+     * @param <T>            评论类型
+     * @return 顶级评论
+     */
+    public static <T> List<T> assemble(List<T> nodes, ToLongFunction<T> idOf, ToLongFunction<T> parentIdOf,
+            BiConsumer<T, List<T>> childrenSetter, Comparator<T> rootOrder) {
+        int n = nodes.size();
+        int capacity = Integer.highestOneBit(Math.max(n, 2) * 2 - 1) << 1;
+        long[] keys = new long[capacity];
+        int[] slots = new int[capacity];
+        int mask = capacity - 1;
+
+        @SuppressWarnings("unchecked")
+        List<T>[] children = new List[n];
+        List<T> roots = new ArrayList<>();
+
+        for (int i = 0; i < n; i++) {
+            T node = nodes.get(i);
+            long parentId = parentIdOf.applyAsLong(node);
+            if (parentId == 0) {
+                roots.add(node);
+            } else {
+                int parent = indexOf(keys, slots, mask, parentId);
+                if (parent < 0) {
+                    // 父评论不可见，不登记该评论，其子评论随之被丢弃
+                    continue;
+                }
+                if (children[parent] == null) {
+                    children[parent] = new ArrayList<>();
+                    childrenSetter.accept(nodes.get(parent), children[parent]);
+                }
+                children[parent].add(node);
+            }
+            put(keys, slots, mask, idOf.applyAsLong(node), i);
+        }
+
+        roots.sort(rootOrder);
+        return roots;
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    /**
+     * 登记ID与下标，槽位中保存下标+1，0表示空槽
+     */
+    private static void put(long[] keys, int[] slots, int mask, long id, int index) {
+        int slot = mix(id) & mask;
+        while (slots[slot] != 0 && keys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        slots[slot] = index + 1;
+    }
+
+    private static int indexOf(long[] keys, int[] slots, int mask, long id) {
+        int slot = mix(id) & mask;
+        while (slots[slot] != 0) {
+            if (keys[slot] == id) {
+                return slots[slot] - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int mix(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,208 @@
+package pw.pj.common.compress;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 文章正文编解码
+ *
+ * <p>正文（Markdown与渲染后的HTML）按以下格式存储：</p>
+ * <ul>
+ * <li>压缩格式：首字节为0，第二字节为格式版本，其后是使用预置字典的zlib流</li>
+ * <li>原文格式：正文的UTF-8字节；较短或压缩后不更小的正文直接存原文</li>
+ * </ul>
+ *
+ * <p>文本的UTF-8编码不会以0字节开头，因此未压缩的历史数据无需迁移即可读取。
+ * 预置字典收录Markdown与渲染HTML中的高频片段，让几KB的短文章也能获得接近长文的压缩率。
+ * 字典一经发布不可修改，调整时新增格式版本，旧版本保留用于解码。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class BodyCodec {
+
+    /**
+     * 压缩格式标记
+     */
+    private static final byte MARKER = 0;
+
+    /**
+     * 格式版本：Deflate + 字典 v1
+     */
+    private static final byte FORMAT_DEFLATE_DICT_V1 = 1;
+
+    /**
+     * 小于该字节数的正文不压缩
+     */
+    private static final int MIN_COMPRESS_BYTES = 128;
+
+    /**
+     * 预置字典 v1，越常见的片段越靠后（距离越近编码越短）
+     */
+    private static final byte[] DICTIONARY_V1 = (
+            "<table>\n<thead>\n<tr>\n<th></th>\n</tr>\n</thead>\n<tbody>\n<td></td>\n</tbody>\n</table>\n"
+            + "<blockquote>\n<p></p>\n</blockquote>\n<ol>\n<li></li>\n</ol>\n<hr />\n<img src=\"https://\" alt=\"\" />"
+            + "<a href=\"https://github.com/\"></a><strong></strong><em></em>"
+            + "| --- | --- |\n> **注意**：![图片](https://)[链接](https://)"
+            + "```java\n```javascript\n```bash\n```sql\n```xml\n```json\n```yaml\n```python\n```\n\n"
+            + "public class private static final void return new String List<String> Map<String, Object> "
+            + "function const let import export default from this null true false "
+            + "<pre><code class=\"language-java\">\n<pre><code class=\"language-javascript\">\n"
+            + "<pre><code class=\"language-\"></code></pre>\n<code></code>"
+            + "<h4 id=\"\"></h4>\n<h3 id=\"\"></h3>\n<h2 id=\"\"></h2>\n<h1 id=\"\"></h1>\n"
+            + "#### ### ## # 1. 2. 3. \n- **`"
+            + "，我们可以使用如下所示的。在中，这是一个的方法\n<ul>\n<li></li>\n</ul>\n<p></p>\n"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    private BodyCodec() {
+    }
+
+    // ==================== 单段正文 ====================
+
+    /**
+     * 编码正文
+     *
+     * @param body 正文
+     * @return 存储字节，正文为null时返回null
+     */
+    public static byte[] encode(String body) {
+        if (body == null) {
+            return null;
+        }
+        byte[] raw = body.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < MIN_COMPRESS_BYTES) {
+            return raw;
+        }
+        byte[] compressed = deflate(raw);
+        return compressed.length < raw.length ? compressed : raw;
+    }
+
+    /**
+     * 解码正文，兼容未压缩的原文
+     *
+     * @param stored 存储字节
+     * @return 正文，存储字节为null时返回null
+     */
+    public static String decode(byte[] stored) {
+        if (stored == null) {
+            return null;
+        }
+        if (!isCompressed(stored)) {
+            return new String(stored, StandardCharsets.UTF_8);
+        }
+        if (stored[1] != FORMAT_DEFLATE_DICT_V1) {
+            throw new IllegalArgumentException("不支持的正文压缩格式：" + stored[1]);
+        }
+        return new String(inflate(stored), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 是否为压缩格式
+     *
+     * @param stored 存储字节
+     * @return 是否压缩
+     */
+    public static boolean isCompressed(byte[] stored) {
+        return stored != null && stored.length >= 2 && stored[0] == MARKER;
+    }
+
+    // ==================== 多段正文 ====================
+
+    /**
+     * 把多段正文编码为一个值，每段为4字节长度（null为-1）加 {@link #encode} 的结果
+     *
+     * @param bodies 正文，可含null
+     * @return 存储字节
+     */
+    public static byte[] encodeAll(String... bodies) {
+        byte[][] encoded = new byte[bodies.length][];
+        int size = 0;
+        for (int i = 0; i < bodies.length; i++) {
+            encoded[i] = encode(bodies[i]);
+            size += 4 + (encoded[i] != null ? encoded[i].length : 0);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (byte[] part : encoded) {
+            buffer.putInt(part != null ? part.length : -1);
+            if (part != null) {
+                buffer.put(part);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * 解码 {@link #encodeAll} 的结果
+     *
+     * @param stored 存储字节
+     * @param count  正文段数
+     * @return 正文，顺序与编码时一致
+     */
+    public static String[] decodeAll(byte[] stored, int count) {
+        ByteBuffer buffer = ByteBuffer.wrap(stored);
+        String[] bodies = new String[count];
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt();
+            if (length < 0) {
+                continue;
+            }
+            byte[] part = new byte[length];
+            buffer.get(part);
+            bodies[i] = decode(part);
+        }
+        return bodies;
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setDictionary(DICTIONARY_V1);
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 3 + 16);
+            out.write(MARKER);
+            out.write(FORMAT_DEFLATE_DICT_V1);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] stored) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored, 2, stored.length - 2);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(stored.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(DICTIONARY_V1);
+                        continue;
+                    }
+                    if (inflater.needsInput()) {
+                        throw new IllegalArgumentException("正文压缩数据已损坏");
+                    }
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("正文压缩数据已损坏", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package pw.pj.common.compress;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedJdbcTypes;
+import org.apache.ibatis.type.MappedTypes;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 压缩正文类型处理器
+ * 写入时按 {@link BodyCodec} 压缩为二进制，读取时解压；列中已有的未压缩文本按原文读取
+ *
+ * <p>用于BLOB类型的正文列，只在查询选中该列时才解压，列表查询不选正文即无额外开销。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@MappedTypes(String.class)
+@MappedJdbcTypes(JdbcType.LONGVARBINARY)
+public class CompressedTextTypeHandler extends BaseTypeHandler<String> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, String parameter, JdbcType jdbcType)
+            throws SQLException {
+        ps.setBytes(i, BodyCodec.encode(parameter));
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return BodyCodec.decode(rs.getBytes(columnName));
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return BodyCodec.decode(rs.getBytes(columnIndex));
+    }
+
+    @Override
+    public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return BodyCodec.decode(cs.getBytes(columnIndex));
+    }
+}
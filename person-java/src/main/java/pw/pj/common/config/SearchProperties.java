@@ -0,0 +1,148 @@
+package pw.pj.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 全文检索配置属性类
+ * 从application.properties中读取站内检索相关配置
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "search")
+public class SearchProperties {
+
+    /**
+     * 文章搜索引擎类型，支持：local、elasticsearch
+     */
+    private String engine = "local";
+
+    /**
+     * 索引段文件存放目录
+     */
+    private String indexDir = "data/search";
+
+    /**
+     * 段文件刷盘间隔（毫秒），仅在索引有变化时写盘
+     */
+    private Long flushInterval = 30000L;
+
+    /**
+     * 启动时是否强制从数据库重建索引（忽略已有段文件）
+     */
+    private Boolean rebuildOnStartup = false;
+
+    /**
+     * 重建索引时每批读取的记录数
+     */
+    private Integer rebuildBatchSize = 500;
+
+    /**
+     * 标题字段权重
+     */
+    private Float titleBoost = 3.0f;
+
+    /**
+     * 摘要字段权重
+     */
+    private Float summaryBoost = 2.0f;
+
+    /**
+     * 正文字段权重
+     */
+    private Float contentBoost = 1.0f;
+
+    /**
+     * 后台索引器配置
+     */
+    private Indexer indexer = new Indexer();
+
+    /**
+     * Elasticsearch配置
+     */
+    private Elasticsearch elasticsearch = new Elasticsearch();
+
+    /**
+     * 后台索引器配置
+     */
+    @Data
+    public static class Indexer {
+
+        /**
+         * 队列容量，队列满时变更记入待重试集合
+         */
+        private Integer queueCapacity = 10000;
+
+        /**
+         * 单次批量提交的最大文档数
+         */
+        private Integer batchSize = 200;
+
+        /**
+         * 攒批等待时间（毫秒）
+         */
+        private Long batchWaitMillis = 500L;
+
+        /**
+         * 单批最大重试次数
+         */
+        private Integer maxRetries = 5;
+
+        /**
+         * 重试初始退避时间（毫秒），每次翻倍
+         */
+        private Long retryBackoffMillis = 500L;
+
+        /**
+         * 重试退避时间上限（毫秒）
+         */
+        private Long maxBackoffMillis = 30000L;
+    }
+
+    /**
+     * Elasticsearch配置
+     */
+    @Data
+    public static class Elasticsearch {
+
+        /**
+         * 集群地址，多个用逗号分隔
+         */
+        private String uris = "http://localhost:9200";
+
+        /**
+         * 用户名
+         */
+        private String username;
+
+        /**
+         * 密码
+         */
+        private String password;
+
+        /**
+         * 文章索引名称
+         */
+        private String indexName = "pw_article";
+
+        /**
+         * 检索字段使用的分词器，内置cjk分词器对中日韩文字做二元切分
+         */
+        private String analyzer = "cjk";
+
+        /**
+         * 连接超时时间（毫秒）
+         */
+        private Integer connectTimeout = 5000;
+
+        /**
+         * 读取超时时间（毫秒）
+         */
+        private Integer socketTimeout = 30000;
+    }
+}
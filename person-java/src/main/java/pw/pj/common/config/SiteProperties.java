@@ -0,0 +1,54 @@
+package pw.pj.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 站点配置属性类
+ * 从application.properties中读取站点地图与订阅源相关配置
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "site")
+public class SiteProperties {
+
+    /**
+     * 前台站点地址，不以/结尾，用于生成文章链接
+     */
+    private String url = "http://localhost:3000";
+
+    /**
+     * 站点标题
+     */
+    private String title = "PersonWeb";
+
+    /**
+     * 站点描述
+     */
+    private String description = "个人技术博客";
+
+    /**
+     * 预渲染文件存放目录
+     */
+    private String outputDir = "data/site";
+
+    /**
+     * 订阅源包含的最新文章数
+     */
+    private Integer feedSize = 20;
+
+    /**
+     * 每个站点地图分片覆盖的文章ID区间长度，不超过50000
+     */
+    private Integer sitemapShardSize = 50000;
+
+    /**
+     * 变更合并写出间隔（毫秒）
+     */
+    private Long flushInterval = 30000L;
+}
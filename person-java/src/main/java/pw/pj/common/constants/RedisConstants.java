@@ -92,6 +92,9 @@ public class RedisConstants {
         /** 文章详情缓存前缀 */
         public static final String ARTICLE_DETAIL = SYSTEM_PREFIX + "article:detail:";
 
+        /** 文章正文缓存前缀（Markdown与HTML压缩后的二进制，与详情分开存放） */
+        public static final String ARTICLE_BODY = SYSTEM_PREFIX + "article:body:";
+
         /** 文章列表缓存前缀 */
         public static final String ARTICLE_LIST = SYSTEM_PREFIX + "article:list:";
 
@@ -104,13 +107,13 @@ public class RedisConstants {
         /** 文章评论数缓存前缀 */
         public static final String ARTICLE_COMMENT_COUNT = SYSTEM_PREFIX + "article:comment:";
 
-        /** 热门文章缓存键 */
+        /** 热门文章排行（有序集合，分数为衰减热度） */
         public static final String HOT_ARTICLES = SYSTEM_PREFIX + "article:hot";
 
-        /** 最新文章缓存键 */
+        /** 最新文章排行（有序集合，分数为发布时间） */
         public static final String RECENT_ARTICLES = SYSTEM_PREFIX + "article:recent";
 
-        /** 推荐文章缓存键 */
+        /** 推荐文章排行（有序集合，分数为衰减热度） */
         public static final String RECOMMEND_ARTICLES = SYSTEM_PREFIX + "article:recommend";
 
         /** 置顶文章缓存键 */
@@ -119,63 +122,60 @@ public class RedisConstants {
         /** 文章搜索结果缓存前缀 */
         public static final String ARTICLE_SEARCH = SYSTEM_PREFIX + "article:search:";
 
-        /** 相关文章缓存前缀 */
+        /** 相关文章近邻列表前缀（后台预计算） */
         public static final String RELATED_ARTICLES = SYSTEM_PREFIX + "article:related:";
 
-        /** 文章归档缓存键 */
-        public static final String ARTICLE_ARCHIVE = SYSTEM_PREFIX + "article:archive";
+        /** 文章归档键前缀（entries 文章有序集合、months 月份计数、month_of 文章所在月份、ready 已构建标记） */
+        public static final String ARTICLE_ARCHIVE = SYSTEM_PREFIX + "article:archive:";
 
         /** 用户文章缓存前缀 */
         public static final String USER_ARTICLES = SYSTEM_PREFIX + "article:user:";
-    }
-
-    /**
-     * 分类相关缓存键
-     */
-    public static final class Category {
-        /** 分类详情缓存前缀 */
-        public static final String CATEGORY_DETAIL = SYSTEM_PREFIX + "category:detail:";
-
-        /** 分类列表缓存键 */
-        public static final String CATEGORY_LIST = SYSTEM_PREFIX + "category:list";
 
-        /** 分类文章数量缓存前缀 */
-        public static final String CATEGORY_ARTICLE_COUNT = SYSTEM_PREFIX + "category:count:";
+        /** 游标分页近似总数缓存前缀 */
+        public static final String ARTICLE_CURSOR_TOTAL = SYSTEM_PREFIX + "article:cursor_total:";
 
-        /** 热门分类缓存键 */
-        public static final String HOT_CATEGORIES = SYSTEM_PREFIX + "category:hot";
-
-        /** 分类树形结构缓存键 */
-        public static final String CATEGORY_TREE = SYSTEM_PREFIX + "category:tree";
-
-        /** 分类路径映射缓存键 */
-        public static final String CATEGORY_PATH_MAP = SYSTEM_PREFIX + "category:path_map";
+        /** 渲染结果缓存前缀（渲染版本 + 内容摘要） */
+        public static final String ARTICLE_RENDER = SYSTEM_PREFIX + "article:render:";
     }
 
     /**
      * 标签相关缓存键
      */
     public static final class Tag {
-        /** 标签详情缓存前缀 */
-        public static final String TAG_DETAIL = SYSTEM_PREFIX + "tag:detail:";
-
-        /** 标签列表缓存键 */
-        public static final String TAG_LIST = SYSTEM_PREFIX + "tag:list";
-
         /** 标签文章数量缓存前缀 */
         public static final String TAG_ARTICLE_COUNT = SYSTEM_PREFIX + "tag:count:";
 
-        /** 热门标签缓存键 */
-        public static final String HOT_TAGS = SYSTEM_PREFIX + "tag:hot";
-
-        /** 标签云数据缓存键 */
-        public static final String TAG_CLOUD = SYSTEM_PREFIX + "tag:cloud";
-
         /** 文章标签缓存前缀 */
         public static final String ARTICLE_TAGS = SYSTEM_PREFIX + "tag:article:";
 
+        /** 标签下文章ID缓存前缀 */
+        public static final String TAG_ARTICLES = SYSTEM_PREFIX + "tag:articles:";
+
         /** 用户常用标签缓存前缀 */
         public static final String USER_FREQUENT_TAGS = SYSTEM_PREFIX + "tag:user_frequent:";
+
+        /** 标签到文章的压缩位图索引缓存键（二进制值） */
+        public static final String TAG_BITMAP_INDEX = SYSTEM_PREFIX + "tag:bitmap";
+
+        /** 位图索引缓存对应的关联表水位（行数与最后更新时间），与数据库不一致时重建 */
+        public static final String TAG_BITMAP_WATERMARK = SYSTEM_PREFIX + "tag:bitmap:watermark";
+
+        /** 位图索引回写锁，同一时刻只有一个节点写入索引与水位 */
+        public static final String TAG_BITMAP_FLUSH_LOCK = SYSTEM_PREFIX + "tag:bitmap:flush_lock";
+
+        /** 位图索引变更通知频道（发布订阅），消息体为“发布节点ID|a文章ID”或“发布节点ID|t标签ID” */
+        public static final String TAG_BITMAP_CHANNEL = SYSTEM_PREFIX + "channel:tag:bitmap";
+
+        /** 标签字典失效通知频道（发布订阅），消息体为发布节点ID */
+        public static final String TAG_DICTIONARY_CHANNEL = SYSTEM_PREFIX + "channel:tag:dictionary";
+    }
+
+    /**
+     * 分类相关缓存键
+     */
+    public static final class Category {
+        /** 分类树变更通知频道（发布订阅），消息体为“发布节点ID|a文章ID”或“发布节点ID|r” */
+        public static final String CATEGORY_TREE_CHANNEL = SYSTEM_PREFIX + "channel:category:tree";
     }
 
     /**
@@ -208,6 +208,9 @@ public class RedisConstants {
 
         /** IP评论次数限制缓存前缀 */
         public static final String IP_COMMENT_COUNT = SYSTEM_PREFIX + "comment:ip_count:";
+
+        /** 游标分页近似总数缓存前缀 */
+        public static final String COMMENT_CURSOR_TOTAL = SYSTEM_PREFIX + "comment:cursor_total:";
     }
 
     /**
@@ -364,6 +367,14 @@ public class RedisConstants {
         public static final String SEARCH_RATE_LIMIT = SYSTEM_PREFIX + "rate_limit:search:";
     }
 
+    /**
+     * HTTP条件请求相关缓存键
+     */
+    public static final class Http {
+        /** 内容版本号前缀（公开读接口的ETag与Last-Modified来源） */
+        public static final String CONTENT_VERSION = SYSTEM_PREFIX + "http:version:";
+    }
+
     /**
      * 缓存工具方法
      */
@@ -116,6 +116,15 @@ public class SystemConstants {
 
         /** 标题最大长度 */
         public static final int TITLE_MAX_LENGTH = 100;
+
+        /** 修订来源：自动保存 */
+        public static final Integer REVISION_SOURCE_AUTOSAVE = 1;
+
+        /** 修订来源：保存文章 */
+        public static final Integer REVISION_SOURCE_SAVE = 2;
+
+        /** 修订来源：恢复修订 */
+        public static final Integer REVISION_SOURCE_RESTORE = 3;
     }
 
     /**
@@ -156,6 +165,9 @@ public class SystemConstants {
 
         /** 热门标签显示数量 */
         public static final int HOT_TAG_LIMIT = 20;
+
+        /** 标签云标签数量 */
+        public static final int CLOUD_TAG_LIMIT = 50;
     }
 
     /**
@@ -186,6 +198,12 @@ public class SystemConstants {
         /** 评论最大层级深度 */
         public static final int MAX_REPLY_DEPTH = 5;
 
+        /** 评论树默认加载的顶级评论数 */
+        public static final int TREE_ROOT_LIMIT = 20;
+
+        /** 评论树单次最多加载的顶级评论数 */
+        public static final int TREE_ROOT_MAX = 100;
+
         /** 游客评论默认昵称 */
         public static final String GUEST_NICKNAME = "匿名用户";
     }
@@ -326,6 +344,9 @@ public class SystemConstants {
 
         /** 热门数据缓存过期时间（1小时） */
         public static final int HOT_DATA_EXPIRE = EXPIRE_HOUR;
+
+        /** 游标分页近似总数缓存过期时间（5分钟） */
+        public static final int CURSOR_TOTAL_EXPIRE = 5 * 60;
     }
 
     /**
@@ -0,0 +1,52 @@
+package pw.pj.common.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 文章变更事件
+ * 文章写操作成功后发布，由检索索引、列表卡片等派生数据在事务提交后增量更新
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Getter
+@ToString
+public class ArticleChangeEvent {
+
+    /**
+     * 文章ID
+     */
+    private final Long articleId;
+
+    /**
+     * 变更类型
+     */
+    private final ChangeType type;
+
+    public ArticleChangeEvent(Long articleId, ChangeType type) {
+        this.articleId = articleId;
+        this.type = type;
+    }
+
+    /**
+     * 文章变更类型
+     */
+    public enum ChangeType {
+        /** 新建 */
+        CREATE,
+        /** 编辑 */
+        UPDATE,
+        /** 删除 */
+        DELETE,
+        /** 发布 */
+        PUBLISH,
+        /** 取消发布 */
+        UNPUBLISH,
+        /** 置顶或取消置顶 */
+        TOP,
+        /** 标签关联变更 */
+        TAGS
+    }
+}
@@ -0,0 +1,44 @@
+package pw.pj.common.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 分类变更事件
+ * 分类写操作成功后发布，冗余了分类信息的派生数据在事务提交后同步
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Getter
+@ToString
+public class CategoryChangeEvent {
+
+    /**
+     * 分类ID
+     */
+    private final Long categoryId;
+
+    /**
+     * 变更类型
+     */
+    private final ChangeType type;
+
+    public CategoryChangeEvent(Long categoryId, ChangeType type) {
+        this.categoryId = categoryId;
+        this.type = type;
+    }
+
+    /**
+     * 分类变更类型
+     */
+    public enum ChangeType {
+        /** 新建 */
+        CREATE,
+        /** 编辑 */
+        UPDATE,
+        /** 删除 */
+        DELETE
+    }
+}
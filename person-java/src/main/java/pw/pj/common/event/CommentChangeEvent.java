@@ -0,0 +1,52 @@
+package pw.pj.common.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 评论变更事件
+ * 评论写操作成功后发布，由检索索引等派生数据在事务提交后增量更新
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Getter
+@ToString
+public class CommentChangeEvent {
+
+    /**
+     * 评论ID
+     */
+    private final Long commentId;
+
+    /**
+     * 所属文章ID
+     */
+    private final Long articleId;
+
+    /**
+     * 变更类型
+     */
+    private final ChangeType type;
+
+    public CommentChangeEvent(Long commentId, Long articleId, ChangeType type) {
+        this.commentId = commentId;
+        this.articleId = articleId;
+        this.type = type;
+    }
+
+    /**
+     * 评论变更类型
+     */
+    public enum ChangeType {
+        /** 新建或回复 */
+        CREATE,
+        /** 编辑 */
+        UPDATE,
+        /** 删除 */
+        DELETE,
+        /** 审核状态变化 */
+        AUDIT
+    }
+}
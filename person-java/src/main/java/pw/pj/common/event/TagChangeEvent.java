@@ -0,0 +1,46 @@
+package pw.pj.common.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 标签变更事件
+ * 标签写操作成功后发布，冗余了标签信息的派生数据在事务提交后同步
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Getter
+@ToString
+public class TagChangeEvent {
+
+    /**
+     * 标签ID
+     */
+    private final Long tagId;
+
+    /**
+     * 变更类型
+     */
+    private final ChangeType type;
+
+    public TagChangeEvent(Long tagId, ChangeType type) {
+        this.tagId = tagId;
+        this.type = type;
+    }
+
+    /**
+     * 标签变更类型
+     */
+    public enum ChangeType {
+        /** 新建 */
+        CREATE,
+        /** 编辑 */
+        UPDATE,
+        /** 删除 */
+        DELETE,
+        /** 启用或禁用 */
+        STATUS
+    }
+}
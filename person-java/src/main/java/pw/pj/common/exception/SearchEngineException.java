@@ -0,0 +1,46 @@
+package pw.pj.common.exception;
+
+/**
+ * 搜索引擎异常类
+ * 统一封装索引写入、检索等操作中的异常，后台索引器据此进行重试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public class SearchEngineException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 搜索引擎名称
+     */
+    private final String engine;
+
+    /**
+     * 构造方法
+     *
+     * @param engine  搜索引擎名称
+     * @param message 异常信息
+     */
+    public SearchEngineException(String engine, String message) {
+        super(message);
+        this.engine = engine;
+    }
+
+    /**
+     * 带异常原因的构造方法
+     *
+     * @param engine  搜索引擎名称
+     * @param message 异常信息
+     * @param cause   异常原因
+     */
+    public SearchEngineException(String engine, String message, Throwable cause) {
+        super(message, cause);
+        this.engine = engine;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+}
@@ -0,0 +1,41 @@
+package pw.pj.common.feed;
+
+import org.springframework.util.DigestUtils;
+
+/**
+ * 预渲染的站点文件
+ * 内容生成后不再修改，ETag由内容摘要计算
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class SiteFile {
+
+    private final byte[] content;
+
+    private final long lastModified;
+
+    private final String etag;
+
+    public SiteFile(byte[] content, long lastModified) {
+        this.content = content;
+        this.lastModified = lastModified;
+        this.etag = "\"" + DigestUtils.md5DigestAsHex(content) + "\"";
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    /**
+     * 最后修改时间（毫秒）
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+}
@@ -0,0 +1,298 @@
+package pw.pj.common.feed;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * 站点地图与Atom订阅源写出器
+ *
+ * <p>基于StAX边遍历边写出，不构建DOM，输出大小与条目数线性相关；文本与属性值由写出器转义。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class SiteXmlWriter {
+
+    /**
+     * 单个站点地图文件允许的最大URL数（sitemaps.org协议限制）
+     */
+    public static final int MAX_URLS_PER_FILE = 50000;
+
+    private static final String SITEMAP_NS = "http://www.sitemaps.org/schemas/sitemap/0.9";
+
+    private static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private SiteXmlWriter() {
+    }
+
+    // ==================== 站点地图 ====================
+
+    /**
+     * 写出站点地图（urlset）
+     *
+     * @param output 输出流，写完后不关闭
+     * @param urls   URL列表
+     */
+    public static void writeUrlset(OutputStream output, List<UrlEntry> urls) throws XMLStreamException {
+        writeSitemap(output, "urlset", "url", urls);
+    }
+
+    /**
+     * 写出站点地图索引（sitemapindex）
+     *
+     * @param output   输出流，写完后不关闭
+     * @param sitemaps 分片站点地图的地址与修改时间
+     */
+    public static void writeSitemapIndex(OutputStream output, List<UrlEntry> sitemaps) throws XMLStreamException {
+        writeSitemap(output, "sitemapindex", "sitemap", sitemaps);
+    }
+
+    // ==================== 订阅源 ====================
+
+    /**
+     * 写出Atom订阅源
+     *
+     * @param output  输出流，写完后不关闭
+     * @param meta    订阅源信息
+     * @param entries 条目，按发布时间倒序
+     */
+    public static void writeAtomFeed(OutputStream output, FeedMeta meta, List<FeedEntry> entries)
+            throws XMLStreamException {
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(output, "UTF-8");
+        try {
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement("feed");
+            writer.writeDefaultNamespace(ATOM_NS);
+            writeElement(writer, "title", meta.getTitle());
+            writeElement(writer, "subtitle", meta.getSubtitle());
+            writeLink(writer, null, meta.getSiteUrl());
+            writeLink(writer, "self", meta.getSelfUrl());
+            writeElement(writer, "id", meta.getSiteUrl() + "/");
+            writeElement(writer, "updated", formatTime(meta.getUpdated()));
+
+            for (FeedEntry entry : entries) {
+                writer.writeStartElement("entry");
+                writeElement(writer, "title", entry.getTitle());
+                writeLink(writer, null, entry.getUrl());
+                writeElement(writer, "id", entry.getUrl());
+                writeElement(writer, "published", formatTime(entry.getPublished()));
+                writeElement(writer, "updated", formatTime(entry.getUpdated()));
+                if (entry.getCategory() != null) {
+                    writer.writeEmptyElement("category");
+                    writer.writeAttribute("term", entry.getCategory());
+                }
+                if (entry.getSummary() != null) {
+                    writeElement(writer, "summary", entry.getSummary());
+                }
+                writer.writeEndElement();
+            }
+
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * 格式化为W3C时间（带时区偏移，精确到秒），站点地图与Atom通用
+     *
+     * @param epochMilli 毫秒时间戳
+     * @return 时间字符串
+     */
+    public static String formatTime(long epochMilli) {
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(
+                Instant.ofEpochMilli(epochMilli).atZone(ZoneId.systemDefault()).truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private static void writeSitemap(OutputStream output, String root, String item, List<UrlEntry> urls)
+            throws XMLStreamException {
+        if (urls.size() > MAX_URLS_PER_FILE) {
+            throw new IllegalArgumentException("单个站点地图最多" + MAX_URLS_PER_FILE + "个URL：" + urls.size());
+        }
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(output, "UTF-8");
+        try {
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement(root);
+            writer.writeDefaultNamespace(SITEMAP_NS);
+            for (UrlEntry url : urls) {
+                writer.writeStartElement(item);
+                writeElement(writer, "loc", url.getLoc());
+                if (url.getLastModified() != null) {
+                    writeElement(writer, "lastmod", formatTime(url.getLastModified()));
+                }
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static void writeElement(XMLStreamWriter writer, String name, String text) throws XMLStreamException {
+        writer.writeStartElement(name);
+        writer.writeCharacters(text != null ? text : "");
+        writer.writeEndElement();
+    }
+
+    private static void writeLink(XMLStreamWriter writer, String rel, String href) throws XMLStreamException {
+        writer.writeEmptyElement("link");
+        if (rel != null) {
+            writer.writeAttribute("rel", rel);
+        }
+        writer.writeAttribute("href", href);
+    }
+
+    // ==================== 内部类 ====================
+
+    /**
+     * 站点地图条目
+     */
+    public static final class UrlEntry {
+
+        private final String loc;
+
+        /**
+         * 最后修改时间（毫秒），为null时不输出lastmod
+         */
+        private final Long lastModified;
+
+        public UrlEntry(String loc, Long lastModified) {
+            this.loc = loc;
+            this.lastModified = lastModified;
+        }
+
+        public String getLoc() {
+            return loc;
+        }
+
+        public Long getLastModified() {
+            return lastModified;
+        }
+    }
+
+    /**
+     * 订阅源信息
+     */
+    public static final class FeedMeta {
+
+        private final String title;
+
+        private final String subtitle;
+
+        /**
+         * 站点地址，不以/结尾
+         */
+        private final String siteUrl;
+
+        /**
+         * 订阅源自身地址
+         */
+        private final String selfUrl;
+
+        /**
+         * 最后更新时间（毫秒）
+         */
+        private final long updated;
+
+        public FeedMeta(String title, String subtitle, String siteUrl, String selfUrl, long updated) {
+            this.title = title;
+            this.subtitle = subtitle;
+            this.siteUrl = siteUrl;
+            this.selfUrl = selfUrl;
+            this.updated = updated;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getSubtitle() {
+            return subtitle;
+        }
+
+        public String getSiteUrl() {
+            return siteUrl;
+        }
+
+        public String getSelfUrl() {
+            return selfUrl;
+        }
+
+        public long getUpdated() {
+            return updated;
+        }
+    }
+
+    /**
+     * 订阅源条目
+     */
+    public static final class FeedEntry {
+
+        private final String url;
+
+        private final String title;
+
+        private final String summary;
+
+        private final String category;
+
+        /**
+         * 发布时间（毫秒）
+         */
+        private final long published;
+
+        /**
+         * 更新时间（毫秒）
+         */
+        private final long updated;
+
+        public FeedEntry(String url, String title, String summary, String category, long published, long updated) {
+            this.url = url;
+            this.title = title;
+            this.summary = summary;
+            this.category = category;
+            this.published = published;
+            this.updated = updated;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getSummary() {
+            return summary;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public long getPublished() {
+            return published;
+        }
+
+        public long getUpdated() {
+            return updated;
+        }
+    }
+}
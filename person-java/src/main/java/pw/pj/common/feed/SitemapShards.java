@@ -0,0 +1,134 @@
+package pw.pj.common.feed;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * 站点地图分片
+ *
+ * <p>按文章ID区间分片：第n片收录ID在 ((n-1)*shardSize, n*shardSize] 内的已发布文章，
+ * 每片条目数不会超过shardSize。文章的分片由ID决定，发布、修改、下线只影响所在分片，
+ * 新文章只会落在最后一片，其余分片无需重新生成。</p>
+ *
+ * <p>非线程安全，由调用方同步。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public class SitemapShards {
+
+    private final int shardSize;
+
+    /**
+     * 分片号 -> (文章ID -> 最后修改时间毫秒)
+     */
+    private final TreeMap<Integer, TreeMap<Long, Long>> shards = new TreeMap<>();
+
+    private int size;
+
+    public SitemapShards(int shardSize) {
+        if (shardSize <= 0) {
+            throw new IllegalArgumentException("分片大小必须为正数：" + shardSize);
+        }
+        this.shardSize = shardSize;
+    }
+
+    /**
+     * 文章所在分片号，从1开始
+     *
+     * @param articleId 文章ID
+     * @return 分片号
+     */
+    public int shardOf(long articleId) {
+        return (int) ((Math.max(articleId, 1) - 1) / shardSize) + 1;
+    }
+
+    /**
+     * 放入或更新文章
+     *
+     * @param articleId    文章ID
+     * @param lastModified 最后修改时间（毫秒）
+     * @return 分片内容是否变化
+     */
+    public boolean put(long articleId, long lastModified) {
+        Long previous = shards.computeIfAbsent(shardOf(articleId), shard -> new TreeMap<>())
+                .put(articleId, lastModified);
+        if (previous == null) {
+            size++;
+        }
+        return previous == null || previous != lastModified;
+    }
+
+    /**
+     * 移除文章，分片为空时一并移除
+     *
+     * @param articleId 文章ID
+     * @return 分片内容是否变化
+     */
+    public boolean remove(long articleId) {
+        int shard = shardOf(articleId);
+        TreeMap<Long, Long> entries = shards.get(shard);
+        if (entries == null || entries.remove(articleId) == null) {
+            return false;
+        }
+        size--;
+        if (entries.isEmpty()) {
+            shards.remove(shard);
+        }
+        return true;
+    }
+
+    /**
+     * 非空分片号，升序
+     */
+    public NavigableSet<Integer> shardNumbers() {
+        return Collections.unmodifiableNavigableSet(shards.navigableKeySet());
+    }
+
+    /**
+     * 分片内的文章：文章ID -> 最后修改时间，按ID升序
+     *
+     * @param shard 分片号
+     * @return 文章，分片不存在时为空
+     */
+    public SortedMap<Long, Long> entries(int shard) {
+        TreeMap<Long, Long> entries = shards.get(shard);
+        return entries != null ? Collections.unmodifiableSortedMap(entries) : Collections.emptySortedMap();
+    }
+
+    /**
+     * 分片的最后修改时间
+     *
+     * @param shard 分片号
+     * @return 分片内文章最后修改时间的最大值，分片不存在时为0
+     */
+    public long lastModified(int shard) {
+        long latest = 0;
+        for (Map.Entry<Long, Long> entry : entries(shard).entrySet()) {
+            latest = Math.max(latest, entry.getValue());
+        }
+        return latest;
+    }
+
+    /**
+     * 全部分片的最后修改时间
+     */
+    public long lastModified() {
+        long latest = 0;
+        for (Integer shard : shards.keySet()) {
+            latest = Math.max(latest, lastModified(shard));
+        }
+        return latest;
+    }
+
+    /**
+     * 文章总数
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,91 @@
+package pw.pj.common.maintenance;
+
+/**
+ * 按ID区间分块执行
+ *
+ * <p>把 [minId, maxId] 切成固定宽度的左闭右开区间依次执行，每块一条SQL，
+ * 单条语句锁定的行数与产生的undo日志有上限，不需要把整张表读进内存。ID不连续时部分区间可能为空。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class IdRangeChunks {
+
+    private IdRangeChunks() {
+    }
+
+    /**
+     * 依次对每个区间执行任务
+     *
+     * @param minId     最小ID，表为空时为null
+     * @param maxId     最大ID，表为空时为null
+     * @param chunkSize 区间宽度
+     * @param task      区间任务，返回影响行数
+     * @return 执行结果
+     */
+    public static Result run(Long minId, Long maxId, int chunkSize, RangeTask task) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("区间宽度必须大于0");
+        }
+        long rows = 0;
+        int chunks = 0;
+        if (minId == null || maxId == null) {
+            return new Result(rows, chunks);
+        }
+        long fromId = minId;
+        while (fromId <= maxId) {
+            // 先比较剩余宽度再相加，避免ID接近上限时溢出
+            long toId = maxId - fromId < chunkSize ? maxId + 1 : fromId + chunkSize;
+            rows += task.apply(fromId, toId);
+            chunks++;
+            fromId = toId;
+        }
+        return new Result(rows, chunks);
+    }
+
+    /**
+     * 区间任务
+     */
+    @FunctionalInterface
+    public interface RangeTask {
+
+        /**
+         * @param fromId 起始ID（含）
+         * @param toId   结束ID（不含）
+         * @return 影响行数
+         */
+        int apply(long fromId, long toId);
+    }
+
+    // ==================== 内部类 ====================
+
+    /**
+     * 执行结果
+     */
+    public static final class Result {
+
+        private final long rows;
+
+        private final int chunks;
+
+        private Result(long rows, int chunks) {
+            this.rows = rows;
+            this.chunks = chunks;
+        }
+
+        /**
+         * 累计影响行数
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * 执行的区间数
+         */
+        public int getChunks() {
+            return chunks;
+        }
+    }
+}
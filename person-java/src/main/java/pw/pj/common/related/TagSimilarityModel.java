@@ -0,0 +1,448 @@
+package pw.pj.common.related;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 基于标签重合度的文章相似度模型
+ *
+ * <p>每篇文章表示为标签下标的稀疏向量（升序int数组），标签权重取IDF：log(1 + N / df)。
+ * 两篇文章的相似度为IDF加权Jaccard：Σ交集权重 / Σ并集权重，同分类再按固定比例加分。</p>
+ *
+ * <p>计算某篇文章的近邻时，只沿其标签的倒排表累加交集权重，不与无共同标签的文章两两比较；
+ * 有共同标签的候选不足K篇时，用同分类的文章按输入顺序补足。</p>
+ *
+ * <p>模型构建后只读，可在多个线程中并行计算近邻；少量文章变化时用 {@link #update} 在内存中派生新模型，
+ * 不必重新读取全部文章。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class TagSimilarityModel {
+
+    /**
+     * 分类相同时的得分占比，其余为标签相似度
+     */
+    static final float CATEGORY_WEIGHT = 0.2f;
+
+    private final long[] articleIds;
+
+    private final long[] categoryIds;
+
+    /**
+     * 文章下标 -> 升序的标签下标
+     */
+    private final int[][] tagVectors;
+
+    /**
+     * 标签下标 -> 包含该标签的文章下标
+     */
+    private final int[][] postings;
+
+    /**
+     * 分类ID -> 该分类的文章下标（保持输入顺序）
+     */
+    private final Map<Long, int[]> categoryMembers;
+
+    private final float[] idf;
+
+    /**
+     * 文章下标 -> 标签权重之和
+     */
+    private final float[] norms;
+
+    private final Map<Long, Integer> positions;
+
+    /**
+     * 标签下标 -> 标签ID
+     */
+    private final long[] tagIds;
+
+    /**
+     * 交集权重累加器，每个线程一份，按文章下标寻址
+     */
+    private final ThreadLocal<float[]> accumulators;
+
+    private TagSimilarityModel(long[] articleIds, long[] categoryIds, long[][] articleTagIds) {
+        int n = articleIds.length;
+        this.articleIds = articleIds;
+        this.categoryIds = categoryIds;
+        this.positions = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            positions.put(articleIds[i], i);
+        }
+
+        // 标签ID压缩为连续下标
+        Map<Long, Integer> tagIndexes = new HashMap<>();
+        this.tagVectors = new int[n][];
+        for (int i = 0; i < n; i++) {
+            long[] tagIds = articleTagIds[i] != null ? articleTagIds[i] : new long[0];
+            int[] vector = new int[tagIds.length];
+            for (int j = 0; j < tagIds.length; j++) {
+                Integer index = tagIndexes.get(tagIds[j]);
+                if (index == null) {
+                    index = tagIndexes.size();
+                    tagIndexes.put(tagIds[j], index);
+                }
+                vector[j] = index;
+            }
+            Arrays.sort(vector);
+            tagVectors[i] = dedupe(vector);
+        }
+
+        int tagCount = tagIndexes.size();
+        this.tagIds = new long[tagCount];
+        tagIndexes.forEach((tagId, index) -> tagIds[index] = tagId);
+        int[] df = new int[tagCount];
+        for (int[] vector : tagVectors) {
+            for (int tag : vector) {
+                df[tag]++;
+            }
+        }
+        this.postings = new int[tagCount][];
+        for (int t = 0; t < tagCount; t++) {
+            postings[t] = new int[df[t]];
+        }
+        int[] fill = new int[tagCount];
+        for (int i = 0; i < n; i++) {
+            for (int tag : tagVectors[i]) {
+                postings[tag][fill[tag]++] = i;
+            }
+        }
+
+        this.idf = new float[tagCount];
+        for (int t = 0; t < tagCount; t++) {
+            idf[t] = (float) Math.log(1.0 + (double) n / df[t]);
+        }
+        this.norms = new float[n];
+        for (int i = 0; i < n; i++) {
+            float norm = 0f;
+            for (int tag : tagVectors[i]) {
+                norm += idf[tag];
+            }
+            norms[i] = norm;
+        }
+
+        Map<Long, List<Integer>> members = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            members.computeIfAbsent(categoryIds[i], k -> new ArrayList<>()).add(i);
+        }
+        this.categoryMembers = new HashMap<>(members.size() * 2);
+        members.forEach((categoryId, list) -> categoryMembers.put(categoryId,
+                list.stream().mapToInt(Integer::intValue).toArray()));
+
+        this.accumulators = ThreadLocal.withInitial(() -> new float[n]);
+    }
+
+    /**
+     * 构建模型
+     *
+     * @param articleIds    文章ID，顺序即同分类补足时的优先顺序
+     * @param categoryIds   与文章ID一一对应的分类ID
+     * @param articleTagIds 与文章ID一一对应的标签ID，可为空
+     * @return 相似度模型
+     */
+    public static TagSimilarityModel build(long[] articleIds, long[] categoryIds, long[][] articleTagIds) {
+        if (articleIds.length != categoryIds.length || articleIds.length != articleTagIds.length) {
+            throw new IllegalArgumentException("文章、分类与标签数组长度不一致");
+        }
+        return new TagSimilarityModel(articleIds, categoryIds, articleTagIds);
+    }
+
+    /**
+     * 用部分文章的最新数据派生新模型，当前模型不变
+     * 新加入的文章排在最前（视为最新发布），已有文章保持原顺序；IDF按新模型重新计算
+     *
+     * @param changedIds    发生变化的文章ID，不在下面数组中的视为移出模型
+     * @param articleIds    仍应在模型中的变化文章ID，多篇新文章时按优先顺序排列
+     * @param categoryIds   与文章ID一一对应的分类ID
+     * @param articleTagIds 与文章ID一一对应的标签ID，可为空
+     * @return 新模型
+     */
+    public TagSimilarityModel update(Set<Long> changedIds, long[] articleIds, long[] categoryIds,
+            long[][] articleTagIds) {
+        if (articleIds.length != categoryIds.length || articleIds.length != articleTagIds.length) {
+            throw new IllegalArgumentException("文章、分类与标签数组长度不一致");
+        }
+        Map<Long, Integer> incoming = new HashMap<>(articleIds.length * 2);
+        for (int i = 0; i < articleIds.length; i++) {
+            incoming.put(articleIds[i], i);
+        }
+
+        int capacity = this.articleIds.length + articleIds.length;
+        long[] ids = new long[capacity];
+        long[] categories = new long[capacity];
+        long[][] tags = new long[capacity][];
+        int n = 0;
+        for (int i = 0; i < articleIds.length; i++) {
+            if (!positions.containsKey(articleIds[i])) {
+                ids[n] = articleIds[i];
+                categories[n] = categoryIds[i];
+                tags[n++] = articleTagIds[i];
+            }
+        }
+        for (int i = 0; i < this.articleIds.length; i++) {
+            long id = this.articleIds[i];
+            Integer replacement = incoming.get(id);
+            if (replacement != null) {
+                ids[n] = id;
+                categories[n] = categoryIds[replacement];
+                tags[n++] = articleTagIds[replacement];
+            } else if (!changedIds.contains(id)) {
+                ids[n] = id;
+                categories[n] = this.categoryIds[i];
+                tags[n++] = tagIdsAt(i);
+            }
+        }
+        return new TagSimilarityModel(Arrays.copyOf(ids, n), Arrays.copyOf(categories, n), Arrays.copyOf(tags, n));
+    }
+
+    /**
+     * 模型中的文章数量
+     */
+    public int size() {
+        return articleIds.length;
+    }
+
+    /**
+     * 模型中的文章ID（构建时的顺序）
+     */
+    public long[] articleIds() {
+        return articleIds.clone();
+    }
+
+    /**
+     * 是否包含文章
+     */
+    public boolean contains(long articleId) {
+        return positions.containsKey(articleId);
+    }
+
+    /**
+     * 与给定文章有共同标签的文章ID（不含自身）
+     *
+     * @param articleId 文章ID
+     * @return 文章ID，文章不在模型中时返回空数组
+     */
+    public long[] tagNeighbors(long articleId) {
+        Integer position = positions.get(articleId);
+        if (position == null) {
+            return new long[0];
+        }
+        boolean[] seen = new boolean[articleIds.length];
+        seen[position] = true;
+        int count = 0;
+        long[] result = new long[articleIds.length];
+        for (int tag : tagVectors[position]) {
+            for (int other : postings[tag]) {
+                if (!seen[other]) {
+                    seen[other] = true;
+                    result[count++] = articleIds[other];
+                }
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * 计算最相似的K篇文章
+     *
+     * @param articleId 文章ID
+     * @param k         近邻数量
+     * @return 按相似度降序的文章ID，文章不在模型中时返回空数组
+     */
+    public long[] topNeighbors(long articleId, int k) {
+        Integer position = positions.get(articleId);
+        if (position == null || k <= 0) {
+            return new long[0];
+        }
+        int self = position;
+        float[] acc = accumulators.get();
+        int[] touched = new int[Math.min(articleIds.length, countPostings(self))];
+        int touchedCount = 0;
+
+        // 1. 沿倒排表累加交集权重
+        for (int tag : tagVectors[self]) {
+            float weight = idf[tag];
+            for (int other : postings[tag]) {
+                if (other == self) {
+                    continue;
+                }
+                if (acc[other] == 0f) {
+                    touched[touchedCount++] = other;
+                }
+                acc[other] += weight;
+            }
+        }
+
+        // 2. 计算得分并保留前K个（小顶堆）
+        TopK top = new TopK(k);
+        for (int i = 0; i < touchedCount; i++) {
+            int other = touched[i];
+            float intersection = acc[other];
+            acc[other] = 0f;
+            float jaccard = intersection / (norms[self] + norms[other] - intersection);
+            float score = (1 - CATEGORY_WEIGHT) * jaccard
+                    + (categoryIds[other] == categoryIds[self] ? CATEGORY_WEIGHT : 0f);
+            top.offer(other, score);
+        }
+
+        // 3. 有共同标签的候选不足时，用同分类文章补足
+        if (top.size() < k) {
+            int[] members = categoryMembers.get(categoryIds[self]);
+            for (int i = 0; i < members.length && top.size() < k; i++) {
+                int other = members[i];
+                if (other != self && !top.contains(other)) {
+                    top.offer(other, CATEGORY_WEIGHT);
+                }
+            }
+        }
+
+        int[] ranked = top.drainDescending();
+        long[] result = new long[ranked.length];
+        for (int i = 0; i < ranked.length; i++) {
+            result[i] = articleIds[ranked[i]];
+        }
+        return result;
+    }
+
+    private long[] tagIdsAt(int position) {
+        int[] vector = tagVectors[position];
+        long[] result = new long[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = tagIds[vector[i]];
+        }
+        return result;
+    }
+
+    private int countPostings(int position) {
+        int total = 0;
+        for (int tag : tagVectors[position]) {
+            total += postings[tag].length;
+        }
+        return total;
+    }
+
+    private static int[] dedupe(int[] sorted) {
+        if (sorted.length < 2) {
+            return sorted;
+        }
+        int length = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[length - 1]) {
+                sorted[length++] = sorted[i];
+            }
+        }
+        return length == sorted.length ? sorted : Arrays.copyOf(sorted, length);
+    }
+
+    // ==================== 私有辅助类 ====================
+
+    /**
+     * 定长小顶堆：得分相同时下标小（输入靠前）的优先保留
+     */
+    private static final class TopK {
+
+        private final int capacity;
+
+        private final int[] items;
+
+        private final float[] scores;
+
+        private int size;
+
+        private TopK(int capacity) {
+            this.capacity = capacity;
+            this.items = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(int item) {
+            for (int i = 0; i < size; i++) {
+                if (items[i] == item) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void offer(int item, float score) {
+            if (size < capacity) {
+                items[size] = item;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (worse(items[0], scores[0], item, score)) {
+                items[0] = item;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        int[] drainDescending() {
+            int[] result = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = items[0];
+                size--;
+                items[0] = items[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return result;
+        }
+
+        /**
+         * a 是否排在 b 之后
+         */
+        private static boolean worse(int a, float scoreA, int b, float scoreB) {
+            return scoreA < scoreB || (scoreA == scoreB && a > b);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!worse(items[index], scores[index], items[parent], scores[parent])) {
+                    break;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int left = index * 2 + 1;
+                if (left >= size) {
+                    return;
+                }
+                int smallest = left;
+                int right = left + 1;
+                if (right < size && worse(items[right], scores[right], items[left], scores[left])) {
+                    smallest = right;
+                }
+                if (!worse(items[smallest], scores[smallest], items[index], scores[index])) {
+                    return;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int item = items[i];
+            items[i] = items[j];
+            items[j] = item;
+            float score = scores[i];
+            scores[i] = scores[j];
+            scores[j] = score;
+        }
+    }
+}
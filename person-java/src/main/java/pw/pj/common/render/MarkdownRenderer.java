@@ -0,0 +1,240 @@
+package pw.pj.common.render;
+
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.node.AbstractVisitor;
+import org.commonmark.node.Code;
+import org.commonmark.node.CustomNode;
+import org.commonmark.node.HardLineBreak;
+import org.commonmark.node.Heading;
+import org.commonmark.node.Node;
+import org.commonmark.node.Paragraph;
+import org.commonmark.node.SoftLineBreak;
+import org.commonmark.node.Text;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.safety.Safelist;
+import pw.pj.common.search.TextTokenizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Markdown渲染器
+ *
+ * <p>一次解析同时产出：</p>
+ * <ul>
+ * <li>清洗后的HTML：仅保留白名单标签与属性，去除脚本、事件属性和非http(s)链接</li>
+ * <li>目录：按标题顺序平铺，标题id与HTML中一致，重复标题追加序号</li>
+ * <li>字数：中日韩字符按字计，其余连续字母数字按词计，代码块与内嵌HTML不计入</li>
+ * <li>阅读时间：中文每分钟400字、英文每分钟200词估算，非空正文至少1分钟</li>
+ * </ul>
+ *
+ * <p>渲染规则变化时递增 {@link #RENDER_VERSION}，启动时会重新渲染旧版本的文章。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class MarkdownRenderer {
+
+    /**
+     * 渲染规则版本
+     */
+    public static final int RENDER_VERSION = 1;
+
+    private static final int CJK_CHARS_PER_MINUTE = 400;
+
+    private static final int WORDS_PER_MINUTE = 200;
+
+    /**
+     * 仅用于保留相对链接的占位基地址，不会出现在输出中
+     */
+    private static final String PLACEHOLDER_BASE_URI = "http://localhost/";
+
+    private static final List<Extension> EXTENSIONS = Collections.singletonList(TablesExtension.create());
+
+    /**
+     * 解析器线程安全，可共享
+     */
+    private static final Parser PARSER = Parser.builder().extensions(EXTENSIONS).build();
+
+    private static final Safelist SAFELIST = Safelist.relaxed()
+            .addAttributes("h1", "id")
+            .addAttributes("h2", "id")
+            .addAttributes("h3", "id")
+            .addAttributes("h4", "id")
+            .addAttributes("h5", "id")
+            .addAttributes("h6", "id")
+            .addAttributes("code", "class")
+            .addAttributes("th", "align")
+            .addAttributes("td", "align")
+            .preserveRelativeLinks(true);
+
+    private MarkdownRenderer() {
+    }
+
+    /**
+     * 渲染Markdown
+     *
+     * @param markdown Markdown文本，可为空
+     * @return 渲染结果
+     */
+    public static RenderResult render(String markdown) {
+        Node document = PARSER.parse(markdown != null ? markdown : "");
+
+        Map<Node, String> headingIds = new IdentityHashMap<>();
+        List<TocItem> toc = new ArrayList<>();
+        StringBuilder plainText = new StringBuilder();
+        document.accept(new OutlineVisitor(headingIds, toc, plainText));
+
+        HtmlRenderer renderer = HtmlRenderer.builder()
+                .extensions(EXTENSIONS)
+                .attributeProviderFactory(context -> (node, tagName, attributes) -> {
+                    String id = headingIds.get(node);
+                    if (id != null) {
+                        attributes.put("id", id);
+                    }
+                })
+                .build();
+        Document.OutputSettings outputSettings = new Document.OutputSettings().prettyPrint(false);
+        String html = Jsoup.clean(renderer.render(document), PLACEHOLDER_BASE_URI, SAFELIST, outputSettings);
+
+        int[] counts = countWords(plainText);
+        int cjkChars = counts[0];
+        int words = counts[1];
+        int readingTime = cjkChars + words == 0 ? 0
+                : Math.max(1, (int) Math.ceil((double) cjkChars / CJK_CHARS_PER_MINUTE
+                        + (double) words / WORDS_PER_MINUTE));
+
+        return new RenderResult(html, toc, cjkChars + words, readingTime);
+    }
+
+    /**
+     * 统计字数
+     *
+     * @param text 纯文本
+     * @return [中日韩字符数, 其他词数]
+     */
+    static int[] countWords(CharSequence text) {
+        int cjkChars = 0;
+        int words = 0;
+        boolean inWord = false;
+        String value = text.toString();
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+            if (TextTokenizer.isCjk(codePoint)) {
+                cjkChars++;
+                inWord = false;
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                if (!inWord) {
+                    words++;
+                    inWord = true;
+                }
+            } else {
+                inWord = false;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return new int[] { cjkChars, words };
+    }
+
+    /**
+     * 生成标题锚点：保留字母数字（含中文），其余连续字符替换为连字符
+     */
+    static String slugify(String text) {
+        StringBuilder slug = new StringBuilder(text.length());
+        boolean pendingDash = false;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (pendingDash && slug.length() > 0) {
+                    slug.append('-');
+                }
+                pendingDash = false;
+                slug.appendCodePoint(Character.toLowerCase(codePoint));
+            } else {
+                pendingDash = true;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return slug.length() > 0 ? slug.toString() : "section";
+    }
+
+    // ==================== 私有辅助类 ====================
+
+    /**
+     * 收集标题与纯文本，块级节点之间补空格避免跨块粘连成一个词
+     */
+    private static final class OutlineVisitor extends AbstractVisitor {
+
+        private final Map<Node, String> headingIds;
+
+        private final List<TocItem> toc;
+
+        private final StringBuilder plainText;
+
+        private final Set<String> usedIds = new HashSet<>();
+
+        private OutlineVisitor(Map<Node, String> headingIds, List<TocItem> toc, StringBuilder plainText) {
+            this.headingIds = headingIds;
+            this.toc = toc;
+            this.plainText = plainText;
+        }
+
+        @Override
+        public void visit(Heading heading) {
+            int start = plainText.length();
+            visitChildren(heading);
+            String text = plainText.substring(start).trim();
+            plainText.append(' ');
+
+            String base = slugify(text);
+            String id = base;
+            for (int suffix = 1; !usedIds.add(id); suffix++) {
+                id = base + "-" + suffix;
+            }
+            headingIds.put(heading, id);
+            toc.add(new TocItem(heading.getLevel(), id, text));
+        }
+
+        @Override
+        public void visit(Paragraph paragraph) {
+            visitChildren(paragraph);
+            plainText.append(' ');
+        }
+
+        @Override
+        public void visit(CustomNode customNode) {
+            visitChildren(customNode);
+            plainText.append(' ');
+        }
+
+        @Override
+        public void visit(Text text) {
+            plainText.append(text.getLiteral());
+        }
+
+        @Override
+        public void visit(Code code) {
+            plainText.append(code.getLiteral());
+        }
+
+        @Override
+        public void visit(SoftLineBreak softLineBreak) {
+            plainText.append(' ');
+        }
+
+        @Override
+        public void visit(HardLineBreak hardLineBreak) {
+            plainText.append(' ');
+        }
+    }
+}
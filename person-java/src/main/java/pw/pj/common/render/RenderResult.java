@@ -0,0 +1,40 @@
+package pw.pj.common.render;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Markdown渲染结果
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RenderResult {
+
+    /**
+     * 清洗后的HTML
+     */
+    private String html;
+
+    /**
+     * 目录
+     */
+    private List<TocItem> toc;
+
+    /**
+     * 字数（中日韩字符按字计，其余按词计）
+     */
+    private Integer wordCount;
+
+    /**
+     * 预计阅读时间（分钟）
+     */
+    private Integer readingTime;
+}
@@ -0,0 +1,34 @@
+package pw.pj.common.render;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 文章目录项
+ * 按标题在正文中出现的顺序平铺，层级由 level 表示
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TocItem {
+
+    /**
+     * 标题级别（1-6）
+     */
+    private Integer level;
+
+    /**
+     * 锚点ID，与渲染后HTML中标题的id一致
+     */
+    private String id;
+
+    /**
+     * 标题文本
+     */
+    private String text;
+}
@@ -0,0 +1,78 @@
+package pw.pj.common.result;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 游标分页结果封装类
+ * 与 {@link PageResult} 并存，不提供页码与总页数，总数仅在请求时返回缓存的近似值
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ * @param <T> 数据类型
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPageResult<T> {
+
+    /**
+     * 数据列表
+     */
+    private List<T> records;
+
+    /**
+     * 下一页游标（没有下一页时为空）
+     */
+    private String nextCursor;
+
+    /**
+     * 是否有下一页
+     */
+    private Boolean hasMore;
+
+    /**
+     * 每页显示条数
+     */
+    private Integer size;
+
+    /**
+     * 近似总记录数（未请求时为空）
+     */
+    private Long total;
+
+    /**
+     * 创建游标分页结果
+     *
+     * @param records    数据列表
+     * @param nextCursor 下一页游标
+     * @param size       每页显示条数
+     * @param total      近似总记录数，可为空
+     * @param <T>        数据类型
+     * @return 游标分页结果
+     */
+    public static <T> CursorPageResult<T> of(List<T> records, String nextCursor, Integer size, Long total) {
+        return new CursorPageResult<>(records != null ? records : Collections.emptyList(),
+                nextCursor, nextCursor != null, size, total);
+    }
+
+    /**
+     * 创建空的游标分页结果
+     *
+     * @param size 每页显示条数
+     * @param <T>  数据类型
+     * @return 空游标分页结果
+     */
+    public static <T> CursorPageResult<T> empty(Integer size) {
+        return new CursorPageResult<>(Collections.emptyList(), null, false, size, null);
+    }
+}
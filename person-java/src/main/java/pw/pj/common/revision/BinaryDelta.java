@@ -0,0 +1,178 @@
+package pw.pj.common.revision;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 二进制差量编码
+ *
+ * <p>把目标字节序列编码为相对基准序列的复制/插入指令：基准按固定块建立哈希索引，
+ * 逐位置扫描目标查找相同块，命中后向前、向后扩展成最长复制段，其余字节作为插入。
+ * 对文章编辑这类局部修改，差量大小约等于修改内容本身。</p>
+ *
+ * <p>格式：版本号(1字节) + 目标长度(varint) + 指令序列；
+ * 复制指令为 0x00 + 基准偏移(varint) + 长度(varint)，插入指令为 0x01 + 长度(varint) + 原始字节。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class BinaryDelta {
+
+    /**
+     * 格式版本
+     */
+    static final byte FORMAT_VERSION = 1;
+
+    /**
+     * 索引块大小，短于该长度的相同片段按插入处理
+     */
+    static final int BLOCK_SIZE = 16;
+
+    private static final byte OP_COPY = 0;
+
+    private static final byte OP_INSERT = 1;
+
+    private BinaryDelta() {
+    }
+
+    /**
+     * 计算差量
+     *
+     * @param base   基准
+     * @param target 目标
+     * @return 差量
+     */
+    public static byte[] diff(byte[] base, byte[] target) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(target.length, 1024) + 16);
+        out.write(FORMAT_VERSION);
+        writeVarint(out, target.length);
+
+        Map<Integer, Integer> index = new HashMap<>(base.length / BLOCK_SIZE * 2 + 1);
+        for (int offset = 0; offset + BLOCK_SIZE <= base.length; offset += BLOCK_SIZE) {
+            index.putIfAbsent(blockHash(base, offset), offset);
+        }
+
+        int insertStart = 0;
+        int position = 0;
+        while (position + BLOCK_SIZE <= target.length) {
+            Integer candidate = index.get(blockHash(target, position));
+            if (candidate == null || !regionEquals(base, candidate, target, position)) {
+                position++;
+                continue;
+            }
+
+            // 向前扩展到待插入区间内，向后扩展到不再相同
+            int baseStart = candidate;
+            int targetStart = position;
+            while (targetStart > insertStart && baseStart > 0 && base[baseStart - 1] == target[targetStart - 1]) {
+                baseStart--;
+                targetStart--;
+            }
+            int baseEnd = candidate + BLOCK_SIZE;
+            int targetEnd = position + BLOCK_SIZE;
+            while (targetEnd < target.length && baseEnd < base.length && base[baseEnd] == target[targetEnd]) {
+                baseEnd++;
+                targetEnd++;
+            }
+
+            writeInsert(out, target, insertStart, targetStart);
+            out.write(OP_COPY);
+            writeVarint(out, baseStart);
+            writeVarint(out, targetEnd - targetStart);
+            position = targetEnd;
+            insertStart = targetEnd;
+        }
+        writeInsert(out, target, insertStart, target.length);
+        return out.toByteArray();
+    }
+
+    /**
+     * 应用差量
+     *
+     * @param base  基准
+     * @param delta 差量
+     * @return 目标
+     * @throws IllegalArgumentException 差量格式错误或与基准不匹配
+     */
+    public static byte[] apply(byte[] base, byte[] delta) {
+        if (delta.length == 0 || delta[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("不支持的差量格式");
+        }
+        int[] cursor = {1};
+        byte[] target = new byte[readVarint(delta, cursor)];
+        int written = 0;
+        try {
+            while (cursor[0] < delta.length) {
+                byte op = delta[cursor[0]++];
+                if (op == OP_COPY) {
+                    int offset = readVarint(delta, cursor);
+                    int length = readVarint(delta, cursor);
+                    System.arraycopy(base, offset, target, written, length);
+                    written += length;
+                } else if (op == OP_INSERT) {
+                    int length = readVarint(delta, cursor);
+                    System.arraycopy(delta, cursor[0], target, written, length);
+                    cursor[0] += length;
+                    written += length;
+                } else {
+                    throw new IllegalArgumentException("未知的差量指令：" + op);
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("差量与基准不匹配", e);
+        }
+        if (written != target.length) {
+            throw new IllegalArgumentException("差量长度不完整");
+        }
+        return target;
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private static int blockHash(byte[] data, int offset) {
+        int hash = 1;
+        for (int i = offset; i < offset + BLOCK_SIZE; i++) {
+            hash = 31 * hash + data[i];
+        }
+        return hash;
+    }
+
+    private static boolean regionEquals(byte[] base, int baseOffset, byte[] target, int targetOffset) {
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            if (base[baseOffset + i] != target[targetOffset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeInsert(ByteArrayOutputStream out, byte[] data, int from, int to) {
+        if (to > from) {
+            out.write(OP_INSERT);
+            writeVarint(out, to - from);
+            out.write(data, from, to - from);
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(byte[] data, int[] cursor) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = data[cursor[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("varint过长");
+    }
+}
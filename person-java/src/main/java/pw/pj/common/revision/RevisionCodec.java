@@ -0,0 +1,105 @@
+package pw.pj.common.revision;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 文章修订内容编解码
+ *
+ * <p>快照为正文UTF-8字节的Deflate压缩结果；差量为相对上一修订的 {@link BinaryDelta} 再经Deflate压缩。
+ * 差量中的插入片段通常是自然语言文本，压缩后还能再缩小一半左右。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class RevisionCodec {
+
+    private RevisionCodec() {
+    }
+
+    /**
+     * 编码快照
+     *
+     * @param content 正文
+     * @return 压缩后的快照
+     */
+    public static byte[] encodeSnapshot(String content) {
+        return deflate(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 编码差量
+     *
+     * @param base    上一修订正文
+     * @param content 本修订正文
+     * @return 压缩后的差量
+     */
+    public static byte[] encodeDelta(String base, String content) {
+        return deflate(BinaryDelta.diff(base.getBytes(StandardCharsets.UTF_8), content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 解码快照
+     *
+     * @param payload 压缩后的快照
+     * @return 正文
+     */
+    public static String decodeSnapshot(byte[] payload) {
+        return new String(inflate(payload), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 在上一修订正文上应用差量
+     *
+     * @param base    上一修订正文
+     * @param payload 压缩后的差量
+     * @return 本修订正文
+     */
+    public static String applyDelta(String base, byte[] payload) {
+        byte[] content = BinaryDelta.apply(base.getBytes(StandardCharsets.UTF_8), inflate(payload));
+        return new String(content, StandardCharsets.UTF_8);
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("修订内容已损坏");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("修订内容已损坏", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package pw.pj.common.search;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 倒排索引段文件读写
+ * 将索引的正排词表与词频写成紧凑的二进制段文件，启动时经内存映射顺序读取并重建内存索引
+ *
+ * <p>段文件格式（大端序）：</p>
+ * <ul>
+ * <li>头部：魔数、格式版本、字段数、水位（格式版本2起）、文档数</li>
+ * <li>文档：ID、各字段长度、存储数据、词项数，以及每个词项的文本与各字段词频</li>
+ * </ul>
+ * <p>写入时先写临时文件再原子替换，进程中途崩溃也不会留下半个段文件</p>
+ * <p>水位由调用方定义，记录段文件已包含的数据截止点，启动后据此追赶写盘之后的变更</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class IndexSegmentStore {
+
+    /**
+     * 魔数 "PWSI"
+     */
+    private static final int MAGIC = 0x50575349;
+
+    /**
+     * 段文件格式版本
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * 不含水位的旧格式版本，读取时水位视为0
+     */
+    private static final int FORMAT_VERSION_V1 = 1;
+
+    private IndexSegmentStore() {
+    }
+
+    /**
+     * 将索引写入段文件
+     *
+     * @param index   倒排索引
+     * @param segment 段文件路径
+     * @throws IOException 写入失败
+     */
+    public static void write(InvertedIndex index, Path segment) throws IOException {
+        write(index, segment, 0);
+    }
+
+    /**
+     * 将索引连同水位写入段文件
+     *
+     * @param index     倒排索引
+     * @param segment   段文件路径
+     * @param watermark 水位，须不晚于写入时索引实际包含的数据
+     * @throws IOException 写入失败
+     */
+    public static void write(InvertedIndex index, Path segment, long watermark) throws IOException {
+        Path dir = segment.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        Path tmp = segment.resolveSibling(segment.getFileName() + ".tmp");
+
+        int fieldCount = index.getFieldNames().length;
+        try (OutputStream file = Files.newOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(fieldCount);
+            out.writeLong(watermark);
+            index.forEachDocument(new InvertedIndex.DocumentVisitor() {
+                @Override
+                public void begin(int docCount) throws IOException {
+                    out.writeInt(docCount);
+                }
+
+                @Override
+                public void visit(long docId, int[] lengths, String stored, String[] terms, int[][] freqs)
+                        throws IOException {
+                    out.writeLong(docId);
+                    for (int length : lengths) {
+                        out.writeInt(length);
+                    }
+                    writeBytes(out, stored == null ? null : stored.getBytes(StandardCharsets.UTF_8));
+                    out.writeInt(terms.length);
+                    for (int t = 0; t < terms.length; t++) {
+                        writeBytes(out, terms[t].getBytes(StandardCharsets.UTF_8));
+                        for (int tf : freqs[t]) {
+                            out.writeInt(tf);
+                        }
+                    }
+                }
+            });
+        }
+        Files.move(tmp, segment, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 读取段文件头部的水位，不加载文档
+     *
+     * @param segment 段文件路径
+     * @return 水位，旧格式段文件返回0
+     * @throws IOException 读取失败或格式不匹配
+     */
+    public static long readWatermark(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), 32));
+            return readHeader(buffer, segment, -1);
+        } catch (RuntimeException e) {
+            throw new IOException("索引段文件已损坏：" + segment, e);
+        }
+    }
+
+    /**
+     * 通过内存映射顺序读取段文件，重建到内存索引
+     *
+     * @param index   目标索引（会先清空）
+     * @param segment 段文件路径
+     * @return 加载的文档数
+     * @throws IOException 读取失败或格式不匹配
+     */
+    public static int read(InvertedIndex index, Path segment) throws IOException {
+        int fieldCount = index.getFieldNames().length;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            readHeader(buffer, segment, fieldCount);
+            int docCount = buffer.getInt();
+
+            index.clear();
+            for (int d = 0; d < docCount; d++) {
+                long docId = buffer.getLong();
+                int[] lengths = new int[fieldCount];
+                for (int f = 0; f < fieldCount; f++) {
+                    lengths[f] = buffer.getInt();
+                }
+                String stored = readString(buffer);
+                int termCount = buffer.getInt();
+                Map<String, int[]> termFreqs = new HashMap<>(termCount * 2);
+                for (int t = 0; t < termCount; t++) {
+                    String term = readString(buffer);
+                    int[] freqs = new int[fieldCount];
+                    for (int f = 0; f < fieldCount; f++) {
+                        freqs[f] = buffer.getInt();
+                    }
+                    termFreqs.put(term, freqs);
+                }
+                index.putDocument(docId, lengths, termFreqs, stored);
+            }
+            return docCount;
+        } catch (RuntimeException e) {
+            throw new IOException("索引段文件已损坏：" + segment, e);
+        }
+    }
+
+    /**
+     * 校验并读取头部，读取后缓冲区位于文档数之前
+     *
+     * @param fieldCount 期望的字段数，小于0时不校验
+     * @return 水位
+     */
+    private static long readHeader(MappedByteBuffer buffer, Path segment, int fieldCount) throws IOException {
+        if (buffer.remaining() < 16 || buffer.getInt() != MAGIC) {
+            throw new IOException("无效的索引段文件：" + segment);
+        }
+        int version = buffer.getInt();
+        if (version != FORMAT_VERSION && version != FORMAT_VERSION_V1) {
+            throw new IOException("不支持的索引段版本：" + version);
+        }
+        int fields = buffer.getInt();
+        if (fieldCount >= 0 && fields != fieldCount) {
+            throw new IOException("索引段字段数与当前索引不一致：" + segment);
+        }
+        return version == FORMAT_VERSION_V1 ? 0 : buffer.getLong();
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,433 @@
+package pw.pj.common.search;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 内存倒排索引
+ * 支持多字段文档、字段加权的BM25F相关度打分和增量增删
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>词项 → 文档 → 各字段词频 的倒排结构，删除文档时按正排词表精确回收</li>
+ * <li>BM25F打分：各字段词频按字段长度归一化后乘以字段权重再合并</li>
+ * <li>多个查询词之间为AND语义，与原LIKE查询的召回范围保持一致</li>
+ * <li>单个汉字的查询会经字索引扩展为所有包含该字的二元词，不扫描词典</li>
+ * <li>读写锁保护，检索之间互不阻塞</li>
+ * </ul>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public class InvertedIndex {
+
+    /**
+     * BM25词频饱和参数
+     */
+    private static final double K1 = 1.2;
+
+    /**
+     * BM25长度归一化参数
+     */
+    private static final double B = 0.75;
+
+    private final String[] fieldNames;
+
+    private final float[] fieldBoosts;
+
+    /**
+     * 倒排表：词项 → (文档ID → 各字段词频)，有序以便做词项扫描
+     */
+    private final TreeMap<String, Map<Long, int[]>> postings = new TreeMap<>();
+
+    /**
+     * 字索引：单个中日韩文字 → 包含该字的词项，随倒排表的词项增删同步维护
+     */
+    private final Map<String, Set<String>> cjkTerms = new HashMap<>();
+
+    /**
+     * 正排表：文档ID → 文档信息
+     */
+    private final Map<Long, DocEntry> documents = new HashMap<>();
+
+    /**
+     * 各字段的总长度，用于计算平均字段长度
+     */
+    private final long[] totalFieldLengths;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 修改版本号，每次增删文档递增
+     */
+    private volatile long version;
+
+    /**
+     * 创建倒排索引
+     *
+     * @param fieldNames  字段名称
+     * @param fieldBoosts 字段权重，与字段名称一一对应
+     */
+    public InvertedIndex(String[] fieldNames, float[] fieldBoosts) {
+        if (fieldNames.length != fieldBoosts.length) {
+            throw new IllegalArgumentException("字段名称与字段权重数量不一致");
+        }
+        this.fieldNames = fieldNames.clone();
+        this.fieldBoosts = fieldBoosts.clone();
+        this.totalFieldLengths = new long[fieldNames.length];
+    }
+
+    // ==================== 索引维护 ====================
+
+    /**
+     * 添加或替换文档
+     *
+     * @param docId       文档ID
+     * @param fieldValues 各字段文本，与字段名称一一对应
+     * @param stored      随文档存储的展示数据
+     */
+    public void addDocument(long docId, String[] fieldValues, String stored) {
+        int fieldCount = fieldNames.length;
+        int[] lengths = new int[fieldCount];
+        Map<String, int[]> termFreqs = new HashMap<>();
+        for (int f = 0; f < fieldCount; f++) {
+            String value = f < fieldValues.length ? fieldValues[f] : null;
+            List<String> tokens = TextTokenizer.tokenize(value);
+            lengths[f] = tokens.size();
+            for (String token : tokens) {
+                termFreqs.computeIfAbsent(token, k -> new int[fieldCount])[f]++;
+            }
+        }
+        putDocument(docId, lengths, termFreqs, stored);
+    }
+
+    /**
+     * 写入已分好词的文档（供段文件加载使用）
+     */
+    void putDocument(long docId, int[] lengths, Map<String, int[]> termFreqs, String stored) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+            String[] terms = termFreqs.keySet().toArray(new String[0]);
+            for (String term : terms) {
+                Map<Long, int[]> docs = postings.get(term);
+                if (docs == null) {
+                    docs = new HashMap<>();
+                    postings.put(term, docs);
+                    indexCjkTerm(term);
+                }
+                docs.put(docId, termFreqs.get(term));
+            }
+            for (int f = 0; f < lengths.length; f++) {
+                totalFieldLengths[f] += lengths[f];
+            }
+            documents.put(docId, new DocEntry(lengths, terms, stored));
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除文档
+     *
+     * @param docId 文档ID
+     * @return 文档原本存在返回true
+     */
+    public boolean removeDocument(long docId) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = removeInternal(docId);
+            if (removed) {
+                version++;
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 清空索引
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            cjkTerms.clear();
+            documents.clear();
+            for (int f = 0; f < totalFieldLengths.length; f++) {
+                totalFieldLengths[f] = 0;
+            }
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean removeInternal(long docId) {
+        DocEntry entry = documents.remove(docId);
+        if (entry == null) {
+            return false;
+        }
+        for (String term : entry.terms) {
+            Map<Long, int[]> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(docId);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                    unindexCjkTerm(term);
+                }
+            }
+        }
+        for (int f = 0; f < entry.lengths.length; f++) {
+            totalFieldLengths[f] -= entry.lengths[f];
+        }
+        return true;
+    }
+
+    /**
+     * 把新词项登记到其包含的每个中日韩文字下
+     */
+    private void indexCjkTerm(String term) {
+        term.codePoints().filter(TextTokenizer::isCjk).distinct().forEach(cp ->
+                cjkTerms.computeIfAbsent(new String(Character.toChars(cp)), k -> new HashSet<>()).add(term));
+    }
+
+    private void unindexCjkTerm(String term) {
+        term.codePoints().filter(TextTokenizer::isCjk).distinct().forEach(cp -> {
+            String ch = new String(Character.toChars(cp));
+            Set<String> terms = cjkTerms.get(ch);
+            if (terms != null) {
+                terms.remove(term);
+                if (terms.isEmpty()) {
+                    cjkTerms.remove(ch);
+                }
+            }
+        });
+    }
+
+    // ==================== 检索 ====================
+
+    /**
+     * 检索文档
+     *
+     * @param query  查询文本
+     * @param offset 结果偏移量
+     * @param limit  返回条数
+     * @return 按相关度降序的命中结果
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(TextTokenizer.tokenize(query));
+        if (queryTerms.isEmpty()) {
+            return SearchHits.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            int docCount = documents.size();
+            if (docCount == 0) {
+                return SearchHits.empty();
+            }
+
+            // 1. 收集每个查询词的倒排列表，任一为空则AND结果为空
+            List<Map<Long, int[]>> termPostings = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                Map<Long, int[]> docs = TextTokenizer.isSingleCjk(term) ? expandSingleCjk(term) : postings.get(term);
+                if (docs == null || docs.isEmpty()) {
+                    return SearchHits.empty();
+                }
+                termPostings.add(docs);
+            }
+
+            // 2. 以最短的倒排列表为候选集合
+            Map<Long, int[]> shortest = termPostings.get(0);
+            for (Map<Long, int[]> docs : termPostings) {
+                if (docs.size() < shortest.size()) {
+                    shortest = docs;
+                }
+            }
+
+            double[] avgLengths = new double[fieldNames.length];
+            for (int f = 0; f < avgLengths.length; f++) {
+                avgLengths[f] = Math.max(1.0, (double) totalFieldLengths[f] / docCount);
+            }
+            double[] idf = new double[termPostings.size()];
+            for (int t = 0; t < idf.length; t++) {
+                int df = termPostings.get(t).size();
+                idf[t] = Math.log(1.0 + (docCount - df + 0.5) / (df + 0.5));
+            }
+
+            // 3. 逐个候选文档求交并打分
+            List<ScoredDoc> matched = new ArrayList<>();
+            for (Long docId : shortest.keySet()) {
+                DocEntry entry = documents.get(docId);
+                double score = 0;
+                boolean all = true;
+                for (int t = 0; t < termPostings.size(); t++) {
+                    int[] freqs = termPostings.get(t).get(docId);
+                    if (freqs == null) {
+                        all = false;
+                        break;
+                    }
+                    double weightedTf = 0;
+                    for (int f = 0; f < freqs.length; f++) {
+                        if (freqs[f] > 0) {
+                            double norm = 1 - B + B * entry.lengths[f] / avgLengths[f];
+                            weightedTf += fieldBoosts[f] * freqs[f] / norm;
+                        }
+                    }
+                    score += idf[t] * weightedTf / (K1 + weightedTf);
+                }
+                if (all) {
+                    matched.add(new ScoredDoc(docId, score));
+                }
+            }
+
+            // 4. 排序分页，同分时新文档（ID较大）优先
+            matched.sort((a, b) -> {
+                int cmp = Double.compare(b.score, a.score);
+                return cmp != 0 ? cmp : Long.compare(b.docId, a.docId);
+            });
+            int from = Math.max(0, offset);
+            int to = Math.min(matched.size(), from + Math.max(0, limit));
+            List<SearchHits.Hit> hits = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                ScoredDoc doc = matched.get(i);
+                hits.add(new SearchHits.Hit(doc.docId, doc.score, documents.get(doc.docId).stored));
+            }
+            return new SearchHits(matched.size(), hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 单个汉字扩展为包含该字的所有二元词，合并各字段词频
+     */
+    private Map<Long, int[]> expandSingleCjk(String term) {
+        Set<String> terms = cjkTerms.get(term);
+        if (terms == null) {
+            return null;
+        }
+        Map<Long, int[]> merged = new HashMap<>();
+        for (String candidate : terms) {
+            for (Map.Entry<Long, int[]> doc : postings.get(candidate).entrySet()) {
+                int[] target = merged.computeIfAbsent(doc.getKey(), k -> new int[fieldNames.length]);
+                int[] freqs = doc.getValue();
+                for (int f = 0; f < freqs.length; f++) {
+                    target[f] += freqs[f];
+                }
+            }
+        }
+        return merged;
+    }
+
+    // ==================== 状态访问 ====================
+
+    /**
+     * 文档数量
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 是否包含文档
+     */
+    public boolean contains(long docId) {
+        lock.readLock().lock();
+        try {
+            return documents.containsKey(docId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 当前修改版本号
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 字段名称
+     */
+    public String[] getFieldNames() {
+        return fieldNames.clone();
+    }
+
+    /**
+     * 在读锁内遍历所有文档（供段文件持久化使用）
+     */
+    void forEachDocument(DocumentVisitor visitor) throws IOException {
+        lock.readLock().lock();
+        try {
+            visitor.begin(documents.size());
+            for (Map.Entry<Long, DocEntry> entry : documents.entrySet()) {
+                long docId = entry.getKey();
+                DocEntry doc = entry.getValue();
+                int[][] freqs = new int[doc.terms.length][];
+                for (int t = 0; t < doc.terms.length; t++) {
+                    freqs[t] = postings.get(doc.terms[t]).get(docId);
+                }
+                visitor.visit(docId, doc.lengths, doc.stored, doc.terms, freqs);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 文档遍历回调
+     */
+    interface DocumentVisitor {
+
+        /**
+         * 遍历开始，参数为本次遍历的文档总数
+         */
+        void begin(int docCount) throws IOException;
+
+        void visit(long docId, int[] fieldLengths, String stored, String[] terms, int[][] termFreqs) throws IOException;
+    }
+
+    /**
+     * 正排文档信息
+     */
+    private static final class DocEntry {
+        private final int[] lengths;
+        private final String[] terms;
+        private final String stored;
+
+        private DocEntry(int[] lengths, String[] terms, String stored) {
+            this.lengths = lengths;
+            this.terms = terms;
+            this.stored = stored;
+        }
+    }
+
+    private static final class ScoredDoc {
+        private final long docId;
+        private final double score;
+
+        private ScoredDoc(long docId, double score) {
+            this.docId = docId;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package pw.pj.common.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 检索文档
+ * 搜索引擎之间统一的文章索引数据，检索字段之外附带列表展示数据
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchDocument {
+
+    /**
+     * 文章ID
+     */
+    private Long id;
+
+    /**
+     * 标题
+     */
+    private String title;
+
+    /**
+     * 摘要
+     */
+    private String summary;
+
+    /**
+     * 正文
+     */
+    private String content;
+
+    /**
+     * 列表展示数据（ArticleSimpleVO的JSON）
+     */
+    private String stored;
+}
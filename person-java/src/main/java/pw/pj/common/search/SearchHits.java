@@ -0,0 +1,60 @@
+package pw.pj.common.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 检索结果
+ * 包含命中总数与当前页的命中文档
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Data
+@AllArgsConstructor
+public class SearchHits {
+
+    /**
+     * 命中文档总数
+     */
+    private long total;
+
+    /**
+     * 当前页命中文档（按相关度降序）
+     */
+    private List<Hit> hits;
+
+    /**
+     * 空结果
+     */
+    public static SearchHits empty() {
+        return new SearchHits(0, Collections.emptyList());
+    }
+
+    /**
+     * 单条命中
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Hit {
+
+        /**
+         * 文档ID
+         */
+        private long docId;
+
+        /**
+         * BM25相关度得分
+         */
+        private double score;
+
+        /**
+         * 建索引时存储的展示数据
+         */
+        private String stored;
+    }
+}
@@ -0,0 +1,106 @@
+package pw.pj.common.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 全文检索分词器
+ * 中日韩文字按二元切分（bigram），拉丁字母与数字按单词切分并统一转为小写
+ *
+ * <p>示例："Spring Boot 入门教程" → [spring, boot, 入门, 门教, 教程]</p>
+ * <p>孤立的单个汉字作为一元词保留，保证单字标题也能被检索到</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class TextTokenizer {
+
+    /**
+     * 单词最大长度，超长的串（如Base64、长URL）直接截断
+     */
+    private static final int MAX_WORD_LENGTH = 40;
+
+    private TextTokenizer() {
+    }
+
+    /**
+     * 对文本进行分词
+     *
+     * @param text 原始文本
+     * @return 词项列表（保留重复，用于统计词频）
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        StringBuilder word = new StringBuilder();
+        int[] cjkRun = new int[16];
+        int cjkLength = 0;
+
+        int i = 0;
+        int length = text.length();
+        while (i < length) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (isCjk(codePoint)) {
+                flushWord(word, tokens);
+                if (cjkLength == cjkRun.length) {
+                    cjkRun = Arrays.copyOf(cjkRun, cjkLength * 2);
+                }
+                cjkRun[cjkLength++] = codePoint;
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                cjkLength = flushCjk(cjkRun, cjkLength, tokens);
+                if (word.length() < MAX_WORD_LENGTH) {
+                    word.appendCodePoint(Character.toLowerCase(codePoint));
+                }
+            } else {
+                flushWord(word, tokens);
+                cjkLength = flushCjk(cjkRun, cjkLength, tokens);
+            }
+        }
+        flushWord(word, tokens);
+        flushCjk(cjkRun, cjkLength, tokens);
+        return tokens;
+    }
+
+    /**
+     * 判断是否为中日韩文字
+     */
+    public static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    /**
+     * 判断词项是否为单个中日韩文字（查询时需要做包含扩展）
+     */
+    public static boolean isSingleCjk(String token) {
+        return token.codePointCount(0, token.length()) == 1 && isCjk(token.codePointAt(0));
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0) {
+            tokens.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static int flushCjk(int[] run, int length, List<String> tokens) {
+        if (length == 1) {
+            tokens.add(new String(run, 0, 1));
+        } else {
+            for (int j = 0; j + 1 < length; j++) {
+                tokens.add(new String(run, j, 2));
+            }
+        }
+        return 0;
+    }
+}
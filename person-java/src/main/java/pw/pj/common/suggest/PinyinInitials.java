@@ -0,0 +1,90 @@
+package pw.pj.common.suggest;
+
+import java.text.Collator;
+import java.util.Locale;
+
+/**
+ * 汉字拼音首字母
+ *
+ * <p>利用中文排序规则按拼音排列常用汉字的特点，把汉字与各声母段的第一个字比较确定首字母，
+ * 不依赖拼音词库。多音字取排序规则中的读音，生僻字可能不准，只用于输入联想。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class PinyinInitials {
+
+    /**
+     * 各首字母段的第一个汉字，与 {@link #LETTERS} 一一对应（没有 i、u、v 开头的拼音）
+     */
+    private static final String BOUNDARIES = "阿芭擦搭蛾发噶哈击喀垃妈拿哦啪期然撒塌挖昔压匝";
+
+    private static final String LETTERS = "abcdefghjklmnopqrstwxyz";
+
+    /**
+     * 排序规则实例不是线程安全的，使用时加锁
+     */
+    private static final Collator COLLATOR = Collator.getInstance(Locale.CHINA);
+
+    private PinyinInitials() {
+    }
+
+    /**
+     * 取文本的拼音首字母串：汉字取首字母，英文字母与数字转小写保留，其余字符跳过
+     *
+     * @param text 文本
+     * @return 首字母串，如 "Java并发编程" -> "javabfbc"
+     */
+    public static String of(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (isHan(ch)) {
+                char initial = initialOf(ch);
+                if (initial != 0) {
+                    builder.append(initial);
+                }
+            } else if (Character.isLetterOrDigit(ch) && ch < 128) {
+                builder.append(Character.toLowerCase(ch));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 文本是否含有汉字
+     */
+    public static boolean containsHan(String text) {
+        if (text == null) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (isHan(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private static boolean isHan(char ch) {
+        return Character.UnicodeScript.of(ch) == Character.UnicodeScript.HAN;
+    }
+
+    private static char initialOf(char ch) {
+        String value = String.valueOf(ch);
+        synchronized (COLLATOR) {
+            for (int i = BOUNDARIES.length() - 1; i >= 0; i--) {
+                if (COLLATOR.compare(value, String.valueOf(BOUNDARIES.charAt(i))) >= 0) {
+                    return LETTERS.charAt(i);
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,304 @@
+package pw.pj.common.suggest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 输入联想前缀索引
+ *
+ * <p>每个文档按若干文本生成检索词：整段文本、从每个词首开始的后缀，以及其中含汉字者的拼音首字母串。
+ * 检索词与文档ID拼成键存入有序跳表，前缀查询即一次有序区间扫描，按热度取前若干个。</p>
+ *
+ * <p>一两个字符的短前缀命中的键太多，另按检索词的前一、二个字符分桶，桶内文档按热度倒序排列，
+ * 短前缀直接从桶头取；更长的前缀区间扫描达到上限时，也改为按热度遍历前两个字符的桶并逐个核对，
+ * 结果不会偏向字典序靠前的检索词。</p>
+ *
+ * <p>读取无锁；单个文档的替换与删除在本实例内串行执行，并发读取可能短暂同时看到新旧检索词，
+ * 结果按文档去重。</p>
+ *
+ * @param <T> 联想结果类型
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class SuggestIndex<T> {
+
+    /**
+     * 单段文本最多生成的词首后缀数
+     */
+    private static final int MAX_SUFFIXES = 16;
+
+    /**
+     * 单次查询最多扫描的键数，保证短前缀的查询耗时有上限
+     */
+    private static final int MAX_SCAN = 2000;
+
+    /**
+     * 分桶使用的检索词前缀最大长度
+     */
+    private static final int HEAD_LENGTH = 2;
+
+    /**
+     * 检索词与文档ID之间的分隔符，小于任何可见字符
+     */
+    private static final char SEPARATOR = '\u0000';
+
+
+    /**
+     * 联想排序：热度倒序，热度相同按文档ID升序
+     */
+    private final Comparator<Entry<T>> heatOrder = Comparator.<Entry<T>>comparingLong(entry -> entry.weight)
+            .reversed()
+            .thenComparing(entry -> entry.docId);
+
+    private final ConcurrentSkipListMap<String, Entry<T>> terms = new ConcurrentSkipListMap<>();
+
+    /**
+     * 检索词前一、二个字符 -> 含此前缀的文档，按热度倒序、文档ID升序
+     */
+    private final Map<String, ConcurrentSkipListSet<Entry<T>>> heads = new ConcurrentHashMap<>();
+
+    /**
+     * 文档ID -> 该文档的条目（含全部检索词），用于替换与删除
+     */
+    private final Map<String, Entry<T>> docs = new ConcurrentHashMap<>();
+
+    // ==================== 索引维护 ====================
+
+    /**
+     * 加入或替换文档
+     *
+     * @param docId  文档ID，在本索引内唯一
+     * @param value  联想结果
+     * @param weight 热度，越大越靠前
+     * @param texts  参与联想的文本，如标题、名称、别名
+     */
+    public synchronized void put(String docId, T value, long weight, String... texts) {
+        remove(docId);
+        Entry<T> entry = new Entry<>(docId, value, weight, new ArrayList<>(termsOf(texts)));
+        for (String term : entry.terms) {
+            terms.put(term + SEPARATOR + docId, entry);
+            for (String head : headsOf(term)) {
+                heads.computeIfAbsent(head, key -> new ConcurrentSkipListSet<>(heatOrder)).add(entry);
+            }
+        }
+        docs.put(docId, entry);
+    }
+
+    /**
+     * 删除文档
+     *
+     * @param docId 文档ID
+     * @return 文档是否存在
+     */
+    public synchronized boolean remove(String docId) {
+        Entry<T> entry = docs.remove(docId);
+        if (entry == null) {
+            return false;
+        }
+        for (String term : entry.terms) {
+            terms.remove(term + SEPARATOR + docId);
+            for (String head : headsOf(term)) {
+                ConcurrentSkipListSet<Entry<T>> bucket = heads.get(head);
+                if (bucket != null && bucket.remove(entry) && bucket.isEmpty()) {
+                    heads.remove(head);
+                }
+            }
+        }
+        return true;
+    }
+
+    // ==================== 查询 ====================
+
+    /**
+     * 前缀联想
+     *
+     * @param prefix 用户输入，按与检索词相同的规则归一化
+     * @param limit  返回数量
+     * @return 联想结果，按热度倒序，热度相同按文档ID
+     */
+    public List<T> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        if (normalized.length() <= HEAD_LENGTH) {
+            return suggestByHeat(normalized, normalized, limit);
+        }
+
+        PriorityQueue<Entry<T>> top = new PriorityQueue<>(limit + 1, Collections.reverseOrder(heatOrder));
+        Set<String> seen = new HashSet<>();
+        int scanned = 0;
+        for (Entry<T> entry : terms.subMap(normalized, normalized + Character.MAX_VALUE).values()) {
+            if (++scanned > MAX_SCAN) {
+                // 命中的键过多，区间扫描只覆盖字典序靠前的一段，改为按热度遍历
+                return suggestByHeat(normalized.substring(0, HEAD_LENGTH), normalized, limit);
+            }
+            if (!seen.add(entry.docId)) {
+                continue;
+            }
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<T> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            result.add(top.poll().value);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * 已索引的文档数
+     */
+    public int size() {
+        return docs.size();
+    }
+
+    /**
+     * 生成检索词：整段文本、词首后缀，以及其中含汉字者的拼音首字母串
+     *
+     * @param texts 文本
+     * @return 去重后的检索词
+     */
+    public static Set<String> termsOf(String... texts) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String text : texts) {
+            String normalized = normalize(text);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            addWithInitials(result, normalized);
+            int suffixes = 0;
+            for (int i = 1; i < normalized.length() && suffixes < MAX_SUFFIXES; i++) {
+                if (isWordStart(normalized, i)) {
+                    addWithInitials(result, normalized.substring(i));
+                    suffixes++;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 归一化：去首尾空白、小写、连续空白合并为一个空格
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    /**
+     * 按热度倒序遍历分桶，取前若干个有检索词以前缀开头的文档
+     *
+     * @param head   分桶前缀
+     * @param prefix 完整前缀，与分桶前缀相同时不再逐个核对
+     * @param limit  返回数量
+     */
+    private List<T> suggestByHeat(String head, String prefix, int limit) {
+        ConcurrentSkipListSet<Entry<T>> bucket = heads.get(head);
+        if (bucket == null) {
+            return Collections.emptyList();
+        }
+        boolean verify = prefix.length() > head.length();
+        List<T> result = new ArrayList<>(limit);
+        Set<String> seen = new HashSet<>();
+        for (Entry<T> entry : bucket) {
+            if ((!verify || entry.matches(prefix)) && seen.add(entry.docId)) {
+                result.add(entry.value);
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 检索词的分桶前缀：前一个字符与前两个字符
+     */
+    private static List<String> headsOf(String term) {
+        List<String> result = new ArrayList<>(HEAD_LENGTH);
+        for (int length = 1; length <= Math.min(HEAD_LENGTH, term.length()); length++) {
+            result.add(term.substring(0, length));
+        }
+        return result;
+    }
+
+    private static void addWithInitials(Set<String> result, String term) {
+        result.add(term);
+        if (PinyinInitials.containsHan(term)) {
+            String initials = PinyinInitials.of(term);
+            if (!initials.isEmpty()) {
+                result.add(initials);
+            }
+        }
+    }
+
+    /**
+     * 位置 i 是否为词首：前一个字符是分隔符，或者在英文数字与汉字之间切换；汉字不分词，每个字都视为词首
+     */
+    private static boolean isWordStart(String text, int i) {
+        char current = text.charAt(i);
+        char previous = text.charAt(i - 1);
+        if (!Character.isLetterOrDigit(current)) {
+            return false;
+        }
+        if (!Character.isLetterOrDigit(previous)) {
+            return true;
+        }
+        return isHan(current) || isHan(previous);
+    }
+
+    private static boolean isHan(char ch) {
+        return Character.UnicodeScript.of(ch) == Character.UnicodeScript.HAN;
+    }
+
+    // ==================== 内部类 ====================
+
+    private static final class Entry<T> {
+
+        private final String docId;
+
+        private final T value;
+
+        private final long weight;
+
+        private final List<String> terms;
+
+        private Entry(String docId, T value, long weight, List<String> terms) {
+            this.docId = docId;
+            this.value = value;
+            this.weight = weight;
+            this.terms = terms;
+        }
+
+        private boolean matches(String prefix) {
+            for (String term : terms) {
+                if (term.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package pw.pj.common.tag;
+
+/**
+ * int -> int 开放寻址哈希表
+ *
+ * <p>键、值各存一个 int 数组，线性探测，不装箱；负载超过一半时扩容。键 0 保留为空槽标记，
+ * 标签ID从1开始，可以直接作为键。值减到0的键会被删除，删除时回移后续槽位，不留墓碑。</p>
+ *
+ * <p>非线程安全，由调用方加锁。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class IntIntMap {
+
+    private static final int EMPTY = 0;
+
+    private int[] keys;
+
+    private int[] values;
+
+    private int size;
+
+    public IntIntMap() {
+        this(8);
+    }
+
+    public IntIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 4) * 2 - 1) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+    }
+
+    /**
+     * 取值
+     *
+     * @param key 键，不能为0
+     * @return 值，不存在时返回0
+     */
+    public int get(int key) {
+        int slot = find(key);
+        return keys[slot] == EMPTY ? 0 : values[slot];
+    }
+
+    /**
+     * 累加，累加后为0时删除该键
+     *
+     * @param key   键，不能为0
+     * @param delta 增量
+     * @return 累加后的值
+     */
+    public int add(int key, int delta) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("键不能为0");
+        }
+        int slot = find(key);
+        if (keys[slot] == EMPTY) {
+            if (delta == 0) {
+                return 0;
+            }
+            keys[slot] = key;
+            values[slot] = delta;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+            return delta;
+        }
+        int value = values[slot] + delta;
+        if (value == 0) {
+            removeSlot(slot);
+        } else {
+            values[slot] = value;
+        }
+        return value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 遍历全部键值
+     *
+     * @param consumer 回调
+     */
+    public void forEach(Consumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * 键值回调
+     */
+    @FunctionalInterface
+    public interface Consumer {
+        void accept(int key, int value);
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private int find(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void removeSlot(int slot) {
+        int mask = keys.length - 1;
+        keys[slot] = EMPTY;
+        size--;
+        // 回移后续同簇的键，保证线性探测不断链
+        int next = (slot + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int key = keys[next];
+            int value = values[next];
+            keys[next] = EMPTY;
+            int target = find(key);
+            keys[target] = key;
+            values[target] = value;
+            next = (next + 1) & mask;
+        }
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
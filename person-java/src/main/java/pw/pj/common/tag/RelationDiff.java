@@ -0,0 +1,102 @@
+package pw.pj.common.tag;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 关联差异
+ *
+ * <p>比较一方当前关联的ID与目标ID，得出需要新增与删除的ID，只对差异部分写库。
+ * 两个列表均去重、忽略空值，并保持在输入中首次出现的顺序。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class RelationDiff {
+
+    private final List<Long> added;
+
+    private final List<Long> removed;
+
+    private RelationDiff(List<Long> added, List<Long> removed) {
+        this.added = added;
+        this.removed = removed;
+    }
+
+    /**
+     * 计算差异
+     *
+     * @param current 当前关联的ID
+     * @param target  目标ID，为null时视为空
+     * @return 差异
+     */
+    public static RelationDiff of(Collection<Long> current, Collection<Long> target) {
+        Set<Long> currentIds = distinct(current);
+        Set<Long> targetIds = distinct(target);
+
+        List<Long> added = new ArrayList<>();
+        for (Long id : targetIds) {
+            if (!currentIds.contains(id)) {
+                added.add(id);
+            }
+        }
+        List<Long> removed = new ArrayList<>();
+        for (Long id : currentIds) {
+            if (!targetIds.contains(id)) {
+                removed.add(id);
+            }
+        }
+        return new RelationDiff(Collections.unmodifiableList(added), Collections.unmodifiableList(removed));
+    }
+
+    /**
+     * 需要新增的ID
+     */
+    public List<Long> getAdded() {
+        return added;
+    }
+
+    /**
+     * 需要删除的ID
+     */
+    public List<Long> getRemoved() {
+        return removed;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+
+    /**
+     * 各ID的计数增量：新增 +1，删除 -1
+     *
+     * @return ID -> 增量，按新增、删除的顺序
+     */
+    public Map<Long, Integer> deltas() {
+        Map<Long, Integer> deltas = new LinkedHashMap<>();
+        added.forEach(id -> deltas.put(id, 1));
+        removed.forEach(id -> deltas.put(id, -1));
+        return deltas;
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private static Set<Long> distinct(Collection<Long> ids) {
+        Set<Long> result = new LinkedHashSet<>();
+        if (ids != null) {
+            for (Long id : ids) {
+                if (id != null) {
+                    result.add(id);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,140 @@
+package pw.pj.common.tag;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * 标签云
+ *
+ * <p>从按热度排好序的标签中取前若干个，按文章数的对数计算1~5级权重并映射到字号档位，
+ * 再按给定的展示顺序排列。对数刻度避免少数大标签把其余标签都压到最低一级。</p>
+ *
+ * <p>构建后不再修改，可被任意线程无锁读取。</p>
+ *
+ * @param <T> 标签类型
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class TagCloud<T> {
+
+    /**
+     * 权重级数
+     */
+    public static final int LEVELS = 5;
+
+    /**
+     * 各级权重对应的字号（px）
+     */
+    private static final int[] FONT_SIZES = { 12, 14, 16, 19, 22 };
+
+    private final List<Entry<T>> entries;
+
+    private TagCloud(List<Entry<T>> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * 构建标签云
+     *
+     * @param ranked       按热度倒序排好的标签
+     * @param limit        最多取的标签数
+     * @param countOf      取文章数
+     * @param displayOrder 展示顺序，应为全序以保证结果稳定
+     * @param <T>          标签类型
+     * @return 标签云
+     */
+    public static <T> TagCloud<T> of(List<T> ranked, int limit, ToIntFunction<T> countOf,
+            Comparator<T> displayOrder) {
+        List<T> selected = new ArrayList<>(ranked.subList(0, Math.min(Math.max(limit, 0), ranked.size())));
+        if (selected.isEmpty()) {
+            return new TagCloud<>(Collections.emptyList());
+        }
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (T tag : selected) {
+            int count = countOf.applyAsInt(tag);
+            min = Math.min(min, count);
+            max = Math.max(max, count);
+        }
+
+        selected.sort(displayOrder);
+        List<Entry<T>> entries = new ArrayList<>(selected.size());
+        for (T tag : selected) {
+            int level = level(countOf.applyAsInt(tag), min, max);
+            entries.add(new Entry<>(tag, level, FONT_SIZES[level - 1]));
+        }
+        return new TagCloud<>(Collections.unmodifiableList(entries));
+    }
+
+    /**
+     * 按对数刻度计算权重级别
+     *
+     * @param count 文章数
+     * @param min   云中最小文章数
+     * @param max   云中最大文章数
+     * @return 1 ~ {@link #LEVELS}，最小、最大相同时为1
+     */
+    public static int level(int count, int min, int max) {
+        if (max <= min) {
+            return 1;
+        }
+        double ratio = (Math.log1p(Math.max(count, min)) - Math.log1p(min)) / (Math.log1p(max) - Math.log1p(min));
+        return 1 + (int) Math.round(Math.min(ratio, 1.0) * (LEVELS - 1));
+    }
+
+    /**
+     * 全部条目，按展示顺序，不可修改
+     */
+    public List<Entry<T>> entries() {
+        return entries;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // ==================== 内部类 ====================
+
+    /**
+     * 标签云条目
+     *
+     * @param <T> 标签类型
+     */
+    public static final class Entry<T> {
+
+        private final T tag;
+
+        private final int level;
+
+        private final int fontSize;
+
+        private Entry(T tag, int level, int fontSize) {
+            this.tag = tag;
+            this.level = level;
+            this.fontSize = fontSize;
+        }
+
+        public T getTag() {
+            return tag;
+        }
+
+        /**
+         * 权重级别，1 ~ {@link TagCloud#LEVELS}
+         */
+        public int getLevel() {
+            return level;
+        }
+
+        /**
+         * 字号（px）
+         */
+        public int getFontSize() {
+            return fontSize;
+        }
+    }
+}
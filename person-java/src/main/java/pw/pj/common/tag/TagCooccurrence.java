@@ -0,0 +1,231 @@
+package pw.pj.common.tag;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 标签共现矩阵
+ *
+ * <p>稀疏存储：每个标签一张 {@link IntIntMap}（共现标签ID -> 同时出现的文章数），另有每个标签的文章数与
+ * 每篇文章的标签数组。文章改标签时只对新旧标签集合的差异调整计数。</p>
+ *
+ * <p>相关度使用归一化点互信息 NPMI = ln(p(x,y) / (p(x)p(y))) / -ln p(x,y)，取值 [-1, 1]，
+ * 避免单纯按共现次数排序时总是推荐最热门的标签。</p>
+ *
+ * <p>非线程安全，由调用方加锁。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class TagCooccurrence {
+
+    private static final int[] NO_TAGS = new int[0];
+
+    /**
+     * 标签ID -> 共现计数
+     */
+    private final Map<Integer, IntIntMap> pairs = new HashMap<>();
+
+    /**
+     * 标签ID -> 文章数
+     */
+    private final IntIntMap tagCounts = new IntIntMap(256);
+
+    /**
+     * 文章ID -> 标签ID（升序、去重）
+     */
+    private final Map<Long, int[]> articleTags = new HashMap<>();
+
+    // ==================== 矩阵维护 ====================
+
+    /**
+     * 设置文章的标签，替换原有标签并调整计数
+     *
+     * @param articleId 文章ID
+     * @param tagIds    标签ID，为空时等同于移除文章
+     */
+    public void setArticle(long articleId, Collection<Long> tagIds) {
+        int[] added = toSortedArray(tagIds);
+        int[] removed = articleTags.getOrDefault(articleId, NO_TAGS);
+        apply(removed, -1);
+        apply(added, 1);
+        if (added.length == 0) {
+            articleTags.remove(articleId);
+        } else {
+            articleTags.put(articleId, added);
+        }
+    }
+
+    /**
+     * 移除文章
+     *
+     * @param articleId 文章ID
+     */
+    public void removeArticle(long articleId) {
+        int[] removed = articleTags.remove(articleId);
+        if (removed != null) {
+            apply(removed, -1);
+        }
+    }
+
+    // ==================== 查询 ====================
+
+    /**
+     * 与给定标签最相关的标签
+     *
+     * @param tagId    标签ID
+     * @param limit    返回数量
+     * @param minCount 最少共现文章数，过滤偶然共现
+     * @return 标签ID，按NPMI倒序，相同时按共现数倒序、ID升序
+     */
+    public List<Long> related(long tagId, int limit, int minCount) {
+        IntIntMap neighbors = pairs.get((int) tagId);
+        if (neighbors == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        List<Scored> scored = new ArrayList<>(neighbors.size());
+        int self = (int) tagId;
+        neighbors.forEach((other, together) -> {
+            if (together >= minCount) {
+                scored.add(new Scored(other, npmi(self, other, together), together));
+            }
+        });
+        return top(scored, limit);
+    }
+
+    /**
+     * 为已选标签推荐补充标签：对每个候选标签累加它与各已选标签的正NPMI
+     *
+     * @param tagIds   已选标签ID
+     * @param limit    返回数量
+     * @param minCount 最少共现文章数
+     * @return 标签ID，不含已选标签
+     */
+    public List<Long> suggest(Collection<Long> tagIds, int limit, int minCount) {
+        Set<Integer> selected = new LinkedHashSet<>();
+        for (Long tagId : tagIds) {
+            if (tagId != null) {
+                selected.add(tagId.intValue());
+            }
+        }
+        Map<Integer, Scored> candidates = new HashMap<>();
+        for (int self : selected) {
+            IntIntMap neighbors = pairs.get(self);
+            if (neighbors == null) {
+                continue;
+            }
+            neighbors.forEach((other, together) -> {
+                if (together < minCount || selected.contains(other)) {
+                    return;
+                }
+                double score = npmi(self, other, together);
+                if (score <= 0) {
+                    return;
+                }
+                candidates.merge(other, new Scored(other, score, together),
+                        (a, b) -> new Scored(other, a.score + b.score, a.together + b.together));
+            });
+        }
+        return top(new ArrayList<>(candidates.values()), limit);
+    }
+
+    /**
+     * 两个标签同时出现的文章数
+     */
+    public int together(long tagId, long otherId) {
+        IntIntMap neighbors = pairs.get((int) tagId);
+        return neighbors == null ? 0 : neighbors.get((int) otherId);
+    }
+
+    /**
+     * 标签的文章数
+     */
+    public int count(long tagId) {
+        return tagCounts.get((int) tagId);
+    }
+
+    /**
+     * 有标签的文章数
+     */
+    public int articleCount() {
+        return articleTags.size();
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private void apply(int[] tags, int delta) {
+        for (int i = 0; i < tags.length; i++) {
+            tagCounts.add(tags[i], delta);
+            for (int j = i + 1; j < tags.length; j++) {
+                addPair(tags[i], tags[j], delta);
+                addPair(tags[j], tags[i], delta);
+            }
+        }
+    }
+
+    private void addPair(int tagId, int otherId, int delta) {
+        IntIntMap neighbors = pairs.computeIfAbsent(tagId, id -> new IntIntMap());
+        neighbors.add(otherId, delta);
+        if (neighbors.size() == 0) {
+            pairs.remove(tagId);
+        }
+    }
+
+    private double npmi(int tagId, int otherId, int together) {
+        double total = articleTags.size();
+        double pxy = together / total;
+        if (pxy >= 1.0) {
+            return 1.0;
+        }
+        double px = tagCounts.get(tagId) / total;
+        double py = tagCounts.get(otherId) / total;
+        return Math.log(pxy / (px * py)) / -Math.log(pxy);
+    }
+
+    private static List<Long> top(List<Scored> scored, int limit) {
+        scored.sort(Comparator.comparingDouble((Scored s) -> s.score).reversed()
+                .thenComparing(Comparator.comparingInt((Scored s) -> s.together).reversed())
+                .thenComparingInt(s -> s.tagId));
+        List<Long> result = new ArrayList<>(Math.min(limit, scored.size()));
+        for (int i = 0; i < scored.size() && i < limit; i++) {
+            result.add((long) scored.get(i).tagId);
+        }
+        return result;
+    }
+
+    private static int[] toSortedArray(Collection<Long> tagIds) {
+        if (tagIds == null || tagIds.isEmpty()) {
+            return NO_TAGS;
+        }
+        return tagIds.stream()
+                .filter(tagId -> tagId != null && tagId > 0)
+                .mapToInt(Long::intValue)
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    // ==================== 内部类 ====================
+
+    private static final class Scored {
+
+        private final int tagId;
+
+        private final double score;
+
+        private final int together;
+
+        private Scored(int tagId, double score, int together) {
+            this.tagId = tagId;
+            this.score = score;
+            this.together = together;
+        }
+    }
+}
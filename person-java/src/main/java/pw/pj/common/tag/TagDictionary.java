@@ -0,0 +1,194 @@
+package pw.pj.common.tag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * 标签字典
+ *
+ * <p>不可变的标签快照：按ID升序的 long[] 与对应标签数组构成ID查找表（二分查找，无装箱），
+ * 另有名称、别名两个哈希索引，键按去首尾空白、小写归一化，与数据库不区分大小写的排序规则一致。</p>
+ *
+ * <p>构建后不再修改，可被任意线程无锁读取；标签变化时整体重建并替换引用。</p>
+ *
+ * @param <T> 标签类型
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class TagDictionary<T> {
+
+    private static final long[] NO_IDS = new long[0];
+
+    private final long version;
+
+    private final long[] ids;
+
+    private final List<T> tags;
+
+    private final Map<String, long[]> nameIndex;
+
+    private final Map<String, long[]> slugIndex;
+
+    private TagDictionary(long version, long[] ids, List<T> tags, Map<String, long[]> nameIndex,
+            Map<String, long[]> slugIndex) {
+        this.version = version;
+        this.ids = ids;
+        this.tags = tags;
+        this.nameIndex = nameIndex;
+        this.slugIndex = slugIndex;
+    }
+
+    /**
+     * 由全部标签构建字典
+     *
+     * @param version 版本号
+     * @param source  标签，顺序不限，ID重复时保留后者
+     * @param idOf    取ID
+     * @param nameOf  取名称
+     * @param slugOf  取别名
+     * @param <T>     标签类型
+     * @return 标签字典
+     */
+    public static <T> TagDictionary<T> of(long version, Collection<T> source, ToLongFunction<T> idOf,
+            Function<T, String> nameOf, Function<T, String> slugOf) {
+        List<T> sorted = new ArrayList<>(source);
+        sorted.sort((a, b) -> Long.compare(idOf.applyAsLong(a), idOf.applyAsLong(b)));
+
+        long[] ids = new long[sorted.size()];
+        List<T> tags = new ArrayList<>(sorted.size());
+        int size = 0;
+        for (T tag : sorted) {
+            long id = idOf.applyAsLong(tag);
+            if (size > 0 && ids[size - 1] == id) {
+                tags.set(size - 1, tag);
+                continue;
+            }
+            ids[size++] = id;
+            tags.add(tag);
+        }
+
+        Map<String, long[]> nameIndex = new HashMap<>(size * 2);
+        Map<String, long[]> slugIndex = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            addToIndex(nameIndex, nameOf.apply(tags.get(i)), ids[i]);
+            addToIndex(slugIndex, slugOf.apply(tags.get(i)), ids[i]);
+        }
+        return new TagDictionary<>(version, Arrays.copyOf(ids, size), Collections.unmodifiableList(tags),
+                nameIndex, slugIndex);
+    }
+
+    // ==================== 查询 ====================
+
+    /**
+     * 按ID查找
+     *
+     * @param id 标签ID
+     * @return 标签，不存在时返回null
+     */
+    public T get(long id) {
+        int position = Arrays.binarySearch(ids, id);
+        return position >= 0 ? tags.get(position) : null;
+    }
+
+    /**
+     * 按给定顺序批量查找，跳过不存在的ID
+     *
+     * @param tagIds 标签ID
+     * @return 标签列表
+     */
+    public List<T> getAll(Collection<Long> tagIds) {
+        List<T> result = new ArrayList<>(tagIds.size());
+        for (Long tagId : tagIds) {
+            T tag = tagId == null ? null : get(tagId);
+            if (tag != null) {
+                result.add(tag);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 全部标签，按ID升序，不可修改
+     */
+    public List<T> values() {
+        return tags;
+    }
+
+    /**
+     * 是否存在同名标签（不区分大小写）
+     *
+     * @param name      名称
+     * @param excludeId 排除的标签ID，可为null
+     */
+    public boolean containsName(String name, Long excludeId) {
+        return containsOther(nameIndex, name, excludeId);
+    }
+
+    /**
+     * 是否存在同别名标签（不区分大小写）
+     *
+     * @param slug      别名
+     * @param excludeId 排除的标签ID，可为null
+     */
+    public boolean containsSlug(String slug, Long excludeId) {
+        return containsOther(slugIndex, slug, excludeId);
+    }
+
+    /**
+     * 按名称查找（不区分大小写），同名时取ID最小者
+     *
+     * @param name 名称
+     * @return 标签，不存在时返回null
+     */
+    public T findByName(String name) {
+        long[] matched = name == null ? NO_IDS : nameIndex.getOrDefault(normalize(name), NO_IDS);
+        return matched.length == 0 ? null : get(matched[0]);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private static boolean containsOther(Map<String, long[]> index, String key, Long excludeId) {
+        if (key == null) {
+            return false;
+        }
+        for (long id : index.getOrDefault(normalize(key), NO_IDS)) {
+            if (excludeId == null || id != excludeId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addToIndex(Map<String, long[]> index, String key, long id) {
+        if (key == null || key.trim().isEmpty()) {
+            return;
+        }
+        // ID按升序加入，同键的数组保持升序
+        index.merge(normalize(key), new long[] { id }, (existing, added) -> {
+            long[] merged = Arrays.copyOf(existing, existing.length + 1);
+            merged[existing.length] = added[0];
+            return merged;
+        });
+    }
+
+    private static String normalize(String key) {
+        return key.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,84 @@
+package pw.pj.common.utils;
+
+import pw.pj.common.exception.BusinessException;
+import pw.pj.common.result.ResultEnum;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 分页游标工具类
+ * 将排序键编码为不透明的URL安全字符串，客户端只需原样回传
+ *
+ * <p>格式：版本前缀 + 以逗号分隔的长整数排序键，整体做无填充的Base64URL编码</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class CursorUtils {
+
+    /**
+     * 游标格式版本，排序键变化时递增使旧游标失效
+     */
+    private static final String VERSION = "v1:";
+
+    private static final String SEPARATOR = ",";
+
+    private CursorUtils() {
+    }
+
+    /**
+     * 编码游标
+     *
+     * @param keys 排序键
+     * @return 游标字符串
+     */
+    public static String encode(long... keys) {
+        StringBuilder builder = new StringBuilder(VERSION);
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                builder.append(SEPARATOR);
+            }
+            builder.append(keys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param cursor   游标字符串，为空表示第一页
+     * @param keyCount 排序键个数
+     * @return 排序键，游标为空时返回null
+     * @throws BusinessException 游标格式非法或排序键个数不符时抛出
+     */
+    public static long[] decode(String cursor, int keyCount) {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            if (!raw.startsWith(VERSION)) {
+                throw invalid();
+            }
+            String[] parts = raw.substring(VERSION.length()).split(SEPARATOR);
+            if (parts.length != keyCount) {
+                throw invalid();
+            }
+            long[] keys = new long[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                keys[i] = Long.parseLong(parts[i]);
+            }
+            return keys;
+        } catch (IllegalArgumentException e) {
+            // Base64非法字符与数字格式错误均归为游标无效
+            throw invalid();
+        }
+    }
+
+    private static BusinessException invalid() {
+        return new BusinessException(ResultEnum.PARAM_ERROR, "无效的分页游标");
+    }
+}
@@ -0,0 +1,128 @@
+package pw.pj.common.utils;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 读写锁保护的内存快照
+ * 首次访问时由加载函数构建，读取并发执行，原地调整与整体替换互斥
+ *
+ * <p>适用于可原地增量调整、又需定期整体重建的内存结构，如标签位图索引与标签共现矩阵。
+ * 加载函数在写锁内执行，同一时刻只会构建一次。</p>
+ *
+ * @param <T> 快照类型
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public final class GuardedSnapshot<T> {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Supplier<T> loader;
+
+    private T value;
+
+    /**
+     * @param loader 快照尚未加载时调用的构建函数，不可返回null
+     */
+    public GuardedSnapshot(Supplier<T> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * 在读锁内读取快照，尚未加载时先加载
+     *
+     * @param reader 读取函数，不可修改快照
+     * @param <R>    结果类型
+     * @return 读取结果
+     */
+    public <R> R read(Function<? super T, ? extends R> reader) {
+        lock.readLock().lock();
+        try {
+            if (value != null) {
+                return reader.apply(value);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            return reader.apply(loaded());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 在写锁内原地调整快照，尚未加载时先加载
+     *
+     * @param writer 调整函数
+     */
+    public void write(Consumer<? super T> writer) {
+        lock.writeLock().lock();
+        try {
+            writer.accept(loaded());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 在读锁内读取已加载的快照，尚未加载时不触发加载
+     *
+     * @param reader 读取函数，不可修改快照
+     * @param absent 尚未加载时的返回值
+     * @param <R>    结果类型
+     * @return 读取结果
+     */
+    public <R> R readIfLoaded(Function<? super T, ? extends R> reader, R absent) {
+        lock.readLock().lock();
+        try {
+            return value != null ? reader.apply(value) : absent;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 在写锁内调整已加载的快照，尚未加载时不触发加载
+     *
+     * @param writer 调整函数
+     * @param absent 尚未加载时的返回值
+     * @param <R>    结果类型
+     * @return 调整结果
+     */
+    public <R> R writeIfLoaded(Function<? super T, ? extends R> writer, R absent) {
+        lock.writeLock().lock();
+        try {
+            return value != null ? writer.apply(value) : absent;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 整体替换快照，新快照应在锁外构建完成
+     *
+     * @param replacement 新快照
+     */
+    public void replace(T replacement) {
+        lock.writeLock().lock();
+        try {
+            value = replacement;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private T loaded() {
+        if (value == null) {
+            value = loader.get();
+        }
+        return value;
+    }
+}
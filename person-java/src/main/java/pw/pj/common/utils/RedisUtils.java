@@ -3,9 +3,24 @@ package pw.pj.common.utils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.DefaultTuple;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -20,6 +35,13 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class RedisUtils {
 
+    /**
+     * 持有者校验后释放锁，避免锁过期后误删其他节点重新获取的锁
+     */
+    private static final String UNLOCK_SCRIPT = ""
+            + "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end\n"
+            + "return 0";
+
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
@@ -122,6 +144,102 @@ public class RedisUtils {
         }
     }
 
+    /**
+     * 设置二进制缓存并指定过期时间，值原样写入，不经过JSON序列化
+     * 
+     * @param key    键
+     * @param value  字节
+     * @param expire 过期时间（秒）
+     * @return 是否成功
+     */
+    public boolean setBytes(String key, byte[] value, long expire) {
+        try {
+            byte[] rawKey = StringRedisSerializer.UTF_8.serialize(key);
+            redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.setEx(rawKey, expire, value));
+            return true;
+        } catch (Exception e) {
+            log.error("Redis设置二进制缓存失败：key={}, expire={}, error={}", key, expire, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 获取二进制缓存
+     * 
+     * @param key 键
+     * @return 字节，不存在时返回null
+     */
+    public byte[] getBytes(String key) {
+        try {
+            byte[] rawKey = StringRedisSerializer.UTF_8.serialize(key);
+            return redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.get(rawKey));
+        } catch (Exception e) {
+            log.error("Redis获取二进制缓存失败：key={}, error={}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 设置哈希表中的二进制字段并刷新整个键的过期时间，值原样写入，不经过JSON序列化
+     *
+     * @param key    键
+     * @param field  字段
+     * @param value  字节
+     * @param expire 过期时间（秒）
+     * @return 是否成功
+     */
+    public boolean hSetBytes(String key, String field, byte[] value, long expire) {
+        try {
+            byte[] rawKey = StringRedisSerializer.UTF_8.serialize(key);
+            byte[] rawField = StringRedisSerializer.UTF_8.serialize(field);
+            redisTemplate.execute((RedisCallback<Boolean>) connection -> {
+                connection.hSet(rawKey, rawField, value);
+                return connection.expire(rawKey, expire);
+            });
+            return true;
+        } catch (Exception e) {
+            log.error("Redis设置哈希二进制字段失败：key={}, field={}, error={}", key, field, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 获取哈希表中的二进制字段
+     *
+     * @param key   键
+     * @param field 字段
+     * @return 字节，不存在时返回null
+     */
+    public byte[] hGetBytes(String key, String field) {
+        try {
+            byte[] rawKey = StringRedisSerializer.UTF_8.serialize(key);
+            byte[] rawField = StringRedisSerializer.UTF_8.serialize(field);
+            return redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.hGet(rawKey, rawField));
+        } catch (Exception e) {
+            log.error("Redis获取哈希二进制字段失败：key={}, field={}, error={}", key, field, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 向频道发布消息，消息按UTF-8原样写入，不经过JSON序列化
+     * 
+     * @param channel 频道
+     * @param message 消息
+     * @return 是否成功
+     */
+    public boolean publish(String channel, String message) {
+        try {
+            byte[] rawChannel = StringRedisSerializer.UTF_8.serialize(channel);
+            byte[] rawMessage = StringRedisSerializer.UTF_8.serialize(message);
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(rawChannel, rawMessage));
+            return true;
+        } catch (Exception e) {
+            log.error("Redis发布消息失败：channel={}, error={}", channel, e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * 删除缓存
      * 
@@ -207,6 +325,55 @@ public class RedisUtils {
         }
     }
 
+    /**
+     * 键不存在时设置缓存
+     * 
+     * @param key   键
+     * @param value 值
+     * @return 是否设置成功（键已存在时返回false）
+     */
+    public boolean setIfAbsent(String key, Object value) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, value));
+        } catch (Exception e) {
+            log.error("Redis设置缓存失败：key={}, error={}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 键不存在时设置缓存并指定过期时间
+     * 
+     * @param key    键
+     * @param value  值
+     * @param expire 过期时间（秒）
+     * @return 是否设置成功（键已存在时返回false）
+     */
+    public boolean setIfAbsent(String key, Object value, long expire) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, value, expire, TimeUnit.SECONDS));
+        } catch (Exception e) {
+            log.error("Redis设置缓存失败：key={}, error={}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 批量获取缓存
+     * 
+     * @param keys 键列表
+     * @return 值列表，与键一一对应，不存在的键对应null
+     */
+    public List<Object> multiGet(List<String> keys) {
+        try {
+            List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+            return values != null ? values : Collections.nCopies(keys.size(), null);
+        } catch (Exception e) {
+            log.error("Redis批量获取缓存失败：keys={}, error={}", keys, e.getMessage());
+            return Collections.nCopies(keys.size(), null);
+        }
+    }
+
     /**
      * 递增
      * 
@@ -240,4 +407,332 @@ public class RedisUtils {
             return 0;
         }
     }
-}
\ No newline at end of file
+
+    // ==================== 有序集合 ====================
+
+    /**
+     * 批量写入有序集合成员，已存在的成员覆盖分数
+     * 
+     * @param key     键
+     * @param members 成员与分数
+     * @return 新增的成员数量
+     */
+    public long zAdd(String key, Map<Object, Double> members) {
+        if (members == null || members.isEmpty()) {
+            return 0;
+        }
+        try {
+            Set<ZSetOperations.TypedTuple<Object>> tuples = new HashSet<>(members.size() * 2);
+            members.forEach((member, score) -> tuples.add(new DefaultTypedTuple<>(member, score)));
+            Long result = redisTemplate.opsForZSet().add(key, tuples);
+            return result != null ? result : 0;
+        } catch (Exception e) {
+            log.error("Redis有序集合批量写入失败：key={}, size={}, error={}", key, members.size(), e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 增加有序集合成员的分数，成员不存在时以增量为分数新增
+     * 
+     * @param key    键
+     * @param member 成员
+     * @param delta  增量
+     * @return 增加后的分数，失败返回null
+     */
+    public Double zIncrementScore(String key, Object member, double delta) {
+        try {
+            return redisTemplate.opsForZSet().incrementScore(key, member, delta);
+        } catch (Exception e) {
+            log.error("Redis有序集合分数递增失败：key={}, member={}, error={}", key, member, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 获取有序集合成员的分数
+     * 
+     * @param key    键
+     * @param member 成员
+     * @return 分数，成员不存在返回null
+     */
+    public Double zScore(String key, Object member) {
+        try {
+            return redisTemplate.opsForZSet().score(key, member);
+        } catch (Exception e) {
+            log.error("Redis获取有序集合分数失败：key={}, member={}, error={}", key, member, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 按分数从高到低获取排名区间内的成员
+     * 
+     * @param key   键
+     * @param start 起始排名（从0开始）
+     * @param end   结束排名（包含，-1表示最后一名）
+     * @return 有序的成员集合
+     */
+    public Set<Object> zReverseRange(String key, long start, long end) {
+        try {
+            Set<Object> result = redisTemplate.opsForZSet().reverseRange(key, start, end);
+            return result != null ? result : Collections.emptySet();
+        } catch (Exception e) {
+            log.error("Redis有序集合区间查询失败：key={}, start={}, end={}, error={}", key, start, end, e.getMessage());
+            return Collections.emptySet();
+        }
+    }
+
+    /**
+     * 删除有序集合成员
+     * 
+     * @param key     键
+     * @param members 成员
+     * @return 删除的数量
+     */
+    public long zRemove(String key, Object... members) {
+        try {
+            Long result = redisTemplate.opsForZSet().remove(key, members);
+            return result != null ? result : 0;
+        } catch (Exception e) {
+            log.error("Redis删除有序集合成员失败：key={}, error={}", key, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 按排名区间删除有序集合成员（排名按分数从低到高）
+     * 
+     * @param key   键
+     * @param start 起始排名
+     * @param end   结束排名（包含，负数表示倒数）
+     * @return 删除的数量
+     */
+    public long zRemoveRangeByRank(String key, long start, long end) {
+        try {
+            Long result = redisTemplate.opsForZSet().removeRange(key, start, end);
+            return result != null ? result : 0;
+        } catch (Exception e) {
+            log.error("Redis按排名删除有序集合成员失败：key={}, error={}", key, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 获取有序集合成员数量
+     * 
+     * @param key 键
+     * @return 成员数量
+     */
+    public long zCard(String key) {
+        try {
+            Long result = redisTemplate.opsForZSet().zCard(key);
+            return result != null ? result : 0;
+        } catch (Exception e) {
+            log.error("Redis获取有序集合大小失败：key={}, error={}", key, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 重命名键，目标键已存在时被覆盖
+     * 
+     * @param oldKey 原键
+     * @param newKey 新键
+     * @return 是否成功
+     */
+    public boolean rename(String oldKey, String newKey) {
+        try {
+            redisTemplate.rename(oldKey, newKey);
+            return true;
+        } catch (Exception e) {
+            log.error("Redis重命名失败：oldKey={}, newKey={}, error={}", oldKey, newKey, e.getMessage());
+            return false;
+        }
+    }
+
+    // ==================== 字符串成员结构 ====================
+
+    /**
+     * 执行Lua脚本，键与参数按UTF-8原样传入，不经过JSON序列化，脚本需返回整数
+     *
+     * @param script Lua脚本
+     * @param keys   键
+     * @param args   参数
+     * @return 脚本返回值，失败返回null
+     */
+    public Long eval(String script, List<String> keys, List<String> args) {
+        try {
+            byte[][] keysAndArgs = new byte[keys.size() + args.size()][];
+            int i = 0;
+            for (String key : keys) {
+                keysAndArgs[i++] = StringRedisSerializer.UTF_8.serialize(key);
+            }
+            for (String arg : args) {
+                keysAndArgs[i++] = StringRedisSerializer.UTF_8.serialize(arg);
+            }
+            byte[] rawScript = StringRedisSerializer.UTF_8.serialize(script);
+            return redisTemplate.execute((RedisCallback<Long>) connection -> connection.eval(rawScript,
+                    ReturnType.INTEGER, keys.size(), keysAndArgs));
+        } catch (Exception e) {
+            log.error("Redis执行脚本失败：keys={}, error={}", keys, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 批量写入有序集合成员，成员按UTF-8原样写入，不经过JSON序列化
+     *
+     * @param key     键
+     * @param members 成员与分数
+     * @return 是否成功
+     */
+    public boolean zAddStrings(String key, Map<String, Double> members) {
+        if (members == null || members.isEmpty()) {
+            return true;
+        }
+        try {
+            byte[] rawKey = StringRedisSerializer.UTF_8.serialize(key);
+            Set<RedisZSetCommands.Tuple> tuples = new HashSet<>(members.size() * 2);
+            members.forEach((member, score) -> tuples.add(
+                    new DefaultTuple(StringRedisSerializer.UTF_8.serialize(member), score)));
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.zAdd(rawKey, tuples));
+            return true;
+        } catch (Exception e) {
+            log.error("Redis有序集合批量写入失败：key={}, size={}, error={}", key, members.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 按分数从高到低获取分数区间内的成员，成员按UTF-8原样读取
+     *
+     * @param key    键
+     * @param min    最小分数（包含）
+     * @param max    最大分数（包含）
+     * @param offset 偏移量
+     * @param count  数量
+     * @return 有序的成员列表
+     */
+    public List<String> zReverseRangeByScoreStrings(String key, double min, double max, int offset, int count) {
+        try {
+            byte[] rawKey = StringRedisSerializer.UTF_8.serialize(key);
+            Set<byte[]> result = redisTemplate.execute((RedisCallback<Set<byte[]>>) connection -> connection
+                    .zRevRangeByScore(rawKey, RedisZSetCommands.Range.range().gte(min).lte(max),
+                            RedisZSetCommands.Limit.limit().offset(offset).count(count)));
+            List<String> members = new ArrayList<>();
+            if (result != null) {
+                for (byte[] member : result) {
+                    members.add(StringRedisSerializer.UTF_8.deserialize(member));
+                }
+            }
+            return members;
+        } catch (Exception e) {
+            log.error("Redis有序集合分数区间查询失败：key={}, error={}", key, e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * 统计有序集合分数区间内的成员数量
+     *
+     * @param key 键
+     * @param min 最小分数（包含）
+     * @param max 最大分数（包含）
+     * @return 成员数量
+     */
+    public long zCount(String key, double min, double max) {
+        try {
+            Long result = redisTemplate.opsForZSet().count(key, min, max);
+            return result != null ? result : 0;
+        } catch (Exception e) {
+            log.error("Redis有序集合计数失败：key={}, error={}", key, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 批量写入哈希表字段，字段与值按UTF-8原样写入，不经过JSON序列化
+     *
+     * @param key    键
+     * @param fields 字段与值
+     * @return 是否成功
+     */
+    public boolean hPutAllStrings(String key, Map<String, String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return true;
+        }
+        try {
+            byte[] rawKey = StringRedisSerializer.UTF_8.serialize(key);
+            Map<byte[], byte[]> rawFields = new LinkedHashMap<>(fields.size() * 2);
+            fields.forEach((field, value) -> rawFields.put(StringRedisSerializer.UTF_8.serialize(field),
+                    StringRedisSerializer.UTF_8.serialize(value)));
+            redisTemplate.execute((RedisCallback<Object>) connection -> {
+                connection.hMSet(rawKey, rawFields);
+                return null;
+            });
+            return true;
+        } catch (Exception e) {
+            log.error("Redis哈希表批量写入失败：key={}, size={}, error={}", key, fields.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 获取哈希表全部字段，字段与值按UTF-8原样读取
+     *
+     * @param key 键
+     * @return 字段与值，不存在或失败时为空
+     */
+    public Map<String, String> hGetAllStrings(String key) {
+        try {
+            byte[] rawKey = StringRedisSerializer.UTF_8.serialize(key);
+            Map<byte[], byte[]> result = redisTemplate.execute(
+                    (RedisCallback<Map<byte[], byte[]>>) connection -> connection.hGetAll(rawKey));
+            Map<String, String> fields = new LinkedHashMap<>();
+            if (result != null) {
+                result.forEach((field, value) -> fields.put(StringRedisSerializer.UTF_8.deserialize(field),
+                        StringRedisSerializer.UTF_8.deserialize(value)));
+            }
+            return fields;
+        } catch (Exception e) {
+            log.error("Redis获取哈希表失败：key={}, error={}", key, e.getMessage());
+            return new LinkedHashMap<>();
+        }
+    }
+
+    // ==================== 分布式锁 ====================
+
+    /**
+     * 获取跨节点互斥锁（SET NX PX），值按UTF-8原样写入
+     *
+     * @param key    锁键
+     * @param token  持有者标识，释放时校验
+     * @param millis 锁超时时间（毫秒），持有者异常退出后自动释放
+     * @return 是否获取成功
+     */
+    public boolean tryLock(String key, String token, long millis) {
+        try {
+            byte[] rawKey = StringRedisSerializer.UTF_8.serialize(key);
+            byte[] rawToken = StringRedisSerializer.UTF_8.serialize(token);
+            Boolean result = redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.set(rawKey,
+                    rawToken, Expiration.milliseconds(millis), RedisStringCommands.SetOption.SET_IF_ABSENT));
+            return Boolean.TRUE.equals(result);
+        } catch (Exception e) {
+            log.error("Redis获取锁失败：key={}, error={}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 释放锁，只有持有者标识一致时才删除
+     *
+     * @param key   锁键
+     * @param token 持有者标识
+     * @return 是否释放
+     */
+    public boolean unlock(String key, String token) {
+        Long result = eval(UNLOCK_SCRIPT, Collections.singletonList(key), Collections.singletonList(token));
+        return result != null && result > 0;
+    }
+}
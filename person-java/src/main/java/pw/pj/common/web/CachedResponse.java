@@ -0,0 +1,31 @@
+package pw.pj.common.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记响应可按字节缓存的热点读接口
+ *
+ * <p>成功响应序列化后的JSON及其gzip压缩结果缓存在本实例内存中，键由请求路径、查询参数与
+ * {@link #scopes()} 的内容版本号组成；内容变化推进版本号后旧条目自然失效。命中时由
+ * {@link ResponseCacheInterceptor} 直接写出字节，不再经过服务层、Jackson与容器压缩。</p>
+ *
+ * <p>只应标注在响应不依赖登录用户的GET接口上。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedResponse {
+
+    /**
+     * 响应内容依赖的版本范围，见 {@link pw.pj.service.ContentVersionService}
+     */
+    String[] scopes();
+}
@@ -0,0 +1,215 @@
+package pw.pj.common.web;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import pw.pj.common.utils.JwtTokenUtil;
+import pw.pj.service.ContentVersionService;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 公开读接口的条件请求拦截器
+ *
+ * <p>在进入控制器之前按内容版本号计算弱ETag与Last-Modified，客户端缓存仍然有效时直接返回304，
+ * 不查询数据库、不序列化响应体；否则把校验信息放入请求属性，由 {@link ConditionalGetResponseAdvice}
+ * 在成功响应上写出。</p>
+ *
+ * <p>携带登录令牌的请求可能看到草稿等非公开内容，不参与条件请求处理。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    /** 请求属性：ETag */
+    static final String ATTR_ETAG = ConditionalGetInterceptor.class.getName() + ".ETAG";
+
+    /** 请求属性：Last-Modified（毫秒） */
+    static final String ATTR_LAST_MODIFIED = ConditionalGetInterceptor.class.getName() + ".LAST_MODIFIED";
+
+    /** 请求属性：Cache-Control */
+    static final String ATTR_CACHE_CONTROL = ConditionalGetInterceptor.class.getName() + ".CACHE_CONTROL";
+
+    /** 详情：每次都向服务端校验 */
+    private static final String CACHE_DETAIL = "public, no-cache";
+
+    /** 文章列表：短时间内可直接复用 */
+    private static final String CACHE_ARTICLE_LIST = "public, max-age=30";
+
+    /** 分类与标签：变化较少 */
+    private static final String CACHE_TAXONOMY = "public, max-age=60";
+
+    /**
+     * 缓存策略，按顺序匹配，第一个命中的生效
+     */
+    private static final List<Policy> POLICIES = new ArrayList<>();
+
+    static {
+        // 管理端辅助接口不参与缓存
+        POLICIES.add(new Policy("/api/*/check-*", null));
+        POLICIES.add(new Policy("/api/*/statistics", null));
+        // 检索结果由索引器异步生效后推进版本，仍要求每次校验，不在客户端直接复用
+        POLICIES.add(new Policy("/api/articles/search", CACHE_DETAIL,
+                ContentVersionService.SCOPE_ARTICLES, ContentVersionService.SCOPE_TAXONOMY));
+        // 文章详情：依赖文章自身与分类、标签名称
+        POLICIES.add(new Policy("/api/articles/{id:\\d+}", CACHE_DETAIL, null, ContentVersionService.SCOPE_TAXONOMY));
+        // 其余文章接口：列表、排行、归档、相关推荐、文章标签
+        POLICIES.add(new Policy("/api/articles/**", CACHE_ARTICLE_LIST,
+                ContentVersionService.SCOPE_ARTICLES, ContentVersionService.SCOPE_TAXONOMY));
+        // 分类与标签：文章数随文章变化
+        POLICIES.add(new Policy("/api/categories/**", CACHE_TAXONOMY,
+                ContentVersionService.SCOPE_TAXONOMY, ContentVersionService.SCOPE_ARTICLES));
+        POLICIES.add(new Policy("/api/tags/**", CACHE_TAXONOMY,
+                ContentVersionService.SCOPE_TAXONOMY, ContentVersionService.SCOPE_ARTICLES));
+    }
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())
+                || StringUtils.hasText(request.getHeader(jwtTokenUtil.getTokenHeader()))) {
+            return true;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Policy policy : POLICIES) {
+            if (pathMatcher.match(policy.pattern, path)) {
+                return policy.cacheControl == null || handle(policy, path, request, response);
+            }
+        }
+        return true;
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    /**
+     * 计算校验信息，缓存有效时写出304并终止处理
+     */
+    private boolean handle(Policy policy, String path, HttpServletRequest request, HttpServletResponse response) {
+        String[] scopes = policy.scopes.clone();
+        if (scopes[0] == null) {
+            Map<String, String> variables = pathMatcher.extractUriTemplateVariables(policy.pattern, path);
+            try {
+                scopes[0] = ContentVersionService.articleScope(Long.valueOf(variables.get("id")));
+            } catch (NumberFormatException e) {
+                // 超出Long范围的ID不做条件请求处理，交给控制器按参数错误返回
+                return true;
+            }
+        }
+
+        long[] versions = contentVersionService.currentVersions(scopes);
+        StringBuilder tag = new StringBuilder("W/\"");
+        long lastModified = 0;
+        for (int i = 0; i < versions.length; i++) {
+            if (i > 0) {
+                tag.append('.');
+            }
+            tag.append(Long.toString(versions[i], 36));
+            lastModified = Math.max(lastModified, versions[i]);
+        }
+        String etag = tag.append('"').toString();
+        // HTTP日期只精确到秒
+        lastModified = lastModified / 1000 * 1000;
+
+        request.setAttribute(ATTR_ETAG, etag);
+        request.setAttribute(ATTR_LAST_MODIFIED, lastModified);
+        request.setAttribute(ATTR_CACHE_CONTROL, policy.cacheControl);
+        if (isNotModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            writeValidators(request, response);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 把本拦截器计算的校验信息写到响应头，供绕过消息转换器直接写出响应的场景使用
+     *
+     * @param request  请求
+     * @param response 响应
+     */
+    static void writeValidators(HttpServletRequest request, HttpServletResponse response) {
+        Object etag = request.getAttribute(ATTR_ETAG);
+        if (etag == null) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ETAG, (String) etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, (Long) request.getAttribute(ATTR_LAST_MODIFIED));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, (String) request.getAttribute(ATTR_CACHE_CONTROL));
+    }
+
+    /**
+     * If-None-Match 优先；没有时才比较 If-Modified-Since
+     */
+    private boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            String opaque = stripWeak(etag);
+            for (String candidate : ifNoneMatch.split(",")) {
+                candidate = candidate.trim();
+                if ("*".equals(candidate) || stripWeak(candidate).equals(opaque)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        try {
+            long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 弱比较：忽略W/前缀
+     */
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    // ==================== 内部类 ====================
+
+    /**
+     * 路径对应的缓存策略
+     */
+    private static final class Policy {
+
+        private final String pattern;
+
+        /**
+         * Cache-Control，为null表示不参与条件请求
+         */
+        private final String cacheControl;
+
+        /**
+         * 组成ETag的版本范围，首项为null时使用路径中的文章ID
+         */
+        private final String[] scopes;
+
+        private Policy(String pattern, String cacheControl, String... scopes) {
+            this.pattern = pattern;
+            this.cacheControl = cacheControl;
+            this.scopes = scopes;
+        }
+    }
+}
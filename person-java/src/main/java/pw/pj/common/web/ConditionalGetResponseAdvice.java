@@ -0,0 +1,52 @@
+package pw.pj.common.web;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import pw.pj.common.result.ApiResponse;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * 条件请求响应头写出
+ * 只在成功响应上写出 {@link ConditionalGetInterceptor} 计算的ETag、Last-Modified与Cache-Control，
+ * 错误响应（同样是HTTP 200）不带校验信息，避免被客户端缓存
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@RestControllerAdvice
+public class ConditionalGetResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return ApiResponse.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof ApiResponse) || !((ApiResponse<?>) body).isSuccess()
+                || !(request instanceof ServletServerHttpRequest)) {
+            return body;
+        }
+
+        HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+        Object etag = servletRequest.getAttribute(ConditionalGetInterceptor.ATTR_ETAG);
+        if (etag != null) {
+            HttpHeaders headers = response.getHeaders();
+            headers.setETag((String) etag);
+            headers.setLastModified((Long) servletRequest.getAttribute(ConditionalGetInterceptor.ATTR_LAST_MODIFIED));
+            headers.setCacheControl((String) servletRequest.getAttribute(ConditionalGetInterceptor.ATTR_CACHE_CONTROL));
+        }
+        return body;
+    }
+}
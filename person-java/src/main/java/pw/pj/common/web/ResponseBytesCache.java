@@ -0,0 +1,130 @@
+package pw.pj.common.web;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 响应字节缓存
+ *
+ * <p>按最近最少使用淘汰的进程内缓存，保存最终的UTF-8 JSON及其gzip结果。
+ * 键中包含内容版本号，内容变化后旧键不再被访问，随淘汰移出，无需主动失效。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Component
+public class ResponseBytesCache {
+
+    /**
+     * 最大条目数
+     */
+    static final int MAX_ENTRIES = 256;
+
+    /**
+     * 单个响应的最大字节数，超过时不缓存
+     */
+    static final int MAX_BODY_BYTES = 512 * 1024;
+
+    /**
+     * 小于该字节数的响应不压缩，压缩收益抵不过额外的响应头
+     */
+    static final int MIN_GZIP_BYTES = 256;
+
+    private final Map<String, CachedBody> entries = new LinkedHashMap<String, CachedBody>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedBody> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * 读取缓存
+     *
+     * @param key 缓存键
+     * @return 缓存的响应，不存在时返回null
+     */
+    public synchronized CachedBody get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * 压缩并放入缓存
+     *
+     * @param key  缓存键
+     * @param json 序列化后的JSON
+     * @return 缓存的响应，超过大小上限时返回null
+     */
+    public CachedBody put(String key, byte[] json) {
+        if (json.length > MAX_BODY_BYTES) {
+            return null;
+        }
+        // 压缩在锁外完成
+        CachedBody body = new CachedBody(json, json.length >= MIN_GZIP_BYTES ? gzip(json) : null);
+        synchronized (this) {
+            entries.put(key, body);
+        }
+        return body;
+    }
+
+    /**
+     * 当前条目数
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 清空缓存
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4 + 64);
+        // 每个条目只压缩一次，使用最高压缩级别
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    // ==================== 内部类 ====================
+
+    /**
+     * 缓存的响应体
+     */
+    @Getter
+    public static final class CachedBody {
+
+        /**
+         * 原始JSON
+         */
+        private final byte[] identity;
+
+        /**
+         * gzip压缩后的JSON，响应过小时为null
+         */
+        private final byte[] gzip;
+
+        private CachedBody(byte[] identity, byte[] gzip) {
+            this.identity = identity;
+            this.gzip = gzip;
+        }
+    }
+}
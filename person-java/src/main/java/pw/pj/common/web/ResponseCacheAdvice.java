@@ -0,0 +1,61 @@
+package pw.pj.common.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import pw.pj.common.result.ApiResponse;
+
+/**
+ * 响应字节缓存填充
+ * 未命中 {@link ResponseBytesCache} 的成功响应在写出前用同一个ObjectMapper序列化一次并放入缓存，
+ * 错误响应不缓存；缓存的响应体中的timestamp为填充时刻
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@RestControllerAdvice
+public class ResponseCacheAdvice implements ResponseBodyAdvice<Object> {
+
+    @Autowired
+    private ResponseBytesCache responseBytesCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(CachedResponse.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof ApiResponse) || !((ApiResponse<?>) body).isSuccess()
+                || !(request instanceof ServletServerHttpRequest)) {
+            return body;
+        }
+
+        Object key = ((ServletServerHttpRequest) request).getServletRequest()
+                .getAttribute(ResponseCacheInterceptor.ATTR_CACHE_KEY);
+        if (key != null) {
+            try {
+                responseBytesCache.put((String) key, objectMapper.writeValueAsBytes(body));
+            } catch (JsonProcessingException e) {
+                log.warn("响应缓存序列化失败：key={}, error={}", key, e.getMessage());
+            }
+        }
+        return body;
+    }
+}
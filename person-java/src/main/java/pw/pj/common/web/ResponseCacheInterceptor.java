@@ -0,0 +1,130 @@
+package pw.pj.common.web;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import pw.pj.common.utils.JwtTokenUtil;
+import pw.pj.service.ContentVersionService;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 响应字节缓存拦截器
+ *
+ * <p>对标注了 {@link CachedResponse} 的接口，按请求路径、查询参数与内容版本号查找
+ * {@link ResponseBytesCache}：命中时按Accept-Encoding直接把JSON或gzip字节写到输出流并终止处理；
+ * 未命中时把缓存键放入请求属性，由 {@link ResponseCacheAdvice} 在成功响应上填充缓存。</p>
+ *
+ * <p>需注册在 {@link ConditionalGetInterceptor} 之后，304在前面已经返回，命中时沿用其计算的校验信息。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Component
+public class ResponseCacheInterceptor implements HandlerInterceptor {
+
+    /** 请求属性：响应缓存键 */
+    static final String ATTR_CACHE_KEY = ResponseCacheInterceptor.class.getName() + ".CACHE_KEY";
+
+    @Autowired
+    private ResponseBytesCache responseBytesCache;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!HttpMethod.GET.matches(request.getMethod()) || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        CachedResponse cachedResponse = ((HandlerMethod) handler).getMethodAnnotation(CachedResponse.class);
+        if (cachedResponse == null || StringUtils.hasText(request.getHeader(jwtTokenUtil.getTokenHeader()))) {
+            return true;
+        }
+
+        String key = buildKey(request, contentVersionService.currentVersions(cachedResponse.scopes()));
+        ResponseBytesCache.CachedBody body = responseBytesCache.get(key);
+        if (body == null) {
+            request.setAttribute(ATTR_CACHE_KEY, key);
+            return true;
+        }
+
+        write(request, response, body);
+        return false;
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private static String buildKey(HttpServletRequest request, long[] versions) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        if (request.getQueryString() != null) {
+            key.append('?').append(request.getQueryString());
+        }
+        key.append('@');
+        for (int i = 0; i < versions.length; i++) {
+            if (i > 0) {
+                key.append('.');
+            }
+            key.append(versions[i]);
+        }
+        return key.toString();
+    }
+
+    private static void write(HttpServletRequest request, HttpServletResponse response,
+            ResponseBytesCache.CachedBody body) throws IOException {
+        byte[] bytes = body.getIdentity();
+        if (body.getGzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            bytes = body.getGzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        ConditionalGetInterceptor.writeValidators(request, response);
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+        response.flushBuffer();
+    }
+
+    /**
+     * Accept-Encoding中包含gzip且权重不为0
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!"gzip".equalsIgnoreCase(parts[0].trim())) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
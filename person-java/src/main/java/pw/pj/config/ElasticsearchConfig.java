@@ -0,0 +1,75 @@
+package pw.pj.config;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.HttpHost;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestClientBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pw.pj.common.config.SearchProperties;
+import pw.pj.common.utils.StringUtils;
+
+import java.util.Arrays;
+
+/**
+ * Elasticsearch客户端配置类
+ * 仅在 search.engine=elasticsearch 时创建客户端
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Configuration
+@ConditionalOnProperty(name = "search.engine", havingValue = "elasticsearch")
+public class ElasticsearchConfig {
+
+    /**
+     * 创建底层REST客户端
+     *
+     * @param searchProperties 检索配置
+     * @return RestClient 实例
+     */
+    @Bean(destroyMethod = "close")
+    public RestClient elasticsearchRestClient(SearchProperties searchProperties) {
+        SearchProperties.Elasticsearch config = searchProperties.getElasticsearch();
+        HttpHost[] hosts = Arrays.stream(config.getUris().split(","))
+                .map(String::trim)
+                .filter(StringUtils::isNotBlank)
+                .map(HttpHost::create)
+                .toArray(HttpHost[]::new);
+
+        RestClientBuilder builder = RestClient.builder(hosts)
+                .setRequestConfigCallback(request -> request
+                        .setConnectTimeout(config.getConnectTimeout())
+                        .setSocketTimeout(config.getSocketTimeout()));
+
+        if (StringUtils.isNotBlank(config.getUsername())) {
+            BasicCredentialsProvider credentials = new BasicCredentialsProvider();
+            credentials.setCredentials(AuthScope.ANY,
+                    new UsernamePasswordCredentials(config.getUsername(), config.getPassword()));
+            builder.setHttpClientConfigCallback(http -> http.setDefaultCredentialsProvider(credentials));
+        }
+        return builder.build();
+    }
+
+    /**
+     * 创建Elasticsearch Java客户端
+     *
+     * @param restClient 底层REST客户端
+     * @return ElasticsearchClient 实例
+     */
+    @Bean
+    public ElasticsearchClient elasticsearchClient(RestClient restClient) {
+        ObjectMapper mapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return new ElasticsearchClient(new RestClientTransport(restClient, new JacksonJsonpMapper(mapper)));
+    }
+}
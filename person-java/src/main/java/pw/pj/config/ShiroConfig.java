@@ -68,17 +68,32 @@ public class ShiroConfig {
         filterChainDefinitionMap.put("/favicon.ico", "anon");
         filterChainDefinitionMap.put("/robots.txt", "anon");
 
+        // 站点地图与订阅源 - 不需要认证
+        filterChainDefinitionMap.put("/sitemap*.xml", "anon");
+        filterChainDefinitionMap.put("/feed.xml", "anon");
+
         // 健康检查 - 不需要认证
         filterChainDefinitionMap.put("/actuator/**", "anon");
         filterChainDefinitionMap.put("/health", "anon");
 
+        // 文章批量导入导出 - 需要认证（须在公开文章接口之前）
+        filterChainDefinitionMap.put("/api/articles/import", "jwt");
+        filterChainDefinitionMap.put("/api/articles/export", "jwt");
+
         // 公开文章接口 - 不需要认证
         filterChainDefinitionMap.put("/api/articles", "anon");
         filterChainDefinitionMap.put("/api/articles/*", "anon");
+        filterChainDefinitionMap.put("/api/articles/category/*/cursor", "anon");
+        filterChainDefinitionMap.put("/api/articles/tag/*/cursor", "anon");
+        filterChainDefinitionMap.put("/api/articles/tags/filter", "anon");
+        filterChainDefinitionMap.put("/api/articles/*/related", "anon");
+        filterChainDefinitionMap.put("/api/articles/archive/*/*", "anon");
         filterChainDefinitionMap.put("/api/categories", "anon");
         filterChainDefinitionMap.put("/api/categories/*", "anon");
         filterChainDefinitionMap.put("/api/tags", "anon");
         filterChainDefinitionMap.put("/api/tags/*", "anon");
+        filterChainDefinitionMap.put("/api/tags/*/related", "anon");
+        filterChainDefinitionMap.put("/api/suggest", "anon");
 
         // 文件上传下载 - 需要认证
         filterChainDefinitionMap.put("/api/files/upload", "jwt");
@@ -87,6 +102,8 @@ public class ShiroConfig {
 
         // 评论相关 - 部分需要认证
         filterChainDefinitionMap.put("/api/comments", "anon");
+        filterChainDefinitionMap.put("/api/comments/article/*/cursor", "anon");
+        filterChainDefinitionMap.put("/api/comments/article/*/tree", "anon");
         filterChainDefinitionMap.put("/api/comments/create", "jwt");
         filterChainDefinitionMap.put("/api/comments/update/*", "jwt");
         filterChainDefinitionMap.put("/api/comments/delete/*", "jwt");
@@ -1,12 +1,16 @@
 package pw.pj.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import pw.pj.common.web.ConditionalGetInterceptor;
+import pw.pj.common.web.ResponseCacheInterceptor;
 
 import java.util.List;
 
@@ -21,6 +25,28 @@ import java.util.List;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private ConditionalGetInterceptor conditionalGetInterceptor;
+
+    @Autowired
+    private ResponseCacheInterceptor responseCacheInterceptor;
+
+    /**
+     * 配置拦截器
+     * 
+     * @param registry 拦截器注册表
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 公开读接口的条件请求（ETag / Last-Modified）
+        registry.addInterceptor(conditionalGetInterceptor)
+                .addPathPatterns("/api/articles/**", "/api/categories/**", "/api/tags/**");
+
+        // 热点接口的响应字节缓存，须在条件请求之后
+        registry.addInterceptor(responseCacheInterceptor)
+                .addPathPatterns("/api/**");
+    }
+
     /**
      * 配置静态资源处理
      * 
@@ -5,13 +5,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import pw.pj.POJO.VO.*;
+import pw.pj.common.bitmap.TagFilter;
+import pw.pj.common.exception.BusinessException;
 import pw.pj.common.result.ApiResponse;
+import pw.pj.common.result.CursorPageResult;
 import pw.pj.common.result.PageResult;
+import pw.pj.common.web.CachedResponse;
+import pw.pj.service.ArticleArchiveService;
+import pw.pj.service.ArticleRelatedService;
+import pw.pj.service.ContentVersionService;
 import pw.pj.service.TbArticleService;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
 import java.util.List;
 
 /**
@@ -31,6 +41,12 @@ public class ArticleController {
     @Autowired
     private TbArticleService articleService;
 
+    @Autowired
+    private ArticleRelatedService articleRelatedService;
+
+    @Autowired
+    private ArticleArchiveService articleArchiveService;
+
     /**
      * 创建文章
      * 
@@ -187,6 +203,113 @@ public class ArticleController {
         }
     }
 
+    /**
+     * 按标签组合条件查询文章列表
+     * 
+     * @param all         须同时包含的标签ID
+     * @param any         至少包含其一的标签ID
+     * @param none        须排除的标签ID
+     * @param pageQueryVO 分页查询参数
+     * @return 分页结果，置顶在前、同组内按文章ID倒序
+     */
+    @GetMapping("/tags/filter")
+    public ApiResponse<PageResult<ArticleSimpleVO>> getArticlesByTagFilter(
+            @RequestParam(required = false) @Size(max = 10) List<Long> all,
+            @RequestParam(required = false) @Size(max = 10) List<Long> any,
+            @RequestParam(required = false) @Size(max = 10) List<Long> none,
+            @Valid PageQueryVO pageQueryVO) {
+        try {
+            log.info("按标签组合查询文章列表请求：all={}, any={}, none={}, 页码={}, 每页大小={}",
+                    all, any, none, pageQueryVO.getPageNum(), pageQueryVO.getPageSize());
+
+            PageResult<ArticleSimpleVO> pageResult = articleService.getArticlesByTagFilter(
+                    new TagFilter(all, any, none, true), pageQueryVO);
+            return ApiResponse.success(pageResult);
+
+        } catch (Exception e) {
+            log.error("按标签组合查询文章列表异常：{}", e.getMessage(), e);
+            return ApiResponse.error("查询文章列表失败");
+        }
+    }
+
+    /**
+     * 游标分页查询文章列表
+     * 
+     * @param cursorQueryVO 游标分页参数
+     * @return 游标分页结果
+     */
+    @GetMapping("/cursor")
+    public ApiResponse<CursorPageResult<ArticleSimpleVO>> getArticleListByCursor(@Valid CursorQueryVO cursorQueryVO) {
+        try {
+            log.info("游标分页查询文章列表请求：游标={}, 每页大小={}", cursorQueryVO.getCursor(), cursorQueryVO.getSize());
+
+            CursorPageResult<ArticleSimpleVO> pageResult = articleService.getArticleListByCursor(cursorQueryVO);
+            return ApiResponse.success(pageResult);
+
+        } catch (BusinessException e) {
+            log.warn("游标分页查询文章列表失败：{}", e.getMessage());
+            return ApiResponse.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("游标分页查询文章列表异常：{}", e.getMessage(), e);
+            return ApiResponse.error("查询文章列表失败");
+        }
+    }
+
+    /**
+     * 游标分页查询分类下的文章列表
+     * 
+     * @param categoryId    分类ID
+     * @param cursorQueryVO 游标分页参数
+     * @return 游标分页结果
+     */
+    @GetMapping("/category/{categoryId}/cursor")
+    public ApiResponse<CursorPageResult<ArticleSimpleVO>> getArticlesByCategoryCursor(
+            @PathVariable @NotNull @Positive Long categoryId,
+            @Valid CursorQueryVO cursorQueryVO) {
+        try {
+            log.info("游标分页查询分类文章请求：分类ID={}, 游标={}, 每页大小={}",
+                    categoryId, cursorQueryVO.getCursor(), cursorQueryVO.getSize());
+
+            CursorPageResult<ArticleSimpleVO> pageResult = articleService.getArticlesByCategoryCursor(categoryId,
+                    cursorQueryVO);
+            return ApiResponse.success(pageResult);
+
+        } catch (BusinessException e) {
+            log.warn("游标分页查询分类文章失败：{}", e.getMessage());
+            return ApiResponse.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("游标分页查询分类文章异常：{}", e.getMessage(), e);
+            return ApiResponse.error("查询文章列表失败");
+        }
+    }
+
+    /**
+     * 游标分页查询标签下的文章列表
+     * 
+     * @param tagId         标签ID
+     * @param cursorQueryVO 游标分页参数
+     * @return 游标分页结果
+     */
+    @GetMapping("/tag/{tagId}/cursor")
+    public ApiResponse<CursorPageResult<ArticleSimpleVO>> getArticlesByTagCursor(
+            @PathVariable @NotNull @Positive Long tagId,
+            @Valid CursorQueryVO cursorQueryVO) {
+        try {
+            log.info("游标分页查询标签文章请求：标签ID={}, 游标={}, 每页大小={}",
+                    tagId, cursorQueryVO.getCursor(), cursorQueryVO.getSize());
+
+            CursorPageResult<ArticleSimpleVO> pageResult = articleService.getArticlesByTagCursor(tagId, cursorQueryVO);
+            return ApiResponse.success(pageResult);
+
+        } catch (BusinessException e) {
+            log.warn("游标分页查询标签文章失败：{}", e.getMessage());
+            return ApiResponse.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("游标分页查询标签文章异常：{}", e.getMessage(), e);
+            return ApiResponse.error("查询文章列表失败");
+        }
+    }
+
     /**
      * 搜索文章
      * 
@@ -215,6 +338,49 @@ public class ArticleController {
         }
     }
 
+    /**
+     * 获取文章归档概览
+     * 
+     * @return 按年月分组的文章数量
+     */
+    @CachedResponse(scopes = ContentVersionService.SCOPE_ARTICLES)
+    @GetMapping("/archive")
+    public ApiResponse<List<ArchiveYearVO>> getArchiveSummary() {
+        try {
+            List<ArchiveYearVO> archive = articleArchiveService.getArchiveSummary();
+            return ApiResponse.success(archive);
+
+        } catch (Exception e) {
+            log.error("获取文章归档异常：{}", e.getMessage(), e);
+            return ApiResponse.error("获取文章归档失败");
+        }
+    }
+
+    /**
+     * 分页获取某月归档的文章
+     * 
+     * @param year        年
+     * @param month       月
+     * @param pageQueryVO 分页查询参数
+     * @return 按发布时间倒序的文章分页结果
+     */
+    @GetMapping("/archive/{year}/{month}")
+    public ApiResponse<PageResult<ArticleSimpleVO>> getArchiveMonth(@PathVariable @Min(1970) @Max(9999) Integer year,
+            @PathVariable @Min(1) @Max(12) Integer month, @Valid PageQueryVO pageQueryVO) {
+        try {
+            log.info("获取月份归档请求：{}年{}月，页码={}，每页大小={}",
+                    year, month, pageQueryVO.getPageNum(), pageQueryVO.getPageSize());
+
+            PageResult<ArticleSimpleVO> pageResult = articleArchiveService.getArchiveMonth(year, month,
+                    pageQueryVO.getPageNum(), pageQueryVO.getPageSize());
+            return ApiResponse.success(pageResult);
+
+        } catch (Exception e) {
+            log.error("获取月份归档异常：{}", e.getMessage(), e);
+            return ApiResponse.error("获取月份归档失败");
+        }
+    }
+
     /**
      * 发布文章
      * 
@@ -340,6 +506,31 @@ public class ArticleController {
         }
     }
 
+    /**
+     * 获取相关文章
+     * 
+     * @param id    文章ID
+     * @param limit 返回数量限制
+     * @return 按相似度降序的相关文章列表
+     */
+    @GetMapping("/{id}/related")
+    public ApiResponse<List<ArticleSimpleVO>> getRelatedArticles(@PathVariable @NotNull @Positive Long id,
+            @RequestParam(value = "limit", defaultValue = "6") int limit) {
+        try {
+            log.info("获取相关文章请求：文章ID={}，limit={}", id, limit);
+
+            // 调用服务层读取预计算的近邻
+            List<ArticleSimpleVO> relatedArticles = articleRelatedService.getRelatedArticles(id, limit);
+
+            log.info("获取相关文章成功：文章ID={}，数量={}", id, relatedArticles.size());
+            return ApiResponse.success(relatedArticles);
+
+        } catch (Exception e) {
+            log.error("获取相关文章异常：{}", e.getMessage(), e);
+            return ApiResponse.error("获取相关文章失败");
+        }
+    }
+
     /**
      * 为文章添加标签
      * 
@@ -404,6 +595,7 @@ public class ArticleController {
      * @param limit 返回数量限制
      * @return 热门文章列表
      */
+    @CachedResponse(scopes = ContentVersionService.SCOPE_ARTICLES)
     @GetMapping("/hot")
     public ApiResponse<List<ArticleSimpleVO>> getHotArticles(
             @RequestParam(value = "limit", defaultValue = "10") int limit) {
@@ -428,6 +620,7 @@ public class ArticleController {
      * @param limit 返回数量限制
      * @return 最新文章列表
      */
+    @CachedResponse(scopes = ContentVersionService.SCOPE_ARTICLES)
     @GetMapping("/recent")
     public ApiResponse<List<ArticleSimpleVO>> getRecentArticles(
             @RequestParam(value = "limit", defaultValue = "10") int limit) {
@@ -452,6 +645,7 @@ public class ArticleController {
      * @param limit 返回数量限制
      * @return 推荐文章列表
      */
+    @CachedResponse(scopes = ContentVersionService.SCOPE_ARTICLES)
     @GetMapping("/recommend")
     public ApiResponse<List<ArticleSimpleVO>> getRecommendArticles(
             @RequestParam(value = "limit", defaultValue = "10") int limit) {
@@ -0,0 +1,136 @@
+package pw.pj.controller.content;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import pw.pj.POJO.VO.ArticleAutosaveVO;
+import pw.pj.POJO.VO.ArticleDraftVO;
+import pw.pj.POJO.VO.ArticleRevisionVO;
+import pw.pj.common.exception.BusinessException;
+import pw.pj.common.result.ApiResponse;
+import pw.pj.service.ArticleRevisionService;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import java.util.List;
+
+/**
+ * 文章草稿与修订控制器
+ * 提供编辑器的草稿读取、增量自动保存，以及修订历史的查看与恢复
+ * 
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@RestController
+@RequestMapping("/api/articles/{articleId}")
+@Validated
+@Slf4j
+public class ArticleRevisionController {
+
+    @Autowired
+    private ArticleRevisionService articleRevisionService;
+
+    /**
+     * 获取文章草稿
+     * 
+     * @param articleId 文章ID
+     * @return 草稿（含正文与contentHash）
+     */
+    @GetMapping("/draft")
+    public ApiResponse<ArticleDraftVO> getDraft(@PathVariable @NotNull @Positive Long articleId) {
+        try {
+            return ApiResponse.success(articleRevisionService.getDraft(articleId));
+        } catch (BusinessException e) {
+            log.warn("获取文章草稿失败：{}", e.getMessage());
+            return ApiResponse.error(e.getCode(), e.getMessage());
+        } catch (Exception e) {
+            log.error("获取文章草稿异常：{}", e.getMessage(), e);
+            return ApiResponse.error("获取文章草稿失败");
+        }
+    }
+
+    /**
+     * 自动保存草稿
+     * 
+     * @param articleId  文章ID
+     * @param autosaveVO 补丁或完整正文
+     * @return 保存后的草稿（不含正文）
+     */
+    @PutMapping("/draft")
+    public ApiResponse<ArticleDraftVO> autosave(@PathVariable @NotNull @Positive Long articleId,
+            @Valid @RequestBody ArticleAutosaveVO autosaveVO) {
+        try {
+            return ApiResponse.success(articleRevisionService.autosave(articleId, autosaveVO));
+        } catch (BusinessException e) {
+            log.warn("自动保存草稿失败：文章ID={}，{}", articleId, e.getMessage());
+            return ApiResponse.error(e.getCode(), e.getMessage());
+        } catch (Exception e) {
+            log.error("自动保存草稿异常：{}", e.getMessage(), e);
+            return ApiResponse.error("自动保存草稿失败");
+        }
+    }
+
+    /**
+     * 获取修订列表
+     * 
+     * @param articleId 文章ID
+     * @param limit     返回数量
+     * @return 修订列表（不含正文）
+     */
+    @GetMapping("/revisions")
+    public ApiResponse<List<ArticleRevisionVO>> listRevisions(@PathVariable @NotNull @Positive Long articleId,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        try {
+            return ApiResponse.success(articleRevisionService.listRevisions(articleId, limit));
+        } catch (Exception e) {
+            log.error("获取修订列表异常：{}", e.getMessage(), e);
+            return ApiResponse.error("获取修订列表失败");
+        }
+    }
+
+    /**
+     * 获取修订详情
+     * 
+     * @param articleId  文章ID
+     * @param revisionNo 修订号
+     * @return 修订详情（含正文）
+     */
+    @GetMapping("/revisions/{revisionNo}")
+    public ApiResponse<ArticleRevisionVO> getRevision(@PathVariable @NotNull @Positive Long articleId,
+            @PathVariable @NotNull @Positive Integer revisionNo) {
+        try {
+            return ApiResponse.success(articleRevisionService.getRevision(articleId, revisionNo));
+        } catch (BusinessException e) {
+            log.warn("获取修订详情失败：{}", e.getMessage());
+            return ApiResponse.error(e.getCode(), e.getMessage());
+        } catch (Exception e) {
+            log.error("获取修订详情异常：{}", e.getMessage(), e);
+            return ApiResponse.error("获取修订详情失败");
+        }
+    }
+
+    /**
+     * 把草稿恢复为指定修订
+     * 
+     * @param articleId  文章ID
+     * @param revisionNo 修订号
+     * @return 恢复后的草稿（含正文）
+     */
+    @PostMapping("/revisions/{revisionNo}/restore")
+    public ApiResponse<ArticleDraftVO> restoreRevision(@PathVariable @NotNull @Positive Long articleId,
+            @PathVariable @NotNull @Positive Integer revisionNo) {
+        try {
+            log.info("恢复文章修订请求：文章ID={}，修订号={}", articleId, revisionNo);
+            return ApiResponse.success(articleRevisionService.restoreRevision(articleId, revisionNo));
+        } catch (BusinessException e) {
+            log.warn("恢复文章修订失败：{}", e.getMessage());
+            return ApiResponse.error(e.getCode(), e.getMessage());
+        } catch (Exception e) {
+            log.error("恢复文章修订异常：{}", e.getMessage(), e);
+            return ApiResponse.error("恢复文章修订失败");
+        }
+    }
+}
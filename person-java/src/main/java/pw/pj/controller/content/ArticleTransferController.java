@@ -0,0 +1,91 @@
+package pw.pj.controller.content;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pw.pj.POJO.VO.ArticleImportResultVO;
+import pw.pj.common.exception.BusinessException;
+import pw.pj.common.result.ApiResponse;
+import pw.pj.common.result.ResultEnum;
+import pw.pj.common.utils.JwtTokenUtil;
+import pw.pj.service.ArticleTransferService;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * 文章批量导入导出控制器
+ * 请求体与响应体均为JSON Lines（每行一篇文章），边读边写，不整体加载到内存
+ * 
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@RestController
+@RequestMapping("/api/articles")
+@Validated
+@Slf4j
+public class ArticleTransferController {
+
+    /**
+     * JSON Lines 媒体类型
+     */
+    private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson;charset=UTF-8";
+
+    @Autowired
+    private ArticleTransferService articleTransferService;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    /**
+     * 批量导入文章
+     * 分类按名称匹配已有分类，标签不存在时自动创建；单行失败不影响其他行
+     * 
+     * @param request HTTP请求对象，请求体为JSON Lines
+     * @return 导入结果（成功数、失败行号与原因）
+     */
+    @PostMapping("/import")
+    public ApiResponse<ArticleImportResultVO> importArticles(HttpServletRequest request) {
+        try {
+            Long authorId = getUserIdFromRequest(request);
+            if (authorId == null) {
+                return ApiResponse.error(ResultEnum.UNAUTHORIZED.getCode(), "未找到有效的访问令牌");
+            }
+            return ApiResponse.success(articleTransferService.importArticles(request.getInputStream(), authorId));
+        } catch (BusinessException e) {
+            log.warn("批量导入文章失败：{}", e.getMessage());
+            return ApiResponse.error(e.getCode(), e.getMessage());
+        } catch (Exception e) {
+            log.error("批量导入文章异常：{}", e.getMessage(), e);
+            return ApiResponse.error("批量导入文章失败");
+        }
+    }
+
+    /**
+     * 导出文章
+     * 
+     * @param status 文章状态，不传时导出全部未删除文章
+     * @return JSON Lines 文件流
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportArticles(@RequestParam(required = false) Integer status) {
+        StreamingResponseBody body = output -> articleTransferService.exportArticles(output, status);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=articles.jsonl")
+                .contentType(MediaType.parseMediaType(NDJSON_CONTENT_TYPE))
+                .body(body);
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private Long getUserIdFromRequest(HttpServletRequest request) {
+        String token = jwtTokenUtil.getTokenFromHeader(request.getHeader(jwtTokenUtil.getTokenHeader()));
+        return StringUtils.hasText(token) ? jwtTokenUtil.getUserIdFromToken(token) : null;
+    }
+}
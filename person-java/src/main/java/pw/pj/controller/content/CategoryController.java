@@ -7,6 +7,8 @@ import org.springframework.web.bind.annotation.*;
 import pw.pj.POJO.VO.*;
 import pw.pj.common.result.ApiResponse;
 import pw.pj.common.result.PageResult;
+import pw.pj.common.web.CachedResponse;
+import pw.pj.service.ContentVersionService;
 import pw.pj.service.TbCategoryService;
 
 import javax.validation.Valid;
@@ -146,6 +148,7 @@ public class CategoryController {
      * 
      * @return 所有分类列表
      */
+    @CachedResponse(scopes = ContentVersionService.SCOPE_TAXONOMY)
     @GetMapping("/all")
     public ApiResponse<List<CategoryVO>> getAllCategories() {
         try {
@@ -240,6 +243,7 @@ public class CategoryController {
      * @param limit 数量限制
      * @return 热门分类列表
      */
+    @CachedResponse(scopes = ContentVersionService.SCOPE_TAXONOMY)
     @GetMapping("/hot")
     public ApiResponse<List<CategoryVO>> getHotCategories(
             @RequestParam(value = "limit", defaultValue = "10") @Positive int limit) {
@@ -0,0 +1,53 @@
+package pw.pj.controller.content;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import pw.pj.POJO.VO.SuggestionVO;
+import pw.pj.common.result.ApiResponse;
+import pw.pj.service.SuggestService;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * 输入联想控制器
+ * 搜索框逐字输入时返回匹配的标签与文章标题，结果来自进程内前缀索引
+ * 
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@RestController
+@RequestMapping("/api/suggest")
+@Validated
+@Slf4j
+public class SuggestController {
+
+    @Autowired
+    private SuggestService suggestService;
+
+    /**
+     * 前缀联想
+     * 
+     * @param q     用户输入，中文标题也可输入拼音首字母
+     * @param limit 返回数量
+     * @return 联想结果，标签在前、文章在后
+     */
+    @GetMapping
+    public ApiResponse<List<SuggestionVO>> suggest(@RequestParam("q") @Size(max = 50) String q,
+            @RequestParam(value = "limit", defaultValue = "8") @Min(1) @Max(20) int limit) {
+        try {
+            return ApiResponse.success(suggestService.suggest(q, limit));
+        } catch (Exception e) {
+            log.error("输入联想异常：{}", e.getMessage(), e);
+            return ApiResponse.error("获取联想结果失败");
+        }
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.web.bind.annotation.*;
 import pw.pj.POJO.VO.*;
 import pw.pj.common.result.ApiResponse;
 import pw.pj.common.result.PageResult;
+import pw.pj.common.web.CachedResponse;
+import pw.pj.service.ContentVersionService;
 import pw.pj.service.TbTagService;
 
 import javax.validation.Valid;
@@ -146,6 +148,7 @@ public class TagController {
      * 
      * @return 所有标签列表
      */
+    @CachedResponse(scopes = ContentVersionService.SCOPE_TAXONOMY)
     @GetMapping("/all")
     public ApiResponse<List<TagVO>> getAllTags() {
         try {
@@ -240,6 +243,7 @@ public class TagController {
      * @param limit 数量限制
      * @return 热门标签列表
      */
+    @CachedResponse(scopes = ContentVersionService.SCOPE_TAXONOMY)
     @GetMapping("/hot")
     public ApiResponse<List<TagVO>> getHotTags(
             @RequestParam(value = "limit", defaultValue = "10") @Positive int limit) {
@@ -255,19 +259,62 @@ public class TagController {
         }
     }
 
+    /**
+     * 获取相关标签（经常与该标签出现在同一篇文章中）
+     *
+     * @param id    标签ID
+     * @param limit 数量限制
+     * @return 相关标签列表
+     */
+    @GetMapping("/{id}/related")
+    public ApiResponse<List<TagVO>> getRelatedTags(@PathVariable @NotNull @Positive Long id,
+            @RequestParam(value = "limit", defaultValue = "10") @Positive int limit) {
+        try {
+            log.info("获取相关标签请求：ID={}, 数量限制={}", id, limit);
+
+            List<TagVO> relatedTags = tagService.getRelatedTags(id, limit);
+            return ApiResponse.success(relatedTags);
+
+        } catch (Exception e) {
+            log.error("获取相关标签异常：ID={}, 错误={}", id, e.getMessage(), e);
+            return ApiResponse.error("获取相关标签失败");
+        }
+    }
+
+    /**
+     * 编辑文章时根据已选标签推荐补充标签
+     *
+     * @param tagIds 已选标签ID列表
+     * @param limit  数量限制
+     * @return 推荐标签列表
+     */
+    @GetMapping("/suggest")
+    public ApiResponse<List<TagVO>> suggestTags(@RequestParam("tagIds") List<Long> tagIds,
+            @RequestParam(value = "limit", defaultValue = "5") @Positive int limit) {
+        try {
+            log.info("推荐标签请求：已选标签={}, 数量限制={}", tagIds, limit);
+
+            List<TagVO> suggestedTags = tagService.suggestTags(tagIds, limit);
+            return ApiResponse.success(suggestedTags);
+
+        } catch (Exception e) {
+            log.error("推荐标签异常：{}", e.getMessage(), e);
+            return ApiResponse.error("推荐标签失败");
+        }
+    }
+
     /**
      * 获取标签云数据
      * 
-     * @param maxTags 最大标签数量
      * @return 标签云数据
      */
+    @CachedResponse(scopes = ContentVersionService.SCOPE_TAXONOMY)
     @GetMapping("/cloud")
-    public ApiResponse<List<TagVO>> getTagCloud(
-            @RequestParam(value = "maxTags", defaultValue = "50") @Positive int maxTags) {
+    public ApiResponse<List<TagVO>> getTagCloud() {
         try {
-            log.info("获取标签云数据请求：最大标签数量={}", maxTags);
+            log.info("获取标签云数据请求");
 
-            List<TagVO> tagCloud = tagService.getTagCloud(maxTags);
+            List<TagVO> tagCloud = tagService.getTagCloud();
             return ApiResponse.success(tagCloud);
 
         } catch (Exception e) {
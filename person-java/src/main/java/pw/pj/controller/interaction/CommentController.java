@@ -10,8 +10,10 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import pw.pj.POJO.VO.CommentCreateVO;
 import pw.pj.POJO.VO.CommentVO;
+import pw.pj.POJO.VO.CursorQueryVO;
 import pw.pj.POJO.VO.PageQueryVO;
 import pw.pj.common.result.ApiResponse;
+import pw.pj.common.result.CursorPageResult;
 import pw.pj.common.result.PageResult;
 import pw.pj.common.utils.IpUtils;
 import pw.pj.service.TbCommentService;
@@ -170,6 +172,56 @@ public class CommentController {
         }
     }
 
+    /**
+     * 获取文章评论树
+     * 
+     * @param articleId 文章ID
+     * @param limit     顶级评论数量
+     * @return 顶级评论及其全部回复
+     */
+    @ApiOperation("获取文章评论树")
+    @GetMapping("/article/{articleId}/tree")
+    public ApiResponse<List<CommentVO>> getCommentTree(
+            @ApiParam(value = "文章ID", required = true) @PathVariable @NotNull Long articleId,
+            @RequestParam(defaultValue = "20") Integer limit) {
+        log.info("获取文章评论树: articleId={}, limit={}", articleId, limit);
+
+        try {
+            List<CommentVO> commentTree = commentService.getCommentTree(articleId, limit);
+            return ApiResponse.success(commentTree);
+
+        } catch (Exception e) {
+            log.error("获取文章评论树失败: {}", e.getMessage(), e);
+            return ApiResponse.error("获取文章评论树失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 游标分页获取文章评论列表
+     * 
+     * @param articleId     文章ID
+     * @param cursorQueryVO 游标分页参数
+     * @return 游标分页结果
+     */
+    @ApiOperation("游标分页获取文章评论列表")
+    @GetMapping("/article/{articleId}/cursor")
+    public ApiResponse<CursorPageResult<CommentVO>> getArticleCommentsByCursor(
+            @ApiParam(value = "文章ID", required = true) @PathVariable @NotNull Long articleId,
+            @Valid CursorQueryVO cursorQueryVO) {
+        log.info("游标分页获取文章评论列表: articleId={}, cursor={}, size={}",
+                articleId, cursorQueryVO.getCursor(), cursorQueryVO.getSize());
+
+        try {
+            CursorPageResult<CommentVO> commentList = commentService.getArticleCommentsByCursor(articleId,
+                    cursorQueryVO);
+            return ApiResponse.success(commentList);
+
+        } catch (Exception e) {
+            log.error("游标分页获取文章评论列表失败: {}", e.getMessage(), e);
+            return ApiResponse.error("获取文章评论列表失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 获取最新评论列表
      * 
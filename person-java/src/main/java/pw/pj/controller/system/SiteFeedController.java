@@ -0,0 +1,93 @@
+package pw.pj.controller.system;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import pw.pj.common.feed.SiteFile;
+import pw.pj.service.SiteFeedService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 站点地图与订阅源控制器
+ * 直接返回预渲染的文件字节，支持ETag与Last-Modified条件请求
+ * 
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@RestController
+public class SiteFeedController {
+
+    private static final MediaType ATOM_XML = MediaType.parseMediaType("application/atom+xml;charset=UTF-8");
+
+    private static final MediaType SITEMAP_XML = MediaType.parseMediaType("application/xml;charset=UTF-8");
+
+    /**
+     * 爬虫与阅读器的缓存时间
+     */
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(10, TimeUnit.MINUTES).cachePublic();
+
+    @Autowired
+    private SiteFeedService siteFeedService;
+
+    /**
+     * 站点地图入口
+     * 
+     * @param request Web请求
+     * @return 站点地图或分片索引
+     */
+    @GetMapping("/sitemap.xml")
+    public ResponseEntity<byte[]> sitemap(WebRequest request) {
+        return serve(SiteFeedService.SITEMAP, SITEMAP_XML, request);
+    }
+
+    /**
+     * 站点地图分片
+     * 
+     * @param part    分片号或 pages
+     * @param request Web请求
+     * @return 分片站点地图
+     */
+    @GetMapping("/sitemap-{part}.xml")
+    public ResponseEntity<byte[]> sitemapPart(@PathVariable String part, WebRequest request) {
+        return serve("sitemap-" + part + ".xml", SITEMAP_XML, request);
+    }
+
+    /**
+     * Atom订阅源
+     * 
+     * @param request Web请求
+     * @return 最新文章订阅源
+     */
+    @GetMapping("/feed.xml")
+    public ResponseEntity<byte[]> feed(WebRequest request) {
+        return serve(SiteFeedService.FEED, ATOM_XML, request);
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private ResponseEntity<byte[]> serve(String name, MediaType mediaType, WebRequest request) {
+        SiteFile file = siteFeedService.getFile(name);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(file.getEtag(), file.getLastModified())) {
+            // 已写入304状态与校验头
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .cacheControl(CACHE_CONTROL)
+                .eTag(file.getEtag())
+                .lastModified(file.getLastModified())
+                .body(file.getContent());
+    }
+}
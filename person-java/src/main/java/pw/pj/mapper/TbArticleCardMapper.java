@@ -0,0 +1,52 @@
+package pw.pj.mapper;
+
+import org.apache.ibatis.annotations.Param;
+import pw.pj.POJO.DO.TbArticleCard;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+* @description 针对表【tb_article_card(文章卡片表)】的数据库操作Mapper
+* @Entity pw.pj.POJO.DO.TbArticleCard
+*/
+public interface TbArticleCardMapper extends BaseMapper<TbArticleCard> {
+
+    /**
+     * 批量写入卡片，已存在时整行覆盖
+     *
+     * @param cards 文章卡片列表
+     * @return 影响行数
+     */
+    int upsertBatch(@Param("cards") List<TbArticleCard> cards);
+
+    /**
+     * 按游标查询标签下的卡片，排序与列表游标一致：置顶、创建时间、文章ID倒序
+     *
+     * @param tagId      标签ID
+     * @param isTop      游标处的置顶标记，为null时从第一页开始
+     * @param createTime 游标处的创建时间
+     * @param articleId  游标处的文章ID
+     * @param limit      条数
+     * @return 文章卡片列表
+     */
+    List<TbArticleCard> selectByTagCursor(@Param("tagId") Long tagId, @Param("isTop") Integer isTop,
+            @Param("createTime") Date createTime, @Param("articleId") Long articleId, @Param("limit") int limit);
+
+    /**
+     * 统计标签下的卡片数量
+     *
+     * @param tagId 标签ID
+     * @return 卡片数量
+     */
+    long countByTag(@Param("tagId") Long tagId);
+
+    /**
+     * 删除文章已不处于指定状态或已删除的卡片
+     *
+     * @param status 卡片对应文章应处的状态
+     * @return 删除行数
+     */
+    int deleteStale(@Param("status") Integer status);
+}
@@ -1,8 +1,14 @@
 package pw.pj.mapper;
 
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import pw.pj.POJO.DO.TbArticle;
+import pw.pj.POJO.DTO.ArticleTransferDTO;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 
+import java.util.Date;
+import java.util.List;
+
 /**
 * @author 北煜
 * @description 针对表【tb_article(文章表)】的数据库操作Mapper
@@ -11,8 +17,30 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 */
 public interface TbArticleMapper extends BaseMapper<TbArticle> {
 
-}
-
-
+    /**
+     * 多行插入文章，回填自增ID
+     *
+     * @param articles 文章列表
+     * @return 影响行数
+     */
+    int insertBatch(@Param("articles") List<TbArticle> articles);
 
+    /**
+     * 以流式结果集逐行读取导出数据，不在内存中缓存整个结果
+     *
+     * @param status  文章状态，为null时导出全部未删除文章
+     * @param handler 逐行回调
+     */
+    void streamForExport(@Param("status") Integer status, ResultHandler<ArticleTransferDTO> handler);
 
+    /**
+     * 按 (update_time, id) 游标分页读取指定时间之后变更的文章ID与更新时间，包含已删除的文章
+     *
+     * @param since  起始更新时间（含）
+     * @param lastId 起始更新时间上已读取的最大文章ID
+     * @param limit  每页条数
+     * @return 文章ID与更新时间，按更新时间、ID升序
+     */
+    List<TbArticle> selectChangedSince(@Param("since") Date since, @Param("lastId") Long lastId,
+            @Param("limit") int limit);
+}
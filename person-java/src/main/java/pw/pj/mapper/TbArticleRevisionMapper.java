@@ -0,0 +1,12 @@
+package pw.pj.mapper;
+
+import pw.pj.POJO.DO.TbArticleRevision;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+
+/**
+* @description 针对表【tb_article_revision(文章修订表)】的数据库操作Mapper
+* @Entity pw.pj.POJO.DO.TbArticleRevision
+*/
+public interface TbArticleRevisionMapper extends BaseMapper<TbArticleRevision> {
+
+}
@@ -1,8 +1,12 @@
 package pw.pj.mapper;
 
+import org.apache.ibatis.annotations.Param;
 import pw.pj.POJO.DO.TbArticleTag;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
 * @author 北煜
 * @description 针对表【tb_article_tag(文章标签关联表)】的数据库操作Mapper
@@ -11,6 +15,58 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 */
 public interface TbArticleTagMapper extends BaseMapper<TbArticleTag> {
 
+    /**
+     * 多行插入文章标签关联
+     *
+     * @param relations 关联列表
+     * @return 影响行数
+     */
+    int insertBatch(@Param("relations") List<TbArticleTag> relations);
+
+    /**
+     * 多行插入单篇文章的标签关联，已被逻辑删除的关联直接恢复
+     *
+     * @param articleId 文章ID
+     * @param tagIds    标签ID
+     * @return 影响行数
+     */
+    int insertOrRestore(@Param("articleId") Long articleId, @Param("tagIds") Collection<Long> tagIds);
+
+    /**
+     * 逻辑删除ID区间内关联了已删除文章或标签的记录
+     *
+     * @param fromId 起始关联ID（含）
+     * @param toId   结束关联ID（不含）
+     * @return 影响行数
+     */
+    int deleteOrphansInRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * 逻辑删除文章ID区间内重复的关联，每组保留ID最小的一条
+     *
+     * @param fromArticleId 起始文章ID（含）
+     * @param toArticleId   结束文章ID（不含）
+     * @return 影响行数
+     */
+    int deleteDuplicatesInRange(@Param("fromArticleId") long fromArticleId,
+            @Param("toArticleId") long toArticleId);
+
+    /**
+     * 锁定文章行及其未删除的关联行，并返回当前标签ID（当前读，不受事务快照影响），须在事务内调用；
+     * 同一文章的并发改标签在此排队，避免基于同一份旧关联各自调整文章数
+     *
+     * @param articleId 文章ID
+     * @return 标签ID，文章没有标签时含一个null
+     */
+    List<Long> selectTagIdsForUpdate(@Param("articleId") Long articleId);
+
+    /**
+     * 查询关联表水位：总行数、未删除行数与最后更新时间（秒）拼成的字符串，任何增删改都会使其变化
+     *
+     * @return 水位字符串
+     */
+    String selectWatermark();
+
 }
 
 
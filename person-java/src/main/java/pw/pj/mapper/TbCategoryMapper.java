@@ -1,8 +1,11 @@
 package pw.pj.mapper;
 
+import org.apache.ibatis.annotations.Param;
 import pw.pj.POJO.DO.TbCategory;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 
+import java.util.Collection;
+
 /**
 * @author 北煜
 * @description 针对表【tb_category(分类表)】的数据库操作Mapper
@@ -11,6 +14,25 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 */
 public interface TbCategoryMapper extends BaseMapper<TbCategory> {
 
+    /**
+     * 按文章表重新统计分类的已发布文章数量
+     *
+     * @param categoryIds 分类ID集合
+     * @return 影响行数
+     */
+    int recountArticles(@Param("categoryIds") Collection<Long> categoryIds);
+
+    /**
+     * 移动子树：把路径以旧前缀开头的全部后代改为新前缀，层级一并平移
+     *
+     * @param oldPrefix  旧路径前缀（被移动分类的旧路径加自身ID）
+     * @param newPrefix  新路径前缀（被移动分类的新路径加自身ID）
+     * @param levelDelta 层级变化量
+     * @return 影响行数
+     */
+    int moveSubtree(@Param("oldPrefix") String oldPrefix, @Param("newPrefix") String newPrefix,
+            @Param("levelDelta") int levelDelta);
+
 }
 
 
@@ -1,8 +1,11 @@
 package pw.pj.mapper;
 
+import org.apache.ibatis.annotations.Param;
 import pw.pj.POJO.DO.TbComment;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 
+import java.util.List;
+
 /**
 * @author 北煜
 * @description 针对表【tb_comment(评论表)】的数据库操作Mapper
@@ -11,6 +14,31 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 */
 public interface TbCommentMapper extends BaseMapper<TbComment> {
 
+    /**
+     * 一次查出一页顶级评论及其全部子孙评论（按评论路径区间匹配）
+     *
+     * @param articleId 文章ID
+     * @param status    评论状态
+     * @param limit     顶级评论数量
+     * @return 评论列表，按ID升序
+     */
+    List<TbComment> selectTreePage(@Param("articleId") Long articleId, @Param("status") Integer status,
+            @Param("limit") int limit);
+
+    /**
+     * 是否存在缺少路径的回复（升级前写入的回复路径为空或仍是顶级评论的默认值）
+     *
+     * @return 存在返回true
+     */
+    boolean existsMissingPath();
+
+    /**
+     * 按父子关系重算全部评论的路径与层级，只更新不一致的评论
+     *
+     * @return 更新的评论数
+     */
+    int rebuildPaths();
+
 }
 
 
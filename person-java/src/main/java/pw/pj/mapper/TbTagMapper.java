@@ -1,8 +1,13 @@
 package pw.pj.mapper;
 
+import org.apache.ibatis.annotations.Param;
 import pw.pj.POJO.DO.TbTag;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
 * @author 北煜
 * @description 针对表【tb_tag(标签表)】的数据库操作Mapper
@@ -11,6 +16,63 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 */
 public interface TbTagMapper extends BaseMapper<TbTag> {
 
+    /**
+     * 多行插入标签，回填自增ID
+     *
+     * @param tags 标签列表
+     * @return 影响行数
+     */
+    int insertBatch(@Param("tags") List<TbTag> tags);
+
+    /**
+     * 查询全部标签的ID、名称与删除标记，包含已逻辑删除的标签（名称唯一键同样约束这些行）
+     *
+     * @return 标签列表
+     */
+    List<TbTag> selectAllIncludingDeleted();
+
+    /**
+     * 恢复已逻辑删除的标签
+     *
+     * @param tagIds 标签ID集合
+     * @param status 恢复后的状态
+     * @return 影响行数
+     */
+    int restoreDeleted(@Param("tagIds") Collection<Long> tagIds, @Param("status") Integer status);
+
+    /**
+     * 按关联表重新统计标签的文章数量
+     *
+     * @param tagIds 标签ID集合
+     * @return 影响行数
+     */
+    int recountArticles(@Param("tagIds") Collection<Long> tagIds);
+
+    /**
+     * 一条UPDATE批量累加标签点击数
+     *
+     * @param deltas 标签ID -> 点击增量
+     * @return 影响行数
+     */
+    int addClickCounts(@Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 一条UPDATE按增量调整多个标签的文章数，结果不小于0
+     *
+     * @param deltas 标签ID -> 文章数增量
+     * @return 影响行数
+     */
+    int addArticleCounts(@Param("deltas") Map<Long, Integer> deltas);
+
+    /**
+     * 按关联表重算ID区间内标签的文章数，只更新与实际不符的标签
+     *
+     * @param fromId 起始标签ID（含）
+     * @param toId   结束标签ID（不含）
+     * @return 更新的标签数
+     */
+    int syncArticleCountsInRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
 }
 
 
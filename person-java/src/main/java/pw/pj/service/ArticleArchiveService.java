@@ -0,0 +1,54 @@
+package pw.pj.service;
+
+import pw.pj.POJO.VO.ArchiveYearVO;
+import pw.pj.POJO.VO.ArticleSimpleVO;
+import pw.pj.common.result.PageResult;
+
+import java.util.List;
+
+/**
+ * 文章归档服务接口
+ * 维护按年月分组的已发布文章索引，存为Redis有序集合与月份计数，文章发布状态变化时原子地增量调整
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public interface ArticleArchiveService {
+
+    // ==================== 查询 ====================
+
+    /**
+     * 获取归档概览：年份、月份及各自的文章数
+     *
+     * @return 年份列表（时间倒序）
+     */
+    List<ArchiveYearVO> getArchiveSummary();
+
+    /**
+     * 分页获取某月的文章
+     *
+     * @param year     年
+     * @param month    月（1-12）
+     * @param pageNum  页码
+     * @param pageSize 每页大小
+     * @return 按发布时间倒序的文章分页结果
+     */
+    PageResult<ArticleSimpleVO> getArchiveMonth(Integer year, Integer month, Integer pageNum, Integer pageSize);
+
+    // ==================== 索引维护 ====================
+
+    /**
+     * 按数据库最新状态调整单篇文章在归档中的位置（未发布或已删除时移出）
+     *
+     * @param articleId 文章ID
+     */
+    void refreshArticle(Long articleId);
+
+    /**
+     * 从文章表全量重建归档索引
+     *
+     * @return 归档的文章数量
+     */
+    Integer rebuildArchive();
+}
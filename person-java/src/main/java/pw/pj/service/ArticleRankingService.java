@@ -0,0 +1,75 @@
+package pw.pj.service;
+
+import pw.pj.POJO.VO.ArticleSimpleVO;
+
+import java.util.List;
+
+/**
+ * 文章排行服务接口
+ * 热门、最新、推荐三个榜单各存为一个Redis有序集合，任意数量的榜单都从同一个集合切片读取
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public interface ArticleRankingService {
+
+    // ==================== 榜单查询 ====================
+
+    /**
+     * 获取热门文章（按随发布时长衰减的热度）
+     *
+     * @param limit 返回数量
+     * @return 文章列表
+     */
+    List<ArticleSimpleVO> getHotArticles(int limit);
+
+    /**
+     * 获取最新文章（按发布时间）
+     *
+     * @param limit 返回数量
+     * @return 文章列表
+     */
+    List<ArticleSimpleVO> getRecentArticles(int limit);
+
+    /**
+     * 获取推荐文章（推荐文章中按热度）
+     *
+     * @param limit 返回数量
+     * @return 文章列表
+     */
+    List<ArticleSimpleVO> getRecommendArticles(int limit);
+
+    // ==================== 计数变化 ====================
+
+    /**
+     * 记录一次浏览
+     *
+     * @param articleId 文章ID
+     */
+    void recordView(Long articleId);
+
+    /**
+     * 记录点赞数变化
+     *
+     * @param articleId 文章ID
+     * @param delta     增量，可为负数
+     */
+    void recordLike(Long articleId, int delta);
+
+    // ==================== 榜单维护 ====================
+
+    /**
+     * 按数据库最新状态重新计算单篇文章在各榜单中的分数（未发布或已删除时移出）
+     *
+     * @param articleId 文章ID
+     */
+    void refreshArticle(Long articleId);
+
+    /**
+     * 按当前时间重新计算所有已发布文章的分数并替换榜单
+     *
+     * @return 参与计算的文章数量
+     */
+    Integer rebuildRankings();
+}
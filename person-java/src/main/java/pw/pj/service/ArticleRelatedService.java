@@ -0,0 +1,43 @@
+package pw.pj.service;
+
+import pw.pj.POJO.VO.ArticleSimpleVO;
+
+import java.util.List;
+
+/**
+ * 相关文章服务接口
+ * 后台按标签相似度与分类预计算每篇文章的近邻列表并存入Redis，读取时只按文章ID取一次近邻列表
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public interface ArticleRelatedService {
+
+    // ==================== 查询 ====================
+
+    /**
+     * 获取相关文章
+     *
+     * @param articleId 文章ID
+     * @param limit     返回数量，不超过预计算的近邻数
+     * @return 按相似度降序的文章列表，尚未计算时返回空列表
+     */
+    List<ArticleSimpleVO> getRelatedArticles(Long articleId, int limit);
+
+    // ==================== 近邻维护 ====================
+
+    /**
+     * 从数据库重建相似度模型并重新计算所有文章的近邻
+     *
+     * @return 计算的文章数量
+     */
+    Integer rebuildAll();
+
+    /**
+     * 处理标签或分类有变化的文章：重新计算它们以及与它们有共同标签的文章的近邻
+     *
+     * @return 重新计算的文章数量
+     */
+    Integer refreshChanged();
+}
@@ -0,0 +1,50 @@
+package pw.pj.service;
+
+import pw.pj.common.render.TocItem;
+
+import java.util.List;
+
+/**
+ * 文章渲染服务接口
+ * 文章保存后在后台把Markdown渲染为清洗过的HTML，并生成目录、字数与阅读时间写回文章表，读请求不再做任何渲染
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public interface ArticleRenderService {
+
+    // ==================== 渲染 ====================
+
+    /**
+     * 提交后台渲染（同一篇文章排队中时不重复提交）
+     *
+     * @param articleId 文章ID
+     */
+    void renderAsync(Long articleId);
+
+    /**
+     * 同步渲染文章，内容摘要与渲染版本均未变化时跳过
+     *
+     * @param articleId 文章ID
+     * @return 是否写入了新的渲染结果
+     */
+    boolean render(Long articleId);
+
+    /**
+     * 提交所有尚未渲染或渲染版本过期的文章
+     *
+     * @return 提交的文章数量
+     */
+    Integer rerenderStale();
+
+    // ==================== 数据转换 ====================
+
+    /**
+     * 解析文章表中保存的目录JSON
+     *
+     * @param tocJson 目录JSON
+     * @return 目录列表，为空或格式错误时返回空列表
+     */
+    List<TocItem> readToc(String tocJson);
+}
@@ -0,0 +1,73 @@
+package pw.pj.service;
+
+import pw.pj.POJO.VO.ArticleAutosaveVO;
+import pw.pj.POJO.VO.ArticleDraftVO;
+import pw.pj.POJO.VO.ArticleRevisionVO;
+
+import java.util.List;
+
+/**
+ * 文章修订服务接口
+ * 正文历史按修订保存：周期性完整快照，其余为相对上一修订的差量；编辑器的自动保存先在内存中合并，再批量落库
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public interface ArticleRevisionService {
+
+    // ==================== 草稿 ====================
+
+    /**
+     * 获取文章草稿（含正文）
+     *
+     * @param articleId 文章ID
+     * @return 草稿
+     */
+    ArticleDraftVO getDraft(Long articleId);
+
+    /**
+     * 自动保存草稿，只更新内存中的草稿，由定时任务合并后落库
+     *
+     * @param articleId  文章ID
+     * @param autosaveVO 补丁或完整正文
+     * @return 保存后的草稿（不含正文）
+     */
+    ArticleDraftVO autosave(Long articleId, ArticleAutosaveVO autosaveVO);
+
+    /**
+     * 把空闲或积累过久的草稿落库为修订
+     *
+     * @return 落库的草稿数量
+     */
+    Integer flushDrafts();
+
+    // ==================== 修订 ====================
+
+    /**
+     * 获取修订列表（不含正文），修订号倒序
+     *
+     * @param articleId 文章ID
+     * @param limit     返回数量
+     * @return 修订列表
+     */
+    List<ArticleRevisionVO> listRevisions(Long articleId, int limit);
+
+    /**
+     * 获取修订详情（含正文）
+     *
+     * @param articleId  文章ID
+     * @param revisionNo 修订号
+     * @return 修订详情
+     */
+    ArticleRevisionVO getRevision(Long articleId, Integer revisionNo);
+
+    /**
+     * 把草稿恢复为指定修订的正文，并记录为新的修订
+     *
+     * @param articleId  文章ID
+     * @param revisionNo 修订号
+     * @return 恢复后的草稿（含正文）
+     */
+    ArticleDraftVO restoreRevision(Long articleId, Integer revisionNo);
+}
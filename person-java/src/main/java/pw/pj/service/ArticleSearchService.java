@@ -0,0 +1,66 @@
+package pw.pj.service;
+
+import pw.pj.POJO.VO.ArticleSimpleVO;
+import pw.pj.POJO.VO.CommentVO;
+import pw.pj.common.result.PageResult;
+
+/**
+ * 站内全文检索服务接口
+ * 文章检索委托给可插拔的搜索引擎，评论检索基于进程内倒排索引，检索过程不访问数据库
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public interface ArticleSearchService {
+
+    // ==================== 检索 ====================
+
+    /**
+     * 检索已发布文章（按BM25相关度排序）
+     *
+     * @param keyword  关键词
+     * @param pageNum  页码
+     * @param pageSize 每页大小
+     * @return 分页结果
+     */
+    PageResult<ArticleSimpleVO> searchArticles(String keyword, Integer pageNum, Integer pageSize);
+
+    /**
+     * 检索评论（按BM25相关度排序）
+     *
+     * @param keyword  关键词
+     * @param pageNum  页码
+     * @param pageSize 每页大小
+     * @return 分页结果
+     */
+    PageResult<CommentVO> searchComments(String keyword, Integer pageNum, Integer pageSize);
+
+    // ==================== 索引维护 ====================
+
+    /**
+     * 按数据库最新状态重建单篇文章的索引（未发布或已删除时移出索引）
+     *
+     * @param articleId 文章ID
+     */
+    void reindexArticle(Long articleId);
+
+    /**
+     * 按数据库最新状态重建单条评论的索引（已删除时移出索引）
+     *
+     * @param commentId 评论ID
+     */
+    void reindexComment(Long commentId);
+
+    /**
+     * 从数据库全量重建文章与评论索引（文章经后台索引器异步写入搜索引擎）
+     *
+     * @return 提交重建的文档总数
+     */
+    Integer rebuildIndex();
+
+    /**
+     * 将有变化的索引写入段文件
+     */
+    void flush();
+}
@@ -0,0 +1,38 @@
+package pw.pj.service;
+
+import pw.pj.POJO.VO.ArticleImportResultVO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 文章批量导入导出服务接口
+ * 以 JSON Lines 格式逐行读写，导入时分批多行插入，结束后统一重算计数与派生数据
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public interface ArticleTransferService {
+
+    /**
+     * 从 JSON Lines 流导入文章
+     *
+     * @param input    输入流，每行一个 {@link pw.pj.POJO.DTO.ArticleTransferDTO}
+     * @param authorId 作者ID
+     * @return 导入结果
+     * @throws IOException 读取输入失败
+     */
+    ArticleImportResultVO importArticles(InputStream input, Long authorId) throws IOException;
+
+    /**
+     * 以 JSON Lines 格式导出文章
+     *
+     * @param output 输出流
+     * @param status 文章状态，为null时导出全部未删除文章
+     * @return 导出的文章数
+     * @throws IOException 写出失败
+     */
+    int exportArticles(OutputStream output, Integer status) throws IOException;
+}
@@ -0,0 +1,92 @@
+package pw.pj.service;
+
+import pw.pj.POJO.DO.TbCategory;
+import pw.pj.POJO.VO.CategoryVO;
+
+import java.util.List;
+
+/**
+ * 分类树服务接口
+ * 在进程内维护不可变的分类树快照（层级、已转换的VO与汇总后的文章数），分类与文章变更后整体替换
+ *
+ * <p>返回的VO与列表由快照共享，调用方只读不改。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public interface CategoryTreeService {
+
+    // ==================== 查询 ====================
+
+    /**
+     * 获取全部启用的分类，按排序权重升序、创建时间倒序
+     *
+     * @return 分类列表
+     */
+    List<CategoryVO> getEnabledCategories();
+
+    /**
+     * 获取热门分类：有文章的启用分类，按文章数倒序
+     *
+     * @param limit 返回数量
+     * @return 分类列表
+     */
+    List<CategoryVO> getHotCategories(int limit);
+
+    /**
+     * 获取分类（含禁用分类）
+     *
+     * @param categoryId 分类ID
+     * @return 分类，不存在或已删除时返回null
+     */
+    CategoryVO getCategory(Long categoryId);
+
+    /**
+     * 获取分类自身的已发布文章数
+     *
+     * @param categoryId 分类ID
+     * @return 文章数
+     */
+    Integer getArticleCount(Long categoryId);
+
+    /**
+     * 获取子树中的全部分类ID（含自身）
+     *
+     * @param categoryId 分类ID
+     * @return 分类ID列表，自身在首位
+     */
+    List<Long> getSubtreeIds(Long categoryId);
+
+    /**
+     * 获取子树（含自身）的已发布文章数
+     *
+     * @param categoryId 分类ID
+     * @return 文章数
+     */
+    Integer getSubtreeArticleCount(Long categoryId);
+
+    /**
+     * 当前快照的版本号，每次替换递增
+     *
+     * @return 版本号
+     */
+    long getVersion();
+
+    /**
+     * 用当前快照中的文章数与父分类名称把分类转换为VO，不访问数据库
+     *
+     * @param category 分类
+     * @return 分类VO
+     */
+    CategoryVO toVO(TbCategory category);
+
+    // ==================== 快照维护 ====================
+
+    /**
+     * 用一次分类查询与一次已发布文章的分类查询重建快照并替换，然后通知其他节点
+     *
+     * @return 分类数量
+     */
+    Integer rebuild();
+}
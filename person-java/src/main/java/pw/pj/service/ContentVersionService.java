@@ -0,0 +1,47 @@
+package pw.pj.service;
+
+/**
+ * 内容版本服务接口
+ * 为公开读接口维护单调递增的版本号，用于生成ETag与Last-Modified，版本号取值接近变更时刻的毫秒时间戳
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public interface ContentVersionService {
+
+    /**
+     * 全部文章列表（分页、分类、标签、排行、归档、相关推荐等）
+     */
+    String SCOPE_ARTICLES = "articles";
+
+    /**
+     * 分类与标签
+     */
+    String SCOPE_TAXONOMY = "taxonomy";
+
+    /**
+     * 单篇文章详情的版本范围
+     *
+     * @param articleId 文章ID
+     * @return 版本范围
+     */
+    static String articleScope(Long articleId) {
+        return "article:" + articleId;
+    }
+
+    /**
+     * 读取多个范围的当前版本，尚未初始化的范围以当前时间初始化
+     *
+     * @param scopes 版本范围
+     * @return 版本号，与范围一一对应
+     */
+    long[] currentVersions(String... scopes);
+
+    /**
+     * 推进多个范围的版本
+     *
+     * @param scopes 版本范围
+     */
+    void bump(String... scopes);
+}
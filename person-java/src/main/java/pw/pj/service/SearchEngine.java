@@ -0,0 +1,122 @@
+package pw.pj.service;
+
+import pw.pj.common.search.SearchDocument;
+import pw.pj.common.search.SearchHits;
+
+import java.util.List;
+
+/**
+ * 搜索引擎抽象接口
+ * 定义文章检索的统一操作规范，通过 search.engine 属性选择实现
+ *
+ * <p>
+ * 该接口基于策略模式设计，支持：
+ * </p>
+ * <ul>
+ * <li>local - 进程内倒排索引，单机部署与测试使用（默认）</li>
+ * <li>elasticsearch - Elasticsearch集群，多实例部署时分担检索压力</li>
+ * </ul>
+ * <p>写入方法均为批量接口，由后台索引器合并后调用；失败时抛出
+ * {@link pw.pj.common.exception.SearchEngineException}，由调用方负责重试</p>
+ * <p>全量重建写入新索引，完成后整体切换，重建期间检索仍使用旧索引</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public interface SearchEngine {
+
+    /**
+     * 获取搜索引擎名称
+     *
+     * @return 引擎名称，如 local、elasticsearch
+     */
+    String getName();
+
+    /**
+     * 批量写入或覆盖文档
+     *
+     * @param documents 文档列表
+     */
+    void bulkIndex(List<SearchDocument> documents);
+
+    /**
+     * 批量删除文档
+     *
+     * @param ids 文章ID列表
+     */
+    void bulkDelete(List<Long> ids);
+
+    /**
+     * 开始全量重建：创建空的新索引，此后的 {@link #bulkIndex}、{@link #bulkDelete} 同时作用于新旧索引
+     */
+    void beginRebuild();
+
+    /**
+     * 向重建中的新索引批量写入回填文档，不影响当前检索使用的索引；未在重建时忽略
+     *
+     * @param documents 文档列表
+     */
+    void bulkIndexRebuild(List<SearchDocument> documents);
+
+    /**
+     * 用重建完成的新索引替换当前索引
+     *
+     * @param watermark 回填数据的水位，与重建期间推进的水位取较大者作为新索引的水位
+     */
+    void commitRebuild(long watermark);
+
+    /**
+     * 放弃重建，丢弃新索引
+     */
+    void abortRebuild();
+
+    /**
+     * 检索文档
+     *
+     * @param keyword 关键词
+     * @param offset  结果偏移量
+     * @param limit   返回条数
+     * @return 按相关度降序的命中结果
+     */
+    SearchHits search(String keyword, int offset, int limit);
+
+    /**
+     * 获取索引中的文档数
+     *
+     * @return 文档数
+     */
+    long count();
+
+    /**
+     * 索引是否需要从数据库回填（索引不存在、为空或已损坏）
+     *
+     * @return 需要回填返回true
+     */
+    boolean needsBackfill();
+
+    /**
+     * 获取索引水位：已写入索引的文章变更中最大的 tb_article.update_time（毫秒）
+     * 索引只保存在本节点时，据此从数据库追赶崩溃前未持久化的写入和其他节点的写入
+     *
+     * @return 水位；索引由各节点共享、无需追赶时返回-1
+     */
+    long getWatermark();
+
+    /**
+     * 推进索引水位，小于当前水位时忽略；重建期间同时推进新索引的水位
+     *
+     * @param updateTime 已写入索引的文章变更时间（毫秒）
+     */
+    void advanceWatermark(long updateTime);
+
+    /**
+     * 清空当前索引
+     */
+    void reset();
+
+    /**
+     * 将已写入的数据持久化或对检索可见
+     */
+    void flush();
+}
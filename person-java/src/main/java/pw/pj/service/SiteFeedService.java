@@ -0,0 +1,56 @@
+package pw.pj.service;
+
+import pw.pj.common.feed.SiteFile;
+
+/**
+ * 站点地图与订阅源服务接口
+ * 预渲染 sitemap.xml 与 feed.xml，文章变化时只重新生成受影响的文件
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public interface SiteFeedService {
+
+    /**
+     * 站点地图入口文件名：文章不多时为完整站点地图，否则为分片索引
+     */
+    String SITEMAP = "sitemap.xml";
+
+    /**
+     * 固定页面站点地图文件名（仅分片时存在）
+     */
+    String SITEMAP_PAGES = "sitemap-pages.xml";
+
+    /**
+     * Atom订阅源文件名
+     */
+    String FEED = "feed.xml";
+
+    /**
+     * 获取预渲染文件
+     *
+     * @param name 文件名，如 sitemap.xml、sitemap-3.xml、feed.xml
+     * @return 文件，不存在时返回null
+     */
+    SiteFile getFile(String name);
+
+    /**
+     * 按数据库最新状态调整单篇文章，受影响的文件在下次写出时重新生成
+     *
+     * @param articleId 文章ID
+     */
+    void refreshArticle(Long articleId);
+
+    /**
+     * 立即写出待重新生成的文件
+     */
+    void flush();
+
+    /**
+     * 从文章表全量重建并写出全部文件
+     *
+     * @return 站点地图中的文章数量
+     */
+    Integer rebuild();
+}
@@ -0,0 +1,50 @@
+package pw.pj.service;
+
+import pw.pj.POJO.VO.SuggestionVO;
+
+import java.util.List;
+
+/**
+ * 输入联想服务接口
+ * 在进程内维护标签名称、别名与已发布文章标题的前缀索引，联想查询不访问Redis与MySQL
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public interface SuggestService {
+
+    // ==================== 查询 ====================
+
+    /**
+     * 前缀联想：先列出匹配的标签（按文章数），再列出匹配的文章（按浏览量）
+     *
+     * @param query 用户输入，支持中文标题的拼音首字母
+     * @param limit 返回总数
+     * @return 联想结果
+     */
+    List<SuggestionVO> suggest(String query, int limit);
+
+    // ==================== 索引维护 ====================
+
+    /**
+     * 按数据库最新状态替换单篇文章（未发布或已删除时移出索引）
+     *
+     * @param articleId 文章ID
+     */
+    void refreshArticle(Long articleId);
+
+    /**
+     * 按数据库最新状态替换单个标签（禁用或已删除时移出索引）
+     *
+     * @param tagId 标签ID
+     */
+    void refreshTag(Long tagId);
+
+    /**
+     * 从数据库全量重建索引，同时校正热度
+     *
+     * @return 索引的标签与文章总数
+     */
+    Integer rebuild();
+}
@@ -0,0 +1,69 @@
+package pw.pj.service;
+
+import pw.pj.common.bitmap.TagFilter;
+import pw.pj.common.result.PageResult;
+
+import java.util.List;
+
+/**
+ * 标签位图索引服务接口
+ * 在内存中维护标签到文章ID的压缩位图，多标签的与、或、非筛选与计数都不访问MySQL
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public interface TagBitmapService {
+
+    // ==================== 查询 ====================
+
+    /**
+     * 分页筛选文章ID，置顶在前、同组内按文章ID倒序
+     *
+     * @param filter   标签筛选条件
+     * @param pageNum  页码
+     * @param pageSize 每页大小
+     * @return 当前页的文章ID与命中总数
+     */
+    PageResult<Long> findArticleIds(TagFilter filter, Integer pageNum, Integer pageSize);
+
+    /**
+     * 筛选全部命中的文章ID，升序
+     *
+     * @param filter 标签筛选条件
+     * @return 文章ID列表
+     */
+    List<Long> findAllArticleIds(TagFilter filter);
+
+    /**
+     * 统计命中的文章数
+     *
+     * @param filter 标签筛选条件
+     * @return 文章数
+     */
+    long count(TagFilter filter);
+
+    /**
+     * 获取文章当前关联的标签ID
+     *
+     * @param articleId 文章ID
+     * @return 标签ID列表，顺序不定
+     */
+    List<Long> findTagIds(Long articleId);
+
+    // ==================== 索引维护 ====================
+
+    /**
+     * 按数据库最新状态替换单篇文章的标签与发布状态（已删除时移出）
+     *
+     * @param articleId 文章ID
+     */
+    void refreshArticle(Long articleId);
+
+    /**
+     * 从关联表与文章表全量重建索引
+     *
+     * @return 索引中的标签数量
+     */
+    Integer rebuild();
+}
@@ -0,0 +1,51 @@
+package pw.pj.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 标签共现服务接口
+ * 在内存中维护标签两两共现的稀疏矩阵，相关标签与编辑时的标签推荐都不访问MySQL
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public interface TagCooccurrenceService {
+
+    // ==================== 查询 ====================
+
+    /**
+     * 与给定标签最相关的标签（按NPMI排序）
+     *
+     * @param tagId 标签ID
+     * @param limit 返回数量
+     * @return 标签ID列表
+     */
+    List<Long> findRelatedTagIds(Long tagId, int limit);
+
+    /**
+     * 为已选标签推荐补充标签
+     *
+     * @param tagIds 已选标签ID
+     * @param limit  返回数量
+     * @return 标签ID列表，不含已选标签
+     */
+    List<Long> suggestTagIds(Collection<Long> tagIds, int limit);
+
+    // ==================== 矩阵维护 ====================
+
+    /**
+     * 按数据库最新状态替换单篇文章的标签（已删除时移出矩阵）
+     *
+     * @param articleId 文章ID
+     */
+    void refreshArticle(Long articleId);
+
+    /**
+     * 扫描一遍文章标签关联表重建矩阵并替换
+     *
+     * @return 有标签的文章数
+     */
+    Integer rebuild();
+}
@@ -0,0 +1,102 @@
+package pw.pj.service;
+
+import pw.pj.POJO.DO.TbTag;
+import pw.pj.common.tag.TagCloud;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 标签字典服务接口
+ * 在进程内维护不可变的标签快照（ID查找表、名称与别名索引、实时文章数），标签查找与唯一性校验不访问Redis与MySQL
+ *
+ * <p>MySQL仍是唯一数据源：快照在变更事件后于后台重建，并通过Redis发布订阅通知其他节点重建。
+ * 返回的标签对象由快照共享，调用方只读不改。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public interface TagDictionaryService {
+
+    // ==================== 查询 ====================
+
+    /**
+     * 按ID获取标签（含禁用标签），文章数为快照构建时的实时统计
+     *
+     * @param tagId 标签ID
+     * @return 标签，不存在或已删除时返回null
+     */
+    TbTag getTag(Long tagId);
+
+    /**
+     * 按给定顺序批量获取标签，跳过不存在的ID
+     *
+     * @param tagIds 标签ID
+     * @return 标签列表
+     */
+    List<TbTag> getTags(Collection<Long> tagIds);
+
+    /**
+     * 获取全部启用的标签，按文章数倒序、排序权重升序
+     *
+     * @return 标签列表
+     */
+    List<TbTag> getEnabledTags();
+
+    /**
+     * 获取有文章的启用标签，按文章数、点击次数倒序
+     *
+     * @return 标签列表
+     */
+    List<TbTag> getPopularTags();
+
+    /**
+     * 获取随快照预先算好的标签云：热门标签前若干个，带权重级别与字号，按名称排列
+     *
+     * @return 标签云
+     */
+    TagCloud<TbTag> getTagCloud();
+
+    /**
+     * 获取标签的文章数
+     *
+     * @param tagId 标签ID
+     * @return 文章数
+     */
+    Integer getArticleCount(Long tagId);
+
+    /**
+     * 是否存在同名标签（不区分大小写）
+     *
+     * @param name      名称
+     * @param excludeId 排除的标签ID，可为null
+     * @return 是否存在
+     */
+    boolean existsName(String name, Long excludeId);
+
+    /**
+     * 是否存在同别名标签（不区分大小写）
+     *
+     * @param slug      别名
+     * @param excludeId 排除的标签ID，可为null
+     * @return 是否存在
+     */
+    boolean existsSlug(String slug, Long excludeId);
+
+    /**
+     * 当前快照的版本号，每次替换递增
+     *
+     * @return 版本号
+     */
+    long getVersion();
+
+    // ==================== 快照维护 ====================
+
+    /**
+     * 立即从数据库重建快照并替换，然后通知其他节点
+     *
+     * @return 标签数量
+     */
+    Integer rebuild();
+}
@@ -0,0 +1,88 @@
+package pw.pj.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import pw.pj.POJO.DO.TbArticleCard;
+import pw.pj.POJO.VO.ArticleSimpleVO;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 文章卡片服务接口
+ * 维护列表读模型：只保存已发布文章的列表字段及分类名、标签名，列表类接口直接读取，不再访问文章正文所在的宽表
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+public interface TbArticleCardService extends IService<TbArticleCard> {
+
+    // ==================== 卡片同步 ====================
+
+    /**
+     * 按数据库最新状态刷新文章卡片（未发布或已删除的文章移除卡片）
+     *
+     * @param articleIds 文章ID集合
+     */
+    void refreshCards(Collection<Long> articleIds);
+
+    /**
+     * 从文章表全量重建卡片
+     *
+     * @return 重建的卡片数量
+     */
+    Integer rebuildCards();
+
+    /**
+     * 卡片浏览量加一
+     *
+     * @param articleId 文章ID
+     */
+    void incrementViewCount(Long articleId);
+
+    /**
+     * 调整卡片点赞数
+     *
+     * @param articleId 文章ID
+     * @param delta     增量，可为负数
+     */
+    void adjustLikeCount(Long articleId, int delta);
+
+    // ==================== 列表查询 ====================
+
+    /**
+     * 按游标查询标签下的卡片，排序为置顶、创建时间、文章ID倒序
+     *
+     * @param tagId  标签ID
+     * @param cursor 解码后的游标（置顶标记、创建时间毫秒、文章ID），为null时从第一页开始
+     * @param limit  条数
+     * @return 文章卡片列表
+     */
+    List<TbArticleCard> listByTagCursor(Long tagId, long[] cursor, int limit);
+
+    /**
+     * 统计标签下的卡片数量
+     *
+     * @param tagId 标签ID
+     * @return 卡片数量
+     */
+    long countByTag(Long tagId);
+
+    // ==================== 数据转换 ====================
+
+    /**
+     * 卡片转换为文章简单VO
+     *
+     * @param card 文章卡片
+     * @return 文章简单VO
+     */
+    ArticleSimpleVO convertToSimpleVO(TbArticleCard card);
+
+    /**
+     * 卡片列表转换为文章简单VO列表
+     *
+     * @param cards 文章卡片列表
+     * @return 文章简单VO列表
+     */
+    List<ArticleSimpleVO> convertToSimpleVOList(List<TbArticleCard> cards);
+}
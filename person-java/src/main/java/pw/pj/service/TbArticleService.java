@@ -2,6 +2,8 @@ package pw.pj.service;
 
 import pw.pj.POJO.DO.TbArticle;
 import pw.pj.POJO.VO.*;
+import pw.pj.common.bitmap.TagFilter;
+import pw.pj.common.result.CursorPageResult;
 import pw.pj.common.result.PageResult;
 import com.baomidou.mybatisplus.extension.service.IService;
 
@@ -63,7 +65,7 @@ public interface TbArticleService extends IService<TbArticle> {
     PageResult<ArticleSimpleVO> getArticleList(PageQueryVO pageQueryVO);
 
     /**
-     * 根据分类ID查询文章列表
+     * 根据分类ID查询文章列表（含全部子分类）
      * 
      * @param categoryId  分类ID
      * @param pageQueryVO 分页查询参数
@@ -80,6 +82,15 @@ public interface TbArticleService extends IService<TbArticle> {
      */
     PageResult<ArticleSimpleVO> getArticlesByTag(Long tagId, PageQueryVO pageQueryVO);
 
+    /**
+     * 按标签组合条件（同时包含、包含任一、排除）查询已发布文章
+     * 
+     * @param filter      标签筛选条件
+     * @param pageQueryVO 分页查询参数
+     * @return 分页结果，置顶在前、同组内按文章ID倒序
+     */
+    PageResult<ArticleSimpleVO> getArticlesByTagFilter(TagFilter filter, PageQueryVO pageQueryVO);
+
     /**
      * 搜索文章
      * 
@@ -89,6 +100,34 @@ public interface TbArticleService extends IService<TbArticle> {
      */
     PageResult<ArticleSimpleVO> searchArticles(String keyword, PageQueryVO pageQueryVO);
 
+    // ==================== 游标分页查询 ====================
+
+    /**
+     * 游标分页查询已发布文章列表（按置顶、创建时间、ID倒序）
+     * 
+     * @param cursorQueryVO 游标分页参数
+     * @return 游标分页结果
+     */
+    CursorPageResult<ArticleSimpleVO> getArticleListByCursor(CursorQueryVO cursorQueryVO);
+
+    /**
+     * 游标分页查询分类下的已发布文章（含全部子分类）
+     * 
+     * @param categoryId    分类ID
+     * @param cursorQueryVO 游标分页参数
+     * @return 游标分页结果
+     */
+    CursorPageResult<ArticleSimpleVO> getArticlesByCategoryCursor(Long categoryId, CursorQueryVO cursorQueryVO);
+
+    /**
+     * 游标分页查询标签下的已发布文章
+     * 
+     * @param tagId         标签ID
+     * @param cursorQueryVO 游标分页参数
+     * @return 游标分页结果
+     */
+    CursorPageResult<ArticleSimpleVO> getArticlesByTagCursor(Long tagId, CursorQueryVO cursorQueryVO);
+
     // ==================== 文章状态管理 ====================
 
     /**
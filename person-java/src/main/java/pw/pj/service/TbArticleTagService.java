@@ -1,6 +1,7 @@
 package pw.pj.service;
 
 import pw.pj.POJO.DO.TbArticleTag;
+import pw.pj.POJO.VO.MaintenanceReportVO;
 import com.baomidou.mybatisplus.extension.service.IService;
 
 import java.util.List;
@@ -44,6 +45,15 @@ public interface TbArticleTagService extends IService<TbArticleTag> {
      */
     Boolean removeTagFromArticle(Long articleId, Long tagId);
 
+    /**
+     * 批量移除文章的标签
+     * 
+     * @param articleId 文章ID
+     * @param tagIds    标签ID列表
+     * @return 是否移除成功
+     */
+    Boolean removeTagsFromArticle(Long articleId, List<Long> tagIds);
+
     /**
      * 移除文章的所有标签
      * 
@@ -53,7 +63,7 @@ public interface TbArticleTagService extends IService<TbArticleTag> {
     Boolean removeAllTagsFromArticle(Long articleId);
 
     /**
-     * 更新文章的标签（先清空再添加）
+     * 更新文章的标签（只写入新增与移除的差异）
      * 
      * @param articleId 文章ID
      * @param tagIds    新的标签ID列表
@@ -132,27 +142,28 @@ public interface TbArticleTagService extends IService<TbArticleTag> {
 
     /**
      * 清理已删除文章或标签的关联数据
+     * 按关联ID区间分块执行反连接更新
      * 
-     * @return 清理的记录数
+     * @return 执行报告，影响行数为清理的记录数
      */
-    Integer cleanupInvalidRelations();
+    MaintenanceReportVO cleanupInvalidRelations();
 
     // ==================== 数据迁移和同步 ====================
 
     /**
      * 同步文章标签统计数据
-     * 重新计算所有标签的文章数量
+     * 按标签ID区间分块，用关联表的分组计数重新计算标签的文章数量
      * 
-     * @return 同步的标签数量
+     * @return 执行报告，影响行数为同步的标签数量
      */
-    Integer syncTagArticleCount();
+    MaintenanceReportVO syncTagArticleCount();
 
     /**
      * 修复标签关联数据
-     * 移除重复的关联记录
+     * 按文章ID区间分块，用窗口函数移除重复的关联记录
      * 
-     * @return 修复的记录数
+     * @return 执行报告，影响行数为修复的记录数
      */
-    Integer fixDuplicateRelations();
+    MaintenanceReportVO fixDuplicateRelations();
 
 }
@@ -3,7 +3,9 @@ package pw.pj.service;
 import pw.pj.POJO.DO.TbComment;
 import pw.pj.POJO.VO.CommentCreateVO;
 import pw.pj.POJO.VO.CommentVO;
+import pw.pj.POJO.VO.CursorQueryVO;
 import pw.pj.POJO.VO.PageQueryVO;
+import pw.pj.common.result.CursorPageResult;
 import pw.pj.common.result.PageResult;
 import com.baomidou.mybatisplus.extension.service.IService;
 
@@ -92,14 +94,24 @@ public interface TbCommentService extends IService<TbComment> {
      */
     PageResult<CommentVO> getArticleComments(Long articleId, Integer pageNum, Integer pageSize);
 
+    /**
+     * 游标分页获取文章评论（按置顶、创建时间、ID倒序）
+     * 
+     * @param articleId     文章ID
+     * @param cursorQueryVO 游标分页参数
+     * @return 游标分页结果
+     */
+    CursorPageResult<CommentVO> getArticleCommentsByCursor(Long articleId, CursorQueryVO cursorQueryVO);
+
     /**
      * 获取评论树（层级结构）
+     * 一页顶级评论连同全部子孙评论，按文章缓存
      * 
      * @param articleId 文章ID
-     * @param maxLevel  最大层级（避免过深）
+     * @param limit     顶级评论数量，为空时使用默认值
      * @return 评论树列表
      */
-    List<CommentVO> getCommentTree(Long articleId, Integer maxLevel);
+    List<CommentVO> getCommentTree(Long articleId, Integer limit);
 
     /**
      * 获取最新评论
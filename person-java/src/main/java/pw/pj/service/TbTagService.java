@@ -95,6 +95,24 @@ public interface TbTagService extends IService<TbTag> {
      */
     List<TagVO> getHotTags(Integer limit);
 
+    /**
+     * 获取经常与给定标签一起出现的相关标签
+     * 
+     * @param tagId 标签ID
+     * @param limit 数量限制
+     * @return 相关标签列表，按相关度倒序
+     */
+    List<TagVO> getRelatedTags(Long tagId, Integer limit);
+
+    /**
+     * 编辑文章时根据已选标签推荐补充标签
+     * 
+     * @param tagIds 已选标签ID列表
+     * @param limit  数量限制
+     * @return 推荐标签列表，不含已选标签
+     */
+    List<TagVO> suggestTags(List<Long> tagIds, Integer limit);
+
     /**
      * 获取推荐标签
      * 
@@ -114,11 +132,11 @@ public interface TbTagService extends IService<TbTag> {
 
     /**
      * 获取标签云数据
+     * 标签数量固定，带权重级别与字号，按名称排列
      * 
-     * @param maxTags 最大标签数量
      * @return 标签云数据
      */
-    List<TagVO> getTagCloud(Integer maxTags);
+    List<TagVO> getTagCloud();
 
     // ==================== 标签状态管理 ====================
 
@@ -156,11 +174,19 @@ public interface TbTagService extends IService<TbTag> {
      */
     Integer updateTagArticleCount(Long tagId);
 
+    /**
+     * 按增量批量调整标签的文章数量统计
+     * 
+     * @param deltas 标签ID -> 文章数增量，为0的项被忽略
+     */
+    void adjustTagArticleCounts(Map<Long, Integer> deltas);
+
     /**
      * 增加标签点击次数
+     * 点击先在内存中累加，定期批量写回数据库
      * 
      * @param tagId 标签ID
-     * @return 是否成功
+     * @return 标签存在时返回true
      */
     Boolean incrementTagClickCount(Long tagId);
 
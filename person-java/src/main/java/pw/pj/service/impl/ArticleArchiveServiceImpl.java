@@ -0,0 +1,289 @@
+package pw.pj.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pw.pj.POJO.DO.TbArticle;
+import pw.pj.POJO.DO.TbArticleCard;
+import pw.pj.POJO.VO.ArchiveMonthVO;
+import pw.pj.POJO.VO.ArchiveYearVO;
+import pw.pj.POJO.VO.ArticleSimpleVO;
+import pw.pj.common.archive.ArchiveIndex;
+import pw.pj.common.constants.RedisConstants;
+import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.ArticleChangeEvent;
+import pw.pj.common.result.PageResult;
+import pw.pj.common.utils.RedisUtils;
+import pw.pj.mapper.TbArticleMapper;
+import pw.pj.service.ArticleArchiveService;
+import pw.pj.service.TbArticleCardService;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 文章归档服务实现类
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>归档存为Redis原生结构：有序集合（文章ID → 发布时间）、哈希表（年月 → 文章数）、哈希表（文章ID → 年月）</li>
+ * <li>文章新建、编辑、发布、下线、删除的事务提交后，由一段Lua脚本原子地移动单篇文章并调整两个月份的计数，
+ * 多个节点并发修改互不覆盖，也不需要回写整个索引</li>
+ * <li>未构建时从文章表全量重建，只读取ID与时间列，写入临时键后由脚本一次性替换</li>
+ * <li>概览只读取月份计数哈希表；月份分页按分数区间取出一页ID，再按主键批量读取卡片</li>
+ * </ul>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@Service
+public class ArticleArchiveServiceImpl implements ArticleArchiveService {
+
+    private static final String ENTRIES_KEY = RedisConstants.Article.ARTICLE_ARCHIVE + "entries";
+
+    private static final String MONTHS_KEY = RedisConstants.Article.ARTICLE_ARCHIVE + "months";
+
+    private static final String MONTH_OF_KEY = RedisConstants.Article.ARTICLE_ARCHIVE + "month_of";
+
+    private static final String READY_KEY = RedisConstants.Article.ARTICLE_ARCHIVE + "ready";
+
+    private static final List<String> KEYS = Arrays.asList(ENTRIES_KEY, MONTHS_KEY, MONTH_OF_KEY);
+
+    /**
+     * 移动单篇文章：先从原月份扣减，再按参数放入新月份；发布时间为空表示移出归档
+     * KEYS: 文章有序集合、月份计数、文章所在月份；ARGV: 文章ID、发布时间、年月
+     */
+    private static final String APPLY_SCRIPT = ""
+            + "local old = redis.call('HGET', KEYS[3], ARGV[1])\n"
+            + "if old then\n"
+            + "  if redis.call('HINCRBY', KEYS[2], old, -1) <= 0 then redis.call('HDEL', KEYS[2], old) end\n"
+            + "end\n"
+            + "if ARGV[2] == '' then\n"
+            + "  redis.call('ZREM', KEYS[1], ARGV[1])\n"
+            + "  redis.call('HDEL', KEYS[3], ARGV[1])\n"
+            + "else\n"
+            + "  redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])\n"
+            + "  redis.call('HSET', KEYS[3], ARGV[1], ARGV[3])\n"
+            + "  redis.call('HINCRBY', KEYS[2], ARGV[3], 1)\n"
+            + "end\n"
+            + "return 1";
+
+    /**
+     * 用重建好的临时键替换正式键并写入已构建标记
+     * KEYS: 三个临时键、三个正式键、已构建标记；ARGV: 标记值
+     */
+    private static final String SWAP_SCRIPT = ""
+            + "for i = 1, 3 do\n"
+            + "  if redis.call('EXISTS', KEYS[i]) == 1 then\n"
+            + "    redis.call('RENAME', KEYS[i], KEYS[i + 3])\n"
+            + "  else\n"
+            + "    redis.call('DEL', KEYS[i + 3])\n"
+            + "  end\n"
+            + "end\n"
+            + "redis.call('SET', KEYS[7], ARGV[1])\n"
+            + "return 1";
+
+    @Autowired
+    private TbArticleMapper articleMapper;
+
+    @Autowired
+    private TbArticleCardService articleCardService;
+
+    @Autowired
+    private RedisUtils redisUtils;
+
+    // ==================== 事件同步 ====================
+
+    /**
+     * 文章发布状态或发布时间可能变化后调整归档
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChange(ArticleChangeEvent event) {
+        switch (event.getType()) {
+            case CREATE:
+            case UPDATE:
+            case PUBLISH:
+            case UNPUBLISH:
+            case DELETE:
+                refreshArticle(event.getArticleId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    // ==================== 查询 ====================
+
+    @Override
+    public List<ArchiveYearVO> getArchiveSummary() {
+        ensureBuilt();
+
+        // 年月键形如 202401，按数值倒序即时间倒序
+        TreeMap<Integer, Integer> counts = new TreeMap<>(Comparator.reverseOrder());
+        redisUtils.hGetAllStrings(MONTHS_KEY).forEach((monthKey, count) -> {
+            int value = Integer.parseInt(count);
+            if (value > 0) {
+                counts.put(Integer.parseInt(monthKey), value);
+            }
+        });
+
+        List<ArchiveYearVO> years = new ArrayList<>();
+        ArchiveYearVO currentYear = null;
+        for (Map.Entry<Integer, Integer> archiveMonth : counts.entrySet()) {
+            int year = archiveMonth.getKey() / 100;
+            if (currentYear == null || currentYear.getYear() != year) {
+                currentYear = new ArchiveYearVO();
+                currentYear.setYear(year);
+                currentYear.setCount(0);
+                currentYear.setMonths(new ArrayList<>());
+                years.add(currentYear);
+            }
+            ArchiveMonthVO monthVO = new ArchiveMonthVO();
+            monthVO.setYear(year);
+            monthVO.setMonth(archiveMonth.getKey() % 100);
+            monthVO.setCount(archiveMonth.getValue());
+            currentYear.getMonths().add(monthVO);
+            currentYear.setCount(currentYear.getCount() + monthVO.getCount());
+        }
+        return years;
+    }
+
+    @Override
+    public PageResult<ArticleSimpleVO> getArchiveMonth(Integer year, Integer month, Integer pageNum,
+            Integer pageSize) {
+        if (year == null || month == null || month < 1 || month > 12) {
+            return PageResult.empty(pageNum, pageSize);
+        }
+        ensureBuilt();
+
+        // 该月的发布时间区间 [月初, 下月初)
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate firstDay = LocalDate.of(year, month, 1);
+        double min = firstDay.atStartOfDay(zone).toInstant().toEpochMilli();
+        double max = firstDay.plusMonths(1).atStartOfDay(zone).toInstant().toEpochMilli() - 1;
+        long total = redisUtils.zCount(ENTRIES_KEY, min, max);
+        if (total == 0) {
+            return PageResult.empty(pageNum, pageSize);
+        }
+
+        int offset = (int) Math.min((long) (pageNum - 1) * pageSize, total);
+        List<Long> articleIds = redisUtils.zReverseRangeByScoreStrings(ENTRIES_KEY, min, max, offset, pageSize)
+                .stream()
+                .map(Long::valueOf)
+                .collect(Collectors.toList());
+        if (articleIds.isEmpty()) {
+            return PageResult.of(new ArrayList<>(), total, pageNum, pageSize);
+        }
+
+        Map<Long, TbArticleCard> cards = articleCardService.listByIds(articleIds).stream()
+                .collect(Collectors.toMap(TbArticleCard::getArticleId, Function.identity()));
+        List<TbArticleCard> ordered = articleIds.stream()
+                .map(cards::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return PageResult.of(articleCardService.convertToSimpleVOList(ordered), total, pageNum, pageSize);
+    }
+
+    // ==================== 索引维护 ====================
+
+    @Override
+    public void refreshArticle(Long articleId) {
+        TbArticle article = articleMapper.selectOne(Wrappers.<TbArticle>lambdaQuery()
+                .select(TbArticle::getId, TbArticle::getStatus, TbArticle::getPublishedTime, TbArticle::getCreateTime)
+                .eq(TbArticle::getId, articleId));
+
+        List<String> args;
+        if (article == null || !SystemConstants.Article.STATUS_PUBLISHED.equals(article.getStatus())) {
+            args = Arrays.asList(String.valueOf(articleId), "", "");
+        } else {
+            Date time = article.getPublishedTime() != null ? article.getPublishedTime() : article.getCreateTime();
+            args = Arrays.asList(String.valueOf(articleId), String.valueOf(time.getTime()),
+                    String.valueOf(monthKey(time.getTime())));
+        }
+        redisUtils.eval(APPLY_SCRIPT, KEYS, args);
+    }
+
+    @Override
+    public synchronized Integer rebuildArchive() {
+        ArchiveIndex index = buildIndex();
+
+        // 写入本次重建专用的临时键，写完后由脚本整体替换正式键
+        String suffix = ":rebuilding:" + UUID.randomUUID();
+        Map<String, Double> entries = new HashMap<>();
+        Map<String, String> monthOf = new HashMap<>();
+        Map<String, String> months = new HashMap<>();
+        for (ArchiveIndex.ArchiveMonth archiveMonth : index.getMonths()) {
+            String monthKey = String.valueOf(archiveMonth.getYear() * 100 + archiveMonth.getMonth());
+            months.put(monthKey, String.valueOf(archiveMonth.getEntries().size()));
+            for (ArchiveIndex.ArchiveEntry entry : archiveMonth.getEntries()) {
+                String articleId = String.valueOf(entry.getArticleId());
+                entries.put(articleId, (double) entry.getPublishedTime());
+                monthOf.put(articleId, monthKey);
+            }
+        }
+        List<String> swapKeys = new ArrayList<>();
+        for (String key : KEYS) {
+            swapKeys.add(key + suffix);
+        }
+        boolean written = redisUtils.zAddStrings(ENTRIES_KEY + suffix, entries)
+                && redisUtils.hPutAllStrings(MONTHS_KEY + suffix, months)
+                && redisUtils.hPutAllStrings(MONTH_OF_KEY + suffix, monthOf);
+        if (!written) {
+            swapKeys.forEach(redisUtils::delete);
+            throw new IllegalStateException("文章归档索引写入失败");
+        }
+        swapKeys.addAll(KEYS);
+        swapKeys.add(READY_KEY);
+        redisUtils.eval(SWAP_SCRIPT, swapKeys, Collections.singletonList(String.valueOf(System.currentTimeMillis())));
+
+        log.info("文章归档索引重建完成，文章数：{}", index.countArticles());
+        return index.countArticles();
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    /**
+     * 归档尚未构建时全量重建一次
+     */
+    private void ensureBuilt() {
+        if (redisUtils.hasKey(READY_KEY)) {
+            return;
+        }
+        synchronized (this) {
+            if (!redisUtils.hasKey(READY_KEY)) {
+                rebuildArchive();
+            }
+        }
+    }
+
+    /**
+     * 年月键，形如 202401
+     */
+    private static int monthKey(long epochMilli) {
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+        return time.getYear() * 100 + time.getMonthValue();
+    }
+
+    private ArchiveIndex buildIndex() {
+        List<TbArticle> articles = articleMapper.selectList(Wrappers.<TbArticle>lambdaQuery()
+                .select(TbArticle::getId, TbArticle::getPublishedTime, TbArticle::getCreateTime)
+                .eq(TbArticle::getStatus, SystemConstants.Article.STATUS_PUBLISHED));
+        List<ArchiveIndex.ArchiveEntry> entries = new ArrayList<>(articles.size());
+        for (TbArticle article : articles) {
+            Date time = article.getPublishedTime() != null ? article.getPublishedTime() : article.getCreateTime();
+            if (time != null) {
+                entries.add(new ArchiveIndex.ArchiveEntry(article.getId(), time.getTime()));
+            }
+        }
+        return ArchiveIndex.of(entries);
+    }
+}
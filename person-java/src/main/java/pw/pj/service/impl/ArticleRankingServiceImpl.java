@@ -0,0 +1,479 @@
+package pw.pj.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pw.pj.POJO.DO.TbArticle;
+import pw.pj.POJO.DO.TbArticleCard;
+import pw.pj.POJO.VO.ArticleSimpleVO;
+import pw.pj.common.constants.RedisConstants;
+import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.ArticleChangeEvent;
+import pw.pj.common.event.CommentChangeEvent;
+import pw.pj.common.utils.RedisUtils;
+import pw.pj.mapper.TbArticleMapper;
+import pw.pj.service.ArticleRankingService;
+import pw.pj.service.ContentVersionService;
+import pw.pj.service.TbArticleCardService;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 文章排行服务实现类
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>热度 = (浏览×1 + 点赞×5 + 评论×10) / (发布小时数 + 2)^1.5，越新的互动权重越高</li>
+ * <li>浏览、点赞按当前发布时长折算增量后 ZINCRBY，评论与文章变更后按数据库重新计算单篇分数</li>
+ * <li>热度随时间衰减，定时按当前时间分批重算全部已发布文章，写入本次专用的临时键后由脚本整体替换</li>
+ * <li>重算持有Redis互斥锁，多个节点同一时刻只有一个在重算；仅在重算锁存在时把增量与单篇刷新记入待补集合，
+ * 替换后补回，不会被整体替换覆盖</li>
+ * <li>热门与推荐榜单只保留前 {@link #MAX_RANKED} 篇，单篇刷新写入后立即裁剪；最新榜单保留全部已发布文章，其分数即发布时间</li>
+ * <li>任意数量的查询都是一次 ZREVRANGE 加一次按主键批量读取卡片，榜单缺失时在后台重算，不阻塞请求</li>
+ * </ul>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@Service
+public class ArticleRankingServiceImpl implements ArticleRankingService {
+
+    private static final double VIEW_WEIGHT = 1.0;
+
+    private static final double LIKE_WEIGHT = 5.0;
+
+    private static final double COMMENT_WEIGHT = 10.0;
+
+    /**
+     * 热度随发布时长衰减的指数
+     */
+    private static final double GRAVITY = 1.5;
+
+    private static final long MILLIS_PER_HOUR = 60L * 60 * 1000;
+
+    /**
+     * 热门与推荐榜单保留的最大文章数
+     */
+    static final int MAX_RANKED = 1000;
+
+    /**
+     * 重算时每批读取的文章数
+     */
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    /**
+     * 重算时写入的临时键后缀，后接本次重算的随机标识
+     */
+    private static final String REBUILD_SUFFIX = ":rebuilding:";
+
+    /**
+     * 重算互斥锁
+     */
+    static final String REBUILD_LOCK = RedisConstants.Article.HOT_ARTICLES + ":rebuild_lock";
+
+    /**
+     * 重算锁超时时间，持有节点异常退出后自动释放
+     */
+    private static final long REBUILD_LOCK_MILLIS = 5 * 60 * 1000L;
+
+    /**
+     * 待补的热度增量（有序集合，成员为文章ID，分数为累计的折算增量），每次重算开始时清空
+     */
+    static final String PENDING_DELTAS = RedisConstants.Article.HOT_ARTICLES + ":pending";
+
+    /**
+     * 待补的单篇刷新（有序集合，成员为文章ID，分数为刷新时间），每次重算开始时清空
+     */
+    static final String PENDING_REFRESH = RedisConstants.Article.RECENT_ARTICLES + ":pending";
+
+    /**
+     * 用临时键替换三个榜单（临时键为空时删除榜单），再把待补增量加到仍在热门、推荐榜单中的文章上
+     * KEYS: 三个临时键、三个正式键、待补增量
+     */
+    private static final String SWAP_SCRIPT = ""
+            + "for i = 1, 3 do\n"
+            + "  if redis.call('ZCARD', KEYS[i]) > 0 then\n"
+            + "    redis.call('RENAME', KEYS[i], KEYS[i + 3])\n"
+            + "  else\n"
+            + "    redis.call('DEL', KEYS[i], KEYS[i + 3])\n"
+            + "  end\n"
+            + "end\n"
+            + "local pending = redis.call('ZRANGE', KEYS[7], 0, -1, 'WITHSCORES')\n"
+            + "for i = 1, #pending, 2 do\n"
+            + "  for _, key in ipairs({KEYS[4], KEYS[6]}) do\n"
+            + "    if redis.call('ZSCORE', key, pending[i]) then\n"
+            + "      redis.call('ZINCRBY', key, pending[i + 1], pending[i])\n"
+            + "    end\n"
+            + "  end\n"
+            + "end\n"
+            + "redis.call('DEL', KEYS[7])\n"
+            + "return #pending / 2";
+
+    @Autowired
+    private TbArticleMapper articleMapper;
+
+    @Autowired
+    private TbArticleCardService articleCardService;
+
+    @Autowired
+    private RedisUtils redisUtils;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    /**
+     * 本实例是否已完成过一次重算
+     */
+    private volatile boolean rebuilt;
+
+    /**
+     * 已提交后台重算、尚未开始执行
+     */
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "article-ranking");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    // ==================== 事件同步 ====================
+
+    /**
+     * 启动时重算榜单
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initRankings() {
+        try {
+            rebuildRankings();
+        } catch (Exception e) {
+            log.error("文章榜单初始化失败：error={}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 文章发布状态、推荐状态或发布时间可能变化后重新计算
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChange(ArticleChangeEvent event) {
+        switch (event.getType()) {
+            case CREATE:
+            case UPDATE:
+            case PUBLISH:
+            case UNPUBLISH:
+            case DELETE:
+                refreshArticle(event.getArticleId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 评论数变化后重新计算
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChange(CommentChangeEvent event) {
+        if (event.getType() != CommentChangeEvent.ChangeType.UPDATE) {
+            refreshArticle(event.getArticleId());
+        }
+    }
+
+    /**
+     * 定时按当前时间重算热度衰减
+     */
+    @Scheduled(fixedDelay = 10 * 60 * 1000, initialDelay = 10 * 60 * 1000)
+    public void rescoreScheduled() {
+        try {
+            rebuildRankings();
+        } catch (Exception e) {
+            log.error("文章榜单定时重算失败：error={}", e.getMessage(), e);
+        }
+    }
+
+    // ==================== 榜单查询 ====================
+
+    @Override
+    public List<ArticleSimpleVO> getHotArticles(int limit) {
+        return readRanking(RedisConstants.Article.HOT_ARTICLES, limit);
+    }
+
+    @Override
+    public List<ArticleSimpleVO> getRecentArticles(int limit) {
+        return readRanking(RedisConstants.Article.RECENT_ARTICLES, limit);
+    }
+
+    @Override
+    public List<ArticleSimpleVO> getRecommendArticles(int limit) {
+        return readRanking(RedisConstants.Article.RECOMMEND_ARTICLES, limit);
+    }
+
+    // ==================== 计数变化 ====================
+
+    @Override
+    public void recordView(Long articleId) {
+        incrementScore(articleId, VIEW_WEIGHT);
+    }
+
+    @Override
+    public void recordLike(Long articleId, int delta) {
+        incrementScore(articleId, LIKE_WEIGHT * delta);
+    }
+
+    // ==================== 榜单维护 ====================
+
+    @Override
+    public void refreshArticle(Long articleId) {
+        if (redisUtils.hasKey(REBUILD_LOCK)) {
+            // 进行中的重算会整体替换榜单，记下文章以便替换后重新刷新
+            redisUtils.zAdd(PENDING_REFRESH,
+                    Collections.singletonMap(articleId, (double) System.currentTimeMillis()));
+        }
+        applyRefresh(articleId);
+    }
+
+    @Override
+    public synchronized Integer rebuildRankings() {
+        String runId = UUID.randomUUID().toString();
+        if (!redisUtils.tryLock(REBUILD_LOCK, runId, REBUILD_LOCK_MILLIS)) {
+            log.debug("文章榜单正由其他节点重算，跳过本次重算");
+            return 0;
+        }
+        try {
+            return rebuildLocked(runId);
+        } finally {
+            redisUtils.unlock(REBUILD_LOCK, runId);
+        }
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    /**
+     * 按数据库最新状态重新计算单篇文章在三个榜单中的分数
+     */
+    private void applyRefresh(Long articleId) {
+        TbArticle article = articleMapper.selectOne(rankingColumns().eq(TbArticle::getId, articleId));
+        if (article == null || !SystemConstants.Article.STATUS_PUBLISHED.equals(article.getStatus())) {
+            redisUtils.zRemove(RedisConstants.Article.HOT_ARTICLES, articleId);
+            redisUtils.zRemove(RedisConstants.Article.RECENT_ARTICLES, articleId);
+            redisUtils.zRemove(RedisConstants.Article.RECOMMEND_ARTICLES, articleId);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        double score = hotScore(article, now);
+        redisUtils.zAdd(RedisConstants.Article.RECENT_ARTICLES,
+                Collections.singletonMap(articleId, (double) publishedMillis(article)));
+        redisUtils.zAdd(RedisConstants.Article.HOT_ARTICLES, Collections.singletonMap(articleId, score));
+        redisUtils.zRemoveRangeByRank(RedisConstants.Article.HOT_ARTICLES, 0, -(MAX_RANKED + 1));
+        if (SystemConstants.Article.RECOMMEND_YES.equals(article.getIsRecommend())) {
+            redisUtils.zAdd(RedisConstants.Article.RECOMMEND_ARTICLES, Collections.singletonMap(articleId, score));
+            redisUtils.zRemoveRangeByRank(RedisConstants.Article.RECOMMEND_ARTICLES, 0, -(MAX_RANKED + 1));
+        } else {
+            redisUtils.zRemove(RedisConstants.Article.RECOMMEND_ARTICLES, articleId);
+        }
+    }
+
+    private int rebuildLocked(String runId) {
+        long start = System.currentTimeMillis();
+        String hotKey = RedisConstants.Article.HOT_ARTICLES + REBUILD_SUFFIX + runId;
+        String recentKey = RedisConstants.Article.RECENT_ARTICLES + REBUILD_SUFFIX + runId;
+        String recommendKey = RedisConstants.Article.RECOMMEND_ARTICLES + REBUILD_SUFFIX + runId;
+        // 从这里开始记录的增量与刷新都在读取数据库之后发生，替换后补回
+        redisUtils.delete(PENDING_DELTAS);
+        redisUtils.delete(PENDING_REFRESH);
+
+        int total;
+        Long replayed = null;
+        try {
+            total = fillRankings(hotKey, recentKey, recommendKey, start);
+            replayed = redisUtils.eval(SWAP_SCRIPT, Arrays.asList(hotKey, recentKey, recommendKey,
+                    RedisConstants.Article.HOT_ARTICLES, RedisConstants.Article.RECENT_ARTICLES,
+                    RedisConstants.Article.RECOMMEND_ARTICLES, PENDING_DELTAS), Collections.emptyList());
+        } finally {
+            if (replayed == null) {
+                redisUtils.delete(hotKey);
+                redisUtils.delete(recentKey);
+                redisUtils.delete(recommendKey);
+            }
+        }
+        if (replayed == null) {
+            throw new IllegalStateException("文章榜单替换失败");
+        }
+
+        // 重算期间发生的单篇刷新按数据库最新状态重新应用
+        Set<Object> refreshed = redisUtils.zReverseRange(PENDING_REFRESH, 0, -1);
+        for (Object articleId : refreshed) {
+            applyRefresh(((Number) articleId).longValue());
+        }
+        redisUtils.delete(PENDING_REFRESH);
+        rebuilt = true;
+        // 排名顺序随时间衰减变化，列表响应随之失效
+        contentVersionService.bump(ContentVersionService.SCOPE_ARTICLES);
+
+        log.debug("文章榜单重算完成，文章数：{}，补回增量：{}，补回刷新：{}，耗时：{}ms", total, replayed,
+                refreshed.size(), System.currentTimeMillis() - start);
+        return total;
+    }
+
+    /**
+     * 分批读取已发布文章写入临时键
+     *
+     * @return 文章数
+     */
+    private int fillRankings(String hotKey, String recentKey, String recommendKey, long start) {
+        int total = 0;
+        long lastId = 0L;
+        while (true) {
+            List<TbArticle> batch = articleMapper.selectList(rankingColumns()
+                    .eq(TbArticle::getStatus, SystemConstants.Article.STATUS_PUBLISHED)
+                    .gt(TbArticle::getId, lastId)
+                    .orderByAsc(TbArticle::getId)
+                    .last("LIMIT " + REBUILD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            Map<Object, Double> hot = new HashMap<>(batch.size() * 2);
+            Map<Object, Double> recent = new HashMap<>(batch.size() * 2);
+            Map<Object, Double> recommend = new HashMap<>();
+            for (TbArticle article : batch) {
+                double score = hotScore(article, start);
+                hot.put(article.getId(), score);
+                recent.put(article.getId(), (double) publishedMillis(article));
+                if (SystemConstants.Article.RECOMMEND_YES.equals(article.getIsRecommend())) {
+                    recommend.put(article.getId(), score);
+                }
+            }
+            redisUtils.zAdd(hotKey, hot);
+            redisUtils.zAdd(recentKey, recent);
+            redisUtils.zAdd(recommendKey, recommend);
+            // 每批后裁剪，临时集合大小不超过 MAX_RANKED + 一批
+            redisUtils.zRemoveRangeByRank(hotKey, 0, -(MAX_RANKED + 1));
+            redisUtils.zRemoveRangeByRank(recommendKey, 0, -(MAX_RANKED + 1));
+
+            total += batch.size();
+            if (batch.size() < REBUILD_BATCH_SIZE) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        return total;
+    }
+
+    private LambdaQueryWrapper<TbArticle> rankingColumns() {
+        return Wrappers.<TbArticle>lambdaQuery().select(TbArticle::getId, TbArticle::getStatus,
+                TbArticle::getIsRecommend, TbArticle::getViewCount, TbArticle::getLikeCount,
+                TbArticle::getCommentCount, TbArticle::getPublishedTime, TbArticle::getCreateTime);
+    }
+
+    /**
+     * 按榜单切片读取，本实例尚未重算且榜单为空时提交后台重算，本次按现有榜单返回
+     */
+    private List<ArticleSimpleVO> readRanking(String key, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        if (!rebuilt && redisUtils.zCard(RedisConstants.Article.RECENT_ARTICLES) == 0) {
+            scheduleRebuild();
+        }
+
+        // 反序列化后可能是Integer，统一转为Long
+        List<Long> articleIds = redisUtils.zReverseRange(key, 0, Math.min(limit, MAX_RANKED) - 1).stream()
+                .map(id -> ((Number) id).longValue())
+                .collect(Collectors.toList());
+        if (articleIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, TbArticleCard> cards = articleCardService.listByIds(articleIds).stream()
+                .collect(Collectors.toMap(TbArticleCard::getArticleId, Function.identity()));
+        List<TbArticleCard> ordered = articleIds.stream()
+                .map(cards::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return articleCardService.convertToSimpleVOList(ordered);
+    }
+
+    /**
+     * 在后台线程重算，已有待执行的重算时合并
+     */
+    private void scheduleRebuild() {
+        if (!rebuildPending.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            rebuildPending.set(false);
+            try {
+                rebuildRankings();
+            } catch (Exception e) {
+                log.error("文章榜单后台重算失败：error={}", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * 按当前发布时长折算后累加热度；只调整已在榜单中的文章，其余等下次重算。
+     * 重算进行中时增量同时记入待补集合，替换榜单后补回
+     */
+    private void incrementScore(Long articleId, double points) {
+        Double published = redisUtils.zScore(RedisConstants.Article.RECENT_ARTICLES, articleId);
+        if (published == null) {
+            return;
+        }
+        double delta = points / decay(published.longValue(), System.currentTimeMillis());
+        if (redisUtils.hasKey(REBUILD_LOCK)) {
+            redisUtils.zIncrementScore(PENDING_DELTAS, articleId, delta);
+        }
+        if (redisUtils.zScore(RedisConstants.Article.HOT_ARTICLES, articleId) != null) {
+            redisUtils.zIncrementScore(RedisConstants.Article.HOT_ARTICLES, articleId, delta);
+        }
+        if (redisUtils.zScore(RedisConstants.Article.RECOMMEND_ARTICLES, articleId) != null) {
+            redisUtils.zIncrementScore(RedisConstants.Article.RECOMMEND_ARTICLES, articleId, delta);
+        }
+    }
+
+    private static double hotScore(TbArticle article, long now) {
+        double points = VIEW_WEIGHT * nullToZero(article.getViewCount())
+                + LIKE_WEIGHT * nullToZero(article.getLikeCount())
+                + COMMENT_WEIGHT * nullToZero(article.getCommentCount());
+        return points / decay(publishedMillis(article), now);
+    }
+
+    private static double decay(long publishedMillis, long now) {
+        double ageHours = Math.max(0, now - publishedMillis) / (double) MILLIS_PER_HOUR;
+        return Math.pow(ageHours + 2, GRAVITY);
+    }
+
+    private static long publishedMillis(TbArticle article) {
+        Date time = article.getPublishedTime() != null ? article.getPublishedTime() : article.getCreateTime();
+        return time != null ? time.getTime() : 0L;
+    }
+
+    private static int nullToZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,327 @@
+package pw.pj.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.ObjectUtils;
+import pw.pj.POJO.DO.TbArticleCard;
+import pw.pj.POJO.DO.TbArticleTag;
+import pw.pj.POJO.DO.TbTag;
+import pw.pj.POJO.VO.ArticleSimpleVO;
+import pw.pj.common.constants.RedisConstants;
+import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.ArticleChangeEvent;
+import pw.pj.common.event.TagChangeEvent;
+import pw.pj.common.related.TagSimilarityModel;
+import pw.pj.common.utils.RedisUtils;
+import pw.pj.mapper.TbArticleTagMapper;
+import pw.pj.mapper.TbTagMapper;
+import pw.pj.service.ArticleRelatedService;
+import pw.pj.service.ContentVersionService;
+import pw.pj.service.TbArticleCardService;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 相关文章服务实现类
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>从卡片表与文章标签关联表构建 {@link TagSimilarityModel}，只计入启用的标签</li>
+ * <li>在独立的ForkJoin线程池中并行计算近邻，每篇文章保留前 {@link #NEIGHBOR_COUNT} 篇写入Redis</li>
+ * <li>文章新建、标签、分类或发布状态变化后记为待刷新，定时任务只读取这些文章的卡片与标签，
+ * 在上次模型上派生新模型，并只重算这些文章及与其有共同标签的文章</li>
+ * <li>标签删除或启停、启动后首次运行及每日凌晨做全量重建，同时校正增量期间漂移的标签IDF，
+ * 并删除已移出模型的文章的近邻列表；列表带过期时间，重启前遗留的列表也不会长期残留</li>
+ * <li>读取时取一次近邻列表，再按主键批量读取卡片</li>
+ * </ul>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@Service
+public class ArticleRelatedServiceImpl implements ArticleRelatedService {
+
+    /**
+     * 每篇文章预计算的近邻数量
+     */
+    static final int NEIGHBOR_COUNT = 10;
+
+    /**
+     * 近邻列表过期时间：每日全量重建会刷新所有有效文章的列表，
+     * 重启前遗留、此后未被重建覆盖的列表两天后自然过期
+     */
+    private static final long NEIGHBOR_EXPIRE = 2L * SystemConstants.Cache.EXPIRE_DAY;
+
+    @Autowired
+    private TbArticleCardService articleCardService;
+
+    @Autowired
+    private TbArticleTagMapper articleTagMapper;
+
+    @Autowired
+    private TbTagMapper tagMapper;
+
+    @Autowired
+    private RedisUtils redisUtils;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    private final ForkJoinPool pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+    /**
+     * 最近一次计算使用的模型，增量刷新时用来找出旧标签下的受影响文章
+     */
+    private volatile TagSimilarityModel model;
+
+    /**
+     * 待刷新的文章ID
+     */
+    private final Set<Long> changedArticleIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 是否需要全量重建，启动后的首次定时任务执行全量重建
+     */
+    private volatile boolean rebuildRequested = true;
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // ==================== 事件同步 ====================
+
+    /**
+     * 文章新建、标签、分类或发布状态变化后记为待刷新
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChange(ArticleChangeEvent event) {
+        switch (event.getType()) {
+            case CREATE:
+            case UPDATE:
+            case TAGS:
+            case PUBLISH:
+            case UNPUBLISH:
+            case DELETE:
+                changedArticleIds.add(event.getArticleId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 标签删除或启停会改变所有关联文章的向量与IDF，直接全量重建
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChange(TagChangeEvent event) {
+        if (event.getType() != TagChangeEvent.ChangeType.UPDATE) {
+            rebuildRequested = true;
+        }
+    }
+
+    /**
+     * 定时处理待刷新的文章
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 10000)
+    public void refreshScheduled() {
+        try {
+            if (rebuildRequested) {
+                rebuildAll();
+            } else {
+                refreshChanged();
+            }
+        } catch (Exception e) {
+            log.error("相关文章近邻计算失败：error={}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 每日全量重建
+     */
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void requestDailyRebuild() {
+        rebuildRequested = true;
+    }
+
+    // ==================== 查询 ====================
+
+    @Override
+    public List<ArticleSimpleVO> getRelatedArticles(Long articleId, int limit) {
+        if (articleId == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        List<?> cached = redisUtils.get(RedisConstants.Article.RELATED_ARTICLES + articleId, List.class);
+        if (ObjectUtils.isEmpty(cached)) {
+            return new ArrayList<>();
+        }
+
+        // 反序列化后可能是Integer，统一转为Long
+        List<Long> neighborIds = cached.stream()
+                .limit(Math.min(limit, NEIGHBOR_COUNT))
+                .map(id -> ((Number) id).longValue())
+                .collect(Collectors.toList());
+        Map<Long, TbArticleCard> cards = articleCardService.listByIds(neighborIds).stream()
+                .collect(Collectors.toMap(TbArticleCard::getArticleId, Function.identity()));
+
+        // 按近邻顺序返回，跳过计算后已下线的文章
+        List<TbArticleCard> ordered = neighborIds.stream()
+                .map(cards::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return articleCardService.convertToSimpleVOList(ordered);
+    }
+
+    // ==================== 近邻维护 ====================
+
+    @Override
+    public synchronized Integer rebuildAll() {
+        long start = System.currentTimeMillis();
+        rebuildRequested = false;
+        changedArticleIds.clear();
+
+        TagSimilarityModel previous = model;
+        TagSimilarityModel rebuilt = loadModel(null, null);
+        Set<Long> articleIds = new LinkedHashSet<>(rebuilt.size());
+        for (long articleId : rebuilt.articleIds()) {
+            articleIds.add(articleId);
+        }
+        int modelSize = articleIds.size();
+
+        // 上次模型中已下线或删除的文章一并处理，computeNeighbors会删除其近邻列表
+        if (previous != null) {
+            for (long articleId : previous.articleIds()) {
+                articleIds.add(articleId);
+            }
+        }
+        computeNeighbors(rebuilt, articleIds);
+        model = rebuilt;
+        contentVersionService.bump(ContentVersionService.SCOPE_ARTICLES);
+
+        log.info("相关文章近邻全量重建完成，文章数：{}，清理：{}，耗时：{}ms", modelSize, articleIds.size() - modelSize,
+                System.currentTimeMillis() - start);
+        return modelSize;
+    }
+
+    @Override
+    public synchronized Integer refreshChanged() {
+        if (changedArticleIds.isEmpty()) {
+            return 0;
+        }
+        TagSimilarityModel previous = model;
+        if (previous == null) {
+            return rebuildAll();
+        }
+        List<Long> changed = new ArrayList<>(changedArticleIds);
+        changedArticleIds.removeAll(changed);
+
+        // 只读取变更文章的卡片与标签，其余文章沿用上次模型中的数据
+        TagSimilarityModel current = loadModel(changed, previous);
+
+        // 受影响的文章：变更文章自身，以及变更前后与其有共同标签的文章
+        Set<Long> affected = new HashSet<>(changed);
+        for (Long articleId : changed) {
+            for (long neighbor : previous.tagNeighbors(articleId)) {
+                affected.add(neighbor);
+            }
+            for (long neighbor : current.tagNeighbors(articleId)) {
+                affected.add(neighbor);
+            }
+        }
+        computeNeighbors(current, affected);
+        model = current;
+        contentVersionService.bump(ContentVersionService.SCOPE_ARTICLES);
+
+        log.debug("相关文章近邻增量刷新完成：变更={}，重算={}", changed.size(), affected.size());
+        return affected.size();
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    /**
+     * 从卡片表与标签关联表构建模型，文章按发布时间倒序，同分类补足时优先较新的文章
+     *
+     * @param articleIds 只读取这些文章，为null时读取全部已发布文章
+     * @param base       为null时构建新模型，否则在其上替换这些文章的数据，不再发布的文章移出模型
+     */
+    private TagSimilarityModel loadModel(Collection<Long> articleIds, TagSimilarityModel base) {
+        boolean partial = articleIds != null;
+        List<TbArticleCard> cards = articleCardService.list(Wrappers.<TbArticleCard>lambdaQuery()
+                .select(TbArticleCard::getArticleId, TbArticleCard::getCategoryId)
+                .in(partial, TbArticleCard::getArticleId, articleIds)
+                .orderByDesc(TbArticleCard::getPublishedTime));
+
+        List<TbArticleTag> links = cards.isEmpty() ? Collections.emptyList()
+                : articleTagMapper.selectList(Wrappers.<TbArticleTag>lambdaQuery()
+                        .select(TbArticleTag::getArticleId, TbArticleTag::getTagId)
+                        .in(partial, TbArticleTag::getArticleId, articleIds));
+        Set<Long> linkedTagIds = links.stream().map(TbArticleTag::getTagId).collect(Collectors.toSet());
+        Set<Long> enabledTagIds = linkedTagIds.isEmpty() ? Collections.emptySet()
+                : tagMapper.selectList(Wrappers.<TbTag>lambdaQuery()
+                        .select(TbTag::getId)
+                        .eq(TbTag::getStatus, SystemConstants.Tag.STATUS_ENABLED)
+                        .in(partial, TbTag::getId, linkedTagIds))
+                .stream()
+                .map(TbTag::getId)
+                .collect(Collectors.toSet());
+        Map<Long, List<Long>> tagsByArticle = links.stream()
+                .filter(link -> enabledTagIds.contains(link.getTagId()))
+                .collect(Collectors.groupingBy(TbArticleTag::getArticleId,
+                        Collectors.mapping(TbArticleTag::getTagId, Collectors.toList())));
+
+        int n = cards.size();
+        long[] ids = new long[n];
+        long[] categoryIds = new long[n];
+        long[][] articleTagIds = new long[n][];
+        for (int i = 0; i < n; i++) {
+            TbArticleCard card = cards.get(i);
+            ids[i] = card.getArticleId();
+            categoryIds[i] = card.getCategoryId() != null ? card.getCategoryId() : 0L;
+            articleTagIds[i] = tagsByArticle.getOrDefault(card.getArticleId(), Collections.emptyList())
+                    .stream()
+                    .mapToLong(Long::longValue)
+                    .toArray();
+        }
+        if (base == null) {
+            return TagSimilarityModel.build(ids, categoryIds, articleTagIds);
+        }
+        return base.update(new HashSet<>(articleIds), ids, categoryIds, articleTagIds);
+    }
+
+    /**
+     * 并行计算近邻并写入Redis，不在模型中的文章（未发布或已删除）删除其近邻列表
+     */
+    private void computeNeighbors(TagSimilarityModel target, Collection<Long> articleIds) {
+        try {
+            pool.submit(() -> articleIds.parallelStream().forEach(articleId -> {
+                String cacheKey = RedisConstants.Article.RELATED_ARTICLES + articleId;
+                long[] neighbors = target.topNeighbors(articleId, NEIGHBOR_COUNT);
+                if (neighbors.length == 0) {
+                    redisUtils.delete(cacheKey);
+                    return;
+                }
+                List<Long> value = new ArrayList<>(neighbors.length);
+                for (long neighbor : neighbors) {
+                    value.add(neighbor);
+                }
+                redisUtils.set(cacheKey, value, NEIGHBOR_EXPIRE);
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("相关文章近邻计算失败", e.getCause());
+        }
+    }
+}
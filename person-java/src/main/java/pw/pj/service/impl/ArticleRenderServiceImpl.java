@@ -0,0 +1,273 @@
+package pw.pj.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pw.pj.POJO.DO.TbArticle;
+import pw.pj.common.compress.BodyCodec;
+import pw.pj.common.constants.RedisConstants;
+import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.ArticleChangeEvent;
+import pw.pj.common.render.MarkdownRenderer;
+import pw.pj.common.render.RenderResult;
+import pw.pj.common.render.TocItem;
+import pw.pj.common.utils.RedisUtils;
+import pw.pj.common.utils.StringUtils;
+import pw.pj.mapper.TbArticleMapper;
+import pw.pj.service.ArticleRenderService;
+import pw.pj.service.ContentVersionService;
+import pw.pj.service.TbArticleCardService;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章渲染服务实现类
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>文章新建、编辑、发布的事务提交后提交到单线程后台队列渲染，保存接口不等待渲染</li>
+ * <li>正文SHA-256摘要与渲染版本均未变化时跳过，相同正文的渲染结果按摘要缓存在Redis</li>
+ * <li>写回时以读取时的更新时间做乐观校验，并保持更新时间不变，渲染期间文章被再次编辑则放弃本次结果</li>
+ * <li>写回后清除详情缓存并刷新列表卡片的字数与阅读时间</li>
+ * <li>启动时补渲染尚未渲染或渲染版本过期的文章</li>
+ * </ul>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@Service
+public class ArticleRenderServiceImpl implements ArticleRenderService {
+
+    /**
+     * 后台渲染队列容量，队列满时由提交线程直接渲染
+     */
+    private static final int QUEUE_CAPACITY = 1000;
+
+    /**
+     * 启动补渲染时每批读取的文章数
+     */
+    private static final int STALE_BATCH_SIZE = 500;
+
+    private static final TypeReference<List<TocItem>> TOC_TYPE = new TypeReference<List<TocItem>>() {
+    };
+
+    @Autowired
+    private TbArticleMapper articleMapper;
+
+    @Autowired
+    private TbArticleCardService articleCardService;
+
+    @Autowired
+    private RedisUtils redisUtils;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    /**
+     * 已提交但尚未开始渲染的文章ID
+     */
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "article-render");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("文章渲染队列未在关闭前处理完，剩余：{}", executor.getQueue().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== 事件同步 ====================
+
+    /**
+     * 文章正文可能变化后提交渲染
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChange(ArticleChangeEvent event) {
+        switch (event.getType()) {
+            case CREATE:
+            case UPDATE:
+            case PUBLISH:
+                renderAsync(event.getArticleId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 启动时补渲染
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initRender() {
+        try {
+            Integer submitted = rerenderStale();
+            if (submitted > 0) {
+                log.info("已提交待渲染文章：{}，渲染版本：{}", submitted, MarkdownRenderer.RENDER_VERSION);
+            }
+        } catch (Exception e) {
+            log.error("文章补渲染提交失败：error={}", e.getMessage(), e);
+        }
+    }
+
+    // ==================== 渲染 ====================
+
+    @Override
+    public void renderAsync(Long articleId) {
+        if (articleId == null || !pending.add(articleId)) {
+            return;
+        }
+        executor.execute(() -> {
+            pending.remove(articleId);
+            try {
+                render(articleId);
+            } catch (Exception e) {
+                log.error("文章渲染失败：articleId={}, error={}", articleId, e.getMessage(), e);
+            }
+        });
+    }
+
+    @Override
+    public boolean render(Long articleId) {
+        TbArticle article = articleMapper.selectOne(Wrappers.<TbArticle>lambdaQuery()
+                .select(TbArticle::getId, TbArticle::getContent, TbArticle::getContentHash,
+                        TbArticle::getRenderVersion, TbArticle::getUpdateTime)
+                .eq(TbArticle::getId, articleId));
+        if (article == null) {
+            return false;
+        }
+
+        String contentHash = DigestUtils.sha256Hex(Objects.toString(article.getContent(), ""));
+        if (contentHash.equals(article.getContentHash())
+                && Objects.equals(article.getRenderVersion(), MarkdownRenderer.RENDER_VERSION)) {
+            return false;
+        }
+
+        RenderResult result = renderCached(article.getContent(), contentHash);
+        int updated = articleMapper.update(null, Wrappers.<TbArticle>lambdaUpdate()
+                // 条件更新不经过字段的类型处理器，直接写入压缩后的字节
+                .set(TbArticle::getContentHtml, BodyCodec.encode(result.getHtml()))
+                .set(TbArticle::getContentToc, writeToc(result.getToc()))
+                .set(TbArticle::getWordCount, result.getWordCount())
+                .set(TbArticle::getReadingTime, result.getReadingTime())
+                .set(TbArticle::getContentHash, contentHash)
+                .set(TbArticle::getRenderVersion, MarkdownRenderer.RENDER_VERSION)
+                // 渲染不是内容编辑，保持更新时间不变
+                .setSql("update_time = update_time")
+                .eq(TbArticle::getId, articleId)
+                .eq(TbArticle::getUpdateTime, article.getUpdateTime()));
+        if (updated == 0) {
+            // 渲染期间文章被再次编辑，由那次编辑的事件重新渲染
+            log.debug("文章渲染期间已被修改，放弃本次结果：articleId={}", articleId);
+            return false;
+        }
+
+        redisUtils.delete(RedisConstants.Article.ARTICLE_DETAIL + articleId);
+        redisUtils.delete(RedisConstants.Article.ARTICLE_BODY + articleId);
+        articleCardService.refreshCards(Collections.singletonList(articleId));
+        contentVersionService.bump(ContentVersionService.articleScope(articleId), ContentVersionService.SCOPE_ARTICLES);
+        return true;
+    }
+
+    @Override
+    public Integer rerenderStale() {
+        int submitted = 0;
+        long lastId = 0L;
+        while (true) {
+            List<TbArticle> batch = articleMapper.selectList(Wrappers.<TbArticle>lambdaQuery()
+                    .select(TbArticle::getId)
+                    .gt(TbArticle::getId, lastId)
+                    .and(w -> w.isNull(TbArticle::getRenderVersion)
+                            .or()
+                            .lt(TbArticle::getRenderVersion, MarkdownRenderer.RENDER_VERSION))
+                    .orderByAsc(TbArticle::getId)
+                    .last("LIMIT " + STALE_BATCH_SIZE));
+            for (TbArticle article : batch) {
+                renderAsync(article.getId());
+            }
+            submitted += batch.size();
+            if (batch.size() < STALE_BATCH_SIZE) {
+                return submitted;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    // ==================== 数据转换 ====================
+
+    @Override
+    public List<TocItem> readToc(String tocJson) {
+        if (StringUtils.isBlank(tocJson)) {
+            return Collections.emptyList();
+        }
+        try {
+            return objectMapper.readValue(tocJson, TOC_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("文章目录解析失败：error={}", e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    /**
+     * 按渲染版本与正文摘要复用渲染结果
+     */
+    private RenderResult renderCached(String content, String contentHash) {
+        String cacheKey = RedisConstants.Article.ARTICLE_RENDER + MarkdownRenderer.RENDER_VERSION + ":" + contentHash;
+        RenderResult cached = redisUtils.get(cacheKey, RenderResult.class);
+        if (cached != null) {
+            return cached;
+        }
+        RenderResult result = MarkdownRenderer.render(content);
+        redisUtils.set(cacheKey, result, SystemConstants.Cache.EXPIRE_DAY);
+        return result;
+    }
+
+    private String writeToc(List<TocItem> toc) {
+        try {
+            return objectMapper.writeValueAsString(toc);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("文章目录序列化失败", e);
+        }
+    }
+}
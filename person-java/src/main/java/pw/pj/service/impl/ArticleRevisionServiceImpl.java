@@ -0,0 +1,469 @@
+package pw.pj.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+import pw.pj.POJO.DO.TbArticle;
+import pw.pj.POJO.DO.TbArticleRevision;
+import pw.pj.POJO.VO.ArticleAutosaveVO;
+import pw.pj.POJO.VO.ArticleDraftVO;
+import pw.pj.POJO.VO.ArticleRevisionVO;
+import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.ArticleChangeEvent;
+import pw.pj.common.exception.BusinessException;
+import pw.pj.common.result.ResultEnum;
+import pw.pj.common.revision.RevisionCodec;
+import pw.pj.common.utils.DateTimeUtils;
+import pw.pj.mapper.TbArticleMapper;
+import pw.pj.mapper.TbArticleRevisionMapper;
+import pw.pj.service.ArticleRevisionService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * 文章修订服务实现类
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>自动保存只修改内存中的草稿，停止输入10秒或持续输入满60秒后才合并落库为一个修订</li>
+ * <li>编辑器提交相对上次草稿的补丁，用草稿哈希校验基准，基准不一致时返回冲突</li>
+ * <li>修订默认保存相对上一修订的二进制差量，每20个修订或差量不划算时保存完整快照</li>
+ * <li>任意修订从最近快照起顺序应用差量恢复，一次查询读出整条链</li>
+ * <li>文章保存后事务提交时，把已保存的正文记录为修订并同步草稿</li>
+ * </ul>
+ *
+ * <p>草稿只在处理请求的实例内存中合并；多实例部署时同一文章的编辑请求需落在同一实例，
+ * 修订号冲突时丢弃内存草稿并提示重新加载。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@Service
+public class ArticleRevisionServiceImpl implements ArticleRevisionService {
+
+    /**
+     * 快照间隔：距上一快照的修订数达到该值时保存完整快照，限制恢复时需应用的差量数
+     */
+    private static final int SNAPSHOT_INTERVAL = 20;
+
+    /**
+     * 差量超过该字节数时与快照比较大小，差量达到快照一半时改存快照
+     */
+    private static final int DELTA_CHECK_BYTES = 512;
+
+    /**
+     * 停止输入多久后落库
+     */
+    private static final long COALESCE_IDLE_MILLIS = 10_000L;
+
+    /**
+     * 持续输入时最长落库间隔
+     */
+    private static final long COALESCE_MAX_MILLIS = 60_000L;
+
+    /**
+     * 已落库草稿在内存中的保留时间
+     */
+    private static final long DRAFT_EVICT_MILLIS = 30 * 60_000L;
+
+    /**
+     * 修订列表最大返回数量
+     */
+    private static final int MAX_LIST_SIZE = 200;
+
+    @Autowired
+    private TbArticleMapper articleMapper;
+
+    @Autowired
+    private TbArticleRevisionMapper revisionMapper;
+
+    /**
+     * 内存草稿，文章ID -> 草稿；同一草稿的读写在其监视器内串行
+     */
+    private final ConcurrentMap<Long, Draft> drafts = new ConcurrentHashMap<>();
+
+    // ==================== 事件同步 ====================
+
+    /**
+     * 文章保存后把正文记录为修订，草稿随之同步为已保存的正文
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChange(ArticleChangeEvent event) {
+        switch (event.getType()) {
+            case CREATE:
+            case UPDATE:
+                recordSavedContent(event.getArticleId());
+                break;
+            case DELETE:
+                drafts.remove(event.getArticleId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    // ==================== 草稿 ====================
+
+    @Override
+    public ArticleDraftVO getDraft(Long articleId) {
+        Draft draft = loadDraft(articleId);
+        synchronized (draft) {
+            draft.touchedAt = System.currentTimeMillis();
+            return toDraftVO(articleId, draft, true);
+        }
+    }
+
+    @Override
+    public ArticleDraftVO autosave(Long articleId, ArticleAutosaveVO autosaveVO) {
+        boolean hasPatches = !CollectionUtils.isEmpty(autosaveVO.getPatches());
+        if (autosaveVO.getContent() == null && !hasPatches) {
+            throw new BusinessException(ResultEnum.PARAM_ERROR, "补丁与正文不能同时为空");
+        }
+        if (autosaveVO.getContent() == null && !StringUtils.hasText(autosaveVO.getBaseHash())) {
+            throw new BusinessException(ResultEnum.PARAM_ERROR, "提交补丁时必须提供baseHash");
+        }
+
+        Draft draft = loadDraft(articleId);
+        synchronized (draft) {
+            if (StringUtils.hasText(autosaveVO.getBaseHash()) && !autosaveVO.getBaseHash().equals(draft.hash)) {
+                throw new BusinessException(ResultEnum.CONFLICT, "草稿已在其他位置修改，请重新加载");
+            }
+
+            String content = autosaveVO.getContent() != null
+                    ? autosaveVO.getContent()
+                    : applyPatches(draft.content, autosaveVO.getPatches());
+            long now = System.currentTimeMillis();
+            if (!content.equals(draft.content)) {
+                draft.content = content;
+                draft.hash = DigestUtils.sha256Hex(content);
+                if (!draft.dirty) {
+                    draft.dirty = true;
+                    draft.dirtySince = now;
+                }
+            }
+            draft.touchedAt = now;
+            return toDraftVO(articleId, draft, false);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelay = 5000)
+    public Integer flushDrafts() {
+        long now = System.currentTimeMillis();
+        int flushed = 0;
+        for (Map.Entry<Long, Draft> entry : drafts.entrySet()) {
+            Draft draft = entry.getValue();
+            synchronized (draft) {
+                if (draft.dirty) {
+                    if (now - draft.touchedAt < COALESCE_IDLE_MILLIS && now - draft.dirtySince < COALESCE_MAX_MILLIS) {
+                        continue;
+                    }
+                    try {
+                        persist(entry.getKey(), draft, SystemConstants.Article.REVISION_SOURCE_AUTOSAVE);
+                        flushed++;
+                    } catch (Exception e) {
+                        log.error("草稿落库失败：articleId={}, error={}", entry.getKey(), e.getMessage());
+                    }
+                } else if (now - draft.touchedAt >= DRAFT_EVICT_MILLIS) {
+                    drafts.remove(entry.getKey(), draft);
+                }
+            }
+        }
+        if (flushed > 0) {
+            log.debug("草稿合并落库完成：{}篇", flushed);
+        }
+        return flushed;
+    }
+
+    // ==================== 修订 ====================
+
+    @Override
+    public List<ArticleRevisionVO> listRevisions(Long articleId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIST_SIZE));
+        List<TbArticleRevision> revisions = revisionMapper.selectList(Wrappers.<TbArticleRevision>lambdaQuery()
+                .select(TbArticleRevision::getArticleId, TbArticleRevision::getRevisionNo,
+                        TbArticleRevision::getIsSnapshot, TbArticleRevision::getContentLength,
+                        TbArticleRevision::getContentHash, TbArticleRevision::getSource,
+                        TbArticleRevision::getCreateTime)
+                .eq(TbArticleRevision::getArticleId, articleId)
+                .orderByDesc(TbArticleRevision::getRevisionNo)
+                .last("LIMIT " + size));
+        return revisions.stream().map(this::toRevisionVO).collect(Collectors.toList());
+    }
+
+    @Override
+    public ArticleRevisionVO getRevision(Long articleId, Integer revisionNo) {
+        TbArticleRevision revision = revisionMapper.selectOne(Wrappers.<TbArticleRevision>lambdaQuery()
+                .select(TbArticleRevision::getArticleId, TbArticleRevision::getRevisionNo,
+                        TbArticleRevision::getSnapshotNo, TbArticleRevision::getIsSnapshot,
+                        TbArticleRevision::getContentLength, TbArticleRevision::getContentHash,
+                        TbArticleRevision::getSource, TbArticleRevision::getCreateTime)
+                .eq(TbArticleRevision::getArticleId, articleId)
+                .eq(TbArticleRevision::getRevisionNo, revisionNo));
+        if (revision == null) {
+            throw new BusinessException(ResultEnum.NOT_FOUND, "修订不存在");
+        }
+
+        ArticleRevisionVO revisionVO = toRevisionVO(revision);
+        revisionVO.setContent(reconstruct(articleId, revision.getSnapshotNo(), revisionNo));
+        return revisionVO;
+    }
+
+    @Override
+    public ArticleDraftVO restoreRevision(Long articleId, Integer revisionNo) {
+        String content = getRevision(articleId, revisionNo).getContent();
+        Draft draft = loadDraft(articleId);
+        synchronized (draft) {
+            draft.content = content;
+            draft.hash = DigestUtils.sha256Hex(content);
+            draft.touchedAt = System.currentTimeMillis();
+            persist(articleId, draft, SystemConstants.Article.REVISION_SOURCE_RESTORE);
+            return toDraftVO(articleId, draft, true);
+        }
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    /**
+     * 把文章表中已保存的正文记录为修订
+     */
+    private void recordSavedContent(Long articleId) {
+        TbArticle article = articleMapper.selectOne(Wrappers.<TbArticle>lambdaQuery()
+                .select(TbArticle::getId, TbArticle::getContent)
+                .eq(TbArticle::getId, articleId));
+        if (article == null || article.getContent() == null) {
+            return;
+        }
+
+        try {
+            Draft draft = loadDraft(articleId);
+            synchronized (draft) {
+                draft.content = article.getContent();
+                draft.hash = DigestUtils.sha256Hex(article.getContent());
+                draft.touchedAt = System.currentTimeMillis();
+                persist(articleId, draft, SystemConstants.Article.REVISION_SOURCE_SAVE);
+            }
+        } catch (Exception e) {
+            log.error("记录文章修订失败：articleId={}, error={}", articleId, e.getMessage());
+        }
+    }
+
+    /**
+     * 读取内存草稿，不存在时从最新修订恢复；文章尚无修订时以文章正文为草稿
+     */
+    private Draft loadDraft(Long articleId) {
+        Draft draft = drafts.get(articleId);
+        if (draft != null) {
+            return draft;
+        }
+
+        Draft loaded = new Draft();
+        TbArticleRevision latest = revisionMapper.selectOne(Wrappers.<TbArticleRevision>lambdaQuery()
+                .select(TbArticleRevision::getRevisionNo, TbArticleRevision::getSnapshotNo,
+                        TbArticleRevision::getContentHash)
+                .eq(TbArticleRevision::getArticleId, articleId)
+                .orderByDesc(TbArticleRevision::getRevisionNo)
+                .last("LIMIT 1"));
+        if (latest != null) {
+            loaded.revisionNo = latest.getRevisionNo();
+            loaded.snapshotNo = latest.getSnapshotNo();
+            loaded.persistedContent = reconstruct(articleId, latest.getSnapshotNo(), latest.getRevisionNo());
+            loaded.persistedHash = latest.getContentHash();
+            loaded.content = loaded.persistedContent;
+            loaded.hash = loaded.persistedHash;
+        } else {
+            TbArticle article = articleMapper.selectOne(Wrappers.<TbArticle>lambdaQuery()
+                    .select(TbArticle::getId, TbArticle::getContent)
+                    .eq(TbArticle::getId, articleId));
+            if (article == null) {
+                throw new BusinessException(ResultEnum.ARTICLE_NOT_FOUND);
+            }
+            loaded.content = Objects.toString(article.getContent(), "");
+            loaded.hash = DigestUtils.sha256Hex(loaded.content);
+            loaded.touchedAt = System.currentTimeMillis();
+
+            // 尚无修订：先登记草稿再在其监视器内把已保存的正文记录为首个快照，
+            // 本实例并发的首次加载拿到同一草稿，等待快照写完，不会重复写入修订1
+            synchronized (loaded) {
+                Draft existing = drafts.putIfAbsent(articleId, loaded);
+                if (existing != null) {
+                    return existing;
+                }
+                try {
+                    persist(articleId, loaded, SystemConstants.Article.REVISION_SOURCE_SAVE);
+                } catch (BusinessException e) {
+                    // 其他实例已写入首个修订，persist已移除本草稿，改为从最新修订恢复
+                    return loadDraft(articleId);
+                }
+                return loaded;
+            }
+        }
+        loaded.touchedAt = System.currentTimeMillis();
+
+        Draft existing = drafts.putIfAbsent(articleId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * 把草稿当前正文落库为新修订，正文与上一修订相同时只清除未保存标记
+     * 调用方需持有草稿的监视器
+     */
+    private void persist(Long articleId, Draft draft, Integer source) {
+        if (draft.hash.equals(draft.persistedHash)) {
+            draft.dirty = false;
+            return;
+        }
+
+        int revisionNo = draft.revisionNo + 1;
+        boolean snapshot = draft.persistedContent == null || revisionNo - draft.snapshotNo >= SNAPSHOT_INTERVAL;
+        byte[] payload = snapshot ? RevisionCodec.encodeSnapshot(draft.content)
+                : RevisionCodec.encodeDelta(draft.persistedContent, draft.content);
+        if (!snapshot && payload.length > DELTA_CHECK_BYTES) {
+            byte[] full = RevisionCodec.encodeSnapshot(draft.content);
+            if (payload.length * 2 >= full.length) {
+                snapshot = true;
+                payload = full;
+            }
+        }
+
+        TbArticleRevision revision = new TbArticleRevision();
+        revision.setArticleId(articleId);
+        revision.setRevisionNo(revisionNo);
+        revision.setSnapshotNo(snapshot ? revisionNo : draft.snapshotNo);
+        revision.setIsSnapshot(snapshot ? 1 : 0);
+        revision.setPayload(payload);
+        revision.setContentLength(draft.content.length());
+        revision.setContentHash(draft.hash);
+        revision.setSource(source);
+        try {
+            revisionMapper.insert(revision);
+        } catch (DuplicateKeyException e) {
+            // 其他实例已写入同一修订号，内存草稿的基准已过期
+            drafts.remove(articleId, draft);
+            throw new BusinessException(ResultEnum.CONFLICT, "草稿已在其他位置修改，请重新加载");
+        }
+
+        draft.revisionNo = revisionNo;
+        draft.snapshotNo = revision.getSnapshotNo();
+        draft.persistedContent = draft.content;
+        draft.persistedHash = draft.hash;
+        draft.dirty = false;
+    }
+
+    /**
+     * 从快照起顺序应用差量，恢复指定修订的正文
+     */
+    private String reconstruct(Long articleId, Integer snapshotNo, Integer revisionNo) {
+        List<TbArticleRevision> chain = revisionMapper.selectList(Wrappers.<TbArticleRevision>lambdaQuery()
+                .select(TbArticleRevision::getRevisionNo, TbArticleRevision::getIsSnapshot,
+                        TbArticleRevision::getPayload)
+                .eq(TbArticleRevision::getArticleId, articleId)
+                .between(TbArticleRevision::getRevisionNo, snapshotNo, revisionNo)
+                .orderByAsc(TbArticleRevision::getRevisionNo));
+        if (chain.isEmpty() || chain.get(0).getIsSnapshot() != 1
+                || chain.size() != revisionNo - snapshotNo + 1) {
+            throw new BusinessException(ResultEnum.ERROR, "修订链不完整");
+        }
+
+        String content = null;
+        for (TbArticleRevision revision : chain) {
+            content = revision.getIsSnapshot() == 1
+                    ? RevisionCodec.decodeSnapshot(revision.getPayload())
+                    : RevisionCodec.applyDelta(content, revision.getPayload());
+        }
+        return content;
+    }
+
+    /**
+     * 按起始位置倒序应用补丁，位置均相对基准正文
+     */
+    private String applyPatches(String base, List<ArticleAutosaveVO.Patch> patches) {
+        StringBuilder content = new StringBuilder(base);
+        int limit = base.length();
+        for (int i = patches.size() - 1; i >= 0; i--) {
+            ArticleAutosaveVO.Patch patch = patches.get(i);
+            int start = patch.getStart();
+            int end = start + (patch.getDeleteCount() != null ? patch.getDeleteCount() : 0);
+            if (end > limit) {
+                throw new BusinessException(ResultEnum.PARAM_ERROR, "补丁位置越界或重叠");
+            }
+            content.replace(start, end, Objects.toString(patch.getText(), ""));
+            limit = start;
+        }
+        return content.toString();
+    }
+
+    private ArticleDraftVO toDraftVO(Long articleId, Draft draft, boolean withContent) {
+        ArticleDraftVO draftVO = new ArticleDraftVO();
+        draftVO.setArticleId(articleId);
+        draftVO.setRevisionNo(draft.revisionNo);
+        draftVO.setContentHash(draft.hash);
+        draftVO.setContentLength(draft.content.length());
+        draftVO.setDirty(draft.dirty);
+        if (withContent) {
+            draftVO.setContent(draft.content);
+        }
+        return draftVO;
+    }
+
+    private ArticleRevisionVO toRevisionVO(TbArticleRevision revision) {
+        ArticleRevisionVO revisionVO = new ArticleRevisionVO();
+        revisionVO.setArticleId(revision.getArticleId());
+        revisionVO.setRevisionNo(revision.getRevisionNo());
+        revisionVO.setSnapshot(revision.getIsSnapshot() != null && revision.getIsSnapshot() == 1);
+        revisionVO.setContentLength(revision.getContentLength());
+        revisionVO.setContentHash(revision.getContentHash());
+        revisionVO.setSource(revision.getSource());
+        revisionVO.setCreateTime(DateTimeUtils.toLocalDateTime(revision.getCreateTime()));
+        return revisionVO;
+    }
+
+    // ==================== 内部类 ====================
+
+    /**
+     * 内存草稿
+     */
+    private static final class Draft {
+
+        /** 草稿正文 */
+        private String content;
+
+        /** 草稿正文哈希 */
+        private String hash;
+
+        /** 最近一次落库的修订号，尚无修订时为0 */
+        private int revisionNo;
+
+        /** 最近一次落库的修订所在链的快照修订号 */
+        private int snapshotNo;
+
+        /** 最近一次落库的修订正文，作为下一个差量的基准 */
+        private String persistedContent;
+
+        /** 最近一次落库的修订正文哈希 */
+        private String persistedHash;
+
+        /** 是否有未落库的修改 */
+        private boolean dirty;
+
+        /** 首次出现未落库修改的时间 */
+        private long dirtySince;
+
+        /** 最近一次访问时间 */
+        private long touchedAt;
+    }
+}
@@ -0,0 +1,285 @@
+package pw.pj.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pw.pj.POJO.DO.TbComment;
+import pw.pj.POJO.VO.ArticleSimpleVO;
+import pw.pj.POJO.VO.CommentVO;
+import pw.pj.common.config.SearchProperties;
+import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.CommentChangeEvent;
+import pw.pj.common.result.PageResult;
+import pw.pj.common.search.IndexSegmentStore;
+import pw.pj.common.search.InvertedIndex;
+import pw.pj.common.search.SearchHits;
+import pw.pj.common.utils.DateTimeUtils;
+import pw.pj.common.utils.StringUtils;
+import pw.pj.mapper.TbCommentMapper;
+import pw.pj.service.ArticleSearchService;
+import pw.pj.service.SearchEngine;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 站内全文检索服务实现类
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>文章检索委托给 {@link SearchEngine}，由 search.engine 属性选择本地索引或Elasticsearch</li>
+ * <li>文章变更由 {@link SearchIndexer} 在事务提交后异步批量同步到搜索引擎</li>
+ * <li>评论索引保留在进程内：评论内容与评论人昵称，收录所有未删除评论</li>
+ * <li>命中结果直接使用索引中存储的列表数据，检索不访问MySQL</li>
+ * <li>评论索引定期写入段文件，启动时内存映射加载，段文件缺失或损坏时从数据库重建</li>
+ * </ul>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@Service
+public class ArticleSearchServiceImpl implements ArticleSearchService {
+
+    private static final String COMMENT_SEGMENT = "comments.seg";
+
+    @Autowired
+    private SearchEngine searchEngine;
+
+    @Autowired
+    private SearchIndexer searchIndexer;
+
+    @Autowired
+    private TbCommentMapper commentMapper;
+
+    @Autowired
+    private SearchProperties searchProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final InvertedIndex commentIndex = new InvertedIndex(new String[] { "content", "authorName" },
+            new float[] { 1.0f, 0.5f });
+
+    /**
+     * 上次写盘时的评论索引版本号
+     */
+    private volatile long commentFlushedVersion = -1;
+
+    /**
+     * 应用启动完成后加载评论索引段文件，段文件不可用时从数据库重建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        if (!Boolean.TRUE.equals(searchProperties.getRebuildOnStartup()) && loadSegment(commentIndex)) {
+            commentFlushedVersion = commentIndex.getVersion();
+            log.info("评论检索索引加载完成，评论数：{}", commentIndex.size());
+            return;
+        }
+        try {
+            rebuildCommentIndex();
+            flush();
+        } catch (Exception e) {
+            log.error("评论检索索引重建失败：error={}", e.getMessage(), e);
+        }
+    }
+
+    // ==================== 检索 ====================
+
+    @Override
+    public PageResult<ArticleSimpleVO> searchArticles(String keyword, Integer pageNum, Integer pageSize) {
+        if (StringUtils.isBlank(keyword)) {
+            return PageResult.empty(pageNum, pageSize);
+        }
+        int size = Math.min(pageSize, SystemConstants.Page.MAX_PAGE_SIZE);
+        int offset = (Math.max(pageNum, 1) - 1) * size;
+        return toPageResult(searchEngine.search(keyword.trim(), offset, size), pageNum, size, ArticleSimpleVO.class);
+    }
+
+    @Override
+    public PageResult<CommentVO> searchComments(String keyword, Integer pageNum, Integer pageSize) {
+        if (StringUtils.isBlank(keyword)) {
+            return PageResult.empty(pageNum, pageSize);
+        }
+        int size = Math.min(pageSize, SystemConstants.Page.MAX_PAGE_SIZE);
+        int offset = (Math.max(pageNum, 1) - 1) * size;
+        return toPageResult(commentIndex.search(keyword.trim(), offset, size), pageNum, size, CommentVO.class);
+    }
+
+    private <T> PageResult<T> toPageResult(SearchHits hits, Integer pageNum, int size, Class<T> type) {
+        List<T> records = new ArrayList<>(hits.getHits().size());
+        for (SearchHits.Hit hit : hits.getHits()) {
+            T record = readStored(hit.getStored(), type);
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        return PageResult.of(records, hits.getTotal(), pageNum, size);
+    }
+
+    // ==================== 索引维护 ====================
+
+    /**
+     * 评论变更后增量更新索引
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChange(CommentChangeEvent event) {
+        if (event.getType() == CommentChangeEvent.ChangeType.DELETE) {
+            commentIndex.removeDocument(event.getCommentId());
+            return;
+        }
+        reindexComment(event.getCommentId());
+    }
+
+    @Override
+    public void reindexArticle(Long articleId) {
+        searchIndexer.reindex(articleId);
+    }
+
+    @Override
+    public void reindexComment(Long commentId) {
+        if (commentId == null) {
+            return;
+        }
+        TbComment comment = commentMapper.selectById(commentId);
+        if (comment == null || Integer.valueOf(1).equals(comment.getIsDelete())) {
+            commentIndex.removeDocument(commentId);
+            return;
+        }
+        indexComment(comment);
+    }
+
+    @Override
+    public Integer rebuildIndex() {
+        int articles = searchIndexer.rebuild();
+        int comments = rebuildCommentIndex();
+        return articles + comments;
+    }
+
+    /**
+     * 定期持久化索引：评论索引有变化时写入段文件，文章索引交由搜索引擎处理
+     */
+    @Scheduled(fixedDelayString = "${search.flush-interval:30000}")
+    @Override
+    public void flush() {
+        try {
+            searchEngine.flush();
+        } catch (Exception e) {
+            log.error("文章检索索引持久化失败：engine={}, error={}", searchEngine.getName(), e.getMessage());
+        }
+        if (commentIndex.getVersion() != commentFlushedVersion) {
+            long version = commentIndex.getVersion();
+            if (writeSegment(commentIndex)) {
+                commentFlushedVersion = version;
+            }
+        }
+    }
+
+    /**
+     * 应用关闭前写盘，避免丢失最近一次刷盘后的评论变更
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (commentIndex.getVersion() != commentFlushedVersion) {
+            writeSegment(commentIndex);
+        }
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private int rebuildCommentIndex() {
+        long start = System.currentTimeMillis();
+        commentIndex.clear();
+        int batchSize = searchProperties.getRebuildBatchSize();
+        long lastId = 0;
+        int total = 0;
+        while (true) {
+            List<TbComment> batch = commentMapper.selectList(new LambdaQueryWrapper<TbComment>()
+                    .gt(TbComment::getId, lastId)
+                    .eq(TbComment::getIsDelete, 0)
+                    .orderByAsc(TbComment::getId)
+                    .last("LIMIT " + batchSize));
+            for (TbComment comment : batch) {
+                indexComment(comment);
+            }
+            total += batch.size();
+            if (batch.size() < batchSize) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        log.info("评论检索索引重建完成，评论数：{}，耗时：{}ms", total, System.currentTimeMillis() - start);
+        return total;
+    }
+
+    private void indexComment(TbComment comment) {
+        CommentVO commentVO = new CommentVO();
+        BeanUtils.copyProperties(comment, commentVO);
+        commentVO.setCreateTime(DateTimeUtils.toLocalDateTime(comment.getCreateTime()));
+        commentVO.setUpdateTime(DateTimeUtils.toLocalDateTime(comment.getUpdateTime()));
+
+        commentIndex.addDocument(comment.getId(),
+                new String[] { comment.getContent(), comment.getAuthorName() },
+                writeStored(commentVO));
+    }
+
+    private boolean loadSegment(InvertedIndex index) {
+        Path segment = Paths.get(searchProperties.getIndexDir(), COMMENT_SEGMENT);
+        if (!Files.exists(segment)) {
+            return false;
+        }
+        try {
+            IndexSegmentStore.read(index, segment);
+            return true;
+        } catch (IOException e) {
+            log.warn("索引段文件加载失败，将从数据库重建：file={}, error={}", segment, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean writeSegment(InvertedIndex index) {
+        Path segment = Paths.get(searchProperties.getIndexDir(), COMMENT_SEGMENT);
+        try {
+            IndexSegmentStore.write(index, segment);
+            return true;
+        } catch (IOException e) {
+            log.error("索引段文件写入失败：file={}, error={}", segment, e.getMessage());
+            return false;
+        }
+    }
+
+    private String writeStored(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            log.error("索引存储数据序列化失败：error={}", e.getMessage());
+            return null;
+        }
+    }
+
+    private <T> T readStored(String stored, Class<T> type) {
+        if (stored == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(stored, type);
+        } catch (JsonProcessingException e) {
+            log.error("索引存储数据反序列化失败：error={}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,543 @@
+package pw.pj.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import pw.pj.POJO.DO.TbArticle;
+import pw.pj.POJO.DO.TbArticleTag;
+import pw.pj.POJO.DO.TbCategory;
+import pw.pj.POJO.DO.TbTag;
+import pw.pj.POJO.DTO.ArticleTransferDTO;
+import pw.pj.POJO.VO.ArticleImportResultVO;
+import pw.pj.common.constants.RedisConstants;
+import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.exception.BusinessException;
+import pw.pj.common.result.ResultEnum;
+import pw.pj.common.utils.RedisUtils;
+import pw.pj.mapper.TbArticleMapper;
+import pw.pj.mapper.TbArticleTagMapper;
+import pw.pj.mapper.TbCategoryMapper;
+import pw.pj.mapper.TbTagMapper;
+import pw.pj.service.ArticleArchiveService;
+import pw.pj.service.ArticleRankingService;
+import pw.pj.service.ArticleRelatedService;
+import pw.pj.service.ArticleRenderService;
+import pw.pj.service.ArticleTransferService;
+import pw.pj.service.CategoryTreeService;
+import pw.pj.service.ContentVersionService;
+import pw.pj.service.SiteFeedService;
+import pw.pj.service.TagBitmapService;
+import pw.pj.service.TagDictionaryService;
+import pw.pj.service.TbArticleCardService;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 文章批量导入导出服务实现类
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>导入前一次性加载分类名、标签名到内存映射，逐行解析时不再查询数据库</li>
+ * <li>每200篇为一批，在一个事务内多行插入新标签、文章与标签关联</li>
+ * <li>单行格式或校验错误只跳过该行并记录行号，不影响其他行</li>
+ * <li>全部批次完成后统一重算标签、分类的文章数，清理一次缓存，重建卡片、归档、榜单、相关推荐、检索索引与站点地图</li>
+ * <li>导出使用流式结果集逐行写出，标签名在SQL中聚合，内存占用与文章总数无关</li>
+ * </ul>
+ *
+ * <p>导入不逐篇发布文章变更事件，派生数据在结束时批量重建。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@Service
+public class ArticleTransferServiceImpl implements ArticleTransferService {
+
+    /**
+     * 每批写入的文章数
+     */
+    private static final int BATCH_SIZE = 200;
+
+    /**
+     * 重算计数时每条UPDATE的ID数量
+     */
+    private static final int RECOUNT_CHUNK_SIZE = 500;
+
+    /**
+     * 结果中保留的失败明细数量
+     */
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    /**
+     * 标签名称最大长度
+     */
+    private static final int TAG_NAME_MAX_LENGTH = 50;
+
+    /**
+     * 链接类字段最大长度
+     */
+    private static final int URL_MAX_LENGTH = 500;
+
+    @Autowired
+    private TbArticleMapper articleMapper;
+
+    @Autowired
+    private TbArticleTagMapper articleTagMapper;
+
+    @Autowired
+    private TbCategoryMapper categoryMapper;
+
+    @Autowired
+    private TbTagMapper tagMapper;
+
+    @Autowired
+    private TbArticleCardService articleCardService;
+
+    @Autowired
+    private ArticleArchiveService articleArchiveService;
+
+    @Autowired
+    private ArticleRankingService articleRankingService;
+
+    @Autowired
+    private ArticleRelatedService articleRelatedService;
+
+    @Autowired
+    private ArticleRenderService articleRenderService;
+
+    @Autowired
+    private SearchIndexer searchIndexer;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private SiteFeedService siteFeedService;
+
+    @Autowired
+    private TagBitmapService tagBitmapService;
+
+    @Autowired
+    private TagDictionaryService tagDictionaryService;
+
+    @Autowired
+    private CategoryTreeService categoryTreeService;
+
+    @Autowired
+    private RedisUtils redisUtils;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // ==================== 导入 ====================
+
+    @Override
+    public ArticleImportResultVO importArticles(InputStream input, Long authorId) throws IOException {
+        if (authorId == null) {
+            throw new BusinessException(ResultEnum.UNAUTHORIZED, "无法识别导入用户");
+        }
+        long start = System.currentTimeMillis();
+        ImportContext context = new ImportContext(authorId, loadCategoryIds());
+        loadTagIds(context);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        int lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (!StringUtils.hasText(line)) {
+                continue;
+            }
+            context.result.setTotalLines(context.result.getTotalLines() + 1);
+            try {
+                context.pending.add(parseLine(lineNo, line, context));
+            } catch (JsonProcessingException e) {
+                addError(context.result, lineNo, "JSON格式错误：" + e.getOriginalMessage());
+                continue;
+            } catch (BusinessException e) {
+                addError(context.result, lineNo, e.getMessage());
+                continue;
+            }
+            if (context.pending.size() >= BATCH_SIZE) {
+                flushBatch(context);
+            }
+        }
+        flushBatch(context);
+        finishImport(context);
+
+        log.info("文章批量导入完成：读取{}行，导入{}篇，失败{}行，新建标签{}个，耗时{}ms",
+                context.result.getTotalLines(), context.result.getImported(), context.result.getFailed(),
+                context.result.getCreatedTags(), System.currentTimeMillis() - start);
+        return context.result;
+    }
+
+    // ==================== 导出 ====================
+
+    @Override
+    public int exportArticles(OutputStream output, Integer status) throws IOException {
+        OutputStream out = new BufferedOutputStream(output, 64 * 1024);
+        int[] count = {0};
+        try {
+            articleMapper.streamForExport(status, resultContext -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(resultContext.getResultObject()));
+                    out.write('\n');
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // 客户端中断下载时结果集随之关闭
+            throw e.getCause();
+        }
+        out.flush();
+        log.info("文章导出完成：状态={}，文章数={}", status, count[0]);
+        return count[0];
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    /**
+     * 解析并校验一行，分类与标签只查内存映射
+     */
+    private PendingArticle parseLine(int lineNo, String line, ImportContext context) throws JsonProcessingException {
+        ArticleTransferDTO row = objectMapper.readValue(line, ArticleTransferDTO.class);
+
+        if (!StringUtils.hasText(row.getTitle())) {
+            throw new BusinessException(ResultEnum.PARAM_ERROR, "文章标题不能为空");
+        }
+        if (row.getTitle().length() > SystemConstants.Article.TITLE_MAX_LENGTH) {
+            throw new BusinessException(ResultEnum.PARAM_ERROR, "文章标题过长");
+        }
+        if (!StringUtils.hasText(row.getContent())) {
+            throw new BusinessException(ResultEnum.ARTICLE_CONTENT_EMPTY);
+        }
+        if (row.getSummary() != null && row.getSummary().length() > SystemConstants.Article.SUMMARY_MAX_LENGTH) {
+            throw new BusinessException(ResultEnum.PARAM_ERROR, "文章摘要过长");
+        }
+        if (isTooLong(row.getCoverImage()) || isTooLong(row.getOriginalUrl())) {
+            throw new BusinessException(ResultEnum.PARAM_ERROR, "封面或原文链接过长");
+        }
+
+        Long categoryId = row.getCategory() != null ? context.categoryIds.get(normalize(row.getCategory())) : null;
+        if (categoryId == null) {
+            throw new BusinessException(ResultEnum.CATEGORY_NOT_FOUND, "分类不存在或已禁用：" + row.getCategory());
+        }
+
+        // 标签名按数据库排序规则去重（大小写不敏感）
+        Map<String, String> tagNames = new LinkedHashMap<>();
+        if (row.getTags() != null) {
+            for (String tag : row.getTags()) {
+                if (!StringUtils.hasText(tag)) {
+                    continue;
+                }
+                String name = tag.trim();
+                if (name.length() > TAG_NAME_MAX_LENGTH) {
+                    throw new BusinessException(ResultEnum.PARAM_ERROR, "标签名称过长：" + name);
+                }
+                tagNames.putIfAbsent(normalize(name), name);
+            }
+        }
+
+        Date now = new Date();
+        Integer status = row.getStatus() != null && row.getStatus() >= 0 && row.getStatus() <= 2
+                ? row.getStatus() : SystemConstants.Article.STATUS_DRAFT;
+        Date createTime = row.getCreateTime() != null ? row.getCreateTime() : now;
+
+        TbArticle article = new TbArticle();
+        article.setTitle(row.getTitle().trim());
+        article.setSummary(row.getSummary());
+        article.setContent(row.getContent());
+        article.setCoverImage(row.getCoverImage());
+        article.setAuthorId(context.authorId);
+        article.setCategoryId(categoryId);
+        article.setStatus(status);
+        article.setIsTop(defaultIfNull(row.getIsTop(), SystemConstants.Article.TOP_NO));
+        article.setIsRecommend(defaultIfNull(row.getIsRecommend(), SystemConstants.Article.RECOMMEND_NO));
+        article.setIsOriginal(defaultIfNull(row.getIsOriginal(), 1));
+        article.setOriginalUrl(row.getOriginalUrl());
+        article.setAllowComment(defaultIfNull(row.getAllowComment(), SystemConstants.Article.COMMENT_YES));
+        article.setViewCount(Math.max(0, defaultIfNull(row.getViewCount(), 0)));
+        article.setLikeCount(Math.max(0, defaultIfNull(row.getLikeCount(), 0)));
+        article.setCommentCount(0);
+        article.setCreateTime(createTime);
+        article.setUpdateTime(now);
+        if (SystemConstants.Article.STATUS_PUBLISHED.equals(status)) {
+            article.setPublishedTime(row.getPublishedTime() != null ? row.getPublishedTime() : createTime);
+        } else {
+            article.setPublishedTime(row.getPublishedTime());
+        }
+
+        return new PendingArticle(lineNo, article, tagNames);
+    }
+
+    /**
+     * 在一个事务内写入一批：新标签、文章、标签关联，均为多行插入
+     */
+    private void flushBatch(ImportContext context) {
+        if (context.pending.isEmpty()) {
+            return;
+        }
+        List<PendingArticle> batch = new ArrayList<>(context.pending);
+        context.pending.clear();
+
+        Map<String, TbTag> createdTags = new LinkedHashMap<>();
+        Map<String, Long> restoredTags = new LinkedHashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(transactionStatus -> {
+                for (PendingArticle pending : batch) {
+                    for (Map.Entry<String, String> tag : pending.tagNames.entrySet()) {
+                        String key = tag.getKey();
+                        if (context.tagIds.containsKey(key) || createdTags.containsKey(key)
+                                || restoredTags.containsKey(key)) {
+                            continue;
+                        }
+                        // 同名标签已被逻辑删除时恢复原记录，名称唯一键不允许再插入
+                        Long deletedId = context.deletedTagIds.get(key);
+                        if (deletedId != null) {
+                            restoredTags.put(key, deletedId);
+                        } else {
+                            TbTag created = new TbTag();
+                            created.setName(tag.getValue());
+                            created.setStatus(SystemConstants.Tag.STATUS_ENABLED);
+                            createdTags.put(key, created);
+                        }
+                    }
+                }
+                if (!restoredTags.isEmpty()) {
+                    tagMapper.restoreDeleted(restoredTags.values(), SystemConstants.Tag.STATUS_ENABLED);
+                }
+                if (!createdTags.isEmpty()) {
+                    tagMapper.insertBatch(new ArrayList<>(createdTags.values()));
+                }
+
+                List<TbArticle> articles = new ArrayList<>(batch.size());
+                for (PendingArticle pending : batch) {
+                    articles.add(pending.article);
+                }
+                articleMapper.insertBatch(articles);
+
+                List<TbArticleTag> relations = new ArrayList<>();
+                for (PendingArticle pending : batch) {
+                    for (String key : pending.tagNames.keySet()) {
+                        TbArticleTag relation = new TbArticleTag();
+                        relation.setArticleId(pending.article.getId());
+                        relation.setTagId(createdTags.containsKey(key) ? createdTags.get(key).getId()
+                                : restoredTags.getOrDefault(key, context.tagIds.get(key)));
+                        relations.add(relation);
+                    }
+                }
+                if (!relations.isEmpty()) {
+                    articleTagMapper.insertBatch(relations);
+                }
+            });
+        } catch (Exception e) {
+            log.error("文章批量写入失败：首行={}, error={}", batch.get(0).lineNo, e.getMessage());
+            for (PendingArticle pending : batch) {
+                addError(context.result, pending.lineNo, "批量写入失败：" + e.getMessage());
+            }
+            return;
+        }
+
+        // 事务提交后才把新标签与恢复的标签加入映射，回滚时后续批次会重新创建或恢复
+        for (Map.Entry<String, TbTag> created : createdTags.entrySet()) {
+            context.tagIds.put(created.getKey(), created.getValue().getId());
+            context.touchedTagIds.add(created.getValue().getId());
+        }
+        for (Map.Entry<String, Long> restored : restoredTags.entrySet()) {
+            context.deletedTagIds.remove(restored.getKey());
+            context.tagIds.put(restored.getKey(), restored.getValue());
+            context.touchedTagIds.add(restored.getValue());
+        }
+        List<Long> publishedIds = new ArrayList<>();
+        for (PendingArticle pending : batch) {
+            TbArticle article = pending.article;
+            context.touchedCategoryIds.add(article.getCategoryId());
+            for (String key : pending.tagNames.keySet()) {
+                context.touchedTagIds.add(context.tagIds.get(key));
+            }
+            if (SystemConstants.Article.STATUS_PUBLISHED.equals(article.getStatus())) {
+                publishedIds.add(article.getId());
+            }
+        }
+        context.publishedIds.addAll(publishedIds);
+        context.result.setImported(context.result.getImported() + batch.size());
+        context.result.setCreatedTags(context.result.getCreatedTags() + createdTags.size() + restoredTags.size());
+
+        if (!publishedIds.isEmpty()) {
+            articleCardService.refreshCards(publishedIds);
+        }
+    }
+
+    /**
+     * 全部批次完成后统一重算计数、清理缓存并重建派生数据
+     */
+    private void finishImport(ImportContext context) {
+        if (context.result.getImported() == 0) {
+            return;
+        }
+
+        for (List<Long> chunk : chunks(context.touchedTagIds)) {
+            tagMapper.recountArticles(chunk);
+        }
+        for (List<Long> chunk : chunks(context.touchedCategoryIds)) {
+            categoryMapper.recountArticles(chunk);
+        }
+        clearTaxonomyCache();
+
+        if (!context.publishedIds.isEmpty()) {
+            articleArchiveService.rebuildArchive();
+            articleRankingService.rebuildRankings();
+            articleRelatedService.rebuildAll();
+            for (Long articleId : context.publishedIds) {
+                searchIndexer.reindex(articleId);
+            }
+            siteFeedService.rebuild();
+        }
+        tagBitmapService.rebuild();
+        tagDictionaryService.rebuild();
+        categoryTreeService.rebuild();
+        articleRenderService.rerenderStale();
+        contentVersionService.bump(ContentVersionService.SCOPE_ARTICLES, ContentVersionService.SCOPE_TAXONOMY);
+    }
+
+    private void clearTaxonomyCache() {
+        redisUtils.deletePattern(RedisConstants.Tag.TAG_ARTICLE_COUNT + "*");
+    }
+
+    /**
+     * 启用中的分类：名称 -> ID，同名时取ID较小者
+     */
+    private Map<String, Long> loadCategoryIds() {
+        Map<String, Long> categoryIds = new HashMap<>();
+        for (TbCategory category : categoryMapper.selectList(Wrappers.<TbCategory>lambdaQuery()
+                .select(TbCategory::getId, TbCategory::getName)
+                .eq(TbCategory::getStatus, SystemConstants.Category.STATUS_ENABLED)
+                .orderByAsc(TbCategory::getId))) {
+            categoryIds.putIfAbsent(normalize(category.getName()), category.getId());
+        }
+        return categoryIds;
+    }
+
+    /**
+     * 全部标签：名称 -> ID，未删除与已逻辑删除的分开存放
+     */
+    private void loadTagIds(ImportContext context) {
+        for (TbTag tag : tagMapper.selectAllIncludingDeleted()) {
+            if (Integer.valueOf(1).equals(tag.getIsDelete())) {
+                context.deletedTagIds.put(normalize(tag.getName()), tag.getId());
+            } else {
+                context.tagIds.put(normalize(tag.getName()), tag.getId());
+            }
+        }
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += RECOUNT_CHUNK_SIZE) {
+            chunks.add(all.subList(from, Math.min(from + RECOUNT_CHUNK_SIZE, all.size())));
+        }
+        return chunks;
+    }
+
+    private static void addError(ArticleImportResultVO result, int lineNo, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            ArticleImportResultVO.LineError error = new ArticleImportResultVO.LineError();
+            error.setLine(lineNo);
+            error.setMessage(message);
+            result.getErrors().add(error);
+        }
+    }
+
+    /**
+     * 名称比较键，与数据库大小写不敏感的排序规则保持一致
+     */
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isTooLong(String value) {
+        return value != null && value.length() > URL_MAX_LENGTH;
+    }
+
+    private static Integer defaultIfNull(Integer value, Integer defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    // ==================== 内部类 ====================
+
+    /**
+     * 一次导入的状态
+     */
+    private static final class ImportContext {
+
+        private final Long authorId;
+
+        /** 分类名 -> ID */
+        private final Map<String, Long> categoryIds;
+
+        /** 标签名 -> ID，随新建标签增长 */
+        private final Map<String, Long> tagIds = new HashMap<>();
+
+        /** 已逻辑删除的标签名 -> ID，导入用到时恢复 */
+        private final Map<String, Long> deletedTagIds = new HashMap<>();
+
+        /** 待写入的文章 */
+        private final List<PendingArticle> pending = new ArrayList<>(BATCH_SIZE);
+
+        /** 涉及的标签ID */
+        private final Set<Long> touchedTagIds = new HashSet<>();
+
+        /** 涉及的分类ID */
+        private final Set<Long> touchedCategoryIds = new HashSet<>();
+
+        /** 已导入的已发布文章ID */
+        private final List<Long> publishedIds = new ArrayList<>();
+
+        private final ArticleImportResultVO result = new ArticleImportResultVO();
+
+        private ImportContext(Long authorId, Map<String, Long> categoryIds) {
+            this.authorId = authorId;
+            this.categoryIds = categoryIds;
+        }
+    }
+
+    /**
+     * 已校验、待写入的文章
+     */
+    private static final class PendingArticle {
+
+        private final int lineNo;
+
+        private final TbArticle article;
+
+        /** 标签：比较键 -> 原始名称 */
+        private final Map<String, String> tagNames;
+
+        private PendingArticle(int lineNo, TbArticle article, Map<String, String> tagNames) {
+            this.lineNo = lineNo;
+            this.article = article;
+            this.tagNames = tagNames;
+        }
+    }
+}
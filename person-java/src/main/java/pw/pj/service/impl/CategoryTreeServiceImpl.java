@@ -0,0 +1,393 @@
+package pw.pj.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pw.pj.POJO.DO.TbArticle;
+import pw.pj.POJO.DO.TbCategory;
+import pw.pj.POJO.VO.CategoryVO;
+import pw.pj.common.category.CategoryTree;
+import pw.pj.common.constants.RedisConstants;
+import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.ArticleChangeEvent;
+import pw.pj.common.event.CategoryChangeEvent;
+import pw.pj.common.utils.RedisUtils;
+import pw.pj.mapper.TbArticleMapper;
+import pw.pj.mapper.TbCategoryMapper;
+import pw.pj.service.CategoryTreeService;
+import pw.pj.service.ContentVersionService;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 分类树服务实现类
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>快照包含全部未删除分类、层级、每个分类自身与子树的已发布文章数，以及预先转换好的VO</li>
+ * <li>重建只执行两条SQL：读取分类表，读取已发布文章的ID与分类ID；快照记住每篇已发布文章所在的分类</li>
+ * <li>分类新建、编辑、删除的事务提交后重建；文章新建、编辑、发布、下线、删除后只按主键读取该文章，
+ * 与快照中记下的分类比较，在复制出的树上把文章数从旧分类移到新分类并沿祖先链累加，不再重新统计</li>
+ * <li>本节点的变更在Redis频道上广播，其他节点收到后各自从数据库重建或调整同一篇文章，自己发出的消息忽略</li>
+ * <li>分类列表、热门分类、分类详情、子树ID与文章数都从快照读取，不访问Redis与MySQL</li>
+ * <li>快照替换后推进分类版本，分类接口的ETag不会早于快照变化</li>
+ * </ul>
+ *
+ * <p>快照构建完成后不再修改，读取无锁；重建在本实例内串行执行。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@Service
+public class CategoryTreeServiceImpl implements CategoryTreeService {
+
+    /**
+     * 本节点ID，用于忽略自己发出的变更通知
+     */
+    private static final String NODE_ID = UUID.randomUUID().toString();
+
+    private static final char MESSAGE_ARTICLE = 'a';
+
+    private static final char MESSAGE_REBUILD = 'r';
+
+    /**
+     * 判定为热门分类的最少文章数
+     */
+    private static final int HOT_ARTICLE_COUNT = 5;
+
+    @Autowired
+    private TbCategoryMapper categoryMapper;
+
+    @Autowired
+    private TbArticleMapper articleMapper;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private RedisUtils redisUtils;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    @PostConstruct
+    public void init() {
+        MessageListener listener = (message, pattern) ->
+                onRemoteChange(new String(message.getBody(), StandardCharsets.UTF_8));
+        listenerContainer.addMessageListener(listener, new ChannelTopic(RedisConstants.Category.CATEGORY_TREE_CHANNEL));
+    }
+
+    // ==================== 事件同步 ====================
+
+    /**
+     * 文章发布状态或所属分类可能变化后按该文章调整文章数
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChange(ArticleChangeEvent event) {
+        switch (event.getType()) {
+            case CREATE:
+            case UPDATE:
+            case PUBLISH:
+            case UNPUBLISH:
+            case DELETE:
+                applyArticle(event.getArticleId());
+                broadcast(MESSAGE_ARTICLE, event.getArticleId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 分类变化后重建快照
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChange(CategoryChangeEvent event) {
+        rebuild();
+    }
+
+    // ==================== 查询 ====================
+
+    @Override
+    public List<CategoryVO> getEnabledCategories() {
+        return loadSnapshot().enabled;
+    }
+
+    @Override
+    public List<CategoryVO> getHotCategories(int limit) {
+        List<CategoryVO> hot = loadSnapshot().hot;
+        return hot.size() <= limit ? hot : hot.subList(0, Math.max(limit, 0));
+    }
+
+    @Override
+    public CategoryVO getCategory(Long categoryId) {
+        return categoryId == null ? null : loadSnapshot().views.get(categoryId);
+    }
+
+    @Override
+    public Integer getArticleCount(Long categoryId) {
+        return categoryId == null ? 0 : loadSnapshot().tree.directCount(categoryId);
+    }
+
+    @Override
+    public List<Long> getSubtreeIds(Long categoryId) {
+        return loadSnapshot().tree.subtreeIds(categoryId);
+    }
+
+    @Override
+    public Integer getSubtreeArticleCount(Long categoryId) {
+        return categoryId == null ? 0 : loadSnapshot().tree.subtreeCount(categoryId);
+    }
+
+    @Override
+    public long getVersion() {
+        return loadSnapshot().version;
+    }
+
+    @Override
+    public CategoryVO toVO(TbCategory category) {
+        if (category == null) {
+            return null;
+        }
+        Snapshot current = loadSnapshot();
+        return convert(category, current.categories, current.tree);
+    }
+
+    // ==================== 快照维护 ====================
+
+    @Override
+    public Integer rebuild() {
+        Integer categoryCount = rebuildLocal();
+        broadcast(MESSAGE_REBUILD, null);
+        return categoryCount;
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private synchronized Integer rebuildLocal() {
+        List<TbCategory> categories = categoryMapper.selectList(Wrappers.<TbCategory>lambdaQuery());
+        List<TbArticle> published = articleMapper.selectList(Wrappers.<TbArticle>lambdaQuery()
+                .select(TbArticle::getId, TbArticle::getCategoryId)
+                .eq(TbArticle::getStatus, SystemConstants.Article.STATUS_PUBLISHED)
+                .isNotNull(TbArticle::getCategoryId));
+
+        CategoryTree tree = new CategoryTree();
+        for (TbCategory category : categories) {
+            tree.addCategory(category.getId(), category.getParentId());
+        }
+        Map<Long, Long> placements = new HashMap<>(published.size() * 2);
+        for (TbArticle article : published) {
+            placements.put(article.getId(), article.getCategoryId());
+            tree.addArticles(article.getCategoryId(), 1);
+        }
+
+        snapshot = buildSnapshot(categories, tree, placements);
+        contentVersionService.bump(ContentVersionService.SCOPE_TAXONOMY);
+        log.info("分类树快照重建完成，版本：{}，分类数：{}", snapshot.version, categories.size());
+        return categories.size();
+    }
+
+    /**
+     * 按数据库最新状态把单篇文章的计数从快照记下的分类移到当前分类，分类不变时不替换快照
+     */
+    private synchronized void applyArticle(Long articleId) {
+        if (articleId == null) {
+            return;
+        }
+        Snapshot current = loadSnapshot();
+        TbArticle article = articleMapper.selectOne(Wrappers.<TbArticle>lambdaQuery()
+                .select(TbArticle::getId, TbArticle::getStatus, TbArticle::getCategoryId)
+                .eq(TbArticle::getId, articleId));
+        Long placement = article != null && SystemConstants.Article.STATUS_PUBLISHED.equals(article.getStatus())
+                ? article.getCategoryId() : null;
+        Long previous = current.placements.get(articleId);
+        if (Objects.equals(previous, placement)) {
+            return;
+        }
+
+        CategoryTree tree = current.tree.copy();
+        Map<Long, Long> placements = new HashMap<>(current.placements);
+        if (previous != null) {
+            tree.addArticles(previous, -1);
+            placements.remove(articleId);
+        }
+        if (placement != null) {
+            tree.addArticles(placement, 1);
+            placements.put(articleId, placement);
+        }
+        snapshot = buildSnapshot(new ArrayList<>(current.categories.values()), tree, placements);
+        contentVersionService.bump(ContentVersionService.SCOPE_TAXONOMY);
+    }
+
+    /**
+     * 处理其他节点广播的变更；替换后同样推进版本，避免本节点在收到通知前按新版本缓存了旧快照的结果
+     */
+    private void onRemoteChange(String message) {
+        int separator = message.indexOf('|');
+        if (separator < 0 || separator + 1 >= message.length() || NODE_ID.equals(message.substring(0, separator))) {
+            return;
+        }
+        try {
+            switch (message.charAt(separator + 1)) {
+                case MESSAGE_ARTICLE:
+                    applyArticle(Long.valueOf(message.substring(separator + 2)));
+                    break;
+                case MESSAGE_REBUILD:
+                    rebuildLocal();
+                    break;
+                default:
+                    break;
+            }
+        } catch (Exception e) {
+            log.error("处理分类树变更通知失败：message={}, error={}", message, e.getMessage(), e);
+        }
+    }
+
+    private void broadcast(char type, Long id) {
+        redisUtils.publish(RedisConstants.Category.CATEGORY_TREE_CHANNEL,
+                NODE_ID + "|" + type + (id == null ? "" : id.toString()));
+    }
+
+    private Snapshot loadSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                rebuildLocal();
+            }
+            return snapshot;
+        }
+    }
+
+    private Snapshot buildSnapshot(List<TbCategory> categories, CategoryTree tree, Map<Long, Long> placements) {
+        Map<Long, TbCategory> byId = new HashMap<>(categories.size() * 2);
+        for (TbCategory category : categories) {
+            byId.put(category.getId(), category);
+        }
+
+        List<TbCategory> ordered = new ArrayList<>(categories);
+        ordered.sort(Comparator.comparing(TbCategory::getSortOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(TbCategory::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder())));
+        Map<Long, CategoryVO> views = new LinkedHashMap<>(ordered.size() * 2);
+        for (TbCategory category : ordered) {
+            views.put(category.getId(), convert(category, byId, tree));
+        }
+
+        List<CategoryVO> enabled = ordered.stream()
+                .filter(category -> SystemConstants.Category.STATUS_ENABLED.equals(category.getStatus()))
+                .map(category -> views.get(category.getId()))
+                .collect(Collectors.toList());
+        List<CategoryVO> hot = enabled.stream()
+                .filter(view -> view.getArticleCount() > 0)
+                .sorted(Comparator.comparing(CategoryVO::getArticleCount).reversed())
+                .collect(Collectors.toList());
+
+        return new Snapshot(versionSequence.incrementAndGet(), tree, byId, views,
+                Collections.unmodifiableList(enabled), Collections.unmodifiableList(hot), placements);
+    }
+
+    private CategoryVO convert(TbCategory category, Map<Long, TbCategory> byId, CategoryTree tree) {
+        CategoryVO categoryVO = new CategoryVO();
+        BeanUtils.copyProperties(category, categoryVO);
+
+        // 字段映射调整
+        categoryVO.setIconUrl(category.getIcon());
+
+        // 状态映射：TbCategory(0-禁用，1-启用) -> CategoryVO(0-正常，1-禁用)
+        if (category.getStatus() != null) {
+            categoryVO.setStatus(SystemConstants.Category.STATUS_ENABLED.equals(category.getStatus()) ? 0 : 1);
+        }
+
+        // 文章数量取自快照
+        int articleCount = tree.directCount(category.getId());
+        categoryVO.setArticleCount(articleCount);
+        categoryVO.setTotalArticleCount(tree.subtreeCount(category.getId()));
+        categoryVO.setIsHot(articleCount >= HOT_ARTICLE_COUNT);
+
+        // 父分类名称取自快照
+        if (category.getParentId() != null && category.getParentId() > 0) {
+            TbCategory parentCategory = byId.get(category.getParentId());
+            if (parentCategory != null) {
+                categoryVO.setParentName(parentCategory.getName());
+            }
+        }
+
+        // 转换时间格式
+        if (category.getCreateTime() != null) {
+            categoryVO.setCreateTime(category.getCreateTime().toInstant()
+                    .atZone(ZoneId.systemDefault())
+                    .toLocalDateTime());
+        }
+        if (category.getUpdateTime() != null) {
+            categoryVO.setUpdateTime(category.getUpdateTime().toInstant()
+                    .atZone(ZoneId.systemDefault())
+                    .toLocalDateTime());
+        }
+
+        return categoryVO;
+    }
+
+    // ==================== 内部类 ====================
+
+    /**
+     * 分类树快照，构建后不再修改
+     */
+    private static final class Snapshot {
+
+        private final long version;
+
+        private final CategoryTree tree;
+
+        private final Map<Long, TbCategory> categories;
+
+        private final Map<Long, CategoryVO> views;
+
+        private final List<CategoryVO> enabled;
+
+        private final List<CategoryVO> hot;
+
+        /**
+         * 已发布文章ID -> 所在分类ID，用于按文章调整计数时找到旧分类
+         */
+        private final Map<Long, Long> placements;
+
+        private Snapshot(long version, CategoryTree tree, Map<Long, TbCategory> categories,
+                Map<Long, CategoryVO> views, List<CategoryVO> enabled, List<CategoryVO> hot,
+                Map<Long, Long> placements) {
+            this.version = version;
+            this.tree = tree;
+            this.categories = categories;
+            this.views = views;
+            this.enabled = enabled;
+            this.hot = hot;
+            this.placements = placements;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package pw.pj.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pw.pj.common.constants.RedisConstants;
+import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.ArticleChangeEvent;
+import pw.pj.common.event.CategoryChangeEvent;
+import pw.pj.common.event.CommentChangeEvent;
+import pw.pj.common.event.TagChangeEvent;
+import pw.pj.common.utils.RedisUtils;
+import pw.pj.service.ContentVersionService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 内容版本服务实现类
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>每个范围一个Redis计数器，推进时按INCRBY补齐到当前时间，多实例并发推进也保持严格递增</li>
+ * <li>版本号同时作为Last-Modified使用，计数器带过期时间，过期或丢失后以当前时间重新初始化，不会回退</li>
+ * <li>文章、评论、分类、标签的变更事件在事务完成阶段推进对应范围，晚于所有提交后同步刷新派生数据的监听器，
+ * 避免在卡片表、归档、榜单等刷新之前就发出新的ETag；回滚时多推进一次只会让客户端多校验一次</li>
+ * <li>异步生效的派生数据（检索索引、分类树快照等）在生效后自行推进版本</li>
+ * <li>浏览、点赞等计数变化不推进版本，由弱ETag容忍</li>
+ * </ul>
+ *
+ * <p>只依赖RedisUtils，任何服务都可以注入本服务而不产生循环依赖。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@Service
+public class ContentVersionServiceImpl implements ContentVersionService {
+
+    /**
+     * 计数器过期时间（秒）；任意文章ID的匿名请求都会初始化计数器，不能永久保留，
+     * 推进不会重置过期时间，过期后以当前时间重新初始化，版本仍不回退
+     */
+    private static final long VERSION_EXPIRE = SystemConstants.Cache.EXPIRE_WEEK;
+
+    @Autowired
+    private RedisUtils redisUtils;
+
+    // ==================== 事件同步 ====================
+
+    /**
+     * 文章变化影响详情、各类列表以及分类、标签的文章数
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onArticleChange(ArticleChangeEvent event) {
+        bump(ContentVersionService.articleScope(event.getArticleId()), SCOPE_ARTICLES, SCOPE_TAXONOMY);
+    }
+
+    /**
+     * 评论变化影响详情与列表中的评论数
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onCommentChange(CommentChangeEvent event) {
+        if (event.getArticleId() != null) {
+            bump(ContentVersionService.articleScope(event.getArticleId()), SCOPE_ARTICLES);
+        } else {
+            bump(SCOPE_ARTICLES);
+        }
+    }
+
+    /**
+     * 分类变化影响分类接口与文章中的分类名称
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onCategoryChange(CategoryChangeEvent event) {
+        bump(SCOPE_TAXONOMY, SCOPE_ARTICLES);
+    }
+
+    /**
+     * 标签变化影响标签接口与文章中的标签
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onTagChange(TagChangeEvent event) {
+        bump(SCOPE_TAXONOMY, SCOPE_ARTICLES);
+    }
+
+    // ==================== 版本读写 ====================
+
+    @Override
+    public long[] currentVersions(String... scopes) {
+        List<String> keys = new ArrayList<>(scopes.length);
+        for (String scope : scopes) {
+            keys.add(RedisConstants.Http.CONTENT_VERSION + scope);
+        }
+
+        List<Object> values = redisUtils.multiGet(keys);
+        long[] versions = new long[scopes.length];
+        for (int i = 0; i < scopes.length; i++) {
+            Object value = values.get(i);
+            versions[i] = value instanceof Number ? ((Number) value).longValue() : initVersion(keys.get(i));
+        }
+        return versions;
+    }
+
+    @Override
+    public void bump(String... scopes) {
+        long[] current = currentVersions(scopes);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < scopes.length; i++) {
+            redisUtils.increment(RedisConstants.Http.CONTENT_VERSION + scopes[i], Math.max(1, now - current[i]));
+        }
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    /**
+     * 以当前时间初始化计数器；并发初始化失败时读回已写入的值，保证各实例算出相同的ETag
+     */
+    private long initVersion(String key) {
+        long now = System.currentTimeMillis();
+        if (redisUtils.setIfAbsent(key, now, VERSION_EXPIRE)) {
+            return now;
+        }
+        Object stored = redisUtils.get(key);
+        return stored instanceof Number ? ((Number) stored).longValue() : now;
+    }
+}
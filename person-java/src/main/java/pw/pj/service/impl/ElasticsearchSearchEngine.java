@@ -0,0 +1,358 @@
+package pw.pj.service.impl;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import pw.pj.common.config.SearchProperties;
+import pw.pj.common.exception.SearchEngineException;
+import pw.pj.common.search.SearchDocument;
+import pw.pj.common.search.SearchHits;
+import pw.pj.service.SearchEngine;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Elasticsearch搜索引擎实现
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>检索与写入通过别名访问文章索引，物理索引名为 别名_时间戳，不存在时按映射创建并标记需要回填</li>
+ * <li>标题、摘要、正文使用cjk分词器，检索时按配置的字段权重加权</li>
+ * <li>全量重建写入新的物理索引，完成后原子切换别名并删除旧索引</li>
+ * <li>列表展示数据以不建索引的keyword字段随文档存储，命中后直接返回</li>
+ * <li>写入统一走 _bulk 接口，部分失败时抛出异常交由索引器重试</li>
+ * </ul>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "search.engine", havingValue = "elasticsearch")
+public class ElasticsearchSearchEngine implements SearchEngine {
+
+    private static final String ENGINE_NAME = "elasticsearch";
+
+    @Autowired
+    private ElasticsearchClient client;
+
+    @Autowired
+    private SearchProperties searchProperties;
+
+    private volatile boolean needsBackfill;
+
+    /**
+     * 重建中的物理索引名，未在重建时为null
+     */
+    private volatile String rebuildingIndex;
+
+    /**
+     * 检查并创建文章索引
+     */
+    @PostConstruct
+    public void init() {
+        try {
+            if (indexExists()) {
+                needsBackfill = count() == 0;
+            } else {
+                createIndex(newIndexName(), true);
+                needsBackfill = true;
+            }
+        } catch (Exception e) {
+            // 集群暂不可用时不阻塞启动，由索引器在写入时重试
+            log.error("Elasticsearch索引初始化失败：index={}, error={}", indexName(), e.getMessage());
+            needsBackfill = true;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return ENGINE_NAME;
+    }
+
+    @Override
+    public void bulkIndex(List<SearchDocument> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        String target = rebuildingIndex;
+        BulkRequest.Builder request = new BulkRequest.Builder();
+        for (SearchDocument document : documents) {
+            addIndexOperation(request, indexName(), document);
+            if (target != null) {
+                addIndexOperation(request, target, document);
+            }
+        }
+        executeBulk(request.build(), "写入");
+    }
+
+    @Override
+    public void bulkDelete(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String target = rebuildingIndex;
+        BulkRequest.Builder request = new BulkRequest.Builder();
+        for (Long id : ids) {
+            request.operations(op -> op.delete(del -> del.index(indexName()).id(String.valueOf(id))));
+            if (target != null) {
+                request.operations(op -> op.delete(del -> del.index(target).id(String.valueOf(id))));
+            }
+        }
+        executeBulk(request.build(), "删除");
+    }
+
+    @Override
+    public void beginRebuild() {
+        String name = newIndexName();
+        try {
+            createIndex(name, false);
+        } catch (IOException e) {
+            throw new SearchEngineException(ENGINE_NAME, "Elasticsearch重建索引创建失败：" + e.getMessage(), e);
+        }
+        rebuildingIndex = name;
+    }
+
+    @Override
+    public void bulkIndexRebuild(List<SearchDocument> documents) {
+        String target = rebuildingIndex;
+        if (target == null || documents.isEmpty()) {
+            // 重建已放弃时队列中剩余的回填文档直接丢弃
+            return;
+        }
+        BulkRequest.Builder request = new BulkRequest.Builder();
+        for (SearchDocument document : documents) {
+            addIndexOperation(request, target, document);
+        }
+        executeBulk(request.build(), "回填");
+    }
+
+    @Override
+    public void commitRebuild(long watermark) {
+        String target = rebuildingIndex;
+        if (target == null) {
+            return;
+        }
+        String alias = indexName();
+        try {
+            client.indices().refresh(r -> r.index(target));
+            List<String> previous = aliasTargets();
+            if (previous.isEmpty() && indexExists()) {
+                // 旧版本直接以别名创建的物理索引，删除索引与添加别名在同一请求内原子完成
+                client.indices().updateAliases(u -> u
+                        .actions(a -> a.removeIndex(r -> r.index(alias)))
+                        .actions(a -> a.add(add -> add.index(target).alias(alias))));
+            } else {
+                client.indices().updateAliases(u -> {
+                    for (String old : previous) {
+                        u.actions(a -> a.remove(r -> r.index(old).alias(alias)));
+                    }
+                    return u.actions(a -> a.add(add -> add.index(target).alias(alias)));
+                });
+                if (!previous.isEmpty()) {
+                    client.indices().delete(d -> d.index(previous));
+                }
+            }
+        } catch (IOException e) {
+            throw new SearchEngineException(ENGINE_NAME, "Elasticsearch索引别名切换失败：" + e.getMessage(), e);
+        }
+        rebuildingIndex = null;
+        needsBackfill = false;
+        log.info("Elasticsearch文章索引重建完成：alias={}, index={}", alias, target);
+    }
+
+    @Override
+    public void abortRebuild() {
+        String target = rebuildingIndex;
+        rebuildingIndex = null;
+        if (target == null) {
+            return;
+        }
+        try {
+            client.indices().delete(d -> d.index(target));
+        } catch (Exception e) {
+            log.warn("Elasticsearch重建索引删除失败：index={}, error={}", target, e.getMessage());
+        }
+    }
+
+    @Override
+    public SearchHits search(String keyword, int offset, int limit) {
+        try {
+            SearchResponse<SearchDocument> response = client.search(s -> s
+                    .index(indexName())
+                    .from(offset)
+                    .size(limit)
+                    .trackTotalHits(t -> t.enabled(true))
+                    .source(src -> src.filter(f -> f.includes("stored")))
+                    .query(q -> q.multiMatch(m -> m
+                            .query(keyword)
+                            .fields(boostedFields())
+                            .operator(Operator.And))),
+                    SearchDocument.class);
+
+            List<SearchHits.Hit> hits = new ArrayList<>(response.hits().hits().size());
+            for (Hit<SearchDocument> hit : response.hits().hits()) {
+                String stored = hit.source() != null ? hit.source().getStored() : null;
+                double score = hit.score() != null ? hit.score() : 0;
+                hits.add(new SearchHits.Hit(Long.parseLong(hit.id()), score, stored));
+            }
+            long total = response.hits().total() != null ? response.hits().total().value() : hits.size();
+            return new SearchHits(total, hits);
+        } catch (IOException e) {
+            throw new SearchEngineException(ENGINE_NAME, "Elasticsearch检索失败：" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long count() {
+        try {
+            return client.count(c -> c.index(indexName())).count();
+        } catch (IOException e) {
+            throw new SearchEngineException(ENGINE_NAME, "Elasticsearch统计失败：" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean needsBackfill() {
+        return needsBackfill;
+    }
+
+    @Override
+    public long getWatermark() {
+        // 各节点写入同一集群，无需追赶
+        return -1;
+    }
+
+    @Override
+    public void advanceWatermark(long updateTime) {
+    }
+
+    @Override
+    public void reset() {
+        try {
+            List<String> previous = aliasTargets();
+            if (!previous.isEmpty()) {
+                client.indices().delete(d -> d.index(previous));
+            } else if (indexExists()) {
+                client.indices().delete(d -> d.index(indexName()));
+            }
+            createIndex(newIndexName(), true);
+        } catch (IOException e) {
+            throw new SearchEngineException(ENGINE_NAME, "Elasticsearch索引重置失败：" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            client.indices().refresh(r -> r.index(indexName()));
+        } catch (IOException e) {
+            log.warn("Elasticsearch索引刷新失败：index={}, error={}", indexName(), e.getMessage());
+        }
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private String indexName() {
+        return searchProperties.getElasticsearch().getIndexName();
+    }
+
+    /**
+     * 新物理索引名：别名_时间戳
+     */
+    private String newIndexName() {
+        return indexName() + "_" + System.currentTimeMillis();
+    }
+
+    /**
+     * 别名或同名物理索引是否存在
+     */
+    private boolean indexExists() throws IOException {
+        return client.indices().exists(e -> e.index(indexName())).value();
+    }
+
+    /**
+     * 别名当前指向的物理索引，别名不存在时返回空列表
+     */
+    private List<String> aliasTargets() throws IOException {
+        String alias = indexName();
+        if (!client.indices().existsAlias(e -> e.name(alias)).value()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(client.indices().getAlias(g -> g.name(alias)).result().keySet());
+    }
+
+    /**
+     * 检索字段及权重，取自检索配置
+     */
+    private List<String> boostedFields() {
+        return Arrays.asList("title^" + searchProperties.getTitleBoost(),
+                "summary^" + searchProperties.getSummaryBoost(),
+                "content^" + searchProperties.getContentBoost());
+    }
+
+    /**
+     * 按映射创建文章物理索引
+     *
+     * @param name      物理索引名
+     * @param withAlias 是否同时挂上检索别名
+     */
+    private void createIndex(String name, boolean withAlias) throws IOException {
+        String analyzer = searchProperties.getElasticsearch().getAnalyzer();
+        String alias = indexName();
+        client.indices().create(c -> {
+            c.index(name)
+                    .mappings(m -> m
+                            .properties("id", p -> p.long_(l -> l))
+                            .properties("title", p -> p.text(t -> t.analyzer(analyzer)))
+                            .properties("summary", p -> p.text(t -> t.analyzer(analyzer)))
+                            .properties("content", p -> p.text(t -> t.analyzer(analyzer)))
+                            .properties("stored", p -> p.keyword(k -> k.index(false).docValues(false))));
+            return withAlias ? c.aliases(alias, a -> a) : c;
+        });
+        log.info("Elasticsearch文章索引已创建：index={}, alias={}, analyzer={}", name, withAlias ? alias : "-",
+                analyzer);
+    }
+
+    private void addIndexOperation(BulkRequest.Builder request, String index, SearchDocument document) {
+        request.operations(op -> op.index(idx -> idx
+                .index(index)
+                .id(String.valueOf(document.getId()))
+                .document(document)));
+    }
+
+    private void executeBulk(BulkRequest request, String action) {
+        BulkResponse response;
+        try {
+            response = client.bulk(request);
+        } catch (IOException e) {
+            throw new SearchEngineException(ENGINE_NAME, "Elasticsearch批量" + action + "失败：" + e.getMessage(), e);
+        }
+        if (response.errors()) {
+            // 删除不存在的文档返回404，不视为失败
+            List<BulkResponseItem> failed = response.items().stream()
+                    .filter(item -> item.error() != null && item.status() != 404)
+                    .collect(Collectors.toList());
+            if (!failed.isEmpty()) {
+                BulkResponseItem first = failed.get(0);
+                throw new SearchEngineException(ENGINE_NAME, String.format(
+                        "Elasticsearch批量%s部分失败：%d条，首个错误：id=%s, %s",
+                        action, failed.size(), first.id(), first.error().reason()));
+            }
+        }
+    }
+}
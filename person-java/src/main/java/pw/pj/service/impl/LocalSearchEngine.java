@@ -0,0 +1,237 @@
+package pw.pj.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import pw.pj.common.config.SearchProperties;
+import pw.pj.common.exception.SearchEngineException;
+import pw.pj.common.search.IndexSegmentStore;
+import pw.pj.common.search.InvertedIndex;
+import pw.pj.common.search.SearchDocument;
+import pw.pj.common.search.SearchHits;
+import pw.pj.service.SearchEngine;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * 本地搜索引擎实现
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>基于进程内倒排索引，无需外部服务，单机部署与测试使用</li>
+ * <li>标题、摘要、正文三个字段，按配置的字段权重做BM25F打分</li>
+ * <li>索引有变化时连同水位写入段文件，启动时读取段文件重建内存索引，再由索引器从水位起追赶数据库变更</li>
+ * <li>段文件缺失、损坏或配置强制重建时标记需要回填</li>
+ * <li>全量重建写入新的内存索引，完成后整体替换并重写段文件</li>
+ * </ul>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "search.engine", havingValue = "local", matchIfMissing = true)
+public class LocalSearchEngine implements SearchEngine {
+
+    private static final String ENGINE_NAME = "local";
+
+    private static final String ARTICLE_SEGMENT = "articles.seg";
+
+    @Autowired
+    private SearchProperties searchProperties;
+
+    private volatile InvertedIndex index;
+
+    /**
+     * 重建中的新索引，未在重建时为null
+     */
+    private volatile InvertedIndex rebuilding;
+
+    /**
+     * 当前索引的水位
+     */
+    private volatile long watermark;
+
+    /**
+     * 重建中的新索引在重建期间推进的水位
+     */
+    private volatile long rebuildingWatermark;
+
+    /**
+     * 上次写盘时的索引版本号
+     */
+    private volatile long flushedVersion = -1;
+
+    private volatile boolean needsBackfill;
+
+    /**
+     * 创建索引并加载段文件
+     */
+    @PostConstruct
+    public void init() {
+        index = newIndex();
+
+        Path segment = segmentPath();
+        if (Boolean.TRUE.equals(searchProperties.getRebuildOnStartup()) || !Files.exists(segment)) {
+            needsBackfill = true;
+            return;
+        }
+        try {
+            int count = IndexSegmentStore.read(index, segment);
+            watermark = IndexSegmentStore.readWatermark(segment);
+            flushedVersion = index.getVersion();
+            log.info("本地文章索引加载完成，文档数：{}，水位：{}", count, watermark);
+        } catch (IOException e) {
+            log.warn("本地文章索引段文件加载失败，将从数据库回填：file={}, error={}", segment, e.getMessage());
+            index.clear();
+            needsBackfill = true;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return ENGINE_NAME;
+    }
+
+    @Override
+    public void bulkIndex(List<SearchDocument> documents) {
+        addDocuments(index, documents);
+        InvertedIndex target = rebuilding;
+        if (target != null) {
+            addDocuments(target, documents);
+        }
+    }
+
+    @Override
+    public void bulkDelete(List<Long> ids) {
+        InvertedIndex target = rebuilding;
+        for (Long id : ids) {
+            index.removeDocument(id);
+            if (target != null) {
+                target.removeDocument(id);
+            }
+        }
+    }
+
+    @Override
+    public void beginRebuild() {
+        rebuildingWatermark = 0;
+        rebuilding = newIndex();
+    }
+
+    @Override
+    public void bulkIndexRebuild(List<SearchDocument> documents) {
+        InvertedIndex target = rebuilding;
+        if (target == null) {
+            // 重建已放弃，队列中剩余的回填文档直接丢弃
+            return;
+        }
+        addDocuments(target, documents);
+    }
+
+    @Override
+    public void commitRebuild(long watermark) {
+        InvertedIndex target = rebuilding;
+        if (target == null) {
+            return;
+        }
+        // 先切换索引再推进水位，并发刷盘时水位不会超过所写索引的数据
+        index = target;
+        rebuilding = null;
+        this.watermark = Math.max(rebuildingWatermark, watermark);
+        needsBackfill = false;
+        // 新索引的版本号与旧索引无关，强制下次刷盘
+        flushedVersion = -1;
+        try {
+            flush();
+        } catch (SearchEngineException e) {
+            log.warn("本地文章索引重建后写盘失败，等待定时刷盘：error={}", e.getMessage());
+        }
+        log.info("本地文章索引重建完成，文档数：{}", target.size());
+    }
+
+    @Override
+    public void abortRebuild() {
+        rebuilding = null;
+    }
+
+    @Override
+    public SearchHits search(String keyword, int offset, int limit) {
+        return index.search(keyword, offset, limit);
+    }
+
+    @Override
+    public long count() {
+        return index.size();
+    }
+
+    @Override
+    public boolean needsBackfill() {
+        return needsBackfill;
+    }
+
+    @Override
+    public long getWatermark() {
+        return watermark;
+    }
+
+    @Override
+    public void advanceWatermark(long updateTime) {
+        // 写入均来自索引器的单个消费线程，无需加锁
+        if (updateTime > watermark) {
+            watermark = updateTime;
+        }
+        if (rebuilding != null && updateTime > rebuildingWatermark) {
+            rebuildingWatermark = updateTime;
+        }
+    }
+
+    @Override
+    public void reset() {
+        index.clear();
+        watermark = 0;
+    }
+
+    @Override
+    public synchronized void flush() {
+        // 先取水位再写盘，水位不会超过段文件实际包含的数据
+        long mark = watermark;
+        InvertedIndex current = index;
+        long version = current.getVersion();
+        if (version == flushedVersion) {
+            return;
+        }
+        Path segment = segmentPath();
+        try {
+            IndexSegmentStore.write(current, segment, mark);
+            flushedVersion = version;
+        } catch (IOException e) {
+            throw new SearchEngineException(ENGINE_NAME, "本地文章索引写盘失败：" + segment, e);
+        }
+    }
+
+    private InvertedIndex newIndex() {
+        return new InvertedIndex(new String[] { "title", "summary", "content" },
+                new float[] { searchProperties.getTitleBoost(), searchProperties.getSummaryBoost(),
+                        searchProperties.getContentBoost() });
+    }
+
+    private void addDocuments(InvertedIndex target, List<SearchDocument> documents) {
+        for (SearchDocument document : documents) {
+            target.addDocument(document.getId(),
+                    new String[] { document.getTitle(), document.getSummary(), document.getContent() },
+                    document.getStored());
+        }
+    }
+
+    private Path segmentPath() {
+        return Paths.get(searchProperties.getIndexDir(), ARTICLE_SEGMENT);
+    }
+}
@@ -0,0 +1,730 @@
+package pw.pj.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pw.pj.POJO.DO.TbArticle;
+import pw.pj.POJO.DO.TbCategory;
+import pw.pj.POJO.VO.ArticleSimpleVO;
+import pw.pj.common.config.SearchProperties;
+import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.ArticleChangeEvent;
+import pw.pj.common.exception.BusinessException;
+import pw.pj.common.result.ResultEnum;
+import pw.pj.common.search.SearchDocument;
+import pw.pj.common.utils.DateTimeUtils;
+import pw.pj.mapper.TbArticleMapper;
+import pw.pj.mapper.TbCategoryMapper;
+import pw.pj.service.ContentVersionService;
+import pw.pj.service.SearchEngine;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 文章检索后台索引器
+ * 负责把文章变更异步同步到搜索引擎，与具体引擎实现无关
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>文章变更事件在事务提交后入队，写请求不等待搜索引擎</li>
+ * <li>单线程消费队列，按批次合并同一文章的多次变更后调用批量接口</li>
+ * <li>批量失败按指数退避重试，仍失败的文章记入待重试集合，定时按数据库最新状态补偿</li>
+ * <li>索引为空、不存在或手动重建时从 tb_article 分批回填到新索引，回填完成后整体切换，期间检索不受影响</li>
+ * <li>回填期间发生变更的文章以变更事件为准，不会被回填读到的旧数据覆盖</li>
+ * <li>索引只保存在本节点时，启动和定时从索引水位起追赶 tb_article 的变更，补齐崩溃前未持久化与其他节点的写入</li>
+ * <li>追赶无变更时核对索引与数据库的文章数，连续不一致则全量重建</li>
+ * <li>每批写入后推进文章列表版本，检索结果的ETag不会早于索引变化</li>
+ * </ul>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@Service
+public class SearchIndexer {
+
+    /**
+     * 回填时队列已满的等待间隔（毫秒）
+     */
+    private static final long BACKFILL_WAIT_MILLIS = 50;
+
+    /**
+     * 追赶时向水位之前回看的时间（毫秒），覆盖提交晚于更新时间的事务
+     */
+    private static final long CATCH_UP_OVERLAP_MILLIS = 60000;
+
+    /**
+     * 文章数连续不一致多少次后全量重建，避免与正在提交的变更误判
+     */
+    private static final int MAX_COUNT_MISMATCHES = 2;
+
+    @Autowired
+    private SearchEngine searchEngine;
+
+    @Autowired
+    private SearchProperties searchProperties;
+
+    @Autowired
+    private TbArticleMapper articleMapper;
+
+    @Autowired
+    private TbCategoryMapper categoryMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    private BlockingQueue<Operation> queue;
+
+    /**
+     * 批量写入最终失败、等待补偿的文章ID
+     */
+    private final Set<Long> pendingRetry = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 全量重建进行中（从开始回填到切换新索引）
+     */
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    /**
+     * 回填开始后经变更事件入队的文章ID，回填时跳过
+     */
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 保证“记录变更并入队”与“检查变更并入队回填文档”互斥，使队列中后到的总是较新的数据
+     */
+    private final Object enqueueLock = new Object();
+
+    /**
+     * 本次回填读到的最大更新时间，仅由重建线程读写
+     */
+    private long backfillWatermark;
+
+    /**
+     * 上次追赶读到的文章及其更新时间，回看区间内未再变更的不重复入队
+     */
+    private Map<Long, Long> lastCaughtUp = new HashMap<>();
+
+    /**
+     * 文章数连续不一致次数
+     */
+    private int countMismatches;
+
+    private volatile Thread worker;
+
+    private volatile boolean running;
+
+    /**
+     * 创建变更队列，启动前入队的变更在消费线程启动后处理
+     */
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(searchProperties.getIndexer().getQueueCapacity());
+    }
+
+    /**
+     * 应用启动完成后启动消费线程，并按需回填
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::consumeLoop, "search-indexer");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("检索索引器已启动，搜索引擎：{}", searchEngine.getName());
+
+        if (searchEngine.needsBackfill()) {
+            rebuildAsync();
+        } else {
+            Thread catchUp = new Thread(() -> {
+                try {
+                    catchUp();
+                } catch (Exception e) {
+                    log.error("检索索引追赶失败：error={}", e.getMessage(), e);
+                }
+            }, "search-catch-up");
+            catchUp.setDaemon(true);
+            catchUp.start();
+        }
+    }
+
+    /**
+     * 应用关闭前处理完队列中剩余的变更并持久化
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!queue.isEmpty()) {
+            List<Operation> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            process(remaining);
+        }
+        try {
+            searchEngine.flush();
+        } catch (Exception e) {
+            log.error("检索索引关闭前持久化失败：engine={}, error={}", searchEngine.getName(), e.getMessage());
+        }
+    }
+
+    // ==================== 变更入队 ====================
+
+    /**
+     * 文章变更后入队
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChange(ArticleChangeEvent event) {
+        if (event.getType() == ArticleChangeEvent.ChangeType.TAGS) {
+            // 标签不参与检索
+            return;
+        }
+        if (event.getType() == ArticleChangeEvent.ChangeType.DELETE) {
+            delete(event.getArticleId());
+        } else {
+            reindex(event.getArticleId());
+        }
+    }
+
+    /**
+     * 按数据库最新状态重建单篇文章的索引
+     *
+     * @param articleId 文章ID
+     */
+    public void reindex(Long articleId) {
+        if (articleId == null) {
+            return;
+        }
+        TbArticle article = articleMapper.selectById(articleId);
+        if (article == null || !isSearchable(article)) {
+            enqueue(new Operation(articleId, null, updateTime(article)));
+            return;
+        }
+        String categoryName = null;
+        if (article.getCategoryId() != null) {
+            TbCategory category = categoryMapper.selectById(article.getCategoryId());
+            categoryName = category != null ? category.getName() : null;
+        }
+        enqueue(new Operation(articleId, toDocument(article, categoryName), updateTime(article)));
+    }
+
+    /**
+     * 从索引中删除文章
+     *
+     * @param articleId 文章ID
+     */
+    public void delete(Long articleId) {
+        if (articleId != null) {
+            enqueue(new Operation(articleId, null, 0));
+        }
+    }
+
+    /**
+     * 从数据库全量回填到新索引，队列消费到回填结束后切换，切换前检索仍使用旧索引
+     *
+     * @return 回填的文章数
+     */
+    public int rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new BusinessException(ResultEnum.CONFLICT, "检索索引正在重建，请稍后再试");
+        }
+        try {
+            searchEngine.beginRebuild();
+            int total = backfill();
+            queue.put(Operation.commit(backfillWatermark));
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abortRebuild();
+            log.warn("检索索引重建被中断");
+            return 0;
+        } catch (RuntimeException e) {
+            abortRebuild();
+            throw e;
+        }
+    }
+
+    /**
+     * 在后台线程全量重建，不占用调用线程
+     */
+    private void rebuildAsync() {
+        Thread backfill = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("检索索引回填失败：error={}", e.getMessage(), e);
+            }
+        }, "search-backfill");
+        backfill.setDaemon(true);
+        backfill.start();
+    }
+
+    /**
+     * 从 tb_article 分批读取已发布文章写入重建中的新索引，回填期间队列满时等待消费
+     *
+     * @return 回填的文章数
+     */
+    private int backfill() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        log.info("开始回填检索索引，搜索引擎：{}", searchEngine.getName());
+
+        Map<Long, String> categoryNames = loadCategoryNames();
+        backfillWatermark = 0;
+
+        int batchSize = searchProperties.getRebuildBatchSize();
+        long lastId = 0;
+        int total = 0;
+        while (true) {
+            List<TbArticle> batch = articleMapper.selectList(new LambdaQueryWrapper<TbArticle>()
+                    .gt(TbArticle::getId, lastId)
+                    .eq(TbArticle::getIsDelete, 0)
+                    .eq(TbArticle::getStatus, SystemConstants.Article.STATUS_PUBLISHED)
+                    .orderByAsc(TbArticle::getId)
+                    .last("LIMIT " + batchSize));
+            for (TbArticle article : batch) {
+                Operation operation = Operation.backfill(article.getId(),
+                        toDocument(article, categoryNames.get(article.getCategoryId())));
+                if (offerBackfill(operation)) {
+                    backfillWatermark = Math.max(backfillWatermark, updateTime(article));
+                    total++;
+                }
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+
+        log.info("检索索引回填完成，文章数：{}，耗时：{}ms", total, System.currentTimeMillis() - start);
+        return total;
+    }
+
+    /**
+     * 定时补偿批量写入失败的文章
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void retryPending() {
+        if (pendingRetry.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(pendingRetry);
+        pendingRetry.removeAll(ids);
+        log.info("补偿检索索引写入失败的文章：数量={}", ids.size());
+        for (Long id : ids) {
+            reindex(id);
+        }
+    }
+
+    /**
+     * 从索引水位起追赶 tb_article 的变更并入队；无变更时核对文章数，连续不一致则全量重建
+     * 仅对只保存在本节点的索引生效
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public synchronized void catchUp() {
+        long watermark = searchEngine.getWatermark();
+        if (!running || watermark < 0 || rebuilding.get()) {
+            return;
+        }
+        int changed = collectChanges(new Date(Math.max(watermark - CATCH_UP_OVERLAP_MILLIS, 0)));
+        if (changed > 0) {
+            log.info("检索索引追赶变更：水位={}, 文章数={}", watermark, changed);
+            countMismatches = 0;
+            return;
+        }
+        if (!queue.isEmpty() || !pendingRetry.isEmpty()) {
+            return;
+        }
+        long expected = articleMapper.selectCount(new LambdaQueryWrapper<TbArticle>()
+                .eq(TbArticle::getIsDelete, 0)
+                .eq(TbArticle::getStatus, SystemConstants.Article.STATUS_PUBLISHED));
+        long actual = searchEngine.count();
+        if (expected == actual) {
+            countMismatches = 0;
+            return;
+        }
+        if (++countMismatches < MAX_COUNT_MISMATCHES) {
+            return;
+        }
+        log.warn("检索索引文章数与数据库不一致，全量重建：索引={}, 数据库={}", actual, expected);
+        countMismatches = 0;
+        rebuildAsync();
+    }
+
+    /**
+     * 分页读取指定时间之后变更的文章，按数据库当前状态入队
+     *
+     * @return 入队的文章数
+     */
+    private int collectChanges(Date since) {
+        Map<Long, String> categoryNames = null;
+        Map<Long, Long> scanned = new HashMap<>();
+        int batchSize = searchProperties.getRebuildBatchSize();
+        Date cursorTime = since;
+        long lastId = 0;
+        int total = 0;
+        while (true) {
+            List<TbArticle> changed = articleMapper.selectChangedSince(cursorTime, lastId, batchSize);
+            List<Long> ids = new ArrayList<>(changed.size());
+            for (TbArticle row : changed) {
+                long time = updateTime(row);
+                if (!Long.valueOf(time).equals(lastCaughtUp.get(row.getId()))) {
+                    ids.add(row.getId());
+                }
+                scanned.put(row.getId(), time);
+            }
+            if (!ids.isEmpty()) {
+                if (categoryNames == null) {
+                    categoryNames = loadCategoryNames();
+                }
+                // 已删除的文章不会被查出，按删除处理
+                Map<Long, TbArticle> current = new HashMap<>();
+                for (TbArticle article : articleMapper.selectBatchIds(ids)) {
+                    current.put(article.getId(), article);
+                }
+                for (Long id : ids) {
+                    TbArticle article = current.get(id);
+                    if (article != null && isSearchable(article)) {
+                        enqueue(new Operation(id, toDocument(article, categoryNames.get(article.getCategoryId())),
+                                updateTime(article)));
+                    } else {
+                        enqueue(new Operation(id, null, scanned.get(id)));
+                    }
+                }
+                total += ids.size();
+            }
+            if (changed.size() < batchSize) {
+                break;
+            }
+            TbArticle last = changed.get(changed.size() - 1);
+            cursorTime = last.getUpdateTime();
+            lastId = last.getId();
+        }
+        lastCaughtUp = scanned;
+        return total;
+    }
+
+    // ==================== 队列消费 ====================
+
+    private void enqueue(Operation operation) {
+        synchronized (enqueueLock) {
+            if (rebuilding.get()) {
+                changedDuringRebuild.add(operation.articleId);
+            }
+            if (!queue.offer(operation)) {
+                // 队列已满，交给定时补偿
+                pendingRetry.add(operation.articleId);
+            }
+        }
+    }
+
+    /**
+     * 回填文档入队，队列满时在锁外等待消费，不阻塞变更事件入队
+     *
+     * @return 文章在回填期间已变更而跳过时返回false
+     */
+    private boolean offerBackfill(Operation operation) throws InterruptedException {
+        while (true) {
+            synchronized (enqueueLock) {
+                if (changedDuringRebuild.contains(operation.articleId)) {
+                    // 回填读取后文章已变更，以变更事件入队的最新状态为准
+                    return false;
+                }
+                if (queue.offer(operation)) {
+                    return true;
+                }
+            }
+            Thread.sleep(BACKFILL_WAIT_MILLIS);
+        }
+    }
+
+    private void abortRebuild() {
+        try {
+            searchEngine.abortRebuild();
+        } catch (Exception e) {
+            log.warn("放弃检索索引重建失败：engine={}, error={}", searchEngine.getName(), e.getMessage());
+        } finally {
+            changedDuringRebuild.clear();
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * 队列消费到回填结束标记，此前的回填文档均已写入，切换到新索引
+     */
+    private void commitRebuild(long watermark) {
+        if (executeWithRetry(() -> searchEngine.commitRebuild(watermark), "切换", 1)) {
+            changedDuringRebuild.clear();
+            rebuilding.set(false);
+            contentVersionService.bump(ContentVersionService.SCOPE_ARTICLES);
+        } else {
+            abortRebuild();
+        }
+    }
+
+    private void consumeLoop() {
+        SearchProperties.Indexer config = searchProperties.getIndexer();
+        List<Operation> batch = new ArrayList<>(config.getBatchSize());
+        while (running) {
+            try {
+                Operation first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 短暂等待攒批，减少请求次数
+                long deadline = System.currentTimeMillis() + config.getBatchWaitMillis();
+                while (batch.size() < config.getBatchSize()) {
+                    long wait = deadline - System.currentTimeMillis();
+                    Operation next = wait > 0 ? queue.poll(wait, TimeUnit.MILLISECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process(batch);
+                return;
+            } catch (Exception e) {
+                log.error("检索索引器处理异常：error={}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 按回填结束标记分段处理，标记前的操作写入后再切换索引
+     */
+    private void process(List<Operation> operations) {
+        int from = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            Operation operation = operations.get(i);
+            if (operation.commit) {
+                apply(operations.subList(from, i));
+                commitRebuild(operation.updateTime);
+                from = i + 1;
+            }
+        }
+        apply(operations.subList(from, operations.size()));
+    }
+
+    /**
+     * 合并同一文章的多次变更（后到的覆盖先到的），再分别批量写入与删除
+     * 变更同时作用于当前索引和重建中的新索引，回填文档只写入新索引
+     */
+    private void apply(List<Operation> operations) {
+        if (operations.isEmpty()) {
+            return;
+        }
+        Map<Long, Operation> latest = new LinkedHashMap<>();
+        Map<Long, SearchDocument> backfills = new LinkedHashMap<>();
+        for (Operation operation : operations) {
+            if (operation.backfill) {
+                backfills.put(operation.articleId, operation.document);
+            } else {
+                latest.remove(operation.articleId);
+                latest.put(operation.articleId, operation);
+                // 变更晚于回填入队，新索引以变更为准
+                backfills.remove(operation.articleId);
+            }
+        }
+
+        List<SearchDocument> upserts = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        for (Operation operation : latest.values()) {
+            if (operation.document != null) {
+                upserts.add(operation.document);
+            } else {
+                deletes.add(operation.articleId);
+            }
+        }
+
+        boolean applied = false;
+        boolean failed = false;
+        if (!upserts.isEmpty()) {
+            if (executeWithRetry(() -> searchEngine.bulkIndex(upserts), "写入", upserts.size())) {
+                applied = true;
+            } else {
+                failed = true;
+                upserts.forEach(document -> pendingRetry.add(document.getId()));
+            }
+        }
+        if (!deletes.isEmpty()) {
+            if (executeWithRetry(() -> searchEngine.bulkDelete(deletes), "删除", deletes.size())) {
+                applied = true;
+            } else {
+                failed = true;
+                pendingRetry.addAll(deletes);
+            }
+        }
+        if (applied && !failed) {
+            // 有失败时不推进水位，崩溃后仍能从数据库追赶回来
+            long watermark = 0;
+            for (Operation operation : latest.values()) {
+                watermark = Math.max(watermark, operation.updateTime);
+            }
+            searchEngine.advanceWatermark(watermark);
+        }
+        if (!backfills.isEmpty()) {
+            List<SearchDocument> documents = new ArrayList<>(backfills.values());
+            if (!executeWithRetry(() -> searchEngine.bulkIndexRebuild(documents), "回填", documents.size())) {
+                // 补偿时按数据库最新状态同时写入新旧索引
+                pendingRetry.addAll(backfills.keySet());
+            }
+        }
+
+        // 索引晚于事务提交异步生效，提交时推进的版本可能已被旧的检索结果占用，生效后再推进一次
+        if (applied) {
+            contentVersionService.bump(ContentVersionService.SCOPE_ARTICLES);
+        }
+    }
+
+    /**
+     * 指数退避重试
+     *
+     * @return 最终成功返回true
+     */
+    private boolean executeWithRetry(Runnable action, String actionName, int size) {
+        SearchProperties.Indexer config = searchProperties.getIndexer();
+        long backoff = config.getRetryBackoffMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                action.run();
+                return true;
+            } catch (Exception e) {
+                if (attempt > config.getMaxRetries()) {
+                    log.error("检索索引批量{}失败，已放弃：数量={}, 尝试次数={}, error={}", actionName, size, attempt,
+                            e.getMessage());
+                    return false;
+                }
+                log.warn("检索索引批量{}失败，{}ms后重试：数量={}, 第{}次, error={}", actionName, backoff, size, attempt,
+                        e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                backoff = Math.min(backoff * 2, config.getMaxBackoffMillis());
+            }
+        }
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private Map<Long, String> loadCategoryNames() {
+        Map<Long, String> categoryNames = new HashMap<>();
+        for (TbCategory category : categoryMapper.selectList(null)) {
+            categoryNames.put(category.getId(), category.getName());
+        }
+        return categoryNames;
+    }
+
+    private long updateTime(TbArticle article) {
+        return article != null && article.getUpdateTime() != null ? article.getUpdateTime().getTime() : 0;
+    }
+
+    private boolean isSearchable(TbArticle article) {
+        return Integer.valueOf(0).equals(article.getIsDelete())
+                && SystemConstants.Article.STATUS_PUBLISHED.equals(article.getStatus());
+    }
+
+    private SearchDocument toDocument(TbArticle article, String categoryName) {
+        ArticleSimpleVO simpleVO = new ArticleSimpleVO();
+        BeanUtils.copyProperties(article, simpleVO);
+        simpleVO.setCategoryName(categoryName);
+        simpleVO.setCreateTime(DateTimeUtils.toLocalDateTime(article.getCreateTime()));
+        simpleVO.setPublishTime(DateTimeUtils.toLocalDateTime(article.getPublishedTime()));
+
+        String stored = null;
+        try {
+            stored = objectMapper.writeValueAsString(simpleVO);
+        } catch (JsonProcessingException e) {
+            log.error("检索文档序列化失败：articleId={}, error={}", article.getId(), e.getMessage());
+        }
+        return new SearchDocument(article.getId(), article.getTitle(), article.getSummary(), article.getContent(),
+                stored);
+    }
+
+    /**
+     * 队列中的索引操作，document为null表示删除
+     */
+    private static final class Operation {
+
+        private final Long articleId;
+        private final SearchDocument document;
+
+        /**
+         * 操作依据的文章更新时间（毫秒），切换标记上为回填数据的水位
+         */
+        private final long updateTime;
+
+        /**
+         * 是否为回填文档，只写入重建中的新索引
+         */
+        private final boolean backfill;
+
+        /**
+         * 是否为回填结束标记
+         */
+        private final boolean commit;
+
+        private Operation(Long articleId, SearchDocument document, long updateTime) {
+            this(articleId, document, updateTime, false, false);
+        }
+
+        private Operation(Long articleId, SearchDocument document, long updateTime, boolean backfill,
+                boolean commit) {
+            this.articleId = articleId;
+            this.document = document;
+            this.updateTime = updateTime;
+            this.backfill = backfill;
+            this.commit = commit;
+        }
+
+        private static Operation backfill(Long articleId, SearchDocument document) {
+            return new Operation(articleId, document, 0, true, false);
+        }
+
+        private static Operation commit(long watermark) {
+            return new Operation(null, null, watermark, false, true);
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package pw.pj.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pw.pj.POJO.DO.TbArticle;
+import pw.pj.POJO.DO.TbArticleCard;
+import pw.pj.common.config.SiteProperties;
+import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.ArticleChangeEvent;
+import pw.pj.common.feed.SiteFile;
+import pw.pj.common.feed.SiteXmlWriter;
+import pw.pj.common.feed.SitemapShards;
+import pw.pj.mapper.TbArticleMapper;
+import pw.pj.service.SiteFeedService;
+import pw.pj.service.TbArticleCardService;
+
+import javax.annotation.PostConstruct;
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * 站点地图与订阅源服务实现类
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>文件预渲染后同时保存在内存与磁盘，请求直接返回字节；重启时先加载磁盘文件，再从数据库重建</li>
+ * <li>站点地图按文章ID区间分片，超过单文件50000个URL时 sitemap.xml 变为分片索引</li>
+ * <li>文章新建、编辑、发布、下线、删除的事务提交后只标记所在分片，定时合并写出，批量变更只生成一次</li>
+ * <li>内容未变化的文件不重写，ETag与最后修改时间保持不变</li>
+ * <li>订阅源取卡片表中最新发布的文章，使用StAX流式写出</li>
+ * </ul>
+ *
+ * <p>分片状态的读改写在本实例内串行执行。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@Service
+public class SiteFeedServiceImpl implements SiteFeedService {
+
+    /**
+     * 站点地图中的固定页面
+     */
+    private static final String[] STATIC_PAGES = { "/", "/blog", "/about" };
+
+    private static final String SHARD_PREFIX = "sitemap-";
+
+    private static final String XML_SUFFIX = ".xml";
+
+    @Autowired
+    private TbArticleMapper articleMapper;
+
+    @Autowired
+    private TbArticleCardService articleCardService;
+
+    @Autowired
+    private SiteProperties siteProperties;
+
+    /**
+     * 已生成的文件：文件名 -> 文件
+     */
+    private final Map<String, SiteFile> files = new ConcurrentHashMap<>();
+
+    /**
+     * 待重新生成的分片
+     */
+    private final Set<Integer> dirtyShards = new HashSet<>();
+
+    private SitemapShards shards;
+
+    /**
+     * 订阅源是否待重新生成
+     */
+    private boolean feedDirty;
+
+    /**
+     * 当前是否为分片索引模式
+     */
+    private boolean indexMode;
+
+    /**
+     * 是否已从数据库加载
+     */
+    private boolean loaded;
+
+    @PostConstruct
+    public void init() {
+        shards = newShards();
+        loadFromDisk();
+    }
+
+    /**
+     * 启动后从数据库重建，重建完成前返回磁盘上的上一版文件
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initSite() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("站点地图与订阅源初始化失败：error={}", e.getMessage(), e);
+        }
+    }
+
+    // ==================== 事件同步 ====================
+
+    /**
+     * 文章发布状态或内容可能变化后标记受影响的分片
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChange(ArticleChangeEvent event) {
+        switch (event.getType()) {
+            case CREATE:
+            case UPDATE:
+            case PUBLISH:
+            case UNPUBLISH:
+            case DELETE:
+                refreshArticle(event.getArticleId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 定时合并写出变更
+     */
+    @Scheduled(fixedDelayString = "${site.flush-interval:30000}")
+    public void flushScheduled() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("站点地图与订阅源写出失败：error={}", e.getMessage(), e);
+        }
+    }
+
+    // ==================== 查询 ====================
+
+    @Override
+    public SiteFile getFile(String name) {
+        return files.get(name);
+    }
+
+    // ==================== 文件维护 ====================
+
+    @Override
+    public void refreshArticle(Long articleId) {
+        TbArticle article = articleMapper.selectOne(Wrappers.<TbArticle>lambdaQuery()
+                .select(TbArticle::getId, TbArticle::getStatus, TbArticle::getUpdateTime,
+                        TbArticle::getPublishedTime, TbArticle::getCreateTime)
+                .eq(TbArticle::getId, articleId));
+
+        synchronized (this) {
+            if (!loaded) {
+                // 尚未完成首次重建，重建时会读取最新状态
+                return;
+            }
+            boolean changed;
+            if (article == null || !SystemConstants.Article.STATUS_PUBLISHED.equals(article.getStatus())) {
+                changed = shards.remove(articleId);
+            } else {
+                changed = shards.put(articleId, lastModifiedOf(article));
+            }
+            if (changed) {
+                dirtyShards.add(shards.shardOf(articleId));
+                feedDirty = true;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (!loaded || (dirtyShards.isEmpty() && !feedDirty)) {
+            return;
+        }
+        writeSitemap(false);
+        if (feedDirty) {
+            writeFeed();
+        }
+    }
+
+    @Override
+    public synchronized Integer rebuild() {
+        List<TbArticle> articles = articleMapper.selectList(Wrappers.<TbArticle>lambdaQuery()
+                .select(TbArticle::getId, TbArticle::getUpdateTime, TbArticle::getPublishedTime,
+                        TbArticle::getCreateTime)
+                .eq(TbArticle::getStatus, SystemConstants.Article.STATUS_PUBLISHED));
+        SitemapShards rebuilt = newShards();
+        for (TbArticle article : articles) {
+            rebuilt.put(article.getId(), lastModifiedOf(article));
+        }
+        shards = rebuilt;
+        loaded = true;
+
+        writeSitemap(true);
+        writeFeed();
+        log.info("站点地图与订阅源重建完成，文章数：{}，分片数：{}", shards.size(), shards.shardNumbers().size());
+        return shards.size();
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    /**
+     * 重新生成站点地图，增量时只生成待更新的分片与索引
+     */
+    private void writeSitemap(boolean all) {
+        boolean nowIndexMode = shards.shardNumbers().size() > 1
+                || shards.size() + STATIC_PAGES.length > SiteXmlWriter.MAX_URLS_PER_FILE;
+        boolean full = all || nowIndexMode != indexMode;
+        indexMode = nowIndexMode;
+
+        if (!indexMode) {
+            List<SiteXmlWriter.UrlEntry> urls = staticPages();
+            for (Integer shard : shards.shardNumbers()) {
+                appendArticles(urls, shard);
+            }
+            publish(SITEMAP, renderUrlset(urls));
+            removeFiles(name -> name.startsWith(SHARD_PREFIX));
+            dirtyShards.clear();
+            return;
+        }
+
+        Collection<Integer> targets = full ? shards.shardNumbers() : dirtyShards;
+        for (Integer shard : targets) {
+            if (shards.shardNumbers().contains(shard)) {
+                List<SiteXmlWriter.UrlEntry> urls = new ArrayList<>();
+                appendArticles(urls, shard);
+                publish(shardName(shard), renderUrlset(urls));
+            } else {
+                removeFiles(name -> name.equals(shardName(shard)));
+            }
+        }
+        if (full) {
+            Set<String> current = new HashSet<>();
+            current.add(SITEMAP_PAGES);
+            for (Integer shard : shards.shardNumbers()) {
+                current.add(shardName(shard));
+            }
+            removeFiles(name -> name.startsWith(SHARD_PREFIX) && !current.contains(name));
+            publish(SITEMAP_PAGES, renderUrlset(staticPages()));
+        }
+
+        List<SiteXmlWriter.UrlEntry> sitemaps = new ArrayList<>();
+        sitemaps.add(new SiteXmlWriter.UrlEntry(siteUrl() + "/" + SITEMAP_PAGES, null));
+        for (Integer shard : shards.shardNumbers()) {
+            sitemaps.add(new SiteXmlWriter.UrlEntry(siteUrl() + "/" + shardName(shard), shards.lastModified(shard)));
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            SiteXmlWriter.writeSitemapIndex(output, sitemaps);
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("站点地图索引生成失败", e);
+        }
+        publish(SITEMAP, output.toByteArray());
+        dirtyShards.clear();
+    }
+
+    /**
+     * 重新生成订阅源
+     */
+    private void writeFeed() {
+        List<TbArticleCard> cards = articleCardService.list(Wrappers.<TbArticleCard>lambdaQuery()
+                .select(TbArticleCard::getArticleId, TbArticleCard::getTitle, TbArticleCard::getSummary,
+                        TbArticleCard::getCategoryName, TbArticleCard::getPublishedTime,
+                        TbArticleCard::getCreateTime, TbArticleCard::getUpdateTime)
+                .orderByDesc(TbArticleCard::getPublishedTime)
+                .orderByDesc(TbArticleCard::getArticleId)
+                .last("LIMIT " + siteProperties.getFeedSize()));
+
+        List<SiteXmlWriter.FeedEntry> entries = new ArrayList<>(cards.size());
+        long updated = 0;
+        for (TbArticleCard card : cards) {
+            Date published = card.getPublishedTime() != null ? card.getPublishedTime() : card.getCreateTime();
+            long publishedTime = published != null ? published.getTime() : 0L;
+            long updateTime = card.getUpdateTime() != null
+                    ? Math.max(card.getUpdateTime().getTime(), publishedTime) : publishedTime;
+            entries.add(new SiteXmlWriter.FeedEntry(articleUrl(card.getArticleId()), card.getTitle(),
+                    card.getSummary(), card.getCategoryName(), publishedTime, updateTime));
+            updated = Math.max(updated, updateTime);
+        }
+
+        SiteXmlWriter.FeedMeta meta = new SiteXmlWriter.FeedMeta(siteProperties.getTitle(),
+                siteProperties.getDescription(), siteUrl(), siteUrl() + "/" + FEED,
+                updated > 0 ? updated : System.currentTimeMillis());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            SiteXmlWriter.writeAtomFeed(output, meta, entries);
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("订阅源生成失败", e);
+        }
+        publish(FEED, output.toByteArray());
+        feedDirty = false;
+    }
+
+    private List<SiteXmlWriter.UrlEntry> staticPages() {
+        List<SiteXmlWriter.UrlEntry> urls = new ArrayList<>();
+        for (String page : STATIC_PAGES) {
+            urls.add(new SiteXmlWriter.UrlEntry(siteUrl() + page, null));
+        }
+        return urls;
+    }
+
+    private void appendArticles(List<SiteXmlWriter.UrlEntry> urls, int shard) {
+        for (Map.Entry<Long, Long> entry : shards.entries(shard).entrySet()) {
+            urls.add(new SiteXmlWriter.UrlEntry(articleUrl(entry.getKey()),
+                    entry.getValue() > 0 ? entry.getValue() : null));
+        }
+    }
+
+    private byte[] renderUrlset(List<SiteXmlWriter.UrlEntry> urls) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(urls.size() * 96 + 128);
+        try {
+            SiteXmlWriter.writeUrlset(output, urls);
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("站点地图生成失败", e);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * 发布文件：内容与现有文件相同时保持不变，否则替换内存中的文件并写盘
+     */
+    private void publish(String name, byte[] content) {
+        SiteFile existing = files.get(name);
+        if (existing != null && Arrays.equals(existing.getContent(), content)) {
+            return;
+        }
+        files.put(name, new SiteFile(content, System.currentTimeMillis()));
+
+        Path dir = Paths.get(siteProperties.getOutputDir());
+        Path target = dir.resolve(name);
+        Path tmp = dir.resolve(name + ".tmp");
+        try {
+            Files.createDirectories(dir);
+            Files.write(tmp, content);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // 写盘失败不影响内存中的文件继续提供服务
+            log.warn("站点文件写盘失败：file={}, error={}", target, e.getMessage());
+        }
+    }
+
+    private void removeFiles(Predicate<String> filter) {
+        Iterator<String> names = files.keySet().iterator();
+        while (names.hasNext()) {
+            String name = names.next();
+            if (!filter.test(name)) {
+                continue;
+            }
+            names.remove();
+            try {
+                Files.deleteIfExists(Paths.get(siteProperties.getOutputDir(), name));
+            } catch (IOException e) {
+                log.warn("站点文件删除失败：file={}, error={}", name, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 加载磁盘上的上一版文件，文件修改时间作为最后修改时间
+     */
+    private void loadFromDisk() {
+        Path dir = Paths.get(siteProperties.getOutputDir());
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + XML_SUFFIX)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (name.equals(SITEMAP) || name.equals(FEED) || name.startsWith(SHARD_PREFIX)) {
+                    files.put(name, new SiteFile(Files.readAllBytes(file), Files.getLastModifiedTime(file).toMillis()));
+                }
+            }
+            log.info("已加载预渲染站点文件：{}", files.keySet());
+        } catch (IOException e) {
+            log.warn("加载预渲染站点文件失败：dir={}, error={}", dir, e.getMessage());
+        }
+    }
+
+    private SitemapShards newShards() {
+        return new SitemapShards(Math.min(siteProperties.getSitemapShardSize(), SiteXmlWriter.MAX_URLS_PER_FILE));
+    }
+
+    private static long lastModifiedOf(TbArticle article) {
+        Date time = article.getUpdateTime() != null ? article.getUpdateTime()
+                : (article.getPublishedTime() != null ? article.getPublishedTime() : article.getCreateTime());
+        return time != null ? time.getTime() : 0L;
+    }
+
+    private static String shardName(int shard) {
+        return SHARD_PREFIX + shard + XML_SUFFIX;
+    }
+
+    private String siteUrl() {
+        String url = siteProperties.getUrl();
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private String articleUrl(Long articleId) {
+        return siteUrl() + "/blog/" + articleId;
+    }
+}
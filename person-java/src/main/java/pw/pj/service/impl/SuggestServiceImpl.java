@@ -0,0 +1,195 @@
+package pw.pj.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pw.pj.POJO.DO.TbArticle;
+import pw.pj.POJO.DO.TbTag;
+import pw.pj.POJO.VO.SuggestionVO;
+import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.ArticleChangeEvent;
+import pw.pj.common.event.TagChangeEvent;
+import pw.pj.common.suggest.SuggestIndex;
+import pw.pj.mapper.TbArticleMapper;
+import pw.pj.mapper.TbTagMapper;
+import pw.pj.service.SuggestService;
+import pw.pj.service.TagDictionaryService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 输入联想服务实现类
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>标签按名称、别名索引，文章按标题索引；含汉字时另以拼音首字母索引，如输入 "bfbc" 可联想到 "并发编程"</li>
+ * <li>标签以文章数、文章以浏览量作为热度，同一前缀下热度高的在前</li>
+ * <li>文章新建、编辑、发布、下线、删除与标签变更的事务提交后只替换对应文档；每日全量重建一次校正热度</li>
+ * <li>应用启动完成后全量构建</li>
+ * </ul>
+ *
+ * <p>全量重建在新索引上完成后整体替换引用，期间查询仍读旧索引；单文档替换与全量重建在本实例内串行执行。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@Service
+public class SuggestServiceImpl implements SuggestService {
+
+    private static final String TYPE_TAG = "tag";
+
+    private static final String TYPE_ARTICLE = "article";
+
+    /**
+     * 联想结果中最多列出的标签数
+     */
+    private static final int TAG_LIMIT = 3;
+
+    @Autowired
+    private TbArticleMapper articleMapper;
+
+    @Autowired
+    private TbTagMapper tagMapper;
+
+    @Autowired
+    private TagDictionaryService tagDictionaryService;
+
+    private volatile SuggestIndex<SuggestionVO> tagIndex = new SuggestIndex<>();
+
+    private volatile SuggestIndex<SuggestionVO> articleIndex = new SuggestIndex<>();
+
+    // ==================== 事件同步 ====================
+
+    /**
+     * 应用启动完成后全量构建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initIndex() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("输入联想索引初始化失败：error={}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 文章标题或发布状态可能变化后替换索引中的文章
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChange(ArticleChangeEvent event) {
+        switch (event.getType()) {
+            case CREATE:
+            case UPDATE:
+            case PUBLISH:
+            case UNPUBLISH:
+            case DELETE:
+                refreshArticle(event.getArticleId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 标签变化后替换索引中的标签
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChange(TagChangeEvent event) {
+        refreshTag(event.getTagId());
+    }
+
+    // ==================== 查询 ====================
+
+    @Override
+    public List<SuggestionVO> suggest(String query, int limit) {
+        List<SuggestionVO> result = new ArrayList<>(limit);
+        result.addAll(tagIndex.suggest(query, Math.min(limit, TAG_LIMIT)));
+        result.addAll(articleIndex.suggest(query, limit - result.size()));
+        return result;
+    }
+
+    // ==================== 索引维护 ====================
+
+    @Override
+    public void refreshArticle(Long articleId) {
+        if (articleId == null) {
+            return;
+        }
+        TbArticle article = articleMapper.selectOne(Wrappers.<TbArticle>lambdaQuery()
+                .select(TbArticle::getId, TbArticle::getTitle, TbArticle::getStatus, TbArticle::getViewCount)
+                .eq(TbArticle::getId, articleId));
+        synchronized (this) {
+            if (article == null || !SystemConstants.Article.STATUS_PUBLISHED.equals(article.getStatus())) {
+                articleIndex.remove(TYPE_ARTICLE + articleId);
+            } else {
+                putArticle(articleIndex, article);
+            }
+        }
+    }
+
+    @Override
+    public void refreshTag(Long tagId) {
+        if (tagId == null) {
+            return;
+        }
+        TbTag tag = tagMapper.selectById(tagId);
+        synchronized (this) {
+            if (tag == null || !SystemConstants.Tag.STATUS_ENABLED.equals(tag.getStatus())) {
+                tagIndex.remove(TYPE_TAG + tagId);
+            } else {
+                tag.setArticleCount(tagDictionaryService.getArticleCount(tagId));
+                putTag(tagIndex, tag);
+            }
+        }
+    }
+
+    /**
+     * 每日全量重建一次，校正浏览量、文章数等热度
+     */
+    @Scheduled(cron = "0 50 3 * * ?")
+    @Override
+    public synchronized Integer rebuild() {
+        List<TbArticle> articles = articleMapper.selectList(Wrappers.<TbArticle>lambdaQuery()
+                .select(TbArticle::getId, TbArticle::getTitle, TbArticle::getViewCount)
+                .eq(TbArticle::getStatus, SystemConstants.Article.STATUS_PUBLISHED));
+        List<TbTag> tags = tagDictionaryService.getEnabledTags();
+
+        SuggestIndex<SuggestionVO> tagsBuilt = new SuggestIndex<>();
+        SuggestIndex<SuggestionVO> articlesBuilt = new SuggestIndex<>();
+        tags.forEach(tag -> putTag(tagsBuilt, tag));
+        articles.forEach(article -> putArticle(articlesBuilt, article));
+        tagIndex = tagsBuilt;
+        articleIndex = articlesBuilt;
+
+        log.info("输入联想索引重建完成，标签数：{}，文章数：{}", tagsBuilt.size(), articlesBuilt.size());
+        return tagsBuilt.size() + articlesBuilt.size();
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private static void putArticle(SuggestIndex<SuggestionVO> index, TbArticle article) {
+        SuggestionVO suggestion = new SuggestionVO();
+        suggestion.setType(TYPE_ARTICLE);
+        suggestion.setId(article.getId());
+        suggestion.setText(article.getTitle());
+        long weight = article.getViewCount() == null ? 0 : article.getViewCount();
+        index.put(TYPE_ARTICLE + article.getId(), suggestion, weight, article.getTitle());
+    }
+
+    private static void putTag(SuggestIndex<SuggestionVO> index, TbTag tag) {
+        SuggestionVO suggestion = new SuggestionVO();
+        suggestion.setType(TYPE_TAG);
+        suggestion.setId(tag.getId());
+        suggestion.setText(tag.getName());
+        long weight = tag.getArticleCount() == null ? 0 : tag.getArticleCount();
+        index.put(TYPE_TAG + tag.getId(), suggestion, weight, tag.getName(), tag.getSlug());
+    }
+}
@@ -0,0 +1,357 @@
+package pw.pj.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pw.pj.POJO.DO.TbArticle;
+import pw.pj.POJO.DO.TbArticleTag;
+import pw.pj.common.bitmap.TagBitmapIndex;
+import pw.pj.common.bitmap.TagFilter;
+import pw.pj.common.constants.RedisConstants;
+import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.ArticleChangeEvent;
+import pw.pj.common.event.TagChangeEvent;
+import pw.pj.common.result.PageResult;
+import pw.pj.common.utils.GuardedSnapshot;
+import pw.pj.common.utils.RedisUtils;
+import pw.pj.mapper.TbArticleMapper;
+import pw.pj.mapper.TbArticleTagMapper;
+import pw.pj.service.TagBitmapService;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 标签位图索引服务实现类
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>每个标签一个Roaring位图，另有已发布、置顶两个掩码，筛选与计数只做位图运算</li>
+ * <li>文章新建、编辑、改标签、发布、下线、置顶、删除的事务提交后，按文章最新状态替换索引中的记录</li>
+ * <li>本节点的变更在Redis频道上广播，其他节点收到后各自从数据库刷新同一篇文章，自己发出的消息忽略</li>
+ * <li>索引序列化后以二进制值存入Redis，只由发生变更的节点持锁定期回写，同时写入关联表水位</li>
+ * <li>Redis缺失、格式不匹配或水位与数据库不一致时从数据库全量重建；沿用缓存时发布与置顶掩码仍按文章表重算</li>
+ * <li>分页只取当前页的文章ID，再由调用方按主键回表</li>
+ * </ul>
+ *
+ * <p>索引保存在 {@link GuardedSnapshot} 中：查询并发执行，增量调整与替换互斥。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@Service
+public class TagBitmapServiceImpl implements TagBitmapService {
+
+    /**
+     * 本节点ID，用于忽略自己发出的变更通知，也作为回写锁的持有者标识
+     */
+    private static final String NODE_ID = UUID.randomUUID().toString();
+
+    /**
+     * 回写锁超时时间（毫秒）
+     */
+    private static final long FLUSH_LOCK_MILLIS = 10_000L;
+
+    private static final char MESSAGE_ARTICLE = 'a';
+
+    private static final char MESSAGE_TAG = 't';
+
+    private static final char MESSAGE_REBUILD = 'r';
+
+    @Autowired
+    private TbArticleMapper articleMapper;
+
+    @Autowired
+    private TbArticleTagMapper articleTagMapper;
+
+    @Autowired
+    private RedisUtils redisUtils;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final GuardedSnapshot<TagBitmapIndex> index = new GuardedSnapshot<>(this::loadIndex);
+
+    /**
+     * 本节点发起的变更自上次回写Redis后是否未写出；其他节点广播来的变更由发起节点负责回写
+     */
+    private volatile boolean dirty;
+
+    @PostConstruct
+    public void init() {
+        MessageListener listener = (message, pattern) ->
+                onRemoteChange(new String(message.getBody(), StandardCharsets.UTF_8));
+        listenerContainer.addMessageListener(listener, new ChannelTopic(RedisConstants.Tag.TAG_BITMAP_CHANNEL));
+    }
+
+    // ==================== 事件同步 ====================
+
+    /**
+     * 文章标签、发布状态或置顶状态可能变化后调整索引
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChange(ArticleChangeEvent event) {
+        refreshArticle(event.getArticleId());
+    }
+
+    /**
+     * 标签删除后移除其位图
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChange(TagChangeEvent event) {
+        if (event.getType() != TagChangeEvent.ChangeType.DELETE) {
+            return;
+        }
+        if (removeTag(event.getTagId())) {
+            dirty = true;
+        }
+        broadcast(MESSAGE_TAG, event.getTagId());
+    }
+
+    // ==================== 查询 ====================
+
+    @Override
+    public PageResult<Long> findArticleIds(TagFilter filter, Integer pageNum, Integer pageSize) {
+        if (filter.isEmpty()) {
+            return PageResult.empty(pageNum, pageSize);
+        }
+        int size = Math.min(pageSize, SystemConstants.Page.MAX_PAGE_SIZE);
+        long offset = (long) (Math.max(pageNum, 1) - 1) * size;
+
+        return index.read(current -> {
+            RoaringBitmap result = current.filter(filter);
+            return PageResult.of(current.page(result, offset, size), result.getCardinality(), pageNum, size);
+        });
+    }
+
+    @Override
+    public List<Long> findAllArticleIds(TagFilter filter) {
+        return index.read(current -> TagBitmapIndex.toList(current.filter(filter)));
+    }
+
+    @Override
+    public long count(TagFilter filter) {
+        return index.read(current -> (long) current.filter(filter).getCardinality());
+    }
+
+    @Override
+    public List<Long> findTagIds(Long articleId) {
+        if (articleId == null) {
+            return new ArrayList<>();
+        }
+        return index.read(current -> current.tagIdsOf(articleId));
+    }
+
+    // ==================== 索引维护 ====================
+
+    @Override
+    public void refreshArticle(Long articleId) {
+        if (articleId == null) {
+            return;
+        }
+        applyArticle(articleId);
+        dirty = true;
+        broadcast(MESSAGE_ARTICLE, articleId);
+    }
+
+    @Override
+    public Integer rebuild() {
+        Integer tagCount = rebuildLocal();
+        broadcast(MESSAGE_REBUILD, null);
+        return tagCount;
+    }
+
+    /**
+     * 每日全量重建一次，校正增量调整可能遗漏的变化；各节点各自执行，不广播
+     */
+    @Scheduled(cron = "0 40 3 * * ?")
+    public void rebuildScheduled() {
+        rebuildLocal();
+    }
+
+    /**
+     * 定期把本节点有变化的索引回写Redis；其他节点正在回写时留到下一轮
+     */
+    @Scheduled(fixedDelay = 30000, initialDelay = 30000)
+    public void flush() {
+        if (!dirty || !redisUtils.tryLock(RedisConstants.Tag.TAG_BITMAP_FLUSH_LOCK, NODE_ID, FLUSH_LOCK_MILLIS)) {
+            return;
+        }
+        try {
+            // 先取水位再序列化：期间提交的变更只会使水位不一致而触发重建，不会被水位掩盖
+            String watermark = articleTagMapper.selectWatermark();
+            byte[] data = index.readIfLoaded(current -> {
+                dirty = false;
+                return current.serialize();
+            }, null);
+            if (data == null) {
+                return;
+            }
+            if (!redisUtils.setBytes(RedisConstants.Tag.TAG_BITMAP_INDEX, data, SystemConstants.Cache.EXPIRE_WEEK)
+                    || !redisUtils.set(RedisConstants.Tag.TAG_BITMAP_WATERMARK, watermark,
+                    SystemConstants.Cache.EXPIRE_WEEK)) {
+                dirty = true;
+            }
+        } finally {
+            redisUtils.unlock(RedisConstants.Tag.TAG_BITMAP_FLUSH_LOCK, NODE_ID);
+        }
+    }
+
+    /**
+     * 应用关闭前回写，避免丢失最近一次回写后的变化
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    /**
+     * 处理其他节点广播的变更，只调整本节点内存中的索引
+     */
+    private void onRemoteChange(String message) {
+        int separator = message.indexOf('|');
+        if (separator < 0 || separator + 1 >= message.length() || NODE_ID.equals(message.substring(0, separator))) {
+            return;
+        }
+        char type = message.charAt(separator + 1);
+        String id = message.substring(separator + 2);
+        try {
+            switch (type) {
+                case MESSAGE_ARTICLE:
+                    applyArticle(Long.valueOf(id));
+                    break;
+                case MESSAGE_TAG:
+                    removeTag(Long.valueOf(id));
+                    break;
+                case MESSAGE_REBUILD:
+                    rebuildLocal();
+                    break;
+                default:
+                    break;
+            }
+        } catch (Exception e) {
+            log.error("处理标签位图变更通知失败：message={}, error={}", message, e.getMessage(), e);
+        }
+    }
+
+    private void broadcast(char type, Long id) {
+        redisUtils.publish(RedisConstants.Tag.TAG_BITMAP_CHANNEL,
+                NODE_ID + "|" + type + (id == null ? "" : id.toString()));
+    }
+
+    private boolean removeTag(Long tagId) {
+        return index.writeIfLoaded(current -> current.removeTag(tagId), false);
+    }
+
+    private Integer rebuildLocal() {
+        TagBitmapIndex rebuilt = buildIndex();
+        index.replace(rebuilt);
+        dirty = true;
+        flush();
+        log.info("标签位图索引重建完成，标签数：{}，已发布文章数：{}", rebuilt.tagCount(), rebuilt.publishedCount());
+        return rebuilt.tagCount();
+    }
+
+    /**
+     * 按数据库最新状态替换本节点索引中的单篇文章
+     */
+    private void applyArticle(Long articleId) {
+        TbArticle article = articleMapper.selectOne(Wrappers.<TbArticle>lambdaQuery()
+                .select(TbArticle::getId, TbArticle::getStatus, TbArticle::getIsTop)
+                .eq(TbArticle::getId, articleId));
+        List<Long> tagIds = article == null ? null
+                : articleTagMapper.selectList(Wrappers.<TbArticleTag>lambdaQuery()
+                        .select(TbArticleTag::getTagId)
+                        .eq(TbArticleTag::getArticleId, articleId))
+                        .stream()
+                        .map(TbArticleTag::getTagId)
+                        .collect(Collectors.toList());
+
+        index.write(current -> {
+            if (article == null) {
+                current.removeArticle(articleId);
+            } else {
+                current.setArticle(articleId, tagIds,
+                        SystemConstants.Article.STATUS_PUBLISHED.equals(article.getStatus()),
+                        SystemConstants.Article.TOP_YES.equals(article.getIsTop()));
+            }
+        });
+    }
+
+    /**
+     * 首次访问时优先沿用Redis中的索引，不可用时从数据库构建并标记待回写
+     */
+    private TagBitmapIndex loadIndex() {
+        TagBitmapIndex loaded = readFromCache();
+        if (loaded == null) {
+            loaded = buildIndex();
+            dirty = true;
+        }
+        return loaded;
+    }
+
+    private TagBitmapIndex readFromCache() {
+        byte[] data = redisUtils.getBytes(RedisConstants.Tag.TAG_BITMAP_INDEX);
+        if (data == null) {
+            return null;
+        }
+        Object cachedWatermark = redisUtils.get(RedisConstants.Tag.TAG_BITMAP_WATERMARK);
+        String watermark = articleTagMapper.selectWatermark();
+        if (!Objects.equals(cachedWatermark, watermark)) {
+            log.info("标签位图索引缓存水位与数据库不一致，将从数据库重建：cached={}, current={}", cachedWatermark, watermark);
+            return null;
+        }
+        TagBitmapIndex cached;
+        try {
+            cached = TagBitmapIndex.deserialize(data);
+        } catch (IllegalArgumentException e) {
+            log.warn("标签位图索引缓存已损坏，将从数据库重建：error={}", e.getMessage());
+            return null;
+        }
+        // 水位只覆盖关联表，发布与置顶掩码一律按文章表重算，回写前丢失的状态变化不会沿用
+        cached.clearStatus();
+        loadStatus(cached);
+        return cached;
+    }
+
+    private TagBitmapIndex buildIndex() {
+        TagBitmapIndex built = new TagBitmapIndex();
+        List<TbArticleTag> relations = articleTagMapper.selectList(Wrappers.<TbArticleTag>lambdaQuery()
+                .select(TbArticleTag::getArticleId, TbArticleTag::getTagId));
+        for (TbArticleTag relation : relations) {
+            built.addRelation(relation.getArticleId(), relation.getTagId());
+        }
+        loadStatus(built);
+        return built;
+    }
+
+    /**
+     * 按文章表写入已发布与置顶掩码
+     */
+    private void loadStatus(TagBitmapIndex target) {
+        List<TbArticle> articles = articleMapper.selectList(Wrappers.<TbArticle>lambdaQuery()
+                .select(TbArticle::getId, TbArticle::getIsTop)
+                .eq(TbArticle::getStatus, SystemConstants.Article.STATUS_PUBLISHED));
+        for (TbArticle article : articles) {
+            target.setStatus(article.getId(), true, SystemConstants.Article.TOP_YES.equals(article.getIsTop()));
+        }
+        target.optimize();
+    }
+}
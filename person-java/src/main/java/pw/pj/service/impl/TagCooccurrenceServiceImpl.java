@@ -0,0 +1,157 @@
+package pw.pj.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pw.pj.POJO.DO.TbArticle;
+import pw.pj.POJO.DO.TbArticleTag;
+import pw.pj.common.event.ArticleChangeEvent;
+import pw.pj.common.tag.TagCooccurrence;
+import pw.pj.common.utils.GuardedSnapshot;
+import pw.pj.mapper.TbArticleMapper;
+import pw.pj.mapper.TbArticleTagMapper;
+import pw.pj.service.TagCooccurrenceService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 标签共现服务实现类
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>按文章ID顺序扫描一遍关联表构建矩阵，每篇文章的标签两两计数</li>
+ * <li>文章新建、改标签、删除的事务提交后，只对该文章新旧标签的差异调整计数</li>
+ * <li>相关度使用归一化点互信息，过滤只共现过一次的偶然组合；每日全量重建一次校正</li>
+ * </ul>
+ *
+ * <p>矩阵保存在 {@link GuardedSnapshot} 中：查询并发执行，增量调整与替换互斥。</p>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@Service
+public class TagCooccurrenceServiceImpl implements TagCooccurrenceService {
+
+    /**
+     * 参与排序的最少共现文章数
+     */
+    private static final int MIN_TOGETHER = 2;
+
+    @Autowired
+    private TbArticleMapper articleMapper;
+
+    @Autowired
+    private TbArticleTagMapper articleTagMapper;
+
+    private final GuardedSnapshot<TagCooccurrence> matrix = new GuardedSnapshot<>(this::buildMatrix);
+
+    // ==================== 事件同步 ====================
+
+    /**
+     * 文章标签可能变化后调整矩阵
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChange(ArticleChangeEvent event) {
+        switch (event.getType()) {
+            case CREATE:
+            case TAGS:
+            case DELETE:
+                refreshArticle(event.getArticleId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    // ==================== 查询 ====================
+
+    @Override
+    public List<Long> findRelatedTagIds(Long tagId, int limit) {
+        if (tagId == null) {
+            return new ArrayList<>();
+        }
+        return matrix.read(current -> current.related(tagId, limit, MIN_TOGETHER));
+    }
+
+    @Override
+    public List<Long> suggestTagIds(Collection<Long> tagIds, int limit) {
+        if (tagIds == null || tagIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return matrix.read(current -> current.suggest(tagIds, limit, MIN_TOGETHER));
+    }
+
+    // ==================== 矩阵维护 ====================
+
+    @Override
+    public void refreshArticle(Long articleId) {
+        if (articleId == null) {
+            return;
+        }
+        TbArticle article = articleMapper.selectOne(Wrappers.<TbArticle>lambdaQuery()
+                .select(TbArticle::getId)
+                .eq(TbArticle::getId, articleId));
+        List<Long> tagIds = article == null ? null
+                : articleTagMapper.selectList(Wrappers.<TbArticleTag>lambdaQuery()
+                        .select(TbArticleTag::getTagId)
+                        .eq(TbArticleTag::getArticleId, articleId))
+                        .stream()
+                        .map(TbArticleTag::getTagId)
+                        .collect(Collectors.toList());
+
+        matrix.write(current -> {
+            if (article == null) {
+                current.removeArticle(articleId);
+            } else {
+                current.setArticle(articleId, tagIds);
+            }
+        });
+    }
+
+    /**
+     * 每日全量重建一次，校正增量调整可能遗漏的变化
+     */
+    @Scheduled(cron = "0 45 3 * * ?")
+    @Override
+    public Integer rebuild() {
+        TagCooccurrence rebuilt = buildMatrix();
+        matrix.replace(rebuilt);
+        log.info("标签共现矩阵重建完成，文章数：{}", rebuilt.articleCount());
+        return rebuilt.articleCount();
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private TagCooccurrence buildMatrix() {
+        TagCooccurrence built = new TagCooccurrence();
+        List<TbArticleTag> relations = articleTagMapper.selectList(Wrappers.<TbArticleTag>lambdaQuery()
+                .select(TbArticleTag::getArticleId, TbArticleTag::getTagId)
+                .orderByAsc(TbArticleTag::getArticleId));
+
+        // 关联按文章ID有序，相邻的同一文章的关联合并为一组
+        Long currentArticleId = null;
+        List<Long> tagIds = new ArrayList<>();
+        for (TbArticleTag relation : relations) {
+            if (!relation.getArticleId().equals(currentArticleId)) {
+                if (currentArticleId != null) {
+                    built.setArticle(currentArticleId, tagIds);
+                }
+                currentArticleId = relation.getArticleId();
+                tagIds = new ArrayList<>();
+            }
+            tagIds.add(relation.getTagId());
+        }
+        if (currentArticleId != null) {
+            built.setArticle(currentArticleId, tagIds);
+        }
+        return built;
+    }
+}
@@ -0,0 +1,315 @@
+package pw.pj.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pw.pj.POJO.DO.TbArticleTag;
+import pw.pj.POJO.DO.TbTag;
+import pw.pj.common.constants.RedisConstants;
+import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.ArticleChangeEvent;
+import pw.pj.common.event.TagChangeEvent;
+import pw.pj.common.tag.TagCloud;
+import pw.pj.common.tag.TagDictionary;
+import pw.pj.common.utils.RedisUtils;
+import pw.pj.mapper.TbArticleTagMapper;
+import pw.pj.mapper.TbTagMapper;
+import pw.pj.service.ContentVersionService;
+import pw.pj.service.TagDictionaryService;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 标签字典服务实现类
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>快照由两条SQL构建：读取标签表，按标签分组统计关联文章数；启用列表与热门列表随快照预先排好序，标签云随快照算好权重</li>
+ * <li>标签新建、编辑、启用、禁用、删除与文章改标签、删除的事务提交后，提交到后台线程重建；重建期间的多次变更合并为一次</li>
+ * <li>重建完成后在Redis频道上广播本节点ID，其他节点收到后各自后台重建，自己发出的消息忽略</li>
+ * <li>每10分钟定期重建一次，热门标签排序随之反映批量写回的点击数</li>
+ * <li>读取无锁，始终看到某个完整版本的快照</li>
+ * </ul>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@Service
+public class TagDictionaryServiceImpl implements TagDictionaryService {
+
+    /**
+     * 本节点ID，用于忽略自己发出的失效通知
+     */
+    private static final String NODE_ID = UUID.randomUUID().toString();
+
+    @Autowired
+    private TbTagMapper tagMapper;
+
+    @Autowired
+    private TbArticleTagMapper articleTagMapper;
+
+    @Autowired
+    private RedisUtils redisUtils;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    /**
+     * 是否已有尚未开始的后台重建
+     */
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    /**
+     * 等待中的重建是否需要广播；合并到同一次重建的请求中只要有一个需要广播就广播
+     */
+    private final AtomicBoolean broadcastPending = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "tag-dictionary");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+
+        MessageListener listener = (message, pattern) -> {
+            String sender = new String(message.getBody(), StandardCharsets.UTF_8);
+            if (!NODE_ID.equals(sender)) {
+                scheduleRebuild(false);
+            }
+        };
+        listenerContainer.addMessageListener(listener, new ChannelTopic(RedisConstants.Tag.TAG_DICTIONARY_CHANNEL));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ==================== 事件同步 ====================
+
+    /**
+     * 标签变化后重建
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChange(TagChangeEvent event) {
+        scheduleRebuild(true);
+    }
+
+    /**
+     * 文章标签关联变化或文章删除后重建，以更新文章数
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChange(ArticleChangeEvent event) {
+        switch (event.getType()) {
+            case TAGS:
+            case DELETE:
+                scheduleRebuild(true);
+                break;
+            default:
+                break;
+        }
+    }
+
+    // ==================== 查询 ====================
+
+    @Override
+    public TbTag getTag(Long tagId) {
+        return tagId == null ? null : loadSnapshot().dictionary.get(tagId);
+    }
+
+    @Override
+    public List<TbTag> getTags(Collection<Long> tagIds) {
+        return loadSnapshot().dictionary.getAll(tagIds);
+    }
+
+    @Override
+    public List<TbTag> getEnabledTags() {
+        return loadSnapshot().enabled;
+    }
+
+    @Override
+    public List<TbTag> getPopularTags() {
+        return loadSnapshot().popular;
+    }
+
+    @Override
+    public TagCloud<TbTag> getTagCloud() {
+        return loadSnapshot().cloud;
+    }
+
+    @Override
+    public Integer getArticleCount(Long tagId) {
+        TbTag tag = getTag(tagId);
+        return tag != null && tag.getArticleCount() != null ? tag.getArticleCount() : 0;
+    }
+
+    @Override
+    public boolean existsName(String name, Long excludeId) {
+        return loadSnapshot().dictionary.containsName(name, excludeId);
+    }
+
+    @Override
+    public boolean existsSlug(String slug, Long excludeId) {
+        return loadSnapshot().dictionary.containsSlug(slug, excludeId);
+    }
+
+    @Override
+    public long getVersion() {
+        return loadSnapshot().dictionary.getVersion();
+    }
+
+    // ==================== 快照维护 ====================
+
+    @Override
+    public Integer rebuild() {
+        return rebuildAndSwap(true);
+    }
+
+    /**
+     * 定期重建，使批量写回的点击数反映到热门标签排序；各节点各自执行，不广播
+     */
+    @Scheduled(fixedDelay = 10 * 60 * 1000, initialDelay = 10 * 60 * 1000)
+    public void refreshScheduled() {
+        scheduleRebuild(false);
+    }
+
+    /**
+     * 提交后台重建，已有等待中的重建时直接合并
+     *
+     * @param broadcast 重建后是否通知其他节点
+     */
+    private void scheduleRebuild(boolean broadcast) {
+        if (broadcast) {
+            broadcastPending.set(true);
+        }
+        if (!rebuildPending.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            rebuildPending.set(false);
+            try {
+                rebuildAndSwap(broadcastPending.getAndSet(false));
+            } catch (Exception e) {
+                log.error("标签字典重建失败：error={}", e.getMessage(), e);
+            }
+        });
+    }
+
+    private synchronized Integer rebuildAndSwap(boolean broadcast) {
+        snapshot = buildSnapshot();
+        // 快照在事务提交后异步替换，替换完成再推进版本，避免响应缓存记下旧快照的结果
+        contentVersionService.bump(ContentVersionService.SCOPE_TAXONOMY);
+        if (broadcast) {
+            redisUtils.publish(RedisConstants.Tag.TAG_DICTIONARY_CHANNEL, NODE_ID);
+        }
+        log.debug("标签字典重建完成，版本：{}，标签数：{}", snapshot.dictionary.getVersion(), snapshot.dictionary.size());
+        return snapshot.dictionary.size();
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private Snapshot loadSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = buildSnapshot();
+            }
+            return snapshot;
+        }
+    }
+
+    private Snapshot buildSnapshot() {
+        List<TbTag> tags = tagMapper.selectList(Wrappers.<TbTag>lambdaQuery());
+        List<Map<String, Object>> rows = articleTagMapper.selectMaps(Wrappers.<TbArticleTag>query()
+                .select("tag_id", "COUNT(*) AS article_count")
+                .groupBy("tag_id"));
+        Map<Long, Integer> counts = new HashMap<>(rows.size() * 2);
+        for (Map<String, Object> row : rows) {
+            counts.put(((Number) row.get("tag_id")).longValue(), ((Number) row.get("article_count")).intValue());
+        }
+        for (TbTag tag : tags) {
+            tag.setArticleCount(counts.getOrDefault(tag.getId(), 0));
+        }
+
+        TagDictionary<TbTag> dictionary = TagDictionary.of(versionSequence.incrementAndGet(), tags,
+                TbTag::getId, TbTag::getName, TbTag::getSlug);
+        List<TbTag> enabled = dictionary.values().stream()
+                .filter(tag -> SystemConstants.Tag.STATUS_ENABLED.equals(tag.getStatus()))
+                .sorted(Comparator.comparing(TbTag::getArticleCount).reversed()
+                        .thenComparing(TbTag::getSortOrder, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+        List<TbTag> popular = enabled.stream()
+                .filter(tag -> tag.getArticleCount() > 0)
+                .sorted(Comparator.comparing(TbTag::getArticleCount).reversed()
+                        .thenComparing(TbTag::getClickCount, Comparator.nullsLast(Comparator.reverseOrder())))
+                .collect(Collectors.toList());
+        TagCloud<TbTag> cloud = TagCloud.of(popular, SystemConstants.Tag.CLOUD_TAG_LIMIT, TbTag::getArticleCount,
+                Comparator.comparing(TbTag::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                        .thenComparing(TbTag::getId));
+        return new Snapshot(dictionary, Collections.unmodifiableList(enabled), Collections.unmodifiableList(popular),
+                cloud);
+    }
+
+    // ==================== 内部类 ====================
+
+    /**
+     * 标签快照，构建后不再修改
+     */
+    private static final class Snapshot {
+
+        private final TagDictionary<TbTag> dictionary;
+
+        private final List<TbTag> enabled;
+
+        private final List<TbTag> popular;
+
+        private final TagCloud<TbTag> cloud;
+
+        private Snapshot(TagDictionary<TbTag> dictionary, List<TbTag> enabled, List<TbTag> popular,
+                TagCloud<TbTag> cloud) {
+            this.dictionary = dictionary;
+            this.enabled = enabled;
+            this.popular = popular;
+            this.cloud = cloud;
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package pw.pj.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.ObjectUtils;
+import pw.pj.POJO.DO.TbArticle;
+import pw.pj.POJO.DO.TbArticleCard;
+import pw.pj.POJO.DO.TbArticleTag;
+import pw.pj.POJO.DO.TbCategory;
+import pw.pj.POJO.DO.TbTag;
+import pw.pj.POJO.VO.ArticleSimpleVO;
+import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.ArticleChangeEvent;
+import pw.pj.common.event.CategoryChangeEvent;
+import pw.pj.common.event.TagChangeEvent;
+import pw.pj.common.utils.DateTimeUtils;
+import pw.pj.mapper.TbArticleCardMapper;
+import pw.pj.mapper.TbArticleMapper;
+import pw.pj.mapper.TbArticleTagMapper;
+import pw.pj.mapper.TbCategoryMapper;
+import pw.pj.mapper.TbTagMapper;
+import pw.pj.service.TbArticleCardService;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 文章卡片服务实现类
+ *
+ * <p>功能特性：</p>
+ * <ul>
+ * <li>文章、分类、标签及文章标签关联的写操作提交后，按事件增量刷新受影响的卡片</li>
+ * <li>刷新只读取文章表的列表字段，不加载正文，整行以 INSERT ... ON DUPLICATE KEY UPDATE 覆盖</li>
+ * <li>浏览量、点赞数随文章表同步累加，避免为计数变化重建卡片</li>
+ * <li>启动时卡片表为空则从文章表全量重建</li>
+ * </ul>
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@Slf4j
+@Service
+public class TbArticleCardServiceImpl extends ServiceImpl<TbArticleCardMapper, TbArticleCard>
+        implements TbArticleCardService {
+
+    /**
+     * 卡片摘要最大长度
+     */
+    private static final int SUMMARY_MAX_LENGTH = 500;
+
+    /**
+     * 全量重建时每批读取的文章数
+     */
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    @Autowired
+    private TbArticleMapper articleMapper;
+
+    @Autowired
+    private TbCategoryMapper categoryMapper;
+
+    @Autowired
+    private TbTagMapper tagMapper;
+
+    @Autowired
+    private TbArticleTagMapper articleTagMapper;
+
+    // ==================== 事件同步 ====================
+
+    /**
+     * 启动时卡片表为空则全量重建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initCards() {
+        try {
+            if (count() == 0) {
+                Integer rebuilt = rebuildCards();
+                log.info("文章卡片表为空，已从文章表重建，卡片数：{}", rebuilt);
+            }
+        } catch (Exception e) {
+            log.error("文章卡片初始化失败：error={}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 文章或其标签关联变更后刷新卡片
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChange(ArticleChangeEvent event) {
+        refreshCards(Collections.singletonList(event.getArticleId()));
+    }
+
+    /**
+     * 分类变更后同步冗余的分类名称
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChange(CategoryChangeEvent event) {
+        TbCategory category = categoryMapper.selectById(event.getCategoryId());
+        lambdaUpdate()
+                .eq(TbArticleCard::getCategoryId, event.getCategoryId())
+                .set(TbArticleCard::getCategoryName, category != null ? category.getName() : null)
+                .update();
+    }
+
+    /**
+     * 标签变更后刷新关联文章的卡片
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChange(TagChangeEvent event) {
+        List<Long> articleIds = articleTagMapper.selectList(Wrappers.<TbArticleTag>lambdaQuery()
+                        .select(TbArticleTag::getArticleId)
+                        .eq(TbArticleTag::getTagId, event.getTagId()))
+                .stream()
+                .map(TbArticleTag::getArticleId)
+                .distinct()
+                .collect(Collectors.toList());
+        refreshCards(articleIds);
+    }
+
+    // ==================== 卡片同步 ====================
+
+    @Override
+    public void refreshCards(Collection<Long> articleIds) {
+        if (ObjectUtils.isEmpty(articleIds)) {
+            return;
+        }
+        List<TbArticle> articles = articleMapper.selectList(cardColumns()
+                .in(TbArticle::getId, articleIds)
+                .eq(TbArticle::getStatus, SystemConstants.Article.STATUS_PUBLISHED));
+
+        Set<Long> publishedIds = articles.stream().map(TbArticle::getId).collect(Collectors.toSet());
+        List<Long> staleIds = articleIds.stream()
+                .filter(id -> id != null && !publishedIds.contains(id))
+                .collect(Collectors.toList());
+        if (!staleIds.isEmpty()) {
+            removeByIds(staleIds);
+        }
+        upsertCards(articles);
+    }
+
+    @Override
+    public Integer rebuildCards() {
+        log.info("开始全量重建文章卡片");
+        int total = 0;
+        long lastId = 0;
+        while (true) {
+            List<TbArticle> batch = articleMapper.selectList(cardColumns()
+                    .eq(TbArticle::getStatus, SystemConstants.Article.STATUS_PUBLISHED)
+                    .gt(TbArticle::getId, lastId)
+                    .orderByAsc(TbArticle::getId)
+                    .last("LIMIT " + REBUILD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            upsertCards(batch);
+            total += batch.size();
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+
+        // 清理已取消发布或已删除文章遗留的卡片
+        baseMapper.deleteStale(SystemConstants.Article.STATUS_PUBLISHED);
+
+        log.info("文章卡片重建完成，卡片数：{}", total);
+        return total;
+    }
+
+    @Override
+    public void incrementViewCount(Long articleId) {
+        lambdaUpdate()
+                .eq(TbArticleCard::getArticleId, articleId)
+                .setSql("view_count = view_count + 1")
+                .update();
+    }
+
+    @Override
+    public void adjustLikeCount(Long articleId, int delta) {
+        lambdaUpdate()
+                .eq(TbArticleCard::getArticleId, articleId)
+                .setSql("like_count = GREATEST(like_count + " + delta + ", 0)")
+                .update();
+    }
+
+    // ==================== 列表查询 ====================
+
+    @Override
+    public List<TbArticleCard> listByTagCursor(Long tagId, long[] cursor, int limit) {
+        if (cursor == null) {
+            return baseMapper.selectByTagCursor(tagId, null, null, null, limit);
+        }
+        return baseMapper.selectByTagCursor(tagId, (int) cursor[0], new Date(cursor[1]), cursor[2], limit);
+    }
+
+    @Override
+    public long countByTag(Long tagId) {
+        return baseMapper.countByTag(tagId);
+    }
+
+    // ==================== 数据转换 ====================
+
+    @Override
+    public ArticleSimpleVO convertToSimpleVO(TbArticleCard card) {
+        if (card == null) {
+            return null;
+        }
+
+        ArticleSimpleVO articleSimpleVO = new ArticleSimpleVO();
+        articleSimpleVO.setId(card.getArticleId());
+        articleSimpleVO.setTitle(card.getTitle());
+        articleSimpleVO.setSummary(card.getSummary());
+        articleSimpleVO.setCoverImage(card.getCoverImage());
+        articleSimpleVO.setStatus(SystemConstants.Article.STATUS_PUBLISHED);
+        articleSimpleVO.setIsTop(card.getIsTop());
+        articleSimpleVO.setIsRecommend(card.getIsRecommend());
+        articleSimpleVO.setCategoryName(card.getCategoryName());
+        articleSimpleVO.setTagNames(card.getTagNames());
+        articleSimpleVO.setViewCount(card.getViewCount());
+        articleSimpleVO.setLikeCount(card.getLikeCount());
+        articleSimpleVO.setCommentCount(card.getCommentCount());
+        articleSimpleVO.setCollectCount(card.getCollectCount());
+        articleSimpleVO.setWordCount(card.getWordCount());
+        articleSimpleVO.setReadingTime(card.getReadingTime());
+        articleSimpleVO.setCreateTime(DateTimeUtils.toLocalDateTime(card.getCreateTime()));
+        articleSimpleVO.setPublishTime(DateTimeUtils.toLocalDateTime(card.getPublishedTime()));
+        return articleSimpleVO;
+    }
+
+    @Override
+    public List<ArticleSimpleVO> convertToSimpleVOList(List<TbArticleCard> cards) {
+        if (ObjectUtils.isEmpty(cards)) {
+            return new ArrayList<>();
+        }
+
+        return cards.stream()
+                .map(this::convertToSimpleVO)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    /**
+     * 只查询卡片需要的文章列，不读取正文
+     */
+    private LambdaQueryWrapper<TbArticle> cardColumns() {
+        return Wrappers.<TbArticle>lambdaQuery().select(TbArticle::getId, TbArticle::getTitle,
+                TbArticle::getSummary, TbArticle::getCoverImage, TbArticle::getAuthorId,
+                TbArticle::getCategoryId, TbArticle::getStatus, TbArticle::getIsTop, TbArticle::getIsRecommend,
+                TbArticle::getViewCount, TbArticle::getLikeCount, TbArticle::getCommentCount,
+                TbArticle::getCollectCount, TbArticle::getWordCount, TbArticle::getReadingTime,
+                TbArticle::getPublishedTime, TbArticle::getCreateTime);
+    }
+
+    /**
+     * 批量组装并写入卡片，分类名与标签名各一次批量查询
+     */
+    private void upsertCards(List<TbArticle> articles) {
+        if (articles.isEmpty()) {
+            return;
+        }
+
+        Set<Long> categoryIds = articles.stream()
+                .map(TbArticle::getCategoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, String> categoryNames = categoryIds.isEmpty() ? Collections.emptyMap()
+                : categoryMapper.selectBatchIds(categoryIds).stream()
+                        .collect(Collectors.toMap(TbCategory::getId, TbCategory::getName, (a, b) -> a));
+
+        List<Long> articleIds = articles.stream().map(TbArticle::getId).collect(Collectors.toList());
+        Map<Long, List<String>> tagNames = loadTagNames(articleIds);
+
+        List<TbArticleCard> cards = articles.stream()
+                .map(article -> buildCard(article, categoryNames.get(article.getCategoryId()),
+                        tagNames.getOrDefault(article.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+        baseMapper.upsertBatch(cards);
+    }
+
+    /**
+     * 批量加载文章的已启用标签名称，按标签排序值排列
+     */
+    private Map<Long, List<String>> loadTagNames(List<Long> articleIds) {
+        List<TbArticleTag> relations = articleTagMapper.selectList(Wrappers.<TbArticleTag>lambdaQuery()
+                .select(TbArticleTag::getArticleId, TbArticleTag::getTagId)
+                .in(TbArticleTag::getArticleId, articleIds));
+        if (relations.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Set<Long> tagIds = relations.stream().map(TbArticleTag::getTagId).collect(Collectors.toSet());
+        List<TbTag> tags = tagMapper.selectList(Wrappers.<TbTag>lambdaQuery()
+                .select(TbTag::getId, TbTag::getName, TbTag::getSortOrder)
+                .in(TbTag::getId, tagIds)
+                .eq(TbTag::getStatus, SystemConstants.Tag.STATUS_ENABLED)
+                .orderByAsc(TbTag::getSortOrder));
+        Map<Long, Integer> tagOrder = new HashMap<>(tags.size() * 2);
+        Map<Long, String> tagNameById = new HashMap<>(tags.size() * 2);
+        for (int i = 0; i < tags.size(); i++) {
+            tagOrder.put(tags.get(i).getId(), i);
+            tagNameById.put(tags.get(i).getId(), tags.get(i).getName());
+        }
+
+        Map<Long, List<String>> result = new HashMap<>();
+        relations.stream()
+                .filter(relation -> tagNameById.containsKey(relation.getTagId()))
+                .sorted(Comparator.comparing(relation -> tagOrder.get(relation.getTagId())))
+                .forEach(relation -> result.computeIfAbsent(relation.getArticleId(), id -> new ArrayList<>())
+                        .add(tagNameById.get(relation.getTagId())));
+        return result;
+    }
+
+    private TbArticleCard buildCard(TbArticle article, String categoryName, List<String> tagNames) {
+        TbArticleCard card = new TbArticleCard();
+        card.setArticleId(article.getId());
+        card.setTitle(article.getTitle());
+        String summary = article.getSummary();
+        card.setSummary(summary != null && summary.length() > SUMMARY_MAX_LENGTH
+                ? summary.substring(0, SUMMARY_MAX_LENGTH)
+                : summary);
+        card.setCoverImage(article.getCoverImage());
+        card.setAuthorId(article.getAuthorId());
+        card.setCategoryId(article.getCategoryId());
+        card.setCategoryName(categoryName);
+        card.setTagNames(tagNames);
+        card.setIsTop(article.getIsTop() != null ? article.getIsTop() : 0);
+        card.setIsRecommend(article.getIsRecommend() != null ? article.getIsRecommend() : 0);
+        card.setViewCount(article.getViewCount());
+        card.setLikeCount(article.getLikeCount());
+        card.setCommentCount(article.getCommentCount());
+        card.setCollectCount(article.getCollectCount());
+        card.setWordCount(article.getWordCount());
+        card.setReadingTime(article.getReadingTime());
+        card.setPublishedTime(article.getPublishedTime());
+        card.setCreateTime(article.getCreateTime());
+        return card;
+    }
+}
@@ -6,25 +6,35 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ObjectUtils;
 import pw.pj.POJO.DO.TbArticle;
+import pw.pj.POJO.DO.TbArticleCard;
 import pw.pj.POJO.DO.TbArticleTag;
 import pw.pj.POJO.DO.TbCategory;
 import pw.pj.POJO.DO.TbTag;
 import pw.pj.POJO.VO.*;
+import pw.pj.common.bitmap.TagFilter;
+import pw.pj.common.compress.BodyCodec;
 import pw.pj.common.constants.RedisConstants;
 import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.ArticleChangeEvent;
 import pw.pj.common.exception.BusinessException;
+import pw.pj.common.result.CursorPageResult;
 import pw.pj.common.result.PageResult;
 import pw.pj.common.result.ResultEnum;
+import pw.pj.common.utils.CursorUtils;
 import pw.pj.common.utils.RedisUtils;
 import pw.pj.common.utils.StringUtils;
 import pw.pj.mapper.TbArticleMapper;
 import pw.pj.service.*;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -50,6 +60,27 @@ public class TbArticleServiceImpl extends ServiceImpl<TbArticleMapper, TbArticle
     @Autowired
     private RedisUtils redisUtils;
 
+    @Autowired
+    private ArticleSearchService articleSearchService;
+
+    @Autowired
+    private TbArticleCardService articleCardService;
+
+    @Autowired
+    private ArticleRenderService articleRenderService;
+
+    @Autowired
+    private ArticleRankingService articleRankingService;
+
+    @Autowired
+    private TagBitmapService tagBitmapService;
+
+    @Autowired
+    private CategoryTreeService categoryTreeService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // ==================== 文章CRUD操作 ====================
 
     @Override
@@ -79,8 +110,8 @@ public class TbArticleServiceImpl extends ServiceImpl<TbArticleMapper, TbArticle
             articleTagService.addTagsToArticle(article.getId(), articleCreateVO.getTagIds());
         }
 
-        // 5. 清除相关缓存
-        clearArticleCache();
+        // 5. 通知卡片、榜单等派生数据更新
+        eventPublisher.publishEvent(new ArticleChangeEvent(article.getId(), ArticleChangeEvent.ChangeType.CREATE));
 
         log.info("文章创建成功，文章ID：{}", article.getId());
         return convertToVO(article);
@@ -116,17 +147,13 @@ public class TbArticleServiceImpl extends ServiceImpl<TbArticleMapper, TbArticle
 
         // 5. 处理标签更新
         if (articleUpdateVO.getTagIds() != null) {
-            // 先删除现有标签关联
-            articleTagService.removeAllTagsFromArticle(articleId);
-            // 再添加新的标签关联
-            if (!ObjectUtils.isEmpty(articleUpdateVO.getTagIds())) {
-                articleTagService.addTagsToArticle(articleId, articleUpdateVO.getTagIds());
-            }
+            // 只写入与现有标签关联的差异
+            articleTagService.updateArticleTags(articleId, articleUpdateVO.getTagIds());
         }
 
         // 6. 清除相关缓存
-        clearArticleCache();
         clearArticleDetailCache(articleId);
+        eventPublisher.publishEvent(new ArticleChangeEvent(articleId, ArticleChangeEvent.ChangeType.UPDATE));
 
         log.info("文章更新成功，文章ID：{}", articleId);
         return convertToVO(article);
@@ -138,11 +165,18 @@ public class TbArticleServiceImpl extends ServiceImpl<TbArticleMapper, TbArticle
             return null;
         }
 
-        // 1. 尝试从缓存获取
+        // 1. 尝试从缓存获取：详情与压缩正文分开存放，命中后才解压正文
         String cacheKey = RedisConstants.Article.ARTICLE_DETAIL + articleId;
+        String bodyKey = RedisConstants.Article.ARTICLE_BODY + articleId;
         ArticleVO cachedArticle = redisUtils.get(cacheKey, ArticleVO.class);
         if (cachedArticle != null) {
-            return cachedArticle;
+            byte[] cachedBody = redisUtils.getBytes(bodyKey);
+            if (cachedBody != null) {
+                String[] bodies = BodyCodec.decodeAll(cachedBody, 2);
+                cachedArticle.setContent(bodies[0]);
+                cachedArticle.setContentHtml(bodies[1]);
+                return cachedArticle;
+            }
         }
 
         // 2. 从数据库查询
@@ -158,8 +192,15 @@ public class TbArticleServiceImpl extends ServiceImpl<TbArticleMapper, TbArticle
         // 3. 转换为VO
         ArticleVO articleVO = convertToVO(article);
 
-        // 4. 缓存结果
+        // 4. 缓存结果：先写正文，详情中不重复保存正文
+        String content = articleVO.getContent();
+        String contentHtml = articleVO.getContentHtml();
+        redisUtils.setBytes(bodyKey, BodyCodec.encodeAll(content, contentHtml), SystemConstants.Cache.EXPIRE_HOUR);
+        articleVO.setContent(null);
+        articleVO.setContentHtml(null);
         redisUtils.set(cacheKey, articleVO, SystemConstants.Cache.EXPIRE_HOUR);
+        articleVO.setContent(content);
+        articleVO.setContentHtml(contentHtml);
 
         return articleVO;
     }
@@ -187,8 +228,8 @@ public class TbArticleServiceImpl extends ServiceImpl<TbArticleMapper, TbArticle
             articleTagService.removeAllTagsFromArticle(articleId);
 
             // 4. 清除相关缓存
-            clearArticleCache();
             clearArticleDetailCache(articleId);
+            eventPublisher.publishEvent(new ArticleChangeEvent(articleId, ArticleChangeEvent.ChangeType.DELETE));
 
             log.info("文章删除成功，文章ID：{}", articleId);
         }
@@ -200,87 +241,89 @@ public class TbArticleServiceImpl extends ServiceImpl<TbArticleMapper, TbArticle
 
     @Override
     public PageResult<ArticleSimpleVO> getArticleList(PageQueryVO pageQueryVO) {
-        LambdaQueryWrapper<TbArticle> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(TbArticle::getIsDelete, 0)
-                .eq(TbArticle::getStatus, SystemConstants.Article.STATUS_PUBLISHED)
-                .orderByDesc(TbArticle::getIsTop)
-                .orderByDesc(TbArticle::getCreateTime);
+        // 列表只读文章卡片，卡片表仅含已发布文章
+        LambdaQueryWrapper<TbArticleCard> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.orderByDesc(TbArticleCard::getIsTop)
+                .orderByDesc(TbArticleCard::getCreateTime);
 
         // 关键词搜索
         if (StringUtils.isNotBlank(pageQueryVO.getKeyword())) {
-            queryWrapper.like(TbArticle::getTitle, pageQueryVO.getKeyword())
-                    .or().like(TbArticle::getSummary, pageQueryVO.getKeyword());
+            queryWrapper.and(keyword -> keyword.like(TbArticleCard::getTitle, pageQueryVO.getKeyword())
+                    .or().like(TbArticleCard::getSummary, pageQueryVO.getKeyword()));
         }
 
-        Page<TbArticle> page = new Page<>(pageQueryVO.getPageNum(), pageQueryVO.getPageSize());
-        Page<TbArticle> resultPage = page(page, queryWrapper);
-
-        List<ArticleSimpleVO> articleVOList = convertToSimpleVOList(resultPage.getRecords());
-        return PageResult.of(articleVOList, resultPage.getTotal(),
-                pageQueryVO.getPageNum(), pageQueryVO.getPageSize());
+        return pageCards(queryWrapper, pageQueryVO);
     }
 
     @Override
     public PageResult<ArticleSimpleVO> getArticlesByCategory(Long categoryId, PageQueryVO pageQueryVO) {
-        LambdaQueryWrapper<TbArticle> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(TbArticle::getCategoryId, categoryId)
-                .eq(TbArticle::getIsDelete, 0)
-                .eq(TbArticle::getStatus, SystemConstants.Article.STATUS_PUBLISHED)
-                .orderByDesc(TbArticle::getIsTop)
-                .orderByDesc(TbArticle::getCreateTime);
+        // 包含全部子分类：后代ID由内存中的分类树展开，一次按分类索引查询
+        LambdaQueryWrapper<TbArticleCard> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.in(TbArticleCard::getCategoryId, categoryTreeService.getSubtreeIds(categoryId))
+                .orderByDesc(TbArticleCard::getIsTop)
+                .orderByDesc(TbArticleCard::getCreateTime);
 
-        Page<TbArticle> page = new Page<>(pageQueryVO.getPageNum(), pageQueryVO.getPageSize());
-        Page<TbArticle> resultPage = page(page, queryWrapper);
-
-        List<ArticleSimpleVO> articleVOList = convertToSimpleVOList(resultPage.getRecords());
-        return PageResult.of(articleVOList, resultPage.getTotal(),
-                pageQueryVO.getPageNum(), pageQueryVO.getPageSize());
+        return pageCards(queryWrapper, pageQueryVO);
     }
 
     @Override
     public PageResult<ArticleSimpleVO> getArticlesByTag(Long tagId, PageQueryVO pageQueryVO) {
-        // 通过文章标签关联表查询
-        List<Long> articleIds = articleTagService.getArticleIdsByTagId(tagId);
+        return getArticlesByTagFilter(TagFilter.of(tagId), pageQueryVO);
+    }
+
+    @Override
+    public PageResult<ArticleSimpleVO> getArticlesByTagFilter(TagFilter filter, PageQueryVO pageQueryVO) {
+        // 由标签位图索引计算命中集合与当前页ID，只有当前页回表
+        PageResult<Long> idPage = tagBitmapService.findArticleIds(filter, pageQueryVO.getPageNum(),
+                pageQueryVO.getPageSize());
+        List<Long> articleIds = idPage.getRecords();
         if (ObjectUtils.isEmpty(articleIds)) {
-            return PageResult.empty(pageQueryVO.getPageNum(), pageQueryVO.getPageSize());
+            return PageResult.of(new ArrayList<>(), idPage.getTotal(), pageQueryVO.getPageNum(),
+                    pageQueryVO.getPageSize());
         }
 
-        LambdaQueryWrapper<TbArticle> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.in(TbArticle::getId, articleIds)
-                .eq(TbArticle::getIsDelete, 0)
-                .eq(TbArticle::getStatus, SystemConstants.Article.STATUS_PUBLISHED)
-                .orderByDesc(TbArticle::getIsTop)
-                .orderByDesc(TbArticle::getCreateTime);
-
-        Page<TbArticle> page = new Page<>(pageQueryVO.getPageNum(), pageQueryVO.getPageSize());
-        Page<TbArticle> resultPage = page(page, queryWrapper);
-
-        List<ArticleSimpleVO> articleVOList = convertToSimpleVOList(resultPage.getRecords());
-        return PageResult.of(articleVOList, resultPage.getTotal(),
+        Map<Long, TbArticleCard> cards = articleCardService.listByIds(articleIds).stream()
+                .collect(Collectors.toMap(TbArticleCard::getArticleId, Function.identity()));
+        List<TbArticleCard> ordered = articleIds.stream()
+                .map(cards::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return PageResult.of(articleCardService.convertToSimpleVOList(ordered), idPage.getTotal(),
                 pageQueryVO.getPageNum(), pageQueryVO.getPageSize());
     }
 
     @Override
     public PageResult<ArticleSimpleVO> searchArticles(String keyword, PageQueryVO pageQueryVO) {
-        if (StringUtils.isBlank(keyword)) {
-            return PageResult.empty(pageQueryVO.getPageNum(), pageQueryVO.getPageSize());
-        }
+        // 由进程内倒排索引检索，避免对正文做LIKE全表扫描
+        return articleSearchService.searchArticles(keyword, pageQueryVO.getPageNum(), pageQueryVO.getPageSize());
+    }
 
-        LambdaQueryWrapper<TbArticle> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(TbArticle::getIsDelete, 0)
-                .eq(TbArticle::getStatus, SystemConstants.Article.STATUS_PUBLISHED)
-                .and(wrapper -> wrapper.like(TbArticle::getTitle, keyword)
-                        .or().like(TbArticle::getSummary, keyword)
-                        .or().like(TbArticle::getContent, keyword))
-                .orderByDesc(TbArticle::getViewCount)
-                .orderByDesc(TbArticle::getCreateTime);
+    // ==================== 游标分页查询 ====================
 
-        Page<TbArticle> page = new Page<>(pageQueryVO.getPageNum(), pageQueryVO.getPageSize());
-        Page<TbArticle> resultPage = page(page, queryWrapper);
+    @Override
+    public CursorPageResult<ArticleSimpleVO> getArticleListByCursor(CursorQueryVO cursorQueryVO) {
+        return queryPublishedByCursor(queryWrapper -> {
+        }, "all", cursorQueryVO);
+    }
 
-        List<ArticleSimpleVO> articleVOList = convertToSimpleVOList(resultPage.getRecords());
-        return PageResult.of(articleVOList, resultPage.getTotal(),
-                pageQueryVO.getPageNum(), pageQueryVO.getPageSize());
+    @Override
+    public CursorPageResult<ArticleSimpleVO> getArticlesByCategoryCursor(Long categoryId,
+            CursorQueryVO cursorQueryVO) {
+        List<Long> categoryIds = categoryTreeService.getSubtreeIds(categoryId);
+        return queryPublishedByCursor(queryWrapper -> queryWrapper.in(TbArticleCard::getCategoryId, categoryIds),
+                "category:" + categoryId, cursorQueryVO);
+    }
+
+    @Override
+    public CursorPageResult<ArticleSimpleVO> getArticlesByTagCursor(Long tagId, CursorQueryVO cursorQueryVO) {
+        // 标签条件以子查询写在Mapper XML中，避免把标签下的全部文章ID拼进IN列表
+        long[] cursor = CursorUtils.decode(cursorQueryVO.getCursor(), 3);
+        int size = cursorQueryVO.getSize();
+        List<TbArticleCard> cards = articleCardService.listByTagCursor(tagId, cursor, size + 1);
+        Long total = Boolean.TRUE.equals(cursorQueryVO.getWithTotal())
+                ? getApproximateTotal("tag:" + tagId, () -> articleCardService.countByTag(tagId))
+                : null;
+        return toCursorPage(cards, size, total);
     }
 
     // ==================== 文章状态管理 ====================
@@ -299,8 +342,8 @@ public class TbArticleServiceImpl extends ServiceImpl<TbArticleMapper, TbArticle
                 .update();
 
         if (updated) {
-            clearArticleCache();
             clearArticleDetailCache(articleId);
+            eventPublisher.publishEvent(new ArticleChangeEvent(articleId, ArticleChangeEvent.ChangeType.PUBLISH));
             log.info("文章发布成功，文章ID：{}", articleId);
         }
 
@@ -320,8 +363,8 @@ public class TbArticleServiceImpl extends ServiceImpl<TbArticleMapper, TbArticle
                 .update();
 
         if (updated) {
-            clearArticleCache();
             clearArticleDetailCache(articleId);
+            eventPublisher.publishEvent(new ArticleChangeEvent(articleId, ArticleChangeEvent.ChangeType.UNPUBLISH));
             log.info("文章取消发布成功，文章ID：{}", articleId);
         }
 
@@ -341,8 +384,8 @@ public class TbArticleServiceImpl extends ServiceImpl<TbArticleMapper, TbArticle
                 .update();
 
         if (updated) {
-            clearArticleCache();
             clearArticleDetailCache(articleId);
+            eventPublisher.publishEvent(new ArticleChangeEvent(articleId, ArticleChangeEvent.ChangeType.TOP));
             log.info("文章置顶成功，文章ID：{}", articleId);
         }
 
@@ -362,8 +405,8 @@ public class TbArticleServiceImpl extends ServiceImpl<TbArticleMapper, TbArticle
                 .update();
 
         if (updated) {
-            clearArticleCache();
             clearArticleDetailCache(articleId);
+            eventPublisher.publishEvent(new ArticleChangeEvent(articleId, ArticleChangeEvent.ChangeType.TOP));
             log.info("文章取消置顶成功，文章ID：{}", articleId);
         }
 
@@ -386,9 +429,7 @@ public class TbArticleServiceImpl extends ServiceImpl<TbArticleMapper, TbArticle
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Boolean removeArticleTags(Long articleId, List<Long> tagIds) {
-        for (Long tagId : tagIds) {
-            articleTagService.removeTagFromArticle(articleId, tagId);
-        }
+        articleTagService.removeTagsFromArticle(articleId, tagIds);
         return true;
     }
 
@@ -396,69 +437,18 @@ public class TbArticleServiceImpl extends ServiceImpl<TbArticleMapper, TbArticle
 
     @Override
     public List<ArticleSimpleVO> getHotArticles(Integer limit) {
-        String cacheKey = RedisConstants.Article.HOT_ARTICLES + limit;
-        List<ArticleSimpleVO> cachedArticles = redisUtils.get(cacheKey, List.class);
-        if (cachedArticles != null) {
-            return cachedArticles;
-        }
-
-        List<TbArticle> articles = lambdaQuery()
-                .eq(TbArticle::getIsDelete, 0)
-                .eq(TbArticle::getStatus, SystemConstants.Article.STATUS_PUBLISHED)
-                .orderByDesc(TbArticle::getViewCount)
-                .orderByDesc(TbArticle::getLikeCount)
-                .last("LIMIT " + limit)
-                .list();
-
-        List<ArticleSimpleVO> articleVOList = convertToSimpleVOList(articles);
-        redisUtils.set(cacheKey, articleVOList, SystemConstants.Cache.HOT_DATA_EXPIRE);
-
-        return articleVOList;
+        // 从排行有序集合切片，任意limit共用同一个榜单
+        return articleRankingService.getHotArticles(limit);
     }
 
     @Override
     public List<ArticleSimpleVO> getRecentArticles(Integer limit) {
-        String cacheKey = RedisConstants.Article.RECENT_ARTICLES + limit;
-        List<ArticleSimpleVO> cachedArticles = redisUtils.get(cacheKey, List.class);
-        if (cachedArticles != null) {
-            return cachedArticles;
-        }
-
-        List<TbArticle> articles = lambdaQuery()
-                .eq(TbArticle::getIsDelete, 0)
-                .eq(TbArticle::getStatus, SystemConstants.Article.STATUS_PUBLISHED)
-                .orderByDesc(TbArticle::getPublishedTime)
-                .orderByDesc(TbArticle::getCreateTime)
-                .last("LIMIT " + limit)
-                .list();
-
-        List<ArticleSimpleVO> articleVOList = convertToSimpleVOList(articles);
-        redisUtils.set(cacheKey, articleVOList, SystemConstants.Cache.HOT_DATA_EXPIRE);
-
-        return articleVOList;
+        return articleRankingService.getRecentArticles(limit);
     }
 
     @Override
     public List<ArticleSimpleVO> getRecommendArticles(Integer limit) {
-        String cacheKey = RedisConstants.Article.RECOMMEND_ARTICLES + limit;
-        List<ArticleSimpleVO> cachedArticles = redisUtils.get(cacheKey, List.class);
-        if (cachedArticles != null) {
-            return cachedArticles;
-        }
-
-        List<TbArticle> articles = lambdaQuery()
-                .eq(TbArticle::getIsDelete, 0)
-                .eq(TbArticle::getStatus, SystemConstants.Article.STATUS_PUBLISHED)
-                .eq(TbArticle::getIsRecommend, SystemConstants.Article.RECOMMEND_YES)
-                .orderByDesc(TbArticle::getViewCount)
-                .orderByDesc(TbArticle::getCreateTime)
-                .last("LIMIT " + limit)
-                .list();
-
-        List<ArticleSimpleVO> articleVOList = convertToSimpleVOList(articles);
-        redisUtils.set(cacheKey, articleVOList, SystemConstants.Cache.HOT_DATA_EXPIRE);
-
-        return articleVOList;
+        return articleRankingService.getRecommendArticles(limit);
     }
 
     @Override
@@ -469,9 +459,13 @@ public class TbArticleServiceImpl extends ServiceImpl<TbArticleMapper, TbArticle
                 .eq(TbArticle::getId, articleId)
                 .eq(TbArticle::getIsDelete, 0)
                 .setSql("view_count = view_count + 1")
+                // 计数不属于内容变更，保持更新时间不变
+                .setSql("update_time = update_time")
                 .update();
 
         if (updated) {
+            articleCardService.incrementViewCount(articleId);
+            articleRankingService.recordView(articleId);
             // 清除文章详情缓存，确保获取最新浏览量
             clearArticleDetailCache(articleId);
         }
@@ -487,11 +481,14 @@ public class TbArticleServiceImpl extends ServiceImpl<TbArticleMapper, TbArticle
                 .eq(TbArticle::getId, articleId)
                 .eq(TbArticle::getIsDelete, 0)
                 .setSql("like_count = like_count + 1")
+                // 计数不属于内容变更，保持更新时间不变
+                .setSql("update_time = update_time")
                 .update();
 
         if (updated) {
+            articleCardService.adjustLikeCount(articleId, 1);
+            articleRankingService.recordLike(articleId, 1);
             clearArticleDetailCache(articleId);
-            clearArticleCache(); // 清除热门文章缓存
         }
 
         return updated;
@@ -505,11 +502,14 @@ public class TbArticleServiceImpl extends ServiceImpl<TbArticleMapper, TbArticle
                 .eq(TbArticle::getId, articleId)
                 .eq(TbArticle::getIsDelete, 0)
                 .setSql("like_count = GREATEST(like_count - 1, 0)")
+                // 计数不属于内容变更，保持更新时间不变
+                .setSql("update_time = update_time")
                 .update();
 
         if (updated) {
+            articleCardService.adjustLikeCount(articleId, -1);
+            articleRankingService.recordLike(articleId, -1);
             clearArticleDetailCache(articleId);
-            clearArticleCache(); // 清除热门文章缓存
         }
 
         return updated;
@@ -540,6 +540,9 @@ public class TbArticleServiceImpl extends ServiceImpl<TbArticleMapper, TbArticle
         List<TagVO> tags = getArticleTags(article.getId());
         articleVO.setTags(tags);
 
+        // 设置目录（保存时已渲染，读取时不再解析正文）
+        articleVO.setToc(articleRenderService.readToc(article.getContentToc()));
+
         return articleVO;
     }
 
@@ -654,19 +657,96 @@ public class TbArticleServiceImpl extends ServiceImpl<TbArticleMapper, TbArticle
     }
 
     /**
-     * 清除文章相关缓存
+     * 分页查询文章卡片
+     */
+    private PageResult<ArticleSimpleVO> pageCards(LambdaQueryWrapper<TbArticleCard> queryWrapper,
+            PageQueryVO pageQueryVO) {
+        Page<TbArticleCard> page = new Page<>(pageQueryVO.getPageNum(), pageQueryVO.getPageSize());
+        Page<TbArticleCard> resultPage = articleCardService.page(page, queryWrapper);
+
+        List<ArticleSimpleVO> articleVOList = articleCardService.convertToSimpleVOList(resultPage.getRecords());
+        return PageResult.of(articleVOList, resultPage.getTotal(),
+                pageQueryVO.getPageNum(), pageQueryVO.getPageSize());
+    }
+
+    /**
+     * 按 (is_top, create_time, article_id) 键集分页查询文章卡片
+     * 多取一条判断是否有下一页，不执行COUNT；需要总数时返回短时缓存的近似值
+     *
+     * @param scope         列表范围条件（分类等）
+     * @param totalScope    近似总数的缓存范围标识
+     * @param cursorQueryVO 游标分页参数
+     * @return 游标分页结果
+     */
+    private CursorPageResult<ArticleSimpleVO> queryPublishedByCursor(
+            Consumer<LambdaQueryWrapper<TbArticleCard>> scope, String totalScope, CursorQueryVO cursorQueryVO) {
+        long[] cursor = CursorUtils.decode(cursorQueryVO.getCursor(), 3);
+        int size = cursorQueryVO.getSize();
+
+        LambdaQueryWrapper<TbArticleCard> queryWrapper = buildCardWrapper(scope);
+        if (cursor != null) {
+            int isTop = (int) cursor[0];
+            Date createTime = new Date(cursor[1]);
+            long id = cursor[2];
+            queryWrapper.and(keyset -> keyset.lt(TbArticleCard::getIsTop, isTop)
+                    .or(w -> w.eq(TbArticleCard::getIsTop, isTop).lt(TbArticleCard::getCreateTime, createTime))
+                    .or(w -> w.eq(TbArticleCard::getIsTop, isTop).eq(TbArticleCard::getCreateTime, createTime)
+                            .lt(TbArticleCard::getArticleId, id)));
+        }
+        queryWrapper.orderByDesc(TbArticleCard::getIsTop)
+                .orderByDesc(TbArticleCard::getCreateTime)
+                .orderByDesc(TbArticleCard::getArticleId)
+                .last("LIMIT " + (size + 1));
+
+        List<TbArticleCard> cards = articleCardService.list(queryWrapper);
+        Long total = Boolean.TRUE.equals(cursorQueryVO.getWithTotal())
+                ? getApproximateTotal(totalScope, () -> articleCardService.count(buildCardWrapper(scope)))
+                : null;
+        return toCursorPage(cards, size, total);
+    }
+
+    /**
+     * 由多取一条的查询结果组装游标分页结果
      */
-    private void clearArticleCache() {
-        redisUtils.deletePattern(RedisConstants.Article.HOT_ARTICLES + "*");
-        redisUtils.deletePattern(RedisConstants.Article.RECENT_ARTICLES + "*");
-        redisUtils.deletePattern(RedisConstants.Article.RECOMMEND_ARTICLES + "*");
+    private CursorPageResult<ArticleSimpleVO> toCursorPage(List<TbArticleCard> cards, int size, Long total) {
+        String nextCursor = null;
+        if (cards.size() > size) {
+            cards = cards.subList(0, size);
+            TbArticleCard last = cards.get(size - 1);
+            nextCursor = CursorUtils.encode(last.getIsTop() != null ? last.getIsTop() : 0,
+                    last.getCreateTime().getTime(), last.getArticleId());
+        }
+        return CursorPageResult.of(articleCardService.convertToSimpleVOList(cards), nextCursor, size, total);
     }
 
+    /**
+     * 构建文章卡片的查询条件
+     */
+    private LambdaQueryWrapper<TbArticleCard> buildCardWrapper(Consumer<LambdaQueryWrapper<TbArticleCard>> scope) {
+        LambdaQueryWrapper<TbArticleCard> queryWrapper = new LambdaQueryWrapper<>();
+        scope.accept(queryWrapper);
+        return queryWrapper;
+    }
+
+    /**
+     * 获取列表近似总数，缓存过期前不再执行COUNT
+     */
+    private Long getApproximateTotal(String totalScope, Supplier<Long> counter) {
+        String cacheKey = RedisConstants.Article.ARTICLE_CURSOR_TOTAL + totalScope;
+        Long total = redisUtils.get(cacheKey, Long.class);
+        if (total == null) {
+            total = counter.get();
+            redisUtils.set(cacheKey, total, SystemConstants.Cache.CURSOR_TOTAL_EXPIRE);
+        }
+        return total;
+    }
+
+
     /**
      * 清除文章详情缓存
      */
     private void clearArticleDetailCache(Long articleId) {
-        String cacheKey = RedisConstants.Article.ARTICLE_DETAIL + articleId;
-        redisUtils.delete(cacheKey);
+        redisUtils.delete(RedisConstants.Article.ARTICLE_DETAIL + articleId);
+        redisUtils.delete(RedisConstants.Article.ARTICLE_BODY + articleId);
     }
 }
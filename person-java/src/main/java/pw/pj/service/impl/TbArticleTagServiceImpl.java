@@ -1,9 +1,11 @@
 package pw.pj.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,13 +13,22 @@ import org.springframework.util.ObjectUtils;
 import pw.pj.POJO.DO.TbArticleTag;
 import pw.pj.POJO.DO.TbTag;
 import pw.pj.POJO.DO.TbArticle;
+import pw.pj.POJO.VO.MaintenanceReportVO;
+import pw.pj.common.bitmap.TagFilter;
 import pw.pj.common.constants.RedisConstants;
 import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.ArticleChangeEvent;
 import pw.pj.common.exception.BusinessException;
+import pw.pj.common.maintenance.IdRangeChunks;
 import pw.pj.common.result.ResultEnum;
+import pw.pj.common.tag.RelationDiff;
 import pw.pj.common.utils.RedisUtils;
 import pw.pj.mapper.TbArticleTagMapper;
+import pw.pj.mapper.TbTagMapper;
 import pw.pj.service.TbArticleService;
+import pw.pj.service.TagBitmapService;
+import pw.pj.service.TagCooccurrenceService;
+import pw.pj.service.TagDictionaryService;
 import pw.pj.service.TbArticleTagService;
 import pw.pj.service.TbTagService;
 
@@ -36,6 +47,11 @@ import java.util.stream.Collectors;
 public class TbArticleTagServiceImpl extends ServiceImpl<TbArticleTagMapper, TbArticleTag>
         implements TbArticleTagService {
 
+    /**
+     * 维护任务每个ID区间的宽度
+     */
+    private static final int MAINTENANCE_CHUNK_SIZE = 10000;
+
     @Autowired
     @Lazy
     private TbArticleService articleService;
@@ -46,6 +62,21 @@ public class TbArticleTagServiceImpl extends ServiceImpl<TbArticleTagMapper, TbA
     @Autowired
     private RedisUtils redisUtils;
 
+    @Autowired
+    private TagBitmapService tagBitmapService;
+
+    @Autowired
+    private TagDictionaryService tagDictionaryService;
+
+    @Autowired
+    private TagCooccurrenceService tagCooccurrenceService;
+
+    @Autowired
+    private TbTagMapper tagMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // ==================== 文章标签关联操作 ====================
 
     @Override
@@ -56,33 +87,19 @@ public class TbArticleTagServiceImpl extends ServiceImpl<TbArticleTagMapper, TbA
         // 1. 验证文章和标签是否存在
         validateArticleAndTag(articleId, tagId);
 
-        // 2. 检查是否已经关联
-        if (checkArticleHasTag(articleId, tagId)) {
+        // 2. 只在尚未关联时写入
+        List<Long> currentTagIds = selectTagIds(articleId);
+        if (currentTagIds.contains(tagId)) {
             log.warn("文章{}已经关联了标签{}，跳过添加", articleId, tagId);
             return true;
         }
 
-        // 3. 创建关联记录
-        TbArticleTag articleTag = new TbArticleTag();
-        articleTag.setArticleId(articleId);
-        articleTag.setTagId(tagId);
-        articleTag.setCreateTime(new Date());
-        articleTag.setUpdateTime(new Date());
-        articleTag.setIsDelete(0);
-
-        boolean saved = save(articleTag);
-        if (saved) {
-            // 4. 更新标签的文章数量统计
-            tagService.updateTagArticleCount(tagId);
-
-            // 5. 清除相关缓存
-            clearArticleTagCache(articleId);
-            clearTagArticleCache(tagId);
+        Set<Long> targetTagIds = new LinkedHashSet<>(currentTagIds);
+        targetTagIds.add(tagId);
+        applyDiff(articleId, RelationDiff.of(currentTagIds, targetTagIds));
 
-            log.info("文章标签关联添加成功");
-        }
-
-        return saved;
+        log.info("文章标签关联添加成功");
+        return true;
     }
 
     @Override
@@ -94,59 +111,22 @@ public class TbArticleTagServiceImpl extends ServiceImpl<TbArticleTagMapper, TbA
 
         log.info("为文章批量添加标签，文章ID：{}，标签数量：{}", articleId, tagIds.size());
 
-        // 1. 验证文章是否存在
-        TbArticle article = articleService.getById(articleId);
-        if (article == null || SystemConstants.Article.STATUS_DELETED.equals(article.getIsDelete())) {
-            throw new BusinessException(ResultEnum.DATA_NOT_FOUND, "文章不存在");
-        }
+        // 1. 验证文章与标签是否存在
+        validateArticle(articleId);
+        validateTags(tagIds);
 
-        // 2. 验证标签是否存在
-        List<TbTag> tags = tagService.lambdaQuery()
-                .in(TbTag::getId, tagIds)
-                .eq(TbTag::getIsDelete, 0)
-                .list();
-
-        if (tags.size() != tagIds.size()) {
-            throw new BusinessException(ResultEnum.PARAM_ERROR, "部分标签不存在");
-        }
-
-        // 3. 查询已存在的关联
-        List<Long> existingTagIds = getTagIdsByArticleId(articleId);
-        List<Long> newTagIds = tagIds.stream()
-                .filter(tagId -> !existingTagIds.contains(tagId))
-                .collect(Collectors.toList());
+        // 2. 与已存在的关联求差异，只写入新增部分
+        List<Long> currentTagIds = selectTagIds(articleId);
+        Set<Long> targetTagIds = new LinkedHashSet<>(currentTagIds);
+        targetTagIds.addAll(tagIds);
+        RelationDiff diff = applyDiff(articleId, RelationDiff.of(currentTagIds, targetTagIds));
 
-        if (ObjectUtils.isEmpty(newTagIds)) {
+        if (diff.isEmpty()) {
             log.info("所有标签都已经关联，跳过添加");
-            return true;
-        }
-
-        // 4. 批量创建关联记录
-        List<TbArticleTag> articleTags = newTagIds.stream()
-                .map(tagId -> {
-                    TbArticleTag articleTag = new TbArticleTag();
-                    articleTag.setArticleId(articleId);
-                    articleTag.setTagId(tagId);
-                    articleTag.setCreateTime(new Date());
-                    articleTag.setUpdateTime(new Date());
-                    articleTag.setIsDelete(0);
-                    return articleTag;
-                })
-                .collect(Collectors.toList());
-
-        boolean saved = saveBatch(articleTags);
-        if (saved) {
-            // 5. 批量更新标签的文章数量统计
-            newTagIds.forEach(tagService::updateTagArticleCount);
-
-            // 6. 清除相关缓存
-            clearArticleTagCache(articleId);
-            newTagIds.forEach(this::clearTagArticleCache);
-
-            log.info("文章标签批量关联添加成功，新增关联数量：{}", newTagIds.size());
+        } else {
+            log.info("文章标签批量关联添加成功，新增关联数量：{}", diff.getAdded().size());
         }
-
-        return saved;
+        return true;
     }
 
     @Override
@@ -154,60 +134,39 @@ public class TbArticleTagServiceImpl extends ServiceImpl<TbArticleTagMapper, TbA
     public Boolean removeTagFromArticle(Long articleId, Long tagId) {
         log.info("移除文章标签，文章ID：{}，标签ID：{}", articleId, tagId);
 
-        boolean removed = lambdaUpdate()
-                .eq(TbArticleTag::getArticleId, articleId)
-                .eq(TbArticleTag::getTagId, tagId)
-                .eq(TbArticleTag::getIsDelete, 0)
-                .set(TbArticleTag::getIsDelete, 1)
-                .set(TbArticleTag::getUpdateTime, new Date())
-                .update();
-
-        if (removed) {
-            // 更新标签的文章数量统计
-            tagService.updateTagArticleCount(tagId);
-
-            // 清除相关缓存
-            clearArticleTagCache(articleId);
-            clearTagArticleCache(tagId);
-
+        RelationDiff diff = removeTags(articleId, Collections.singletonList(tagId));
+        if (!diff.isEmpty()) {
             log.info("文章标签关联移除成功");
         }
-
-        return removed;
+        return !diff.isEmpty();
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-    public Boolean removeAllTagsFromArticle(Long articleId) {
-        log.info("移除文章的所有标签，文章ID：{}", articleId);
-
-        // 获取当前关联的标签ID
-        List<Long> tagIds = getTagIdsByArticleId(articleId);
-
+    public Boolean removeTagsFromArticle(Long articleId, List<Long> tagIds) {
         if (ObjectUtils.isEmpty(tagIds)) {
-            log.info("文章没有关联任何标签，跳过移除");
             return true;
         }
 
-        boolean removed = lambdaUpdate()
-                .eq(TbArticleTag::getArticleId, articleId)
-                .eq(TbArticleTag::getIsDelete, 0)
-                .set(TbArticleTag::getIsDelete, 1)
-                .set(TbArticleTag::getUpdateTime, new Date())
-                .update();
+        log.info("批量移除文章标签，文章ID：{}，标签数量：{}", articleId, tagIds.size());
 
-        if (removed) {
-            // 批量更新标签的文章数量统计
-            tagIds.forEach(tagService::updateTagArticleCount);
+        RelationDiff diff = removeTags(articleId, tagIds);
+        log.info("文章标签批量移除成功，移除关联数量：{}", diff.getRemoved().size());
+        return true;
+    }
 
-            // 清除相关缓存
-            clearArticleTagCache(articleId);
-            tagIds.forEach(this::clearTagArticleCache);
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Boolean removeAllTagsFromArticle(Long articleId) {
+        log.info("移除文章的所有标签，文章ID：{}", articleId);
 
-            log.info("文章所有标签关联移除成功，数量：{}", tagIds.size());
+        RelationDiff diff = applyDiff(articleId, RelationDiff.of(selectTagIds(articleId), null));
+        if (diff.isEmpty()) {
+            log.info("文章没有关联任何标签，跳过移除");
+        } else {
+            log.info("文章所有标签关联移除成功，数量：{}", diff.getRemoved().size());
         }
-
-        return removed;
+        return true;
     }
 
     @Override
@@ -216,15 +175,16 @@ public class TbArticleTagServiceImpl extends ServiceImpl<TbArticleTagMapper, TbA
         log.info("更新文章标签，文章ID：{}，新标签数量：{}", articleId,
                 ObjectUtils.isEmpty(tagIds) ? 0 : tagIds.size());
 
-        // 1. 移除现有的所有标签关联
-        removeAllTagsFromArticle(articleId);
-
-        // 2. 添加新的标签关联
+        // 1. 验证文章与新标签是否存在
+        validateArticle(articleId);
         if (!ObjectUtils.isEmpty(tagIds)) {
-            return addTagsToArticle(articleId, tagIds);
+            validateTags(tagIds);
         }
 
-        log.info("文章标签更新成功");
+        // 2. 只写入新增与移除的差异，未变化的关联保持不动
+        RelationDiff diff = applyDiff(articleId, RelationDiff.of(selectTagIds(articleId), tagIds));
+
+        log.info("文章标签更新成功，新增：{}，移除：{}", diff.getAdded().size(), diff.getRemoved().size());
         return true;
     }
 
@@ -266,7 +226,7 @@ public class TbArticleTagServiceImpl extends ServiceImpl<TbArticleTagMapper, TbA
         }
 
         // 1. 尝试从缓存获取
-        String cacheKey = RedisConstants.Article.RELATED_ARTICLES + tagId;
+        String cacheKey = RedisConstants.Tag.TAG_ARTICLES + tagId;
         List<Long> cachedArticleIds = redisUtils.get(cacheKey, List.class);
         if (cachedArticleIds != null) {
             return cachedArticleIds;
@@ -294,25 +254,8 @@ public class TbArticleTagServiceImpl extends ServiceImpl<TbArticleTagMapper, TbA
             return new ArrayList<>();
         }
 
-        if (tagIds.size() == 1) {
-            return getArticleIdsByTagId(tagIds.get(0));
-        }
-
-        // 查询包含所有指定标签的文章
-        Map<Long, Integer> articleTagCount = new HashMap<>();
-
-        for (Long tagId : tagIds) {
-            List<Long> articleIds = getArticleIdsByTagId(tagId);
-            for (Long articleId : articleIds) {
-                articleTagCount.put(articleId, articleTagCount.getOrDefault(articleId, 0) + 1);
-            }
-        }
-
-        // 返回包含所有标签的文章ID
-        return articleTagCount.entrySet().stream()
-                .filter(entry -> entry.getValue() == tagIds.size())
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
+        // 由标签位图索引求交集，不再逐个标签查询再计数
+        return tagBitmapService.findAllArticleIds(new TagFilter(tagIds, null, null, false));
     }
 
     @Override
@@ -382,11 +325,14 @@ public class TbArticleTagServiceImpl extends ServiceImpl<TbArticleTagMapper, TbA
 
         log.info("批量删除文章的标签关联，文章数量：{}", articleIds.size());
 
-        // 获取需要更新统计的标签ID
-        Set<Long> affectedTagIds = new HashSet<>();
-        for (Long articleId : articleIds) {
-            List<Long> tagIds = getTagIdsByArticleId(articleId);
-            affectedTagIds.addAll(tagIds);
+        // 一次查出全部关联，按标签汇总需要扣减的文章数
+        List<TbArticleTag> relations = lambdaQuery()
+                .select(TbArticleTag::getArticleId, TbArticleTag::getTagId)
+                .in(TbArticleTag::getArticleId, articleIds)
+                .eq(TbArticleTag::getIsDelete, 0)
+                .list();
+        if (relations.isEmpty()) {
+            return true;
         }
 
         boolean deleted = lambdaUpdate()
@@ -397,14 +343,18 @@ public class TbArticleTagServiceImpl extends ServiceImpl<TbArticleTagMapper, TbA
                 .update();
 
         if (deleted) {
-            // 批量更新标签的文章数量统计
-            affectedTagIds.forEach(tagService::updateTagArticleCount);
+            // 一条UPDATE调整受影响标签的文章数量统计
+            tagService.adjustTagArticleCounts(decrementsByTag(relations));
 
             // 清除相关缓存
-            articleIds.forEach(this::clearArticleTagCache);
-            affectedTagIds.forEach(this::clearTagArticleCache);
+            Set<Long> affectedArticleIds = relations.stream()
+                    .map(TbArticleTag::getArticleId)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            affectedArticleIds.forEach(this::clearArticleTagCache);
+            relations.stream().map(TbArticleTag::getTagId).distinct().forEach(this::clearTagArticleCache);
+            affectedArticleIds.forEach(this::publishTagsChanged);
 
-            log.info("批量删除文章标签关联成功");
+            log.info("批量删除文章标签关联成功，关联数量：{}", relations.size());
         }
 
         return deleted;
@@ -419,11 +369,14 @@ public class TbArticleTagServiceImpl extends ServiceImpl<TbArticleTagMapper, TbA
 
         log.info("批量删除标签的文章关联，标签数量：{}", tagIds.size());
 
-        // 获取需要清除缓存的文章ID
-        Set<Long> affectedArticleIds = new HashSet<>();
-        for (Long tagId : tagIds) {
-            List<Long> articleIds = getArticleIdsByTagId(tagId);
-            affectedArticleIds.addAll(articleIds);
+        // 一次查出全部关联，得到需要清除缓存的文章与各标签扣减的文章数
+        List<TbArticleTag> relations = lambdaQuery()
+                .select(TbArticleTag::getArticleId, TbArticleTag::getTagId)
+                .in(TbArticleTag::getTagId, tagIds)
+                .eq(TbArticleTag::getIsDelete, 0)
+                .list();
+        if (relations.isEmpty()) {
+            return true;
         }
 
         boolean deleted = lambdaUpdate()
@@ -434,148 +387,213 @@ public class TbArticleTagServiceImpl extends ServiceImpl<TbArticleTagMapper, TbA
                 .update();
 
         if (deleted) {
+            tagService.adjustTagArticleCounts(decrementsByTag(relations));
+
             // 清除相关缓存
+            Set<Long> affectedArticleIds = relations.stream()
+                    .map(TbArticleTag::getArticleId)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
             affectedArticleIds.forEach(this::clearArticleTagCache);
             tagIds.forEach(this::clearTagArticleCache);
+            affectedArticleIds.forEach(this::publishTagsChanged);
 
-            log.info("批量删除标签文章关联成功");
+            log.info("批量删除标签文章关联成功，关联数量：{}", relations.size());
         }
 
         return deleted;
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
-    public Integer cleanupInvalidRelations() {
+    public MaintenanceReportVO cleanupInvalidRelations() {
         log.info("开始清理无效的文章标签关联数据");
 
-        // 查找关联了已删除文章的记录
-        List<TbArticleTag> invalidByArticle = lambdaQuery()
-                .eq(TbArticleTag::getIsDelete, 0)
-                .notExists("SELECT 1 FROM tb_article a WHERE a.id = tb_article_tag.article_id AND a.is_delete = 0")
-                .list();
-
-        // 查找关联了已删除标签的记录
-        List<TbArticleTag> invalidByTag = lambdaQuery()
-                .eq(TbArticleTag::getIsDelete, 0)
-                .notExists("SELECT 1 FROM tb_tag t WHERE t.id = tb_article_tag.tag_id AND t.is_delete = 0")
-                .list();
-
-        Set<Long> invalidIds = new HashSet<>();
-        invalidByArticle.forEach(relation -> invalidIds.add(relation.getId()));
-        invalidByTag.forEach(relation -> invalidIds.add(relation.getId()));
+        // 按关联ID区间分块，每块一条反连接UPDATE，不把关联表读进内存
+        long start = System.currentTimeMillis();
+        Map<String, Object> bounds = firstRow(baseMapper.selectMaps(Wrappers.<TbArticleTag>query()
+                .select("MIN(id) AS min_id", "MAX(id) AS max_id")));
+        MaintenanceReportVO report = runChunked("清理无效关联", start, bounds, baseMapper::deleteOrphansInRange);
 
-        if (invalidIds.isEmpty()) {
-            log.info("没有发现无效的关联数据");
-            return 0;
+        if (report.getRowsAffected() > 0) {
+            refreshRelationDerivedData();
         }
-
-        // 批量删除无效记录
-        boolean deleted = lambdaUpdate()
-                .in(TbArticleTag::getId, invalidIds)
-                .set(TbArticleTag::getIsDelete, 1)
-                .set(TbArticleTag::getUpdateTime, new Date())
-                .update();
-
-        if (deleted) {
-            // 清除相关缓存
-            clearAllCache();
-            log.info("清理无效关联数据完成，数量：{}", invalidIds.size());
-            return invalidIds.size();
-        }
-
-        return 0;
+        return report;
     }
 
     // ==================== 数据迁移和同步 ====================
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
-    public Integer syncTagArticleCount() {
+    public MaintenanceReportVO syncTagArticleCount() {
         log.info("开始同步标签文章数量统计");
 
-        // 获取所有标签
-        List<TbTag> allTags = tagService.lambdaQuery()
-                .eq(TbTag::getIsDelete, 0)
-                .list();
+        // 按标签ID区间分块，每块一条 UPDATE ... JOIN (SELECT tag_id, COUNT(*) ... GROUP BY tag_id)
+        long start = System.currentTimeMillis();
+        Map<String, Object> bounds = firstRow(tagMapper.selectMaps(Wrappers.<TbTag>query()
+                .select("MIN(id) AS min_id", "MAX(id) AS max_id")));
+        MaintenanceReportVO report = runChunked("同步标签文章数", start, bounds, tagMapper::syncArticleCountsInRange);
 
-        int syncCount = 0;
-        for (TbTag tag : allTags) {
-            Integer realCount = getArticleCountByTagId(tag.getId());
-            if (!Objects.equals(tag.getArticleCount(), realCount)) {
-                // 更新标签的文章数量
-                tagService.lambdaUpdate()
-                        .eq(TbTag::getId, tag.getId())
-                        .set(TbTag::getArticleCount, realCount)
-                        .set(TbTag::getUpdateTime, new Date())
-                        .update();
-                syncCount++;
-            }
+        if (report.getRowsAffected() > 0) {
+            // 清除相关缓存并重建标签字典
+            clearAllCache();
+            tagDictionaryService.rebuild();
         }
-
-        // 清除相关缓存
-        clearAllCache();
-
-        log.info("标签文章数量同步完成，更新的标签数量：{}", syncCount);
-        return syncCount;
+        return report;
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
-    public Integer fixDuplicateRelations() {
+    public MaintenanceReportVO fixDuplicateRelations() {
         log.info("开始修复重复的文章标签关联记录");
 
-        // 查找重复的关联记录
-        List<TbArticleTag> allRelations = lambdaQuery()
-                .eq(TbArticleTag::getIsDelete, 0)
-                .orderByAsc(TbArticleTag::getId)
-                .list();
+        // 按文章ID区间分块，同一组重复记录的文章ID相同，不会被拆到两个区间
+        long start = System.currentTimeMillis();
+        Map<String, Object> bounds = firstRow(baseMapper.selectMaps(Wrappers.<TbArticleTag>query()
+                .select("MIN(article_id) AS min_id", "MAX(article_id) AS max_id")));
+        MaintenanceReportVO report = runChunked("修复重复关联", start, bounds, baseMapper::deleteDuplicatesInRange);
+
+        if (report.getRowsAffected() > 0) {
+            refreshRelationDerivedData();
+        }
+        return report;
+    }
+
+    // ==================== 私有辅助方法 ====================
 
-        Map<String, List<TbArticleTag>> groupedRelations = allRelations.stream()
-                .collect(Collectors.groupingBy(relation -> relation.getArticleId() + "_" + relation.getTagId()));
+    /**
+     * 批量维护直接改写了关联表，不经过单篇文章的变更事件，按关联表重新生成全部派生数据：
+     * 标签文章数、标签字典、标签位图与标签共现
+     */
+    private void refreshRelationDerivedData() {
+        clearAllCache();
+        MaintenanceReportVO counts = syncTagArticleCount();
+        if (counts.getRowsAffected() == 0) {
+            // 计数已一致时不会重建字典，字典中按关联表统计的文章数仍需刷新
+            tagDictionaryService.rebuild();
+        }
+        tagBitmapService.rebuild();
+        tagCooccurrenceService.rebuild();
+    }
 
-        int fixedCount = 0;
-        for (Map.Entry<String, List<TbArticleTag>> entry : groupedRelations.entrySet()) {
-            List<TbArticleTag> relations = entry.getValue();
-            if (relations.size() > 1) {
-                // 保留第一个，删除其他重复的
-                List<Long> duplicateIds = relations.stream()
-                        .skip(1)
-                        .map(TbArticleTag::getId)
-                        .collect(Collectors.toList());
+    /**
+     * 按ID区间分块执行维护任务并生成报告；每块单独提交，单条语句锁定的行数有上限
+     */
+    private MaintenanceReportVO runChunked(String job, long start, Map<String, Object> bounds,
+            IdRangeChunks.RangeTask task) {
+        IdRangeChunks.Result result = IdRangeChunks.run(toLong(bounds.get("min_id")), toLong(bounds.get("max_id")),
+                MAINTENANCE_CHUNK_SIZE, task);
+
+        MaintenanceReportVO report = new MaintenanceReportVO();
+        report.setJob(job);
+        report.setRowsAffected(result.getRows());
+        report.setChunks(result.getChunks());
+        report.setElapsedMs(System.currentTimeMillis() - start);
+
+        log.info("{}完成，影响行数：{}，区间数：{}，耗时：{}ms", job, report.getRowsAffected(),
+                report.getChunks(), report.getElapsedMs());
+        return report;
+    }
 
-                lambdaUpdate()
-                        .in(TbArticleTag::getId, duplicateIds)
-                        .set(TbArticleTag::getIsDelete, 1)
-                        .set(TbArticleTag::getUpdateTime, new Date())
-                        .update();
+    private static Map<String, Object> firstRow(List<Map<String, Object>> rows) {
+        // 表为空时聚合列全为NULL，MyBatis可能返回null行
+        return rows.isEmpty() || rows.get(0) == null ? Collections.emptyMap() : rows.get(0);
+    }
 
-                fixedCount += duplicateIds.size();
-            }
+    private static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    /**
+     * 写入关联差异：新增部分一条多行插入（已逻辑删除的直接恢复），移除部分一条批量逻辑删除，
+     * 受影响标签的文章数一条UPDATE按增量调整
+     *
+     * @return 传入的差异
+     */
+    private RelationDiff applyDiff(Long articleId, RelationDiff diff) {
+        if (diff.isEmpty()) {
+            return diff;
         }
 
-        if (fixedCount > 0) {
-            // 清除相关缓存
-            clearAllCache();
-            log.info("修复重复关联记录完成，删除的重复记录数：{}", fixedCount);
-        } else {
-            log.info("没有发现重复的关联记录");
+        if (!diff.getAdded().isEmpty()) {
+            baseMapper.insertOrRestore(articleId, diff.getAdded());
         }
+        if (!diff.getRemoved().isEmpty()) {
+            lambdaUpdate()
+                    .eq(TbArticleTag::getArticleId, articleId)
+                    .in(TbArticleTag::getTagId, diff.getRemoved())
+                    .eq(TbArticleTag::getIsDelete, 0)
+                    .set(TbArticleTag::getIsDelete, 1)
+                    .set(TbArticleTag::getUpdateTime, new Date())
+                    .update();
+        }
+        tagService.adjustTagArticleCounts(diff.deltas());
 
-        return fixedCount;
+        // 清除相关缓存
+        clearArticleTagCache(articleId);
+        diff.getAdded().forEach(this::clearTagArticleCache);
+        diff.getRemoved().forEach(this::clearTagArticleCache);
+        publishTagsChanged(articleId);
+        return diff;
     }
 
-    // ==================== 私有辅助方法 ====================
+    /**
+     * 按标签汇总被删除关联的文章数扣减量
+     */
+    private static Map<Long, Integer> decrementsByTag(List<TbArticleTag> relations) {
+        Map<Long, Integer> deltas = new LinkedHashMap<>();
+        relations.forEach(relation -> deltas.merge(relation.getTagId(), -1, Integer::sum));
+        return deltas;
+    }
 
     /**
-     * 验证文章和标签是否存在
+     * 从文章现有标签中移除给定标签
      */
-    private void validateArticleAndTag(Long articleId, Long tagId) {
-        // 验证文章是否存在
+    private RelationDiff removeTags(Long articleId, List<Long> tagIds) {
+        List<Long> currentTagIds = selectTagIds(articleId);
+        List<Long> targetTagIds = new ArrayList<>(currentTagIds);
+        targetTagIds.removeAll(tagIds);
+        return applyDiff(articleId, RelationDiff.of(currentTagIds, targetTagIds));
+    }
+
+    /**
+     * 从数据库读取文章当前的标签ID并锁定文章行，写入差异前使用，不走缓存；
+     * 锁持有到事务结束，并发的改标签读到的是前一个事务提交后的关联，文章数增量不会重复计算
+     */
+    private List<Long> selectTagIds(Long articleId) {
+        return baseMapper.selectTagIdsForUpdate(articleId)
+                .stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 验证文章是否存在
+     */
+    private void validateArticle(Long articleId) {
         TbArticle article = articleService.getById(articleId);
         if (article == null || SystemConstants.Article.STATUS_DELETED.equals(article.getIsDelete())) {
             throw new BusinessException(ResultEnum.DATA_NOT_FOUND, "文章不存在");
         }
+    }
+
+    /**
+     * 验证标签是否全部存在
+     */
+    private void validateTags(List<Long> tagIds) {
+        Set<Long> distinctTagIds = new HashSet<>(tagIds);
+        long count = tagService.lambdaQuery()
+                .in(TbTag::getId, distinctTagIds)
+                .eq(TbTag::getIsDelete, 0)
+                .count();
+
+        if (count != distinctTagIds.size()) {
+            throw new BusinessException(ResultEnum.PARAM_ERROR, "部分标签不存在");
+        }
+    }
+
+    /**
+     * 验证文章和标签是否存在
+     */
+    private void validateArticleAndTag(Long articleId, Long tagId) {
+        // 验证文章是否存在
+        validateArticle(articleId);
 
         // 验证标签是否存在
         TbTag tag = tagService.getById(tagId);
@@ -584,6 +602,13 @@ public class TbArticleTagServiceImpl extends ServiceImpl<TbArticleTagMapper, TbA
         }
     }
 
+    /**
+     * 发布文章标签关联变更事件，由文章卡片等派生数据刷新标签名称
+     */
+    private void publishTagsChanged(Long articleId) {
+        eventPublisher.publishEvent(new ArticleChangeEvent(articleId, ArticleChangeEvent.ChangeType.TAGS));
+    }
+
     /**
      * 清除文章标签缓存
      */
@@ -596,7 +621,7 @@ public class TbArticleTagServiceImpl extends ServiceImpl<TbArticleTagMapper, TbA
      * 清除标签文章缓存
      */
     private void clearTagArticleCache(Long tagId) {
-        String articleCacheKey = RedisConstants.Article.RELATED_ARTICLES + tagId;
+        String articleCacheKey = RedisConstants.Tag.TAG_ARTICLES + tagId;
         String countCacheKey = RedisConstants.Tag.TAG_ARTICLE_COUNT + tagId;
         redisUtils.delete(articleCacheKey);
         redisUtils.delete(countCacheKey);
@@ -607,7 +632,7 @@ public class TbArticleTagServiceImpl extends ServiceImpl<TbArticleTagMapper, TbA
      */
     private void clearAllCache() {
         redisUtils.deletePattern(RedisConstants.Tag.ARTICLE_TAGS + "*");
-        redisUtils.deletePattern(RedisConstants.Article.RELATED_ARTICLES + "*");
+        redisUtils.deletePattern(RedisConstants.Tag.TAG_ARTICLES + "*");
         redisUtils.deletePattern(RedisConstants.Tag.TAG_ARTICLE_COUNT + "*");
     }
 }
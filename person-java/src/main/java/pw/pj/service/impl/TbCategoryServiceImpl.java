@@ -6,23 +6,21 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ObjectUtils;
-import pw.pj.POJO.DO.TbArticle;
 import pw.pj.POJO.DO.TbCategory;
 import pw.pj.POJO.VO.CategoryVO;
 import pw.pj.POJO.VO.PageQueryVO;
-import pw.pj.common.constants.RedisConstants;
 import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.CategoryChangeEvent;
 import pw.pj.common.exception.BusinessException;
 import pw.pj.common.result.PageResult;
 import pw.pj.common.result.ResultEnum;
-import pw.pj.common.utils.RedisUtils;
 import pw.pj.common.utils.StringUtils;
 import pw.pj.mapper.TbCategoryMapper;
-import pw.pj.service.TbArticleService;
+import pw.pj.service.CategoryTreeService;
 import pw.pj.service.TbCategoryService;
 
 import java.util.*;
@@ -40,11 +38,10 @@ import java.util.stream.Collectors;
 public class TbCategoryServiceImpl extends ServiceImpl<TbCategoryMapper, TbCategory> implements TbCategoryService {
 
     @Autowired
-    @Lazy
-    private TbArticleService articleService;
+    private ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    private RedisUtils redisUtils;
+    private CategoryTreeService categoryTreeService;
 
     // ==================== 分类CRUD操作 ====================
 
@@ -75,8 +72,8 @@ public class TbCategoryServiceImpl extends ServiceImpl<TbCategoryMapper, TbCateg
             throw new BusinessException(ResultEnum.SAVE_FAIL, "分类保存失败");
         }
 
-        // 5. 清除相关缓存
-        clearCategoryCache();
+        // 5. 发布变更事件，分类树快照在事务提交后重建
+        eventPublisher.publishEvent(new CategoryChangeEvent(category.getId(), CategoryChangeEvent.ChangeType.CREATE));
 
         log.info("分类创建成功，分类ID：{}", category.getId());
         return convertToVO(category);
@@ -102,8 +99,8 @@ public class TbCategoryServiceImpl extends ServiceImpl<TbCategoryMapper, TbCateg
 
         // 3. 验证父分类
         if (categoryVO.getParentId() != null && categoryVO.getParentId() > 0) {
-            if (categoryId.equals(categoryVO.getParentId())) {
-                throw new BusinessException(ResultEnum.PARAM_ERROR, "不能将自己设为父分类");
+            if (categoryTreeService.getSubtreeIds(categoryId).contains(categoryVO.getParentId())) {
+                throw new BusinessException(ResultEnum.PARAM_ERROR, "不能将自己或子分类设为父分类");
             }
             TbCategory parentCategory = getById(categoryVO.getParentId());
             if (parentCategory == null || !SystemConstants.Category.STATUS_ENABLED.equals(parentCategory.getStatus())) {
@@ -112,6 +109,8 @@ public class TbCategoryServiceImpl extends ServiceImpl<TbCategoryMapper, TbCateg
         }
 
         // 4. 更新分类字段
+        String oldPath = category.getPath();
+        Integer oldLevel = category.getLevel();
         updateCategoryFields(category, categoryVO);
 
         // 5. 保存更新
@@ -120,9 +119,14 @@ public class TbCategoryServiceImpl extends ServiceImpl<TbCategoryMapper, TbCateg
             throw new BusinessException(ResultEnum.UPDATE_FAIL, "分类更新失败");
         }
 
-        // 6. 清除相关缓存
-        clearCategoryCache();
-        clearCategoryDetailCache(categoryId);
+        // 6. 父分类变更时按路径前缀一次改写全部后代的路径与层级
+        if (oldPath != null && !oldPath.equals(category.getPath())) {
+            baseMapper.moveSubtree(oldPath + categoryId + ",", category.getPath() + categoryId + ",",
+                    category.getLevel() - (oldLevel != null ? oldLevel : 1));
+        }
+
+        // 7. 发布变更事件，分类树快照在事务提交后重建
+        eventPublisher.publishEvent(new CategoryChangeEvent(categoryId, CategoryChangeEvent.ChangeType.UPDATE));
 
         log.info("分类更新成功，分类ID：{}", categoryId);
         return convertToVO(category);
@@ -130,34 +134,12 @@ public class TbCategoryServiceImpl extends ServiceImpl<TbCategoryMapper, TbCateg
 
     @Override
     public CategoryVO getCategoryById(Long categoryId) {
-        if (categoryId == null) {
-            return null;
-        }
-
-        // 1. 尝试从缓存获取
-        String cacheKey = RedisConstants.Category.CATEGORY_DETAIL + categoryId;
-        CategoryVO cachedCategory = redisUtils.get(cacheKey, CategoryVO.class);
-        if (cachedCategory != null) {
-            return cachedCategory;
-        }
-
-        // 2. 从数据库查询
-        TbCategory category = lambdaQuery()
-                .eq(TbCategory::getId, categoryId)
-                .eq(TbCategory::getIsDelete, 0)
-                .one();
-
-        if (category == null) {
-            return null;
+        // 由分类树快照提供；其他节点刚创建、本节点尚未收到通知的分类按主键回表
+        CategoryVO categoryVO = categoryTreeService.getCategory(categoryId);
+        if (categoryVO != null || categoryId == null) {
+            return categoryVO;
         }
-
-        // 3. 转换为VO
-        CategoryVO categoryVO = convertToVO(category);
-
-        // 4. 缓存结果
-        redisUtils.set(cacheKey, categoryVO, SystemConstants.Cache.EXPIRE_HOUR);
-
-        return categoryVO;
+        return categoryTreeService.toVO(getById(categoryId));
     }
 
     @Override
@@ -194,9 +176,8 @@ public class TbCategoryServiceImpl extends ServiceImpl<TbCategoryMapper, TbCateg
                 .update();
 
         if (deleted) {
-            // 5. 清除相关缓存
-            clearCategoryCache();
-            clearCategoryDetailCache(categoryId);
+            // 5. 发布变更事件，分类树快照在事务提交后重建
+            eventPublisher.publishEvent(new CategoryChangeEvent(categoryId, CategoryChangeEvent.ChangeType.DELETE));
 
             log.info("分类删除成功，分类ID：{}", categoryId);
         }
@@ -235,9 +216,9 @@ public class TbCategoryServiceImpl extends ServiceImpl<TbCategoryMapper, TbCateg
                 .update();
 
         if (deleted) {
-            // 3. 批量清除缓存
-            clearCategoryCache();
-            categoryIds.forEach(this::clearCategoryDetailCache);
+            // 3. 发布变更事件，分类树快照在事务提交后重建
+            categoryIds.forEach(id -> eventPublisher.publishEvent(
+                    new CategoryChangeEvent(id, CategoryChangeEvent.ChangeType.DELETE)));
 
             log.info("批量删除分类成功，分类数量：{}", categoryIds.size());
         }
@@ -270,28 +251,7 @@ public class TbCategoryServiceImpl extends ServiceImpl<TbCategoryMapper, TbCateg
 
     @Override
     public List<CategoryVO> getAllCategories() {
-        // 1. 尝试从缓存获取
-        String cacheKey = RedisConstants.Category.CATEGORY_LIST;
-        List<CategoryVO> cachedCategories = redisUtils.get(cacheKey, List.class);
-        if (cachedCategories != null) {
-            return cachedCategories;
-        }
-
-        // 2. 从数据库查询
-        List<TbCategory> categories = lambdaQuery()
-                .eq(TbCategory::getIsDelete, 0)
-                .eq(TbCategory::getStatus, SystemConstants.Category.STATUS_ENABLED)
-                .orderByAsc(TbCategory::getSortOrder)
-                .orderByDesc(TbCategory::getCreateTime)
-                .list();
-
-        // 3. 转换为VO
-        List<CategoryVO> categoryVOList = convertToVOList(categories);
-
-        // 4. 缓存结果
-        redisUtils.set(cacheKey, categoryVOList, SystemConstants.Cache.EXPIRE_HOUR);
-
-        return categoryVOList;
+        return categoryTreeService.getEnabledCategories();
     }
 
     @Override
@@ -313,35 +273,7 @@ public class TbCategoryServiceImpl extends ServiceImpl<TbCategoryMapper, TbCateg
 
     @Override
     public List<CategoryVO> getHotCategories(Integer limit) {
-        String cacheKey = RedisConstants.Category.HOT_CATEGORIES;
-        List<CategoryVO> cachedCategories = redisUtils.get(cacheKey, List.class);
-        if (cachedCategories != null) {
-            return cachedCategories.stream()
-                    .limit(limit)
-                    .collect(Collectors.toList());
-        }
-
-        // 根据文章数量排序获取热门分类
-        List<TbCategory> categories = lambdaQuery()
-                .eq(TbCategory::getIsDelete, 0)
-                .eq(TbCategory::getStatus, SystemConstants.Category.STATUS_ENABLED)
-                .orderByDesc(TbCategory::getArticleCount)
-                .orderByAsc(TbCategory::getSortOrder)
-                .last("LIMIT " + (limit * 2)) // 多查一些，以防有些分类文章数为0
-                .list();
-
-        List<CategoryVO> categoryVOList = convertToVOList(categories);
-
-        // 过滤出有文章的分类
-        List<CategoryVO> hotCategories = categoryVOList.stream()
-                .filter(category -> category.getArticleCount() != null && category.getArticleCount() > 0)
-                .limit(limit)
-                .collect(Collectors.toList());
-
-        // 缓存结果
-        redisUtils.set(cacheKey, hotCategories, SystemConstants.Cache.HOT_DATA_EXPIRE);
-
-        return hotCategories;
+        return categoryTreeService.getHotCategories(limit);
     }
 
     // ==================== 分类状态管理 ====================
@@ -359,8 +291,7 @@ public class TbCategoryServiceImpl extends ServiceImpl<TbCategoryMapper, TbCateg
                 .update();
 
         if (updated) {
-            clearCategoryCache();
-            clearCategoryDetailCache(categoryId);
+            eventPublisher.publishEvent(new CategoryChangeEvent(categoryId, CategoryChangeEvent.ChangeType.UPDATE));
             log.info("分类启用成功，分类ID：{}", categoryId);
         }
 
@@ -380,8 +311,7 @@ public class TbCategoryServiceImpl extends ServiceImpl<TbCategoryMapper, TbCateg
                 .update();
 
         if (updated) {
-            clearCategoryCache();
-            clearCategoryDetailCache(categoryId);
+            eventPublisher.publishEvent(new CategoryChangeEvent(categoryId, CategoryChangeEvent.ChangeType.UPDATE));
             log.info("分类禁用成功，分类ID：{}", categoryId);
         }
 
@@ -392,26 +322,7 @@ public class TbCategoryServiceImpl extends ServiceImpl<TbCategoryMapper, TbCateg
 
     @Override
     public Integer getCategoryArticleCount(Long categoryId) {
-        // 1. 尝试从缓存获取
-        String cacheKey = RedisConstants.Category.CATEGORY_ARTICLE_COUNT + categoryId;
-        Integer cachedCount = redisUtils.get(cacheKey, Integer.class);
-        if (cachedCount != null) {
-            return cachedCount;
-        }
-
-        // 2. 从数据库查询
-        long count = articleService.lambdaQuery()
-                .eq(TbArticle::getCategoryId, categoryId)
-                .eq(TbArticle::getIsDelete, 0)
-                .eq(TbArticle::getStatus, SystemConstants.Article.STATUS_PUBLISHED)
-                .count();
-
-        Integer articleCount = (int) count;
-
-        // 3. 缓存结果
-        redisUtils.set(cacheKey, articleCount, SystemConstants.Cache.EXPIRE_HOUR);
-
-        return articleCount;
+        return categoryTreeService.getArticleCount(categoryId);
     }
 
     @Override
@@ -489,49 +400,8 @@ public class TbCategoryServiceImpl extends ServiceImpl<TbCategoryMapper, TbCateg
 
     @Override
     public CategoryVO convertToVO(TbCategory category) {
-        if (category == null) {
-            return null;
-        }
-
-        CategoryVO categoryVO = new CategoryVO();
-        BeanUtils.copyProperties(category, categoryVO);
-
-        // 字段映射调整
-        categoryVO.setIconUrl(category.getIcon());
-
-        // 状态映射：TbCategory(0-禁用，1-启用) -> CategoryVO(0-正常，1-禁用)
-        if (category.getStatus() != null) {
-            categoryVO.setStatus(SystemConstants.Category.STATUS_ENABLED.equals(category.getStatus()) ? 0 : 1);
-        }
-
-        // 设置文章数量
-        Integer articleCount = getCategoryArticleCount(category.getId());
-        categoryVO.setArticleCount(articleCount);
-
-        // 设置父分类名称
-        if (category.getParentId() != null && category.getParentId() > 0) {
-            TbCategory parentCategory = getById(category.getParentId());
-            if (parentCategory != null) {
-                categoryVO.setParentName(parentCategory.getName());
-            }
-        }
-
-        // 设置是否热门
-        categoryVO.setIsHot(articleCount != null && articleCount >= 5); // 5篇以上文章算热门
-
-        // 转换时间格式
-        if (category.getCreateTime() != null) {
-            categoryVO.setCreateTime(category.getCreateTime().toInstant()
-                    .atZone(java.time.ZoneId.systemDefault())
-                    .toLocalDateTime());
-        }
-        if (category.getUpdateTime() != null) {
-            categoryVO.setUpdateTime(category.getUpdateTime().toInstant()
-                    .atZone(java.time.ZoneId.systemDefault())
-                    .toLocalDateTime());
-        }
-
-        return categoryVO;
+        // 文章数与父分类名称取自分类树快照，逐条转换不产生额外查询
+        return categoryTreeService.toVO(category);
     }
 
     @Override
@@ -636,22 +506,4 @@ public class TbCategoryServiceImpl extends ServiceImpl<TbCategoryMapper, TbCateg
 
         category.setUpdateTime(new Date());
     }
-
-    /**
-     * 清除分类相关缓存
-     */
-    private void clearCategoryCache() {
-        redisUtils.delete(RedisConstants.Category.CATEGORY_LIST);
-        redisUtils.delete(RedisConstants.Category.HOT_CATEGORIES);
-        redisUtils.delete(RedisConstants.Category.CATEGORY_TREE);
-        redisUtils.deletePattern(RedisConstants.Category.CATEGORY_ARTICLE_COUNT + "*");
-    }
-
-    /**
-     * 清除分类详情缓存
-     */
-    private void clearCategoryDetailCache(Long categoryId) {
-        String cacheKey = RedisConstants.Category.CATEGORY_DETAIL + categoryId;
-        redisUtils.delete(cacheKey);
-    }
 }
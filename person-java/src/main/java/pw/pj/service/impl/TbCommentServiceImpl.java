@@ -1,27 +1,45 @@
 package pw.pj.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.util.ObjectUtils;
+import pw.pj.POJO.DO.TbArticle;
+import pw.pj.POJO.DO.TbArticleCard;
 import pw.pj.POJO.DO.TbComment;
 import pw.pj.POJO.VO.CommentCreateVO;
 import pw.pj.POJO.VO.CommentVO;
+import pw.pj.POJO.VO.CursorQueryVO;
 import pw.pj.POJO.VO.PageQueryVO;
+import pw.pj.common.comment.CommentTree;
 import pw.pj.common.constants.RedisConstants;
 import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.CommentChangeEvent;
 import pw.pj.common.exception.BusinessException;
+import pw.pj.common.result.CursorPageResult;
 import pw.pj.common.result.PageResult;
 import pw.pj.common.result.ResultEnum;
+import pw.pj.common.utils.CursorUtils;
+import pw.pj.common.utils.DateTimeUtils;
 import pw.pj.common.utils.IpUtils;
 import pw.pj.common.utils.RedisUtils;
 import pw.pj.common.utils.StringUtils;
+import pw.pj.mapper.TbArticleMapper;
 import pw.pj.mapper.TbCommentMapper;
+import pw.pj.service.ArticleSearchService;
+import pw.pj.service.TbArticleCardService;
 import pw.pj.service.TbCommentService;
 
 import javax.servlet.http.HttpServletRequest;
@@ -39,12 +57,39 @@ import java.util.stream.Collectors;
 @Service
 public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment> implements TbCommentService {
 
+    private static final TypeReference<List<CommentVO>> TREE_TYPE = new TypeReference<List<CommentVO>>() {
+    };
+
+    /**
+     * 顶级评论排序：置顶优先，再按发布时间倒序
+     */
+    private static final Comparator<CommentVO> ROOT_ORDER = Comparator
+            .comparing((CommentVO comment) -> Boolean.TRUE.equals(comment.getIsTop()))
+            .thenComparing(CommentVO::getCreateTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(CommentVO::getId)
+            .reversed();
+
     @Autowired
     private RedisUtils redisUtils;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Autowired
     private HttpServletRequest request;
 
+    @Autowired
+    private ArticleSearchService articleSearchService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TbArticleMapper articleMapper;
+
+    @Autowired
+    private TbArticleCardService articleCardService;
+
     // ==================== 评论CRUD操作 ====================
 
     @Override
@@ -83,6 +128,8 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
 
         // 7. 清除缓存
         clearCommentCache(commentCreateVO.getArticleId());
+        eventPublisher.publishEvent(new CommentChangeEvent(comment.getId(), comment.getArticleId(),
+                CommentChangeEvent.ChangeType.CREATE));
 
         log.info("评论创建成功，评论ID：{}", comment.getId());
         return convertToVO(comment);
@@ -118,6 +165,8 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
             log.info("评论更新成功，评论ID：{}", commentId);
             // 返回更新后的评论信息
             TbComment comment = getById(commentId);
+            eventPublisher.publishEvent(new CommentChangeEvent(commentId, comment.getArticleId(),
+                    CommentChangeEvent.ChangeType.UPDATE));
             return convertToVO(comment);
         }
 
@@ -146,6 +195,8 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
             // 删除成功后更新文章评论数
             updateArticleCommentCount(comment.getArticleId());
             clearCommentCache(comment.getArticleId());
+            eventPublisher.publishEvent(new CommentChangeEvent(commentId, comment.getArticleId(),
+                    CommentChangeEvent.ChangeType.DELETE));
             log.info("评论删除成功，评论ID：{}", commentId);
             return 1;
         }
@@ -193,6 +244,10 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
                 updateArticleCommentCount(articleId);
                 clearCommentCache(articleId);
             }
+            for (TbComment comment : commentsToDelete) {
+                eventPublisher.publishEvent(new CommentChangeEvent(comment.getId(), comment.getArticleId(),
+                        CommentChangeEvent.ChangeType.DELETE));
+            }
 
             log.info("批量删除评论完成，删除数量：{}", deletedCount);
         }
@@ -200,6 +255,39 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
         return deletedCount;
     }
 
+    /**
+     * 评论新建、审核、删除的事务提交后再清除一次文章评论缓存，
+     * 避免提交前的并发读取把旧的评论树写回缓存
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChange(CommentChangeEvent event) {
+        if (event.getArticleId() != null) {
+            clearCommentCache(event.getArticleId());
+        } else if (event.getCommentId() != null) {
+            clearCommentCacheOf(event.getCommentId());
+        }
+    }
+
+    /**
+     * 启动时按父子关系补齐评论路径与层级，升级前写入的评论没有路径时评论树查询取不到其回复；
+     * 升级脚本已补齐路径，这里只在仍有缺少路径的回复时兜底执行全表重算
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initCommentPaths() {
+        try {
+            if (!baseMapper.existsMissingPath()) {
+                return;
+            }
+            int pathCount = baseMapper.rebuildPaths();
+            if (pathCount > 0) {
+                redisUtils.deletePattern(RedisConstants.Comment.ARTICLE_COMMENTS + "*");
+                log.info("评论路径已补齐，修正数量：{}", pathCount);
+            }
+        } catch (Exception e) {
+            log.error("评论路径初始化失败：error={}", e.getMessage(), e);
+        }
+    }
+
     // ==================== 评论层级回复 ====================
 
     @Override
@@ -230,25 +318,35 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
 
     @Override
     public List<CommentVO> getCommentTree(Long articleId, Integer limit) {
-        // 1. 获取顶级评论
-        List<TbComment> topComments = lambdaQuery()
-                .eq(TbComment::getArticleId, articleId)
-                .eq(TbComment::getParentId, 0)
-                .eq(TbComment::getIsDelete, 0)
-                .eq(TbComment::getStatus, SystemConstants.Comment.STATUS_APPROVED)
-                .orderByDesc(TbComment::getIsSticky)
-                .orderByDesc(TbComment::getCreateTime)
-                .last(limit != null ? "LIMIT " + limit : "")
-                .list();
+        int rootLimit = limit == null || limit <= 0 ? SystemConstants.Comment.TREE_ROOT_LIMIT
+                : Math.min(limit, SystemConstants.Comment.TREE_ROOT_MAX);
 
-        if (ObjectUtils.isEmpty(topComments)) {
-            return new ArrayList<>();
+        // 1. 尝试从缓存获取：每篇文章一个哈希表，字段为顶级评论数量，评论变化时整篇失效
+        String cacheKey = RedisConstants.Comment.ARTICLE_COMMENTS + articleId;
+        String field = "tree:" + rootLimit;
+        byte[] cached = redisUtils.hGetBytes(cacheKey, field);
+        if (cached != null) {
+            try {
+                return objectMapper.readValue(cached, TREE_TYPE);
+            } catch (Exception e) {
+                log.warn("评论树缓存解析失败，重新加载：articleId={}, error={}", articleId, e.getMessage());
+            }
         }
 
-        List<CommentVO> commentVOList = convertToVOList(topComments);
+        // 2. 一条查询取出一页顶级评论及其全部子孙评论，再单次遍历组装
+        List<TbComment> comments = baseMapper.selectTreePage(articleId, SystemConstants.Comment.STATUS_APPROVED,
+                rootLimit);
+        List<CommentVO> tree = CommentTree.assemble(convertToVOList(comments), CommentVO::getId,
+                CommentVO::getParentId, CommentVO::setChildren, ROOT_ORDER);
 
-        // 2. 递归构建评论树
-        return buildCommentTree(commentVOList);
+        // 3. 缓存序列化后的评论树
+        try {
+            redisUtils.hSetBytes(cacheKey, field, objectMapper.writeValueAsBytes(tree),
+                    SystemConstants.Cache.EXPIRE_HOUR);
+        } catch (Exception e) {
+            log.warn("评论树缓存写入失败：articleId={}, error={}", articleId, e.getMessage());
+        }
+        return tree;
     }
 
     @Override
@@ -257,24 +355,12 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
             return new ArrayList<>();
         }
 
-        Map<Long, List<CommentVO>> commentMap = new HashMap<>();
-
-        // 构建父子关系映射
-        for (CommentVO comment : commentVOList) {
-            Long parentId = comment.getParentId() != null ? comment.getParentId() : 0L;
-            commentMap.computeIfAbsent(parentId, k -> new ArrayList<>()).add(comment);
-        }
-
-        // 为每个评论设置子评论
-        for (CommentVO comment : commentVOList) {
-            List<CommentVO> children = commentMap.get(comment.getId());
-            if (children != null) {
-                comment.setChildren(children);
-            }
-        }
-
-        // 返回顶级评论
-        return commentMap.getOrDefault(0L, new ArrayList<>());
+        // 组装要求父评论在子评论之前，按ID升序排列后单次遍历
+        List<CommentVO> sorted = new ArrayList<>(commentVOList);
+        sorted.sort(Comparator.comparing(CommentVO::getId));
+        return CommentTree.assemble(sorted, CommentVO::getId,
+                comment -> comment.getParentId() != null ? comment.getParentId() : 0L,
+                CommentVO::setChildren, ROOT_ORDER);
     }
 
     // ==================== 评论查询操作 ====================
@@ -316,22 +402,55 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
     }
 
     @Override
-    public PageResult<CommentVO> searchComments(String keyword, Integer pageNum, Integer pageSize) {
-        if (StringUtils.isBlank(keyword)) {
-            return PageResult.empty(pageNum, pageSize);
-        }
+    public CursorPageResult<CommentVO> getArticleCommentsByCursor(Long articleId, CursorQueryVO cursorQueryVO) {
+        // 按 (is_sticky, create_time, id) 键集分页，多取一条判断是否有下一页，不执行COUNT
+        long[] cursor = CursorUtils.decode(cursorQueryVO.getCursor(), 3);
+        int size = cursorQueryVO.getSize();
 
         LambdaQueryWrapper<TbComment> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(TbComment::getIsDelete, 0)
-                .and(wrapper -> wrapper.like(TbComment::getContent, keyword)
-                        .or().like(TbComment::getAuthorName, keyword))
-                .orderByDesc(TbComment::getCreateTime);
-
-        Page<TbComment> page = new Page<>(pageNum, pageSize);
-        Page<TbComment> resultPage = page(page, queryWrapper);
+        queryWrapper.eq(TbComment::getArticleId, articleId)
+                .eq(TbComment::getIsDelete, 0)
+                .eq(TbComment::getStatus, SystemConstants.Comment.STATUS_APPROVED);
+        if (cursor != null) {
+            int isSticky = (int) cursor[0];
+            Date createTime = new Date(cursor[1]);
+            long id = cursor[2];
+            queryWrapper.and(keyset -> keyset.lt(TbComment::getIsSticky, isSticky)
+                    .or(w -> w.eq(TbComment::getIsSticky, isSticky).lt(TbComment::getCreateTime, createTime))
+                    .or(w -> w.eq(TbComment::getIsSticky, isSticky).eq(TbComment::getCreateTime, createTime)
+                            .lt(TbComment::getId, id)));
+        }
+        queryWrapper.orderByDesc(TbComment::getIsSticky)
+                .orderByDesc(TbComment::getCreateTime)
+                .orderByDesc(TbComment::getId)
+                .last("LIMIT " + (size + 1));
+
+        List<TbComment> comments = list(queryWrapper);
+        String nextCursor = null;
+        if (comments.size() > size) {
+            comments = comments.subList(0, size);
+            TbComment last = comments.get(size - 1);
+            nextCursor = CursorUtils.encode(last.getIsSticky() != null ? last.getIsSticky() : 0,
+                    last.getCreateTime().getTime(), last.getId());
+        }
+
+        Long total = null;
+        if (Boolean.TRUE.equals(cursorQueryVO.getWithTotal())) {
+            // 近似总数短时缓存，过期前不再执行COUNT
+            String cacheKey = RedisConstants.Comment.COMMENT_CURSOR_TOTAL + articleId;
+            total = redisUtils.get(cacheKey, Long.class);
+            if (total == null) {
+                total = getCommentCountByArticleId(articleId).longValue();
+                redisUtils.set(cacheKey, total, SystemConstants.Cache.CURSOR_TOTAL_EXPIRE);
+            }
+        }
+        return CursorPageResult.of(convertToVOList(comments), nextCursor, size, total);
+    }
 
-        List<CommentVO> commentVOList = convertToVOList(resultPage.getRecords());
-        return PageResult.of(commentVOList, resultPage.getTotal(), pageNum, pageSize);
+    @Override
+    public PageResult<CommentVO> searchComments(String keyword, Integer pageNum, Integer pageSize) {
+        // 由进程内倒排索引检索，避免对评论内容做LIKE全表扫描
+        return articleSearchService.searchComments(keyword, pageNum, pageSize);
     }
 
     @Override
@@ -363,6 +482,8 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
             if (comment != null) {
                 updateArticleCommentCount(comment.getArticleId());
                 clearCommentCache(comment.getArticleId());
+                eventPublisher.publishEvent(new CommentChangeEvent(commentId, comment.getArticleId(),
+                        CommentChangeEvent.ChangeType.AUDIT));
             }
             log.info("评论审核通过，评论ID：{}", commentId);
             return 1;
@@ -384,6 +505,7 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
                 .update();
 
         if (updated) {
+            eventPublisher.publishEvent(new CommentChangeEvent(commentId, null, CommentChangeEvent.ChangeType.AUDIT));
             log.info("评论审核拒绝，评论ID：{}", commentId);
             return 1;
         }
@@ -408,19 +530,25 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
                 .set(TbComment::getUpdateTime, new Date())
                 .update();
 
-        if (updated && status.equals(SystemConstants.Comment.STATUS_APPROVED)) {
-            // 如果是批量通过，需要更新相关文章的评论数
+        if (updated) {
             List<TbComment> comments = lambdaQuery()
                     .in(TbComment::getId, commentIds)
                     .list();
 
-            Set<Long> articleIds = comments.stream()
-                    .map(TbComment::getArticleId)
-                    .collect(Collectors.toSet());
-
-            for (Long articleId : articleIds) {
-                updateArticleCommentCount(articleId);
-                clearCommentCache(articleId);
+            // 如果是批量通过，需要更新相关文章的评论数
+            if (status.equals(SystemConstants.Comment.STATUS_APPROVED)) {
+                Set<Long> articleIds = comments.stream()
+                        .map(TbComment::getArticleId)
+                        .collect(Collectors.toSet());
+
+                for (Long articleId : articleIds) {
+                    updateArticleCommentCount(articleId);
+                    clearCommentCache(articleId);
+                }
+            }
+            for (TbComment comment : comments) {
+                eventPublisher.publishEvent(new CommentChangeEvent(comment.getId(), comment.getArticleId(),
+                        CommentChangeEvent.ChangeType.AUDIT));
             }
         }
 
@@ -503,6 +631,7 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
                 .update();
 
         if (updated) {
+            clearCommentCacheOf(commentId);
             log.info("评论置顶成功，评论ID：{}", commentId);
             return 1;
         }
@@ -523,6 +652,7 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
                 .update();
 
         if (updated) {
+            clearCommentCacheOf(commentId);
             log.info("评论取消置顶成功，评论ID：{}", commentId);
             return 1;
         }
@@ -543,6 +673,7 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
                 .update();
 
         if (updated) {
+            eventPublisher.publishEvent(new CommentChangeEvent(commentId, null, CommentChangeEvent.ChangeType.AUDIT));
             log.info("标记垃圾评论成功，评论ID：{}", commentId);
             return 1;
         }
@@ -697,6 +828,13 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
     public Integer rebuildCommentTree() {
         log.info("重建评论树结构");
 
+        // 按父子关系修正评论路径与层级，评论树查询依赖路径前缀
+        int pathCount = baseMapper.rebuildPaths();
+        if (pathCount > 0) {
+            redisUtils.deletePattern(RedisConstants.Comment.ARTICLE_COMMENTS + "*");
+            log.info("评论路径修正完成，修正数量：{}", pathCount);
+        }
+
         // 获取所有评论
         List<TbComment> allComments = lambdaQuery()
                 .eq(TbComment::getIsDelete, 0)
@@ -771,8 +909,17 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
                 .eq(TbComment::getStatus, SystemConstants.Comment.STATUS_APPROVED)
                 .count();
 
-        // 这里需要调用文章服务更新文章的评论数，暂时用日志记录
-        log.info("文章ID: {} 的评论数量为: {}", articleId, commentCount);
+        // 写回文章表与列表卡片，热门榜单按此计算评论热度
+        articleMapper.update(null, Wrappers.<TbArticle>lambdaUpdate()
+                .eq(TbArticle::getId, articleId)
+                .set(TbArticle::getCommentCount, commentCount.intValue())
+                // 评论数变化不是文章编辑，保持更新时间不变
+                .setSql("update_time = update_time"));
+        articleCardService.lambdaUpdate()
+                .eq(TbArticleCard::getArticleId, articleId)
+                .set(TbArticleCard::getCommentCount, commentCount.intValue())
+                .update();
+        log.debug("文章评论数已更新：文章ID={}，评论数={}", articleId, commentCount);
 
         return commentCount.intValue();
     }
@@ -788,6 +935,11 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
         CommentVO commentVO = new CommentVO();
         BeanUtils.copyProperties(comment, commentVO);
 
+        // 名称或类型不一致的字段需要手动转换，评论树排序依赖置顶标记与发布时间
+        commentVO.setIsTop(comment.getIsSticky() != null && comment.getIsSticky() == 1);
+        commentVO.setCreateTime(DateTimeUtils.toLocalDateTime(comment.getCreateTime()));
+        commentVO.setUpdateTime(DateTimeUtils.toLocalDateTime(comment.getUpdateTime()));
+
         return commentVO;
     }
 
@@ -834,8 +986,17 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
         comment.setIsAdmin(0); // 默认非管理员评论
         comment.setNotifyEmail(createVO.shouldNotifyAuthor() || createVO.shouldNotifyReplyUser() ? 1 : 0);
 
-        // 设置评论层级（可根据parentId计算）
-        comment.setLevel(createVO.getCommentLevel());
+        // 设置评论路径与层级：路径为祖先评论ID链，如 0,12,35,
+        TbComment parent = comment.getParentId() != 0 ? getById(comment.getParentId()) : null;
+        if (parent != null) {
+            // 历史评论可能尚未回填路径，缺失时按顶级评论处理，由重建评论树修正
+            String parentPath = parent.getPath() != null ? parent.getPath() : "0,";
+            comment.setPath(parentPath + parent.getId() + ",");
+            comment.setLevel((parent.getLevel() != null ? parent.getLevel() : 1) + 1);
+        } else {
+            comment.setPath("0,");
+            comment.setLevel(1);
+        }
 
         return comment;
     }
@@ -847,4 +1008,14 @@ public class TbCommentServiceImpl extends ServiceImpl<TbCommentMapper, TbComment
         String cacheKey = RedisConstants.Comment.ARTICLE_COMMENTS + articleId;
         redisUtils.delete(cacheKey);
     }
+
+    /**
+     * 按评论ID查出所属文章后清除缓存
+     */
+    private void clearCommentCacheOf(Long commentId) {
+        TbComment comment = getById(commentId);
+        if (comment != null) {
+            clearCommentCache(comment.getArticleId());
+        }
+    }
 }
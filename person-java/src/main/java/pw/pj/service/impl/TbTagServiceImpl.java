@@ -1,12 +1,16 @@
 package pw.pj.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ObjectUtils;
@@ -14,17 +18,22 @@ import pw.pj.POJO.DO.TbArticleTag;
 import pw.pj.POJO.DO.TbTag;
 import pw.pj.POJO.VO.PageQueryVO;
 import pw.pj.POJO.VO.TagVO;
-import pw.pj.common.constants.RedisConstants;
 import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.event.TagChangeEvent;
 import pw.pj.common.exception.BusinessException;
 import pw.pj.common.result.PageResult;
 import pw.pj.common.result.ResultEnum;
-import pw.pj.common.utils.RedisUtils;
+import pw.pj.common.tag.TagClickBuffer;
+import pw.pj.common.tag.TagCloud;
 import pw.pj.common.utils.StringUtils;
+import pw.pj.mapper.TbArticleTagMapper;
 import pw.pj.mapper.TbTagMapper;
+import pw.pj.service.TagCooccurrenceService;
+import pw.pj.service.TagDictionaryService;
 import pw.pj.service.TbArticleTagService;
 import pw.pj.service.TbTagService;
 
+import javax.annotation.PreDestroy;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -44,7 +53,21 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
     private TbArticleTagService articleTagService;
 
     @Autowired
-    private RedisUtils redisUtils;
+    private TagDictionaryService tagDictionaryService;
+
+    @Autowired
+    private TbArticleTagMapper articleTagMapper;
+
+    @Autowired
+    private TagCooccurrenceService tagCooccurrenceService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 尚未写回的标签点击增量
+     */
+    private final TagClickBuffer clickBuffer = new TagClickBuffer();
 
     // ==================== 标签CRUD操作 ====================
 
@@ -69,14 +92,19 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
         // 3. 创建标签对象
         TbTag tag = buildTagFromVO(tagVO);
 
-        // 4. 保存标签
-        boolean saved = save(tag);
+        // 4. 保存标签，字典快照尚未包含其他节点刚创建的同名标签时由唯一索引兜底
+        boolean saved;
+        try {
+            saved = save(tag);
+        } catch (DuplicateKeyException e) {
+            throw new BusinessException(ResultEnum.PARAM_ERROR, "标签名称已存在");
+        }
         if (!saved) {
             throw new BusinessException(ResultEnum.SAVE_FAIL, "标签保存失败");
         }
 
-        // 5. 清除相关缓存
-        clearTagCache();
+        // 5. 通知标签字典重建
+        eventPublisher.publishEvent(new TagChangeEvent(tag.getId(), TagChangeEvent.ChangeType.CREATE));
 
         log.info("标签创建成功，标签ID：{}", tag.getId());
         return convertToVO(tag);
@@ -103,15 +131,19 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
         // 3. 更新标签字段
         updateTagFields(tag, tagVO);
 
-        // 4. 保存更新
-        boolean updated = updateById(tag);
+        // 4. 保存更新，唯一索引冲突同样视为重名
+        boolean updated;
+        try {
+            updated = updateById(tag);
+        } catch (DuplicateKeyException e) {
+            throw new BusinessException(ResultEnum.PARAM_ERROR, "标签名称已存在");
+        }
         if (!updated) {
             throw new BusinessException(ResultEnum.UPDATE_FAIL, "标签更新失败");
         }
 
-        // 5. 清除相关缓存
-        clearTagCache();
-        clearTagDetailCache(tagId);
+        // 5. 通知标签字典重建
+        eventPublisher.publishEvent(new TagChangeEvent(tagId, TagChangeEvent.ChangeType.UPDATE));
 
         log.info("标签更新成功，标签ID：{}", tagId);
         return convertToVO(tag);
@@ -123,30 +155,8 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
             return null;
         }
 
-        // 1. 尝试从缓存获取
-        String cacheKey = RedisConstants.Tag.TAG_DETAIL + tagId;
-        TagVO cachedTag = redisUtils.get(cacheKey, TagVO.class);
-        if (cachedTag != null) {
-            return cachedTag;
-        }
-
-        // 2. 从数据库查询
-        TbTag tag = lambdaQuery()
-                .eq(TbTag::getId, tagId)
-                .eq(TbTag::getIsDelete, 0)
-                .one();
-
-        if (tag == null) {
-            return null;
-        }
-
-        // 3. 转换为VO
-        TagVO tagVO = convertToVO(tag);
-
-        // 4. 缓存结果
-        redisUtils.set(cacheKey, tagVO, SystemConstants.Cache.EXPIRE_HOUR);
-
-        return tagVO;
+        TbTag tag = tagDictionaryService.getTag(tagId);
+        return tag == null ? null : convertToVO(tag);
     }
 
     @Override
@@ -160,8 +170,8 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
             throw new BusinessException(ResultEnum.DATA_NOT_FOUND, "标签不存在");
         }
 
-        // 2. 检查是否有关联文章
-        Integer articleCount = getTagArticleCount(tagId);
+        // 2. 检查是否有关联文章（以数据库为准）
+        Integer articleCount = countArticleRelations(tagId);
         if (articleCount > 0) {
             throw new BusinessException(ResultEnum.OPERATION_FORBIDDEN, "该标签下还有文章，无法删除");
         }
@@ -174,9 +184,8 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
                 .update();
 
         if (deleted) {
-            // 4. 清除相关缓存
-            clearTagCache();
-            clearTagDetailCache(tagId);
+            // 4. 通知标签字典与位图索引
+            eventPublisher.publishEvent(new TagChangeEvent(tagId, TagChangeEvent.ChangeType.DELETE));
 
             log.info("标签删除成功，标签ID：{}", tagId);
         }
@@ -191,7 +200,7 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
 
         // 1. 验证所有标签是否可以删除
         for (Long tagId : tagIds) {
-            Integer articleCount = getTagArticleCount(tagId);
+            Integer articleCount = countArticleRelations(tagId);
             if (articleCount > 0) {
                 throw new BusinessException(ResultEnum.OPERATION_FORBIDDEN, "标签ID " + tagId + " 下还有文章，无法删除");
             }
@@ -205,9 +214,8 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
                 .update();
 
         if (deleted) {
-            // 3. 批量清除缓存
-            clearTagCache();
-            tagIds.forEach(this::clearTagDetailCache);
+            // 3. 通知标签字典与位图索引
+            tagIds.forEach(id -> eventPublisher.publishEvent(new TagChangeEvent(id, TagChangeEvent.ChangeType.DELETE)));
 
             log.info("批量删除标签成功，标签数量：{}", tagIds.size());
         }
@@ -241,28 +249,8 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
 
     @Override
     public List<TagVO> getAllTags() {
-        // 1. 尝试从缓存获取
-        String cacheKey = RedisConstants.Tag.TAG_LIST;
-        List<TagVO> cachedTags = redisUtils.get(cacheKey, List.class);
-        if (cachedTags != null) {
-            return cachedTags;
-        }
-
-        // 2. 从数据库查询
-        List<TbTag> tags = lambdaQuery()
-                .eq(TbTag::getIsDelete, 0)
-                .eq(TbTag::getStatus, SystemConstants.Tag.STATUS_ENABLED)
-                .orderByDesc(TbTag::getArticleCount)
-                .orderByAsc(TbTag::getSortOrder)
-                .list();
-
-        // 3. 转换为VO
-        List<TagVO> tagVOList = convertToVOList(tags);
-
-        // 4. 缓存结果
-        redisUtils.set(cacheKey, tagVOList, SystemConstants.Cache.EXPIRE_HOUR);
-
-        return tagVOList;
+        // 快照中的启用标签已按文章数倒序、排序权重升序排好
+        return convertToVOList(tagDictionaryService.getEnabledTags());
     }
 
     @Override
@@ -271,47 +259,44 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
             return new ArrayList<>();
         }
 
-        List<TbTag> tags = lambdaQuery()
-                .eq(TbTag::getIsDelete, 0)
-                .eq(TbTag::getStatus, SystemConstants.Tag.STATUS_ENABLED)
-                .and(wrapper -> wrapper.like(TbTag::getName, keyword)
-                        .or().like(TbTag::getDescription, keyword))
-                .orderByDesc(TbTag::getArticleCount)
-                .orderByAsc(TbTag::getSortOrder)
-                .list();
+        // 在标签字典的启用标签中按名称、描述包含匹配（不区分大小写），顺序与启用列表一致
+        String needle = keyword.trim().toLowerCase(Locale.ROOT);
+        List<TbTag> tags = tagDictionaryService.getEnabledTags().stream()
+                .filter(tag -> containsIgnoreCase(tag.getName(), needle)
+                        || containsIgnoreCase(tag.getDescription(), needle))
+                .collect(Collectors.toList());
 
         return convertToVOList(tags);
     }
 
     @Override
     public List<TagVO> getHotTags(Integer limit) {
-        String cacheKey = RedisConstants.Tag.HOT_TAGS;
-        List<TagVO> cachedTags = redisUtils.get(cacheKey, List.class);
-        if (cachedTags != null) {
-            return cachedTags.stream()
-                    .limit(limit)
-                    .collect(Collectors.toList());
-        }
-
-        // 根据文章数量和点击次数计算热度
-        List<TbTag> tags = lambdaQuery()
-                .eq(TbTag::getIsDelete, 0)
-                .eq(TbTag::getStatus, SystemConstants.Tag.STATUS_ENABLED)
-                .gt(TbTag::getArticleCount, 0)
-                .orderByDesc(TbTag::getArticleCount)
-                .orderByDesc(TbTag::getClickCount)
-                .last("LIMIT " + (limit * 2))
-                .list();
+        // 根据文章数量和点击次数计算热度，快照中已排好序
+        List<TbTag> tags = tagDictionaryService.getPopularTags().stream()
+                .limit(limit)
+                .collect(Collectors.toList());
 
         List<TagVO> tagVOList = convertToVOList(tags);
 
         // 标记为热门标签
         tagVOList.forEach(tag -> tag.setIsHot(true));
 
-        // 缓存结果
-        redisUtils.set(cacheKey, tagVOList, SystemConstants.Cache.HOT_DATA_EXPIRE);
+        return tagVOList;
+    }
 
-        return tagVOList.stream().limit(limit).collect(Collectors.toList());
+    @Override
+    public List<TagVO> getRelatedTags(Long tagId, Integer limit) {
+        // 共现矩阵给出按相关度排好的ID，再从标签字典取出启用的标签
+        List<Long> relatedIds = tagCooccurrenceService.findRelatedTagIds(tagId, limit);
+        return convertToVOList(enabledTagsOf(relatedIds));
+    }
+
+    @Override
+    public List<TagVO> suggestTags(List<Long> tagIds, Integer limit) {
+        List<Long> suggestedIds = tagCooccurrenceService.suggestTagIds(tagIds, limit);
+        List<TagVO> tagVOList = convertToVOList(enabledTagsOf(suggestedIds));
+        tagVOList.forEach(tag -> tag.setIsRecommend(true));
+        return tagVOList;
     }
 
     @Override
@@ -350,42 +335,16 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
     }
 
     @Override
-    public List<TagVO> getTagCloud(Integer maxTags) {
-        String cacheKey = RedisConstants.Tag.TAG_CLOUD;
-        List<TagVO> cachedTags = redisUtils.get(cacheKey, List.class);
-        if (cachedTags != null) {
-            return cachedTags.stream()
-                    .limit(maxTags)
-                    .collect(Collectors.toList());
-        }
-
-        // 获取有文章关联的标签，按文章数量和点击次数权重排序
-        List<TbTag> tags = lambdaQuery()
-                .eq(TbTag::getIsDelete, 0)
-                .eq(TbTag::getStatus, SystemConstants.Tag.STATUS_ENABLED)
-                .gt(TbTag::getArticleCount, 0)
-                .orderByDesc(TbTag::getArticleCount)
-                .orderByDesc(TbTag::getClickCount)
-                .last("LIMIT " + maxTags)
-                .list();
-
-        List<TagVO> tagVOList = convertToVOList(tags);
-
-        // 为标签云计算权重级别
-        if (!tagVOList.isEmpty()) {
-            int maxArticleCount = tagVOList.get(0).getUseCount();
-            int minArticleCount = tagVOList.get(tagVOList.size() - 1).getUseCount();
-
-            tagVOList.forEach(tag -> {
-                // 计算权重级别（1-5级）
-                int level = calculateTagWeight(tag.getUseCount(), maxArticleCount, minArticleCount);
-                // 可以通过扩展TagVO添加weight字段来存储
-            });
+    public List<TagVO> getTagCloud() {
+        // 标签云随标签字典快照在后台算好，这里只做VO转换
+        List<TagCloud.Entry<TbTag>> entries = tagDictionaryService.getTagCloud().entries();
+        List<TagVO> tagVOList = new ArrayList<>(entries.size());
+        for (TagCloud.Entry<TbTag> entry : entries) {
+            TagVO tagVO = convertToVO(entry.getTag());
+            tagVO.setWeight(entry.getLevel());
+            tagVO.setFontSize(entry.getFontSize());
+            tagVOList.add(tagVO);
         }
-
-        // 缓存结果
-        redisUtils.set(cacheKey, tagVOList, SystemConstants.Cache.EXPIRE_HOUR);
-
         return tagVOList;
     }
 
@@ -404,8 +363,7 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
                 .update();
 
         if (updated) {
-            clearTagCache();
-            clearTagDetailCache(tagId);
+            eventPublisher.publishEvent(new TagChangeEvent(tagId, TagChangeEvent.ChangeType.STATUS));
             log.info("标签启用成功，标签ID：{}", tagId);
         }
 
@@ -425,8 +383,7 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
                 .update();
 
         if (updated) {
-            clearTagCache();
-            clearTagDetailCache(tagId);
+            eventPublisher.publishEvent(new TagChangeEvent(tagId, TagChangeEvent.ChangeType.STATUS));
             log.info("标签禁用成功，标签ID：{}", tagId);
         }
 
@@ -437,41 +394,28 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
 
     @Override
     public List<TagVO> getTagsByArticleId(Long articleId) {
-        // 1. 尝试从缓存获取
-        String cacheKey = RedisConstants.Tag.ARTICLE_TAGS + articleId;
-        List<TagVO> cachedTags = redisUtils.get(cacheKey, List.class);
-        if (cachedTags != null) {
-            return cachedTags;
-        }
-
-        // 2. 通过关联表查询文章的标签
-        List<TbArticleTag> articleTags = articleTagService.lambdaQuery()
-                .eq(TbArticleTag::getArticleId, articleId)
-                .eq(TbArticleTag::getIsDelete, 0)
-                .list();
-
-        if (ObjectUtils.isEmpty(articleTags)) {
+        if (articleId == null) {
             return new ArrayList<>();
         }
 
-        List<Long> tagIds = articleTags.stream()
+        // 1. 按文章ID索引读取关联的标签ID，同一事务内刚写入的关联也可见
+        List<Long> tagIds = articleTagMapper.selectList(Wrappers.<TbArticleTag>lambdaQuery()
+                .select(TbArticleTag::getTagId)
+                .eq(TbArticleTag::getArticleId, articleId))
+                .stream()
                 .map(TbArticleTag::getTagId)
                 .collect(Collectors.toList());
+        if (ObjectUtils.isEmpty(tagIds)) {
+            return new ArrayList<>();
+        }
 
-        // 3. 查询标签详情
-        List<TbTag> tags = lambdaQuery()
-                .in(TbTag::getId, tagIds)
-                .eq(TbTag::getIsDelete, 0)
-                .eq(TbTag::getStatus, SystemConstants.Tag.STATUS_ENABLED)
-                .orderByAsc(TbTag::getSortOrder)
-                .list();
-
-        List<TagVO> tagVOList = convertToVOList(tags);
-
-        // 4. 缓存结果
-        redisUtils.set(cacheKey, tagVOList, SystemConstants.Cache.EXPIRE_HOUR);
+        // 2. 从标签字典取标签详情
+        List<TbTag> tags = tagDictionaryService.getTags(tagIds).stream()
+                .filter(tag -> SystemConstants.Tag.STATUS_ENABLED.equals(tag.getStatus()))
+                .sorted(Comparator.comparing(TbTag::getSortOrder, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
 
-        return tagVOList;
+        return convertToVOList(tags);
     }
 
     @Override
@@ -491,57 +435,68 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
                 .update();
 
         if (updated) {
-            // 清除相关缓存
-            clearTagCache();
-            clearTagDetailCache(tagId);
-            clearTagArticleCountCache(tagId);
+            eventPublisher.publishEvent(new TagChangeEvent(tagId, TagChangeEvent.ChangeType.UPDATE));
         }
 
         return (int) count;
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
+    public void adjustTagArticleCounts(Map<Long, Integer> deltas) {
+        Map<Long, Integer> changed = new LinkedHashMap<>();
+        deltas.forEach((tagId, delta) -> {
+            if (delta != null && delta != 0) {
+                changed.put(tagId, delta);
+            }
+        });
+        if (changed.isEmpty()) {
+            return;
+        }
+        // 一条UPDATE调整全部受影响的标签；文章数只在标签字典中展示，
+        // 由随后的文章标签变更事件触发字典重建，这里不再逐个发布标签变更事件
+        baseMapper.addArticleCounts(changed);
+    }
+
+    @Override
     public Boolean incrementTagClickCount(Long tagId) {
-        boolean updated = lambdaUpdate()
-                .eq(TbTag::getId, tagId)
-                .eq(TbTag::getIsDelete, 0)
-                .setSql("click_count = click_count + 1")
-                .set(TbTag::getUpdateTime, new Date())
-                .update();
+        if (tagDictionaryService.getTag(tagId) == null) {
+            return false;
+        }
+        // 只在内存中累加，定期批量写回；热门排序随标签字典定期重建更新
+        clickBuffer.record(tagId);
+        return true;
+    }
 
-        if (updated) {
-            // 清除热门标签缓存
-            redisUtils.delete(RedisConstants.Tag.HOT_TAGS);
-            clearTagDetailCache(tagId);
+    /**
+     * 定期把缓冲的点击增量用一条UPDATE写回
+     */
+    @Scheduled(fixedDelay = 30000, initialDelay = 30000)
+    public void flushClickCounts() {
+        Map<Long, Long> deltas = clickBuffer.drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            baseMapper.addClickCounts(deltas);
+        } catch (Exception e) {
+            clickBuffer.restore(deltas);
+            log.error("标签点击数写回失败，标签数：{}，error={}", deltas.size(), e.getMessage());
         }
+    }
 
-        return updated;
+    /**
+     * 应用关闭前写回剩余点击
+     */
+    @PreDestroy
+    public void shutdown() {
+        flushClickCounts();
     }
 
     // ==================== 标签统计和验证 ====================
 
     @Override
     public Integer getTagArticleCount(Long tagId) {
-        // 1. 尝试从缓存获取
-        String cacheKey = RedisConstants.Tag.TAG_ARTICLE_COUNT + tagId;
-        Integer cachedCount = redisUtils.get(cacheKey, Integer.class);
-        if (cachedCount != null) {
-            return cachedCount;
-        }
-
-        // 2. 从数据库查询
-        long count = articleTagService.lambdaQuery()
-                .eq(TbArticleTag::getTagId, tagId)
-                .eq(TbArticleTag::getIsDelete, 0)
-                .count();
-
-        Integer articleCount = (int) count;
-
-        // 3. 缓存结果
-        redisUtils.set(cacheKey, articleCount, SystemConstants.Cache.EXPIRE_HOUR);
-
-        return articleCount;
+        return tagDictionaryService.getArticleCount(tagId);
     }
 
     @Override
@@ -550,15 +505,7 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
             return false;
         }
 
-        LambdaQueryWrapper<TbTag> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(TbTag::getName, name.trim())
-                .eq(TbTag::getIsDelete, 0);
-
-        if (excludeId != null) {
-            queryWrapper.ne(TbTag::getId, excludeId);
-        }
-
-        return count(queryWrapper) > 0;
+        return tagDictionaryService.existsName(name, excludeId);
     }
 
     @Override
@@ -567,15 +514,7 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
             return false;
         }
 
-        LambdaQueryWrapper<TbTag> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(TbTag::getSlug, slug.trim())
-                .eq(TbTag::getIsDelete, 0);
-
-        if (excludeId != null) {
-            queryWrapper.ne(TbTag::getId, excludeId);
-        }
-
-        return count(queryWrapper) > 0;
+        return tagDictionaryService.existsSlug(slug, excludeId);
     }
 
     @Override
@@ -643,8 +582,7 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
                 .update();
 
         if (deleted) {
-            clearTagCache();
-            tagIds.forEach(this::clearTagDetailCache);
+            tagIds.forEach(id -> eventPublisher.publishEvent(new TagChangeEvent(id, TagChangeEvent.ChangeType.DELETE)));
             log.info("清理无关联文章的标签完成，数量：{}", tagIds.size());
             return tagIds.size();
         }
@@ -803,42 +741,27 @@ public class TbTagServiceImpl extends ServiceImpl<TbTagMapper, TbTag> implements
         return 0; // 普通标签
     }
 
-    /**
-     * 计算标签权重级别
-     */
-    private int calculateTagWeight(Integer articleCount, int maxCount, int minCount) {
-        if (articleCount == null || maxCount == minCount) {
-            return 1;
-        }
-
-        double ratio = (double) (articleCount - minCount) / (maxCount - minCount);
-        return Math.max(1, Math.min(5, (int) Math.ceil(ratio * 5)));
-    }
-
-    /**
-     * 清除标签相关缓存
-     */
-    private void clearTagCache() {
-        redisUtils.delete(RedisConstants.Tag.TAG_LIST);
-        redisUtils.delete(RedisConstants.Tag.HOT_TAGS);
-        redisUtils.delete(RedisConstants.Tag.TAG_CLOUD);
-        redisUtils.deletePattern(RedisConstants.Tag.TAG_ARTICLE_COUNT + "*");
-        redisUtils.deletePattern(RedisConstants.Tag.ARTICLE_TAGS + "*");
+    private static boolean containsIgnoreCase(String text, String needle) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(needle);
     }
 
     /**
-     * 清除标签详情缓存
+     * 按给定顺序从标签字典取出启用的标签
      */
-    private void clearTagDetailCache(Long tagId) {
-        String cacheKey = RedisConstants.Tag.TAG_DETAIL + tagId;
-        redisUtils.delete(cacheKey);
+    private List<TbTag> enabledTagsOf(List<Long> tagIds) {
+        return tagDictionaryService.getTags(tagIds).stream()
+                .filter(tag -> SystemConstants.Tag.STATUS_ENABLED.equals(tag.getStatus()))
+                .collect(Collectors.toList());
     }
 
     /**
-     * 清除标签文章数量缓存
+     * 从关联表统计标签的文章数，删除前校验用
      */
-    private void clearTagArticleCountCache(Long tagId) {
-        String cacheKey = RedisConstants.Tag.TAG_ARTICLE_COUNT + tagId;
-        redisUtils.delete(cacheKey);
+    private Integer countArticleRelations(Long tagId) {
+        long count = articleTagService.lambdaQuery()
+                .eq(TbArticleTag::getTagId, tagId)
+                .eq(TbArticleTag::getIsDelete, 0)
+                .count();
+        return (int) count;
     }
 }
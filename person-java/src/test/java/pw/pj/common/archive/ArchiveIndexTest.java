@@ -0,0 +1,76 @@
+package pw.pj.common.archive;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文章归档索引单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class ArchiveIndexTest {
+
+    @Test
+    void testOf_GroupsByMonthNewestFirst() {
+        // Given
+        ArchiveIndex index = ArchiveIndex.of(Arrays.asList(
+                new ArchiveIndex.ArchiveEntry(1, millis(2023, 12, 5)),
+                new ArchiveIndex.ArchiveEntry(2, millis(2024, 1, 3)),
+                new ArchiveIndex.ArchiveEntry(3, millis(2024, 1, 20))));
+
+        // Then
+        assertEquals(2, index.getMonths().size());
+        assertEquals(2024, index.getMonths().get(0).getYear());
+        assertEquals(1, index.getMonths().get(0).getMonth());
+        assertEquals(Arrays.asList(3L, 2L), articleIds(index.findMonth(2024, 1)));
+        assertEquals(3, index.countArticles());
+    }
+
+    @Test
+    void testPut_MovesArticleWhenPublishTimeChanges() {
+        // Given
+        ArchiveIndex index = new ArchiveIndex();
+        index.put(1, millis(2024, 1, 3));
+        index.put(2, millis(2024, 1, 10));
+
+        // When
+        boolean unchanged = index.put(2, millis(2024, 1, 10));
+        boolean moved = index.put(1, millis(2024, 2, 1));
+
+        // Then
+        assertFalse(unchanged);
+        assertTrue(moved);
+        assertEquals(Arrays.asList(1L), articleIds(index.findMonth(2024, 2)));
+        assertEquals(Arrays.asList(2L), articleIds(index.findMonth(2024, 1)));
+        assertEquals(2, index.getMonths().get(0).getMonth());
+    }
+
+    @Test
+    void testRemove_DropsEmptyMonth() {
+        // Given
+        ArchiveIndex index = new ArchiveIndex();
+        index.put(1, millis(2024, 1, 3));
+
+        // When & Then
+        assertTrue(index.remove(1));
+        assertFalse(index.remove(1));
+        assertTrue(index.getMonths().isEmpty());
+        assertNull(index.findMonth(2024, 1));
+    }
+
+    private static long millis(int year, int month, int day) {
+        return LocalDateTime.of(year, month, day, 12, 0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static java.util.List<Long> articleIds(ArchiveIndex.ArchiveMonth month) {
+        return month.getEntries().stream().map(ArchiveIndex.ArchiveEntry::getArticleId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,122 @@
+package pw.pj.common.bitmap;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 标签位图索引单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class TagBitmapIndexTest {
+
+    /**
+     * 文章1-5均已发布；标签10：1,2,3；标签20：2,3,4；标签30：3,5；文章4置顶；文章6未发布且带标签10
+     */
+    private TagBitmapIndex sampleIndex() {
+        TagBitmapIndex index = new TagBitmapIndex();
+        index.setArticle(1, Arrays.asList(10L), true, false);
+        index.setArticle(2, Arrays.asList(10L, 20L), true, false);
+        index.setArticle(3, Arrays.asList(10L, 20L, 30L), true, false);
+        index.setArticle(4, Arrays.asList(20L), true, true);
+        index.setArticle(5, Arrays.asList(30L), true, false);
+        index.setArticle(6, Arrays.asList(10L), false, false);
+        return index;
+    }
+
+    @Test
+    void testFilter_AllAnyNone() {
+        // Given
+        TagBitmapIndex index = sampleIndex();
+
+        // When & Then
+        assertEquals(Arrays.asList(2L, 3L),
+                TagBitmapIndex.toList(index.filter(TagFilter.allOf(Arrays.asList(10L, 20L)))));
+        assertEquals(Arrays.asList(3L, 5L),
+                TagBitmapIndex.toList(index.filter(new TagFilter(null, Arrays.asList(30L), null, true))));
+        assertEquals(Arrays.asList(1L, 2L),
+                TagBitmapIndex.toList(index.filter(new TagFilter(Arrays.asList(10L), null, Arrays.asList(30L), true))));
+        assertEquals(Arrays.asList(1L, 2L, 4L),
+                TagBitmapIndex.toList(index.filter(new TagFilter(null, null, Arrays.asList(30L), true))));
+    }
+
+    @Test
+    void testFilter_PublishedOnly() {
+        // Given
+        TagBitmapIndex index = sampleIndex();
+
+        // When & Then
+        assertEquals(Arrays.asList(1L, 2L, 3L), TagBitmapIndex.toList(index.filter(TagFilter.of(10L))));
+        assertEquals(Arrays.asList(1L, 2L, 3L, 6L), TagBitmapIndex.toList(
+                index.filter(new TagFilter(Collections.singletonList(10L), null, null, false))));
+        assertEquals(0, index.filter(TagFilter.of(99L)).getCardinality());
+    }
+
+    @Test
+    void testPage_PinnedFirstThenIdDescending() {
+        // Given
+        TagBitmapIndex index = sampleIndex();
+
+        // When
+        RoaringBitmap result = index.filter(new TagFilter(null, Arrays.asList(10L, 20L), null, true));
+
+        // Then
+        assertEquals(Arrays.asList(4L, 3L), index.page(result, 0, 2));
+        assertEquals(Arrays.asList(2L, 1L), index.page(result, 2, 2));
+        assertTrue(index.page(result, 4, 2).isEmpty());
+    }
+
+    @Test
+    void testSetArticle_ReplacesTagsAndStatus() {
+        // Given
+        TagBitmapIndex index = sampleIndex();
+
+        // When
+        index.setArticle(3, Arrays.asList(30L), true, false);
+        index.removeArticle(5);
+
+        // Then
+        assertEquals(Arrays.asList(1L, 2L), TagBitmapIndex.toList(index.filter(TagFilter.of(10L))));
+        assertEquals(Collections.singletonList(3L), TagBitmapIndex.toList(index.filter(TagFilter.of(30L))));
+        assertEquals(4, index.publishedCount());
+    }
+
+    @Test
+    void testSerialize_RoundTrip() {
+        // Given
+        TagBitmapIndex index = sampleIndex();
+
+        // When
+        TagBitmapIndex restored = TagBitmapIndex.deserialize(index.serialize());
+
+        // Then
+        assertNotNull(restored);
+        assertEquals(index.tagCount(), restored.tagCount());
+        assertEquals(index.publishedCount(), restored.publishedCount());
+        RoaringBitmap result = restored.filter(TagFilter.allOf(Arrays.asList(10L, 20L)));
+        assertEquals(Arrays.asList(3L, 2L), restored.page(result, 0, 10));
+    }
+
+    @Test
+    void testClearStatus_KeepsTagsAndDropsMasks() {
+        // Given
+        TagBitmapIndex index = sampleIndex();
+
+        // When
+        index.clearStatus();
+        index.setStatus(6, true, true);
+
+        // Then
+        assertEquals(Collections.singletonList(6L), TagBitmapIndex.toList(index.filter(TagFilter.of(10L))));
+        assertEquals(Arrays.asList(1L, 2L, 3L, 6L), TagBitmapIndex.toList(
+                index.filter(new TagFilter(Collections.singletonList(10L), null, null, false))));
+        assertEquals(1, index.publishedCount());
+    }
+}
@@ -0,0 +1,108 @@
+package pw.pj.common.category;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分类树单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class CategoryTreeTest {
+
+    /**
+     * 1 -> 2 -> 4，1 -> 3，5 为另一棵顶级分类
+     */
+    private CategoryTree sampleTree() {
+        CategoryTree tree = new CategoryTree();
+        tree.addCategory(1, 0L);
+        tree.addCategory(2, 1L);
+        tree.addCategory(3, 1L);
+        tree.addCategory(4, 2L);
+        tree.addCategory(5, null);
+        return tree;
+    }
+
+    @Test
+    void testSubtreeIds_IncludesSelfAndDescendants() {
+        // Given
+        CategoryTree tree = sampleTree();
+
+        // When & Then
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L), tree.subtreeIds(1));
+        assertEquals(Arrays.asList(2L, 4L), tree.subtreeIds(2));
+        assertEquals(Collections.singletonList(5L), tree.subtreeIds(5));
+        assertEquals(Collections.singletonList(99L), tree.subtreeIds(99));
+    }
+
+    @Test
+    void testAncestorIds_NearestFirst() {
+        // Given
+        CategoryTree tree = sampleTree();
+
+        // When & Then
+        assertEquals(Arrays.asList(2L, 1L), tree.ancestorIds(4));
+        assertTrue(tree.ancestorIds(1).isEmpty());
+    }
+
+    @Test
+    void testAddArticles_RollsUpToAncestors() {
+        // Given
+        CategoryTree tree = sampleTree();
+
+        // When
+        tree.addArticles(4, 2);
+        tree.addArticles(3, 1);
+        tree.addArticles(1, 1);
+        tree.addArticles(4, -1);
+
+        // Then
+        assertEquals(1, tree.directCount(4));
+        assertEquals(1, tree.subtreeCount(2));
+        assertEquals(3, tree.subtreeCount(1));
+        assertEquals(1, tree.directCount(1));
+        assertEquals(0, tree.subtreeCount(5));
+    }
+
+    @Test
+    void testCycle_DoesNotLoop() {
+        // Given
+        CategoryTree tree = new CategoryTree();
+        tree.addCategory(1, 2L);
+        tree.addCategory(2, 1L);
+
+        // When
+        tree.addArticles(1, 1);
+
+        // Then
+        assertEquals(Arrays.asList(1L, 2L), tree.subtreeIds(1));
+        assertEquals(Collections.singletonList(2L), tree.ancestorIds(1));
+        assertEquals(1, tree.subtreeCount(2));
+    }
+
+    @Test
+    void testCopy_AdjustingCopyLeavesOriginalUntouched() {
+        // Given
+        CategoryTree tree = sampleTree();
+        tree.addArticles(4, 2);
+
+        // When
+        CategoryTree copy = tree.copy();
+        copy.addArticles(4, -1);
+        copy.addArticles(3, 1);
+
+        // Then
+        assertEquals(2, tree.subtreeCount(1));
+        assertEquals(0, tree.directCount(3));
+        assertEquals(2, copy.subtreeCount(1));
+        assertEquals(1, copy.subtreeCount(2));
+        assertEquals(1, copy.directCount(3));
+        assertEquals(tree.subtreeIds(1), copy.subtreeIds(1));
+    }
+}
@@ -0,0 +1,87 @@
+package pw.pj.common.comment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 评论树组装单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class CommentTreeTest {
+
+    @Test
+    void testAssemble_NestsRepliesUnderParents() {
+        // Given
+        List<Node> nodes = Arrays.asList(node(1, 0), node(2, 0), node(3, 1), node(4, 3), node(5, 1));
+
+        // When
+        List<Node> roots = assemble(nodes, Comparator.comparingLong((Node node) -> node.id).reversed());
+
+        // Then
+        assertEquals(Arrays.asList(2L, 1L), ids(roots));
+        Node first = roots.get(1);
+        assertEquals(Arrays.asList(3L, 5L), ids(first.children));
+        assertEquals(Arrays.asList(4L), ids(first.children.get(0).children));
+        assertNull(roots.get(0).children);
+    }
+
+    @Test
+    void testAssemble_DropsSubtreeOfMissingParent() {
+        // Given：评论7的父评论6未通过审核，不在输入中
+        List<Node> nodes = Arrays.asList(node(1, 0), node(7, 6), node(8, 7), node(9, 1));
+
+        // When
+        List<Node> roots = assemble(nodes, Comparator.comparingLong(node -> node.id));
+
+        // Then
+        assertEquals(Arrays.asList(1L), ids(roots));
+        assertEquals(Arrays.asList(9L), ids(roots.get(0).children));
+    }
+
+    @Test
+    void testAssemble_EmptyInput() {
+        // Given & When
+        List<Node> roots = assemble(new ArrayList<>(), Comparator.comparingLong(node -> node.id));
+
+        // Then
+        assertTrue(roots.isEmpty());
+    }
+
+    // ==================== 私有辅助方法 ====================
+
+    private static List<Node> assemble(List<Node> nodes, Comparator<Node> rootOrder) {
+        return CommentTree.assemble(nodes, node -> node.id, node -> node.parentId,
+                (node, children) -> node.children = children, rootOrder);
+    }
+
+    private static Node node(long id, long parentId) {
+        Node node = new Node();
+        node.id = id;
+        node.parentId = parentId;
+        return node;
+    }
+
+    private static List<Long> ids(List<Node> nodes) {
+        List<Long> ids = new ArrayList<>();
+        nodes.forEach(node -> ids.add(node.id));
+        return ids;
+    }
+
+    private static final class Node {
+
+        private long id;
+
+        private long parentId;
+
+        private List<Node> children;
+    }
+}
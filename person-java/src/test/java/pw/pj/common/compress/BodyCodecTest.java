@@ -0,0 +1,164 @@
+package pw.pj.common.compress;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文章正文编解码单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class BodyCodecTest {
+
+    @Test
+    void testEncode_RoundTrip() {
+        // Given
+        String body = markdownArticle(20);
+
+        // When
+        byte[] stored = BodyCodec.encode(body);
+
+        // Then
+        assertTrue(BodyCodec.isCompressed(stored));
+        assertEquals(body, BodyCodec.decode(stored));
+    }
+
+    @Test
+    void testEncode_ShortBodyStoredRaw() {
+        // Given
+        String body = "短正文 😀";
+
+        // When
+        byte[] stored = BodyCodec.encode(body);
+
+        // Then
+        assertFalse(BodyCodec.isCompressed(stored));
+        assertArrayEquals(body.getBytes(StandardCharsets.UTF_8), stored);
+        assertEquals(body, BodyCodec.decode(stored));
+    }
+
+    @Test
+    void testDecode_LegacyPlainText() {
+        // Given：压缩上线前写入的原文
+        String body = markdownArticle(5);
+
+        // When
+        String decoded = BodyCodec.decode(body.getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertEquals(body, decoded);
+    }
+
+    @Test
+    void testEncode_NullAndEmpty() {
+        assertNull(BodyCodec.encode(null));
+        assertNull(BodyCodec.decode(null));
+        assertEquals("", BodyCodec.decode(BodyCodec.encode("")));
+    }
+
+    @Test
+    void testEncodeAll_RoundTripWithNull() {
+        // Given
+        String content = markdownArticle(10);
+        String html = htmlArticle(10);
+
+        // When
+        byte[] stored = BodyCodec.encodeAll(content, null, html);
+        String[] bodies = BodyCodec.decodeAll(stored, 3);
+
+        // Then
+        assertEquals(content, bodies[0]);
+        assertNull(bodies[1]);
+        assertEquals(html, bodies[2]);
+    }
+
+    @Test
+    void testCorpus_CompressionRatio() {
+        // Given：不同长度的Markdown与HTML正文
+        long rawBytes = 0;
+        long storedBytes = 0;
+        for (int sections = 1; sections <= 40; sections++) {
+            for (String body : new String[] { markdownArticle(sections), htmlArticle(sections) }) {
+                // When
+                byte[] stored = BodyCodec.encode(body);
+
+                // Then
+                assertEquals(body, BodyCodec.decode(stored));
+                rawBytes += body.getBytes(StandardCharsets.UTF_8).length;
+                storedBytes += stored.length;
+            }
+        }
+        assertTrue(storedBytes * 3 < rawBytes, "原文：" + rawBytes + "，压缩后：" + storedBytes);
+    }
+
+    @Test
+    void testDictionary_HelpsShortBodies() {
+        // Given
+        String body = htmlArticle(1);
+        byte[] raw = body.getBytes(StandardCharsets.UTF_8);
+
+        // When
+        byte[] withDictionary = BodyCodec.encode(body);
+        byte[] withoutDictionary = deflate(raw);
+
+        // Then
+        assertTrue(withDictionary.length < withoutDictionary.length,
+                "字典：" + withDictionary.length + "，无字典：" + withoutDictionary.length);
+    }
+
+    // ==================== 测试数据 ====================
+
+    private static String markdownArticle(int sections) {
+        StringBuilder builder = new StringBuilder("# Spring Boot 实践笔记\n\n");
+        for (int i = 1; i <= sections; i++) {
+            builder.append("## 第").append(i).append("节：配置与使用\n\n")
+                    .append("在本节中，我们可以使用如下所示的配置来启用第").append(i).append("个功能，")
+                    .append("这是一个常见的方法。\n\n")
+                    .append("- **要点**：`@Configuration` 与 `@Bean` 的配合\n")
+                    .append("- 参考 [官方文档](https://docs.spring.io/spring-boot/) 第").append(i).append("章\n\n")
+                    .append("```java\npublic class Demo").append(i).append(" {\n")
+                    .append("    private static final String NAME = \"demo-").append(i).append("\";\n\n")
+                    .append("    public String getName() {\n        return NAME;\n    }\n}\n```\n\n");
+        }
+        return builder.toString();
+    }
+
+    private static String htmlArticle(int sections) {
+        StringBuilder builder = new StringBuilder("<h1 id=\"spring-boot-实践笔记\">Spring Boot 实践笔记</h1>\n");
+        for (int i = 1; i <= sections; i++) {
+            builder.append("<h2 id=\"第").append(i).append("节配置与使用\">第").append(i).append("节：配置与使用</h2>\n")
+                    .append("<p>在本节中，我们可以使用如下所示的配置来启用第").append(i)
+                    .append("个功能，这是一个常见的方法。</p>\n<ul>\n")
+                    .append("<li><strong>要点</strong>：<code>@Configuration</code> 与 <code>@Bean</code> 的配合</li>\n")
+                    .append("<li>参考 <a href=\"https://docs.spring.io/spring-boot/\">官方文档</a> 第").append(i)
+                    .append("章</li>\n</ul>\n")
+                    .append("<pre><code class=\"language-java\">public class Demo").append(i).append(" {\n")
+                    .append("    private static final String NAME = &quot;demo-").append(i).append("&quot;;\n")
+                    .append("}\n</code></pre>\n");
+        }
+        return builder.toString();
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
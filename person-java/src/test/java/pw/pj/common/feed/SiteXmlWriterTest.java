@@ -0,0 +1,85 @@
+package pw.pj.common.feed;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 站点地图与订阅源写出器单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class SiteXmlWriterTest {
+
+    @Test
+    void testWriteUrlset_EscapesAndParses() throws Exception {
+        // Given
+        List<SiteXmlWriter.UrlEntry> urls = Arrays.asList(
+                new SiteXmlWriter.UrlEntry("https://example.com/", null),
+                new SiteXmlWriter.UrlEntry("https://example.com/blog?a=1&b=2", 1700000000000L));
+
+        // When
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        SiteXmlWriter.writeUrlset(output, urls);
+        Document document = parse(output.toByteArray());
+
+        // Then
+        assertEquals("urlset", document.getDocumentElement().getLocalName());
+        assertEquals(2, document.getElementsByTagNameNS("*", "url").getLength());
+        assertEquals(1, document.getElementsByTagNameNS("*", "lastmod").getLength());
+        assertEquals("https://example.com/blog?a=1&b=2",
+                document.getElementsByTagNameNS("*", "loc").item(1).getTextContent());
+    }
+
+    @Test
+    void testWriteUrlset_RejectsOversizedFile() {
+        // Given
+        List<SiteXmlWriter.UrlEntry> urls = new ArrayList<>();
+        for (int i = 0; i <= SiteXmlWriter.MAX_URLS_PER_FILE; i++) {
+            urls.add(new SiteXmlWriter.UrlEntry("https://example.com/blog/" + i, null));
+        }
+
+        // Then
+        assertThrows(IllegalArgumentException.class,
+                () -> SiteXmlWriter.writeUrlset(new ByteArrayOutputStream(), urls));
+    }
+
+    @Test
+    void testWriteAtomFeed_Entries() throws Exception {
+        // Given
+        SiteXmlWriter.FeedMeta meta = new SiteXmlWriter.FeedMeta("博客", "技术<笔记>", "https://example.com",
+                "https://example.com/feed.xml", 1700000000000L);
+        SiteXmlWriter.FeedEntry entry = new SiteXmlWriter.FeedEntry("https://example.com/blog/1", "标题 & 副标题",
+                "摘要", "Java", 1690000000000L, 1700000000000L);
+
+        // When
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        SiteXmlWriter.writeAtomFeed(output, meta, Collections.singletonList(entry));
+        Document document = parse(output.toByteArray());
+
+        // Then
+        assertEquals("http://www.w3.org/2005/Atom", document.getDocumentElement().getNamespaceURI());
+        assertEquals(1, document.getElementsByTagNameNS("*", "entry").getLength());
+        assertEquals("技术<笔记>", document.getElementsByTagNameNS("*", "subtitle").item(0).getTextContent());
+        assertEquals("标题 & 副标题", document.getElementsByTagNameNS("*", "title").item(1).getTextContent());
+        assertEquals(SiteXmlWriter.formatTime(1690000000000L),
+                document.getElementsByTagNameNS("*", "published").item(0).getTextContent());
+    }
+
+    private static Document parse(byte[] xml) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml));
+    }
+}
@@ -0,0 +1,61 @@
+package pw.pj.common.feed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 站点地图分片单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class SitemapShardsTest {
+
+    @Test
+    void testShardOf_ByIdRange() {
+        // Given
+        SitemapShards shards = new SitemapShards(100);
+
+        // Then
+        assertEquals(1, shards.shardOf(1));
+        assertEquals(1, shards.shardOf(100));
+        assertEquals(2, shards.shardOf(101));
+        assertEquals(501, shards.shardOf(50001));
+    }
+
+    @Test
+    void testPut_ReportsChangeOnlyWhenModified() {
+        // Given
+        SitemapShards shards = new SitemapShards(100);
+
+        // When & Then
+        assertTrue(shards.put(5, 1000L));
+        assertFalse(shards.put(5, 1000L));
+        assertTrue(shards.put(5, 2000L));
+        assertEquals(1, shards.size());
+        assertEquals(2000L, shards.lastModified(1));
+    }
+
+    @Test
+    void testRemove_DropsEmptyShard() {
+        // Given
+        SitemapShards shards = new SitemapShards(100);
+        shards.put(5, 1000L);
+        shards.put(150, 3000L);
+
+        // When
+        boolean removed = shards.remove(150);
+
+        // Then
+        assertTrue(removed);
+        assertFalse(shards.remove(150));
+        assertEquals(Collections.singletonList(1), Arrays.asList(shards.shardNumbers().toArray()));
+        assertEquals(1, shards.size());
+        assertEquals(1000L, shards.lastModified());
+    }
+}
@@ -0,0 +1,66 @@
+package pw.pj.common.maintenance;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ID区间分块执行单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class IdRangeChunksTest {
+
+    @Test
+    void testRun_CoversRangeWithHalfOpenChunks() {
+        // Given
+        List<String> ranges = new ArrayList<>();
+
+        // When
+        IdRangeChunks.Result result = IdRangeChunks.run(3L, 12L, 4, (fromId, toId) -> {
+            ranges.add(fromId + "-" + toId);
+            return (int) (toId - fromId);
+        });
+
+        // Then
+        assertEquals(Arrays.asList("3-7", "7-11", "11-13"), ranges);
+        assertEquals(10L, result.getRows());
+        assertEquals(3, result.getChunks());
+    }
+
+    @Test
+    void testRun_EmptyTableRunsNothing() {
+        // Given & When
+        IdRangeChunks.Result result = IdRangeChunks.run(null, null, 100, (fromId, toId) -> {
+            fail("空表不应执行任务");
+            return 0;
+        });
+
+        // Then
+        assertEquals(0L, result.getRows());
+        assertEquals(0, result.getChunks());
+    }
+
+    @Test
+    void testRun_SingleIdAtLongMax() {
+        // Given
+        List<Long> starts = new ArrayList<>();
+
+        // When
+        IdRangeChunks.Result result = IdRangeChunks.run(Long.MAX_VALUE - 1, Long.MAX_VALUE - 1, 1000,
+                (fromId, toId) -> {
+                    starts.add(fromId);
+                    return 1;
+                });
+
+        // Then
+        assertEquals(1, starts.size());
+        assertEquals(1, result.getChunks());
+    }
+}
@@ -0,0 +1,84 @@
+package pw.pj.common.related;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 标签相似度模型单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class TagSimilarityModelTest {
+
+    private TagSimilarityModel model;
+
+    @BeforeEach
+    void setUp() {
+        model = TagSimilarityModel.build(
+                new long[] { 1, 2, 3, 4, 5 },
+                new long[] { 10, 10, 20, 10, 20 },
+                new long[][] { { 100, 101 }, { 101, 100 }, { 100 }, {}, { 102 } });
+    }
+
+    @Test
+    void testTopNeighbors_RankedByWeightedJaccardThenCategoryFill() {
+        // When
+        long[] neighbors = model.topNeighbors(1, 3);
+
+        // Then: 2 标签完全相同，3 只共享一个标签，4 无共同标签但同分类补足
+        assertArrayEquals(new long[] { 2, 3, 4 }, neighbors);
+    }
+
+    @Test
+    void testTopNeighbors_LimitedToK() {
+        // When
+        long[] neighbors = model.topNeighbors(1, 1);
+
+        // Then
+        assertArrayEquals(new long[] { 2 }, neighbors);
+    }
+
+    @Test
+    void testTopNeighbors_UnknownArticle() {
+        // When & Then
+        assertEquals(0, model.topNeighbors(99, 5).length);
+        assertFalse(model.contains(99));
+    }
+
+    @Test
+    void testTagNeighbors_SharedTagsOnly() {
+        // When
+        long[] neighbors = model.tagNeighbors(3);
+
+        // Then
+        assertEquals(2, neighbors.length);
+        assertEquals(0, model.tagNeighbors(4).length);
+    }
+
+    @Test
+    void testUpdate_ReplacesRemovesAndPrependsArticles() {
+        // When: 3 改为与 5 相同的标签，4 下线，新增 6 与 1 标签相同
+        TagSimilarityModel updated = model.update(new HashSet<>(Arrays.asList(3L, 4L, 6L)),
+                new long[] { 3, 6 },
+                new long[] { 20, 10 },
+                new long[][] { { 102 }, { 100, 101 } });
+
+        // Then
+        assertFalse(updated.contains(4));
+        assertArrayEquals(new long[] { 6, 1, 2, 3, 5 }, updated.articleIds());
+        assertArrayEquals(new long[] { 5 }, updated.tagNeighbors(3));
+        long[] neighbors = updated.topNeighbors(1, 2);
+        Arrays.sort(neighbors);
+        assertArrayEquals(new long[] { 2, 6 }, neighbors);
+        // 原模型不变
+        assertTrue(model.contains(4));
+        assertEquals(2, model.tagNeighbors(3).length);
+    }
+}
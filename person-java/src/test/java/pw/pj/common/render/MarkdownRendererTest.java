@@ -0,0 +1,73 @@
+package pw.pj.common.render;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Markdown渲染器单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class MarkdownRendererTest {
+
+    @Test
+    void testRender_HeadingsProduceTocWithUniqueIds() {
+        // Given
+        String markdown = "# Spring Boot 入门\n\n正文\n\n## 配置\n\n## 配置\n";
+
+        // When
+        RenderResult result = MarkdownRenderer.render(markdown);
+
+        // Then
+        assertEquals(3, result.getToc().size());
+        assertEquals("spring-boot-入门", result.getToc().get(0).getId());
+        assertEquals(1, result.getToc().get(0).getLevel());
+        assertEquals("配置", result.getToc().get(1).getId());
+        assertEquals("配置-1", result.getToc().get(2).getId());
+        assertTrue(result.getHtml().contains("<h2 id=\"配置-1\">"));
+    }
+
+    @Test
+    void testRender_StripsScriptsAndUnsafeLinks() {
+        // Given
+        String markdown = "<script>alert(1)</script>\n\n[点我](javascript:alert(1)) <img src=x onerror=alert(1)>"
+                + "\n\n[站内](/articles/1)";
+
+        // When
+        String html = MarkdownRenderer.render(markdown).getHtml();
+
+        // Then
+        assertFalse(html.contains("<script"));
+        assertFalse(html.contains("javascript:"));
+        assertFalse(html.contains("onerror"));
+        assertTrue(html.contains("href=\"/articles/1\""));
+    }
+
+    @Test
+    void testRender_CountsCjkCharsAndWordsExcludingCode() {
+        // Given
+        String markdown = "你好世界 hello world\n\n```java\nint a = 1;\n```\n";
+
+        // When
+        RenderResult result = MarkdownRenderer.render(markdown);
+
+        // Then
+        assertEquals(6, result.getWordCount());
+        assertEquals(1, result.getReadingTime());
+    }
+
+    @Test
+    void testRender_EmptyContent() {
+        // When
+        RenderResult result = MarkdownRenderer.render(null);
+
+        // Then
+        assertEquals("", result.getHtml());
+        assertTrue(result.getToc().isEmpty());
+        assertEquals(0, result.getWordCount());
+        assertEquals(0, result.getReadingTime());
+    }
+}
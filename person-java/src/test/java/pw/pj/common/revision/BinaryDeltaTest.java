@@ -0,0 +1,110 @@
+package pw.pj.common.revision;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 二进制差量编码单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class BinaryDeltaTest {
+
+    @Test
+    void testDiff_LocalEditProducesSmallDelta() {
+        // Given
+        String base = article(500);
+        String target = base.substring(0, 3000) + "新增的一句话。" + base.substring(3050);
+
+        // When
+        byte[] delta = BinaryDelta.diff(bytes(base), bytes(target));
+
+        // Then
+        assertTrue(delta.length < 64, "差量大小：" + delta.length);
+        assertArrayEquals(bytes(target), BinaryDelta.apply(bytes(base), delta));
+    }
+
+    @Test
+    void testDiff_MovedBlocksAreCopied() {
+        // Given
+        String base = article(200);
+        String target = base.substring(base.length() / 2) + base.substring(0, base.length() / 2);
+
+        // When
+        byte[] delta = BinaryDelta.diff(bytes(base), bytes(target));
+
+        // Then
+        assertTrue(delta.length < 64, "差量大小：" + delta.length);
+        assertArrayEquals(bytes(target), BinaryDelta.apply(bytes(base), delta));
+    }
+
+    @Test
+    void testDiff_EmptyInputs() {
+        assertArrayEquals(bytes("abc"), BinaryDelta.apply(new byte[0], BinaryDelta.diff(new byte[0], bytes("abc"))));
+        assertArrayEquals(new byte[0], BinaryDelta.apply(bytes("abc"), BinaryDelta.diff(bytes("abc"), new byte[0])));
+    }
+
+    @Test
+    void testDiff_RandomRoundTrip() {
+        // Given
+        Random random = new Random(42);
+
+        for (int round = 0; round < 200; round++) {
+            // When
+            byte[] base = randomBytes(random);
+            byte[] target = random.nextBoolean() ? randomBytes(random) : mutate(base, random);
+
+            // Then
+            assertArrayEquals(target, BinaryDelta.apply(base, BinaryDelta.diff(base, target)));
+        }
+    }
+
+    @Test
+    void testApply_RejectsMismatchedBase() {
+        // Given
+        String base = article(20);
+        byte[] delta = BinaryDelta.diff(bytes(base), bytes(base + "!"));
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> BinaryDelta.apply(new byte[8], delta));
+        assertThrows(IllegalArgumentException.class, () -> BinaryDelta.apply(bytes(base), new byte[]{9}));
+    }
+
+    private static String article(int paragraphs) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < paragraphs; i++) {
+            builder.append("## 第").append(i).append("节\n这是一段用于测试的正文，编号").append(i * 7).append("。\n\n");
+        }
+        return builder.toString();
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] randomBytes(Random random) {
+        byte[] data = new byte[random.nextInt(400)];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) ('a' + random.nextInt(3));
+        }
+        return data;
+    }
+
+    private static byte[] mutate(byte[] base, Random random) {
+        if (base.length < 2) {
+            return new byte[]{1, 2, 3};
+        }
+        int cut = random.nextInt(base.length);
+        byte[] target = new byte[base.length + 1];
+        System.arraycopy(base, cut, target, 0, base.length - cut);
+        target[base.length - cut] = 'z';
+        System.arraycopy(base, 0, target, base.length - cut + 1, cut);
+        return target;
+    }
+}
@@ -0,0 +1,51 @@
+package pw.pj.common.revision;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文章修订内容编解码单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class RevisionCodecTest {
+
+    @Test
+    void testSnapshot_RoundTrip() {
+        // Given
+        String content = "# 标题\n\n正文 with **markdown** 与 emoji 😀\n";
+
+        // When
+        byte[] payload = RevisionCodec.encodeSnapshot(content);
+
+        // Then
+        assertEquals(content, RevisionCodec.decodeSnapshot(payload));
+    }
+
+    @Test
+    void testDelta_MuchSmallerThanSnapshot() {
+        // Given
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            builder.append("段落").append(i).append("：长文章的正文内容，每段略有不同。\n");
+        }
+        String base = builder.toString();
+        String content = base.replace("段落500：", "段落500（已修改）：");
+
+        // When
+        byte[] delta = RevisionCodec.encodeDelta(base, content);
+        byte[] snapshot = RevisionCodec.encodeSnapshot(content);
+
+        // Then
+        assertEquals(content, RevisionCodec.applyDelta(base, delta));
+        assertTrue(delta.length * 20 < snapshot.length, "差量：" + delta.length + "，快照：" + snapshot.length);
+    }
+
+    @Test
+    void testDecode_RejectsCorruptedPayload() {
+        assertThrows(IllegalArgumentException.class, () -> RevisionCodec.decodeSnapshot(new byte[]{1, 2, 3}));
+    }
+}
@@ -0,0 +1,161 @@
+package pw.pj.common.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 倒排索引单元测试
+ * 
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class InvertedIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex(new String[] { "title", "summary", "content" }, new float[] { 3f, 2f, 1f });
+        index.addDocument(1, new String[] { "Spring Boot 入门教程", "快速上手", "正文介绍 java 与 maven" }, "doc-1");
+        index.addDocument(2, new String[] { "Java 并发编程", "线程池", "顺带提到 spring 的入门配置" }, "doc-2");
+        index.addDocument(3, new String[] { "数学笔记", "学习记录", "线性代数" }, "doc-3");
+    }
+
+    @Test
+    void testTokenize_CjkBigramAndLatinWords() {
+        // When
+        List<String> tokens = TextTokenizer.tokenize("Spring Boot 入门教程");
+
+        // Then
+        assertEquals(Arrays.asList("spring", "boot", "入门", "门教", "教程"), tokens);
+    }
+
+    @Test
+    void testSearch_TitleMatchRanksFirst() {
+        // When
+        SearchHits hits = index.search("spring", 0, 10);
+
+        // Then
+        assertEquals(2, hits.getTotal());
+        assertEquals(1L, hits.getHits().get(0).getDocId());
+        assertEquals("doc-1", hits.getHits().get(0).getStored());
+    }
+
+    @Test
+    void testSearch_AllTermsRequired() {
+        // When
+        SearchHits hits = index.search("spring 线程池", 0, 10);
+
+        // Then
+        assertEquals(1, hits.getTotal());
+        assertEquals(2L, hits.getHits().get(0).getDocId());
+    }
+
+    @Test
+    void testSearch_SingleCjkCharacter() {
+        // When
+        SearchHits hits = index.search("学", 0, 10);
+
+        // Then
+        assertEquals(1, hits.getTotal());
+        assertEquals(3L, hits.getHits().get(0).getDocId());
+    }
+
+    @Test
+    void testSearch_SingleCjkCharacterAfterRemove() {
+        // Given
+        index.addDocument(4, new String[] { "学", "", "" }, "doc-4");
+
+        // When
+        index.removeDocument(3);
+
+        // Then
+        assertEquals(4L, index.search("学", 0, 10).getHits().get(0).getDocId());
+        index.removeDocument(4);
+        assertEquals(0, index.search("学", 0, 10).getTotal());
+        assertEquals(0, index.search("数", 0, 10).getTotal());
+        assertEquals(2, index.search("程", 0, 10).getTotal());
+    }
+
+    @Test
+    void testSearch_Pagination() {
+        // When
+        SearchHits hits = index.search("入门", 1, 1);
+
+        // Then
+        assertEquals(2, hits.getTotal());
+        assertEquals(1, hits.getHits().size());
+    }
+
+    @Test
+    void testRemoveAndReplaceDocument() {
+        // When
+        index.removeDocument(1);
+        index.addDocument(2, new String[] { "Go 语言", "", "" }, "doc-2-v2");
+
+        // Then
+        assertEquals(0, index.search("spring", 0, 10).getTotal());
+        assertEquals("doc-2-v2", index.search("go", 0, 10).getHits().get(0).getStored());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testSegmentRoundTrip() throws IOException {
+        // Given
+        Path segment = tempDir.resolve("articles.seg");
+        IndexSegmentStore.write(index, segment);
+
+        // When
+        InvertedIndex loaded = new InvertedIndex(new String[] { "title", "summary", "content" },
+                new float[] { 3f, 2f, 1f });
+        int count = IndexSegmentStore.read(loaded, segment);
+
+        // Then
+        assertEquals(3, count);
+        SearchHits expected = index.search("spring 入门", 0, 10);
+        SearchHits actual = loaded.search("spring 入门", 0, 10);
+        assertEquals(expected.getTotal(), actual.getTotal());
+        assertEquals(expected.getHits().get(0).getDocId(), actual.getHits().get(0).getDocId());
+        assertEquals(expected.getHits().get(0).getScore(), actual.getHits().get(0).getScore(), 1e-9);
+    }
+
+    @Test
+    void testSegmentFieldMismatch() throws IOException {
+        // Given
+        Path segment = tempDir.resolve("articles.seg");
+        IndexSegmentStore.write(index, segment);
+
+        // When & Then
+        InvertedIndex other = new InvertedIndex(new String[] { "content" }, new float[] { 1f });
+        assertThrows(IOException.class, () -> IndexSegmentStore.read(other, segment));
+    }
+
+    @Test
+    void testSegmentWatermarkRoundTrip() throws IOException {
+        // Given
+        Path segment = tempDir.resolve("articles.seg");
+        IndexSegmentStore.write(index, segment, 1717171717000L);
+
+        // When
+        InvertedIndex loaded = new InvertedIndex(new String[] { "title", "summary", "content" },
+                new float[] { 3f, 2f, 1f });
+        int count = IndexSegmentStore.read(loaded, segment);
+
+        // Then
+        assertEquals(3, count);
+        assertEquals(1717171717000L, IndexSegmentStore.readWatermark(segment));
+        assertEquals(1, loaded.search("数学", 0, 10).getTotal());
+    }
+}
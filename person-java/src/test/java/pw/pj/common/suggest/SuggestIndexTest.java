@@ -0,0 +1,116 @@
+package pw.pj.common.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 输入联想前缀索引单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class SuggestIndexTest {
+
+    @Test
+    void testSuggest_PrefixRankedByWeight() {
+        // Given
+        SuggestIndex<String> index = new SuggestIndex<>();
+        index.put("a1", "Spring Boot 实战", 10, "Spring Boot 实战");
+        index.put("a2", "Spring Cloud 入门", 50, "Spring Cloud 入门");
+        index.put("a3", "Redis 设计", 99, "Redis 设计");
+
+        // When & Then
+        assertEquals(Arrays.asList("Spring Cloud 入门", "Spring Boot 实战"), index.suggest("spr", 5));
+        assertEquals(Collections.singletonList("Spring Cloud 入门"), index.suggest("SPRING", 1));
+        assertEquals(Collections.singletonList("Spring Boot 实战"), index.suggest("boot", 5));
+        assertTrue(index.suggest("", 5).isEmpty());
+    }
+
+    @Test
+    void testSuggest_ChineseInfixAndPinyinInitials() {
+        // Given
+        SuggestIndex<String> index = new SuggestIndex<>();
+        index.put("a1", "Java并发编程", 1, "Java并发编程");
+
+        // When & Then
+        assertEquals(1, index.suggest("并发", 5).size());
+        assertEquals(1, index.suggest("编程", 5).size());
+        assertEquals(1, index.suggest("javabf", 5).size());
+        assertEquals(1, index.suggest("bfbc", 5).size());
+    }
+
+    @Test
+    void testPut_ReplacesOldTermsAndRemoveDrops() {
+        // Given
+        SuggestIndex<String> index = new SuggestIndex<>();
+        index.put("t1", "Docker", 1, "Docker", "docker");
+
+        // When
+        index.put("t1", "Kubernetes", 1, "Kubernetes", "k8s");
+
+        // Then
+        assertTrue(index.suggest("doc", 5).isEmpty());
+        assertEquals(Collections.singletonList("Kubernetes"), index.suggest("k8", 5));
+        assertEquals(1, index.size());
+        assertTrue(index.remove("t1"));
+        assertTrue(index.suggest("k", 5).isEmpty());
+        assertFalse(index.remove("t1"));
+    }
+
+    @Test
+    void testSuggest_ShortPrefixNotBiasedTowardsEarlyKeys() {
+        // Given：字典序靠前的低热度文档远超扫描上限
+        SuggestIndex<String> index = new SuggestIndex<>();
+        for (int i = 0; i < 3000; i++) {
+            index.put("low" + i, "spa " + i, 1, String.format("spa %04d", i));
+        }
+        index.put("hot", "Spring Boot 实战", 100, "Spring Boot 实战");
+
+        // When & Then
+        assertEquals(Collections.singletonList("Spring Boot 实战"), index.suggest("s", 1));
+        assertEquals(Collections.singletonList("Spring Boot 实战"), index.suggest("sp", 1));
+    }
+
+    @Test
+    void testSuggest_LongPrefixFallsBackToHeatOrderWhenScanTruncated() {
+        // Given
+        SuggestIndex<String> index = new SuggestIndex<>();
+        for (int i = 0; i < 3000; i++) {
+            index.put("low" + i, "spring " + i, 1, String.format("spring a%04d", i));
+        }
+        index.put("hot", "Spring Cloud 入门", 100, "Spring Cloud 入门");
+
+        // When & Then
+        assertEquals(Arrays.asList("Spring Cloud 入门", "spring 0"), index.suggest("spring", 2));
+        assertEquals(Collections.singletonList("Spring Cloud 入门"), index.suggest("spring c", 5));
+    }
+
+    @Test
+    void testRemove_DropsShortPrefixBuckets() {
+        // Given
+        SuggestIndex<String> index = new SuggestIndex<>();
+        index.put("t1", "Docker", 5, "Docker");
+        index.put("t2", "Django", 1, "Django");
+
+        // When
+        index.remove("t1");
+
+        // Then
+        assertEquals(Collections.singletonList("Django"), index.suggest("d", 5));
+        assertTrue(index.suggest("do", 5).isEmpty());
+    }
+
+    @Test
+    void testPinyinInitials_MixedText() {
+        // When & Then
+        assertEquals("javabfbc", PinyinInitials.of("Java并发编程"));
+        assertEquals("sjkyh", PinyinInitials.of("数据库 优化"));
+        assertTrue(PinyinInitials.containsHan("Redis缓存"));
+        assertFalse(PinyinInitials.containsHan("Redis"));
+    }
+}
@@ -0,0 +1,54 @@
+package pw.pj.common.tag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 关联差异单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class RelationDiffTest {
+
+    @Test
+    void testOf_ComputesAddedAndRemoved() {
+        // Given
+        RelationDiff diff = RelationDiff.of(Arrays.asList(1L, 2L, 3L), Arrays.asList(3L, 4L, 2L, 5L));
+
+        // When
+        Map<Long, Integer> deltas = diff.deltas();
+
+        // Then
+        assertEquals(Arrays.asList(4L, 5L), diff.getAdded());
+        assertEquals(Collections.singletonList(1L), diff.getRemoved());
+        assertEquals(Integer.valueOf(1), deltas.get(4L));
+        assertEquals(Integer.valueOf(-1), deltas.get(1L));
+        assertFalse(deltas.containsKey(2L));
+    }
+
+    @Test
+    void testOf_SameSetsIgnoringOrderAndDuplicates() {
+        // Given
+        RelationDiff diff = RelationDiff.of(Arrays.asList(1L, 2L), Arrays.asList(2L, 1L, 2L, null));
+
+        // When & Then
+        assertTrue(diff.isEmpty());
+    }
+
+    @Test
+    void testOf_NullTargetRemovesAll() {
+        // Given
+        RelationDiff diff = RelationDiff.of(Arrays.asList(7L, 8L), null);
+
+        // When & Then
+        assertTrue(diff.getAdded().isEmpty());
+        assertEquals(Arrays.asList(7L, 8L), diff.getRemoved());
+    }
+}
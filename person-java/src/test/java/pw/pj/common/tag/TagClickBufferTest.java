@@ -0,0 +1,77 @@
+package pw.pj.common.tag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 标签点击计数缓冲单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class TagClickBufferTest {
+
+    @Test
+    void testDrain_ReturnsDeltasAndResets() {
+        // Given
+        TagClickBuffer buffer = new TagClickBuffer();
+        buffer.record(1L);
+        buffer.record(1L);
+        buffer.record(2L);
+
+        // When
+        Map<Long, Long> first = buffer.drain();
+        Map<Long, Long> second = buffer.drain();
+
+        // Then
+        assertEquals(Long.valueOf(2L), first.get(1L));
+        assertEquals(Long.valueOf(1L), first.get(2L));
+        assertTrue(second.isEmpty());
+    }
+
+    @Test
+    void testRestore_AddsBackForNextDrain() {
+        // Given
+        TagClickBuffer buffer = new TagClickBuffer();
+        buffer.record(3L);
+        Map<Long, Long> failed = buffer.drain();
+        buffer.record(3L);
+
+        // When
+        buffer.restore(failed);
+
+        // Then
+        assertEquals(Collections.singletonMap(3L, 2L), buffer.drain());
+    }
+
+    @Test
+    void testRecord_ConcurrentClicksAllCounted() throws InterruptedException {
+        // Given
+        TagClickBuffer buffer = new TagClickBuffer();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int i = 0; i < 8; i++) {
+            pool.execute(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    buffer.record(j % 2);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        Map<Long, Long> deltas = buffer.drain();
+        assertEquals(Long.valueOf(4000L), deltas.get(0L));
+        assertEquals(Long.valueOf(4000L), deltas.get(1L));
+    }
+}
@@ -0,0 +1,72 @@
+package pw.pj.common.tag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 标签云单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class TagCloudTest {
+
+    /**
+     * 测试用标签：名称、文章数
+     */
+    private static final class Tag {
+        private final String name;
+        private final int count;
+
+        private Tag(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+
+    private static final Comparator<Tag> BY_NAME = Comparator.comparing(tag -> tag.name);
+
+    @Test
+    void testLevel_LogScaledBetweenMinAndMax() {
+        // When & Then
+        assertEquals(1, TagCloud.level(1, 1, 100));
+        assertEquals(TagCloud.LEVELS, TagCloud.level(100, 1, 100));
+        // 对数刻度：10篇在1~100之间应落在中间档位，而不是线性刻度下的最低档
+        assertEquals(3, TagCloud.level(10, 1, 100));
+        assertEquals(1, TagCloud.level(7, 7, 7));
+    }
+
+    @Test
+    void testOf_TakesTopRankedAndOrdersForDisplay() {
+        // Given
+        List<Tag> ranked = Arrays.asList(new Tag("Java", 40), new Tag("Redis", 12),
+                new Tag("Docker", 5), new Tag("Vue", 1));
+
+        // When
+        TagCloud<Tag> cloud = TagCloud.of(ranked, 3, tag -> tag.count, BY_NAME);
+
+        // Then
+        assertEquals(Arrays.asList("Docker", "Java", "Redis"),
+                cloud.entries().stream().map(entry -> entry.getTag().name).collect(Collectors.toList()));
+        assertEquals(1, cloud.entries().get(0).getLevel());
+        assertEquals(TagCloud.LEVELS, cloud.entries().get(1).getLevel());
+        assertTrue(cloud.entries().get(1).getFontSize() > cloud.entries().get(0).getFontSize());
+    }
+
+    @Test
+    void testOf_EmptyInput() {
+        // When
+        TagCloud<Tag> cloud = TagCloud.of(Collections.emptyList(), 50, tag -> tag.count, BY_NAME);
+
+        // Then
+        assertEquals(0, cloud.size());
+    }
+}
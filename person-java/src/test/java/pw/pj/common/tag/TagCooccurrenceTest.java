@@ -0,0 +1,83 @@
+package pw.pj.common.tag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 标签共现矩阵单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class TagCooccurrenceTest {
+
+    /**
+     * 标签1（Java）出现在每篇文章中；标签2（Spring）与3（JVM）只和Java一起出现；标签4（Vue）与5（CSS）总是一起出现
+     */
+    private TagCooccurrence sample() {
+        TagCooccurrence matrix = new TagCooccurrence();
+        matrix.setArticle(1L, Arrays.asList(1L, 2L));
+        matrix.setArticle(2L, Arrays.asList(1L, 2L));
+        matrix.setArticle(3L, Arrays.asList(1L, 3L));
+        matrix.setArticle(4L, Arrays.asList(1L, 4L, 5L));
+        matrix.setArticle(5L, Arrays.asList(1L, 4L, 5L));
+        matrix.setArticle(6L, Arrays.asList(1L, 4L, 5L));
+        return matrix;
+    }
+
+    @Test
+    void testSetArticle_CountsPairsBothWays() {
+        // Given
+        TagCooccurrence matrix = sample();
+
+        // When & Then
+        assertEquals(6, matrix.count(1L));
+        assertEquals(3, matrix.together(4L, 5L));
+        assertEquals(3, matrix.together(5L, 4L));
+        assertEquals(0, matrix.together(2L, 3L));
+        assertEquals(6, matrix.articleCount());
+    }
+
+    @Test
+    void testRelated_PmiPrefersSpecificOverPopular() {
+        // Given
+        TagCooccurrence matrix = sample();
+
+        // When & Then
+        // Vue 与 CSS 的共现比与无处不在的 Java 更有信息量
+        assertEquals(Arrays.asList(5L, 1L), matrix.related(4L, 5, 1));
+        assertEquals(Collections.singletonList(5L), matrix.related(4L, 1, 1));
+        assertTrue(matrix.related(3L, 5, 2).isEmpty());
+    }
+
+    @Test
+    void testSetArticle_ReplacesOldTagsIncrementally() {
+        // Given
+        TagCooccurrence matrix = sample();
+
+        // When
+        matrix.setArticle(4L, Arrays.asList(2L, 3L));
+        matrix.removeArticle(5L);
+
+        // Then
+        assertEquals(1, matrix.together(4L, 5L));
+        assertEquals(1, matrix.together(2L, 3L));
+        assertEquals(4, matrix.count(1L));
+        assertEquals(5, matrix.articleCount());
+    }
+
+    @Test
+    void testSuggest_ExcludesSelectedAndSumsScores() {
+        // Given
+        TagCooccurrence matrix = sample();
+
+        // When & Then
+        assertEquals(Collections.singletonList(5L), matrix.suggest(Arrays.asList(1L, 4L), 3, 1));
+        assertTrue(matrix.suggest(Collections.singletonList(99L), 3, 1).isEmpty());
+    }
+}
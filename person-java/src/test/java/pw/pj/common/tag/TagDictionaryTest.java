@@ -0,0 +1,109 @@
+package pw.pj.common.tag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 标签字典单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class TagDictionaryTest {
+
+    /**
+     * 测试用标签：ID、名称、别名
+     */
+    private static final class Tag {
+        private final long id;
+        private final String name;
+        private final String slug;
+
+        private Tag(long id, String name, String slug) {
+            this.id = id;
+            this.name = name;
+            this.slug = slug;
+        }
+    }
+
+    private TagDictionary<Tag> sampleDictionary() {
+        return TagDictionary.of(7L, Arrays.asList(
+                new Tag(30, "Redis", "redis"),
+                new Tag(10, "Java", "java"),
+                new Tag(20, "Spring Boot", "spring-boot")),
+                tag -> tag.id, tag -> tag.name, tag -> tag.slug);
+    }
+
+    @Test
+    void testGet_BinarySearchById() {
+        // Given
+        TagDictionary<Tag> dictionary = sampleDictionary();
+
+        // When & Then
+        assertEquals("Java", dictionary.get(10).name);
+        assertEquals("Redis", dictionary.get(30).name);
+        assertNull(dictionary.get(15));
+        assertEquals(3, dictionary.size());
+        assertEquals(7L, dictionary.getVersion());
+    }
+
+    @Test
+    void testGetAll_KeepsRequestedOrderAndSkipsMissing() {
+        // Given
+        TagDictionary<Tag> dictionary = sampleDictionary();
+
+        // When & Then
+        assertEquals(Arrays.asList(30L, 10L),
+                dictionary.getAll(Arrays.asList(30L, 99L, null, 10L)).stream().map(tag -> tag.id)
+                        .collect(Collectors.toList()));
+        assertTrue(dictionary.getAll(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    void testContainsName_CaseInsensitiveAndExcludesSelf() {
+        // Given
+        TagDictionary<Tag> dictionary = sampleDictionary();
+
+        // When & Then
+        assertTrue(dictionary.containsName(" spring boot ", null));
+        assertFalse(dictionary.containsName("Spring Boot", 20L));
+        assertTrue(dictionary.containsName("Spring Boot", 10L));
+        assertTrue(dictionary.containsSlug("REDIS", null));
+        assertFalse(dictionary.containsSlug("mysql", null));
+        assertFalse(dictionary.containsName(null, null));
+    }
+
+    @Test
+    void testFindByName_DuplicateNamesPickSmallestId() {
+        // Given
+        TagDictionary<Tag> dictionary = TagDictionary.of(1L, Arrays.asList(
+                new Tag(5, "Vue", "vue-2"),
+                new Tag(3, "vue", "vue")),
+                tag -> tag.id, tag -> tag.name, tag -> tag.slug);
+
+        // When & Then
+        assertEquals(3L, dictionary.findByName("VUE").id);
+        assertTrue(dictionary.containsName("vue", 3L));
+        assertNull(dictionary.findByName("react"));
+    }
+
+    @Test
+    void testOf_DuplicateIdKeepsLatter() {
+        // Given
+        TagDictionary<Tag> dictionary = TagDictionary.of(1L, Arrays.asList(
+                new Tag(1, "Old", "old"),
+                new Tag(1, "New", "new")),
+                tag -> tag.id, tag -> tag.name, tag -> tag.slug);
+
+        // When & Then
+        assertEquals(1, dictionary.size());
+        assertEquals("New", dictionary.get(1).name);
+        assertFalse(dictionary.containsName("Old", null));
+    }
+}
@@ -0,0 +1,53 @@
+package pw.pj.common.utils;
+
+import org.junit.jupiter.api.Test;
+import pw.pj.common.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分页游标工具类单元测试
+ * 
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class CursorUtilsTest {
+
+    @Test
+    void testEncodeDecode_RoundTrip() {
+        // Given
+        long createTime = 1706832000000L;
+
+        // When
+        String cursor = CursorUtils.encode(1, createTime, 42);
+        long[] keys = CursorUtils.decode(cursor, 3);
+
+        // Then
+        assertArrayEquals(new long[] { 1, createTime, 42 }, keys);
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void testDecode_BlankCursorMeansFirstPage() {
+        // When & Then
+        assertNull(CursorUtils.decode(null, 3));
+        assertNull(CursorUtils.decode("  ", 3));
+    }
+
+    @Test
+    void testDecode_InvalidCursor() {
+        // Given
+        String wrongCount = CursorUtils.encode(1, 2);
+        String noVersion = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("1,2,3".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        assertThrows(BusinessException.class, () -> CursorUtils.decode("@@not-base64@@", 3));
+        assertThrows(BusinessException.class, () -> CursorUtils.decode(wrongCount, 3));
+        assertThrows(BusinessException.class, () -> CursorUtils.decode(noVersion, 3));
+    }
+}
@@ -0,0 +1,74 @@
+package pw.pj.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 读写锁保护的内存快照单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class GuardedSnapshotTest {
+
+    @Test
+    void testRead_LoadsOnce() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        GuardedSnapshot<List<Long>> snapshot = new GuardedSnapshot<>(() -> {
+            loads.incrementAndGet();
+            return new ArrayList<>();
+        });
+
+        // When
+        snapshot.write(list -> list.add(1L));
+        int size = snapshot.read(List::size);
+
+        // Then
+        assertEquals(1, size);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testIfLoaded_DoesNotTriggerLoad() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        GuardedSnapshot<List<Long>> snapshot = new GuardedSnapshot<>(() -> {
+            loads.incrementAndGet();
+            return new ArrayList<>();
+        });
+
+        // When
+        int size = snapshot.readIfLoaded(List::size, -1);
+        boolean removed = snapshot.writeIfLoaded(list -> list.remove(1L), false);
+
+        // Then
+        assertEquals(-1, size);
+        assertFalse(removed);
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void testReplace_SkipsLoader() {
+        // Given
+        GuardedSnapshot<List<Long>> snapshot = new GuardedSnapshot<>(() -> {
+            throw new IllegalStateException("不应加载");
+        });
+        List<Long> replacement = new ArrayList<>();
+        replacement.add(7L);
+
+        // When
+        snapshot.replace(replacement);
+
+        // Then
+        long first = snapshot.read(list -> list.get(0));
+        assertEquals(7L, first);
+        assertTrue(snapshot.writeIfLoaded(list -> list.remove(7L), false));
+    }
+}
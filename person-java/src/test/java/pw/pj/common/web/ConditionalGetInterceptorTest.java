@@ -0,0 +1,151 @@
+package pw.pj.common.web;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import pw.pj.common.utils.JwtTokenUtil;
+import pw.pj.service.ContentVersionService;
+
+import javax.servlet.http.HttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 条件请求拦截器单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@ExtendWith(MockitoExtension.class)
+class ConditionalGetInterceptorTest {
+
+    /** 两个范围的版本号（毫秒时间戳） */
+    private static final long[] VERSIONS = { 1700000000000L, 1700000001500L };
+
+    private static final String ETAG = "W/\"" + Long.toString(VERSIONS[0], 36) + "."
+            + Long.toString(VERSIONS[1], 36) + "\"";
+
+    @Mock
+    private ContentVersionService contentVersionService;
+
+    @Mock
+    private JwtTokenUtil jwtTokenUtil;
+
+    @InjectMocks
+    private ConditionalGetInterceptor interceptor;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        response = new MockHttpServletResponse();
+        lenient().when(jwtTokenUtil.getTokenHeader()).thenReturn("Authorization");
+    }
+
+    @Test
+    void testPreHandle_MatchingEtagReturns304() {
+        // Given
+        MockHttpServletRequest request = get("/api/articles/hot");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+        when(contentVersionService.currentVersions(ContentVersionService.SCOPE_ARTICLES,
+                ContentVersionService.SCOPE_TAXONOMY)).thenReturn(VERSIONS);
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, null);
+
+        // Then
+        assertFalse(proceed);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(ETAG, response.getHeader(HttpHeaders.ETAG));
+        assertEquals("public, max-age=30", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void testPreHandle_StaleEtagProceedsWithValidators() {
+        // Given
+        MockHttpServletRequest request = get("/api/articles/hot");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"" + Long.toString(VERSIONS[0], 36) + "\"");
+        when(contentVersionService.currentVersions(any(String[].class))).thenReturn(VERSIONS);
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, null);
+
+        // Then
+        assertTrue(proceed);
+        assertEquals(ETAG, request.getAttribute(ConditionalGetInterceptor.ATTR_ETAG));
+        // HTTP日期只精确到秒
+        assertEquals(1700000001000L, request.getAttribute(ConditionalGetInterceptor.ATTR_LAST_MODIFIED));
+    }
+
+    @Test
+    void testPreHandle_ArticleDetailUsesArticleScope() {
+        // Given
+        MockHttpServletRequest request = get("/api/articles/42");
+        when(contentVersionService.currentVersions(ContentVersionService.articleScope(42L),
+                ContentVersionService.SCOPE_TAXONOMY)).thenReturn(VERSIONS);
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, null);
+
+        // Then
+        assertTrue(proceed);
+        assertEquals("public, no-cache", request.getAttribute(ConditionalGetInterceptor.ATTR_CACHE_CONTROL));
+    }
+
+    @Test
+    void testPreHandle_OverflowingArticleIdSkipsConditionalHandling() {
+        // Given
+        MockHttpServletRequest request = get("/api/articles/123456789012345678901234");
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, null);
+
+        // Then
+        assertTrue(proceed);
+        assertNull(request.getAttribute(ConditionalGetInterceptor.ATTR_ETAG));
+        verifyNoInteractions(contentVersionService);
+    }
+
+    @Test
+    void testPreHandle_SearchMustRevalidate() {
+        // Given
+        MockHttpServletRequest request = get("/api/articles/search");
+        when(contentVersionService.currentVersions(any(String[].class))).thenReturn(VERSIONS);
+
+        // When
+        interceptor.preHandle(request, response, null);
+
+        // Then
+        assertEquals("public, no-cache", request.getAttribute(ConditionalGetInterceptor.ATTR_CACHE_CONTROL));
+    }
+
+    @Test
+    void testPreHandle_SkipsAuthenticatedAndExcludedRequests() {
+        // Given
+        MockHttpServletRequest authenticated = get("/api/articles/hot");
+        authenticated.addHeader("Authorization", "Bearer token");
+        MockHttpServletRequest excluded = get("/api/tags/check-name");
+        MockHttpServletRequest post = get("/api/articles/hot");
+        post.setMethod("POST");
+
+        // When & Then
+        assertTrue(interceptor.preHandle(authenticated, response, null));
+        assertTrue(interceptor.preHandle(excluded, response, null));
+        assertTrue(interceptor.preHandle(post, response, null));
+        assertNull(excluded.getAttribute(ConditionalGetInterceptor.ATTR_ETAG));
+        verifyNoInteractions(contentVersionService);
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
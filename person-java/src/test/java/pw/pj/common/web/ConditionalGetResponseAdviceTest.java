@@ -0,0 +1,78 @@
+package pw.pj.common.web;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import pw.pj.common.result.ApiResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 条件请求响应头写出单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class ConditionalGetResponseAdviceTest {
+
+    private final ConditionalGetResponseAdvice advice = new ConditionalGetResponseAdvice();
+
+    private MockHttpServletRequest servletRequest;
+
+    private ServletServerHttpResponse response;
+
+    @BeforeEach
+    void setUp() {
+        servletRequest = new MockHttpServletRequest("GET", "/api/articles/hot");
+        servletRequest.setAttribute(ConditionalGetInterceptor.ATTR_ETAG, "W/\"a.b\"");
+        servletRequest.setAttribute(ConditionalGetInterceptor.ATTR_LAST_MODIFIED, 11000L);
+        servletRequest.setAttribute(ConditionalGetInterceptor.ATTR_CACHE_CONTROL, "public, max-age=30");
+        response = new ServletServerHttpResponse(new MockHttpServletResponse());
+    }
+
+    @Test
+    void testBeforeBodyWrite_SuccessCarriesValidators() {
+        // When
+        write(ApiResponse.success("ok"));
+
+        // Then
+        HttpHeaders headers = response.getHeaders();
+        assertEquals("W/\"a.b\"", headers.getETag());
+        assertEquals(11000L, headers.getLastModified());
+        assertEquals("public, max-age=30", headers.getCacheControl());
+    }
+
+    @Test
+    void testBeforeBodyWrite_ErrorHasNoValidators() {
+        // When
+        write(ApiResponse.error("失败"));
+
+        // Then
+        assertNull(response.getHeaders().getETag());
+        assertNull(response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void testBeforeBodyWrite_WithoutInterceptorAttributes() {
+        // Given
+        servletRequest = new MockHttpServletRequest("GET", "/api/articles/hot");
+
+        // When
+        write(ApiResponse.success("ok"));
+
+        // Then
+        assertNull(response.getHeaders().getETag());
+    }
+
+    private void write(ApiResponse<?> body) {
+        Object result = advice.beforeBodyWrite(body, null, MediaType.APPLICATION_JSON, null,
+                new ServletServerHttpRequest(servletRequest), response);
+        assertSame(body, result);
+    }
+}
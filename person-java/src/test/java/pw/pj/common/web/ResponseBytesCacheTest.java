@@ -0,0 +1,113 @@
+package pw.pj.common.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 响应字节缓存单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class ResponseBytesCacheTest {
+
+    @Test
+    void testPut_StoresIdentityAndGzip() throws IOException {
+        // Given
+        ResponseBytesCache cache = new ResponseBytesCache();
+        byte[] json = repeat("{\"code\":200,\"data\":[\"热门文章\"]}", 50);
+
+        // When
+        cache.put("/api/articles/hot@1", json);
+        ResponseBytesCache.CachedBody body = cache.get("/api/articles/hot@1");
+
+        // Then
+        assertNotNull(body);
+        assertArrayEquals(json, body.getIdentity());
+        assertNotNull(body.getGzip());
+        assertTrue(body.getGzip().length < json.length);
+        assertArrayEquals(json, gunzip(body.getGzip()));
+    }
+
+    @Test
+    void testPut_SkipsGzipForSmallBody() {
+        // Given
+        ResponseBytesCache cache = new ResponseBytesCache();
+
+        // When
+        ResponseBytesCache.CachedBody body = cache.put("k", "{\"code\":200}".getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertNotNull(body);
+        assertNull(body.getGzip());
+    }
+
+    @Test
+    void testPut_RejectsOversizedBody() {
+        // Given
+        ResponseBytesCache cache = new ResponseBytesCache();
+
+        // When
+        ResponseBytesCache.CachedBody body = cache.put("k", new byte[ResponseBytesCache.MAX_BODY_BYTES + 1]);
+
+        // Then
+        assertNull(body);
+        assertNull(cache.get("k"));
+    }
+
+    @Test
+    void testPut_EvictsLeastRecentlyUsed() {
+        // Given
+        ResponseBytesCache cache = new ResponseBytesCache();
+        for (int i = 0; i < ResponseBytesCache.MAX_ENTRIES; i++) {
+            cache.put("k" + i, new byte[]{1});
+        }
+        // 访问最早的条目，使其成为最近使用
+        cache.get("k0");
+
+        // When
+        cache.put("new", new byte[]{1});
+
+        // Then
+        assertEquals(ResponseBytesCache.MAX_ENTRIES, cache.size());
+        assertNotNull(cache.get("k0"));
+        assertNull(cache.get("k1"));
+    }
+
+    @Test
+    void testAcceptsGzip() {
+        assertTrue(ResponseCacheInterceptor.acceptsGzip("gzip, deflate, br"));
+        assertTrue(ResponseCacheInterceptor.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertFalse(ResponseCacheInterceptor.acceptsGzip("gzip;q=0"));
+        assertFalse(ResponseCacheInterceptor.acceptsGzip("br"));
+        assertFalse(ResponseCacheInterceptor.acceptsGzip(null));
+    }
+
+    private static byte[] repeat(String text, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(text);
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+}
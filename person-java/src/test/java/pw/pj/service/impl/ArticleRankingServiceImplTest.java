@@ -0,0 +1,194 @@
+package pw.pj.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pw.pj.POJO.DO.TbArticle;
+import pw.pj.common.constants.RedisConstants;
+import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.utils.RedisUtils;
+import pw.pj.mapper.TbArticleMapper;
+import pw.pj.service.ContentVersionService;
+import pw.pj.service.TbArticleCardService;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 文章排行服务单元测试
+ * 覆盖跨节点重算互斥、本次专用临时键以及重算期间变更的补回
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@ExtendWith(MockitoExtension.class)
+class ArticleRankingServiceImplTest {
+
+    @Mock
+    private TbArticleMapper articleMapper;
+
+    @Mock
+    private TbArticleCardService articleCardService;
+
+    @Mock
+    private RedisUtils redisUtils;
+
+    @Mock
+    private ContentVersionService contentVersionService;
+
+    @InjectMocks
+    private ArticleRankingServiceImpl rankingService;
+
+    private TbArticle article;
+
+    @BeforeEach
+    void setUp() {
+        // Lambda查询条件需要实体的列缓存
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), TbArticle.class);
+
+        article = new TbArticle();
+        article.setId(1L);
+        article.setStatus(SystemConstants.Article.STATUS_PUBLISHED);
+        article.setViewCount(10);
+        article.setPublishedTime(new Date());
+    }
+
+    @Test
+    void testRebuildRankings_SkipsWhenAnotherNodeHoldsLock() {
+        // Given
+        when(redisUtils.tryLock(eq(ArticleRankingServiceImpl.REBUILD_LOCK), anyString(), anyLong()))
+                .thenReturn(false);
+
+        // When
+        Integer total = rankingService.rebuildRankings();
+
+        // Then
+        assertEquals(0, total);
+        verifyNoInteractions(articleMapper);
+        verify(redisUtils, never()).eval(anyString(), anyList(), anyList());
+        verify(redisUtils, never()).unlock(anyString(), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRebuildRankings_SwapsPerRunKeysAndReleasesLock() {
+        // Given
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        when(redisUtils.tryLock(eq(ArticleRankingServiceImpl.REBUILD_LOCK), token.capture(), anyLong()))
+                .thenReturn(true);
+        when(articleMapper.selectList(any())).thenReturn(Collections.singletonList(article));
+        when(redisUtils.eval(anyString(), anyList(), anyList())).thenReturn(0L);
+        when(redisUtils.zReverseRange(ArticleRankingServiceImpl.PENDING_REFRESH, 0, -1))
+                .thenReturn(Collections.emptySet());
+
+        // When
+        Integer total = rankingService.rebuildRankings();
+
+        // Then
+        assertEquals(1, total);
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redisUtils).eval(anyString(), keys.capture(), anyList());
+        String hotTemporaryKey = keys.getValue().get(0);
+        assertEquals(RedisConstants.Article.HOT_ARTICLES + ":rebuilding:" + token.getValue(), hotTemporaryKey);
+        assertEquals(ArticleRankingServiceImpl.PENDING_DELTAS, keys.getValue().get(6));
+        verify(redisUtils).zAdd(eq(hotTemporaryKey), anyMap());
+        verify(redisUtils).delete(ArticleRankingServiceImpl.PENDING_DELTAS);
+        verify(redisUtils).unlock(ArticleRankingServiceImpl.REBUILD_LOCK, token.getValue());
+        verify(contentVersionService).bump(ContentVersionService.SCOPE_ARTICLES);
+    }
+
+    @Test
+    void testRebuildRankings_ReappliesRefreshesMadeDuringRebuild() {
+        // Given
+        when(redisUtils.tryLock(anyString(), anyString(), anyLong())).thenReturn(true);
+        when(articleMapper.selectList(any())).thenReturn(Collections.emptyList());
+        when(redisUtils.eval(anyString(), anyList(), anyList())).thenReturn(0L);
+        Set<Object> pending = new LinkedHashSet<>(Collections.singletonList(7));
+        when(redisUtils.zReverseRange(ArticleRankingServiceImpl.PENDING_REFRESH, 0, -1)).thenReturn(pending);
+        // 文章已在重算期间下线
+        when(articleMapper.selectOne(any())).thenReturn(null);
+
+        // When
+        rankingService.rebuildRankings();
+
+        // Then
+        verify(redisUtils).zRemove(RedisConstants.Article.HOT_ARTICLES, 7L);
+        verify(redisUtils).zRemove(RedisConstants.Article.RECENT_ARTICLES, 7L);
+        verify(redisUtils).zRemove(RedisConstants.Article.RECOMMEND_ARTICLES, 7L);
+    }
+
+    @Test
+    void testRebuildRankings_SwapFailureDropsTemporaryKeys() {
+        // Given
+        when(redisUtils.tryLock(anyString(), anyString(), anyLong())).thenReturn(true);
+        when(articleMapper.selectList(any())).thenReturn(Collections.singletonList(article));
+        when(redisUtils.eval(anyString(), anyList(), anyList())).thenReturn(null);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> rankingService.rebuildRankings());
+        verify(redisUtils).delete(startsWith(RedisConstants.Article.HOT_ARTICLES + ":rebuilding:"));
+        verify(redisUtils).delete(startsWith(RedisConstants.Article.RECENT_ARTICLES + ":rebuilding:"));
+        verify(redisUtils).delete(startsWith(RedisConstants.Article.RECOMMEND_ARTICLES + ":rebuilding:"));
+        verify(redisUtils).unlock(eq(ArticleRankingServiceImpl.REBUILD_LOCK), anyString());
+        verify(contentVersionService, never()).bump(anyString());
+    }
+
+    @Test
+    void testRecordView_JournalsDeltaForRunningRebuild() {
+        // Given
+        when(redisUtils.zScore(RedisConstants.Article.RECENT_ARTICLES, 1L))
+                .thenReturn((double) System.currentTimeMillis());
+        when(redisUtils.hasKey(ArticleRankingServiceImpl.REBUILD_LOCK)).thenReturn(true);
+
+        // When
+        rankingService.recordView(1L);
+
+        // Then
+        verify(redisUtils).zIncrementScore(eq(ArticleRankingServiceImpl.PENDING_DELTAS), eq(1L), anyDouble());
+    }
+
+    @Test
+    void testRecordView_SkipsJournalWithoutRebuild() {
+        // Given
+        when(redisUtils.zScore(RedisConstants.Article.RECENT_ARTICLES, 1L))
+                .thenReturn((double) System.currentTimeMillis());
+        when(redisUtils.zScore(RedisConstants.Article.HOT_ARTICLES, 1L)).thenReturn(1.0);
+
+        // When
+        rankingService.recordView(1L);
+
+        // Then
+        verify(redisUtils, never()).zIncrementScore(eq(ArticleRankingServiceImpl.PENDING_DELTAS), any(), anyDouble());
+        verify(redisUtils).zIncrementScore(eq(RedisConstants.Article.HOT_ARTICLES), eq(1L), anyDouble());
+    }
+
+    @Test
+    void testRefreshArticle_TrimsHotRankingWithoutJournalWhenIdle() {
+        // Given
+        when(articleMapper.selectOne(any())).thenReturn(article);
+
+        // When
+        rankingService.refreshArticle(1L);
+
+        // Then
+        verify(redisUtils, never()).zAdd(eq(ArticleRankingServiceImpl.PENDING_REFRESH), anyMap());
+        verify(redisUtils).zAdd(eq(RedisConstants.Article.HOT_ARTICLES), anyMap());
+        verify(redisUtils).zRemoveRangeByRank(RedisConstants.Article.HOT_ARTICLES, 0,
+                -(ArticleRankingServiceImpl.MAX_RANKED + 1));
+    }
+}
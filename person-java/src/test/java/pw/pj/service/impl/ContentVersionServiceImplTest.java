@@ -0,0 +1,81 @@
+package pw.pj.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pw.pj.common.constants.RedisConstants;
+import pw.pj.common.constants.SystemConstants;
+import pw.pj.common.utils.RedisUtils;
+import pw.pj.service.ContentVersionService;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 内容版本服务单元测试
+ *
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+@ExtendWith(MockitoExtension.class)
+class ContentVersionServiceImplTest {
+
+    private static final String ARTICLES_KEY = RedisConstants.Http.CONTENT_VERSION
+            + ContentVersionService.SCOPE_ARTICLES;
+
+    @Mock
+    private RedisUtils redisUtils;
+
+    @InjectMocks
+    private ContentVersionServiceImpl contentVersionService;
+
+    @Test
+    void testCurrentVersions_ReturnsStoredValues() {
+        // Given
+        when(redisUtils.multiGet(anyList())).thenReturn(Arrays.asList(1700000000000L, 1700000001000L));
+
+        // When
+        long[] versions = contentVersionService.currentVersions(ContentVersionService.SCOPE_ARTICLES,
+                ContentVersionService.SCOPE_TAXONOMY);
+
+        // Then
+        assertArrayEquals(new long[]{1700000000000L, 1700000001000L}, versions);
+        verify(redisUtils, never()).setIfAbsent(anyString(), any(), anyLong());
+    }
+
+    @Test
+    void testCurrentVersions_MissingCounterInitializedWithExpire() {
+        // Given
+        when(redisUtils.multiGet(anyList())).thenReturn(Collections.singletonList(null));
+        when(redisUtils.setIfAbsent(eq(ARTICLES_KEY), anyLong(), anyLong())).thenReturn(true);
+        long before = System.currentTimeMillis();
+
+        // When
+        long[] versions = contentVersionService.currentVersions(ContentVersionService.SCOPE_ARTICLES);
+
+        // Then
+        assertTrue(versions[0] >= before);
+        verify(redisUtils).setIfAbsent(ARTICLES_KEY, versions[0], SystemConstants.Cache.EXPIRE_WEEK);
+    }
+
+    @Test
+    void testCurrentVersions_LostInitRaceReadsWinnerValue() {
+        // Given
+        when(redisUtils.multiGet(anyList())).thenReturn(Collections.singletonList(null));
+        when(redisUtils.setIfAbsent(eq(ARTICLES_KEY), anyLong(), anyLong())).thenReturn(false);
+        when(redisUtils.get(ARTICLES_KEY)).thenReturn(1600000000000L);
+
+        // When
+        long[] versions = contentVersionService.currentVersions(ContentVersionService.SCOPE_ARTICLES);
+
+        // Then
+        assertEquals(1600000000000L, versions[0]);
+    }
+}
@@ -0,0 +1,184 @@
+package pw.pj.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import pw.pj.common.config.SearchProperties;
+import pw.pj.common.search.SearchDocument;
+import pw.pj.common.search.SearchHits;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 本地搜索引擎单元测试
+ * 
+ * @author PersonWeb开发团队
+ * @version 1.0
+ * @since 2024-02-02
+ */
+class LocalSearchEngineTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SearchProperties searchProperties;
+
+    private LocalSearchEngine searchEngine;
+
+    @BeforeEach
+    void setUp() {
+        searchProperties = new SearchProperties();
+        searchProperties.setIndexDir(tempDir.toString());
+
+        searchEngine = newEngine();
+    }
+
+    private LocalSearchEngine newEngine() {
+        LocalSearchEngine engine = new LocalSearchEngine();
+        ReflectionTestUtils.setField(engine, "searchProperties", searchProperties);
+        // 手动初始化（模拟@PostConstruct）
+        engine.init();
+        return engine;
+    }
+
+    @Test
+    void testInit_NeedsBackfillWithoutSegment() {
+        // Then
+        assertEquals("local", searchEngine.getName());
+        assertTrue(searchEngine.needsBackfill());
+        assertEquals(0, searchEngine.count());
+    }
+
+    @Test
+    void testBulkIndexAndSearch() {
+        // Given
+        searchEngine.bulkIndex(Arrays.asList(
+                new SearchDocument(1L, "Elasticsearch 实战", "集群部署", "分片与副本", "{\"id\":1}"),
+                new SearchDocument(2L, "MySQL 索引", "B+树", "覆盖索引与 elasticsearch 对比", "{\"id\":2}")));
+
+        // When
+        SearchHits hits = searchEngine.search("elasticsearch", 0, 10);
+
+        // Then
+        assertEquals(2, hits.getTotal());
+        assertEquals(1L, hits.getHits().get(0).getDocId());
+        assertEquals("{\"id\":1}", hits.getHits().get(0).getStored());
+    }
+
+    @Test
+    void testBulkDelete() {
+        // Given
+        searchEngine.bulkIndex(Collections.singletonList(new SearchDocument(1L, "标题", "摘要", "正文", null)));
+
+        // When
+        searchEngine.bulkDelete(Arrays.asList(1L, 99L));
+
+        // Then
+        assertEquals(0, searchEngine.count());
+        assertEquals(0, searchEngine.search("标题", 0, 10).getTotal());
+    }
+
+    @Test
+    void testFlushAndReload() {
+        // Given
+        searchEngine.bulkIndex(Collections.singletonList(new SearchDocument(7L, "分布式检索", "", "", "{\"id\":7}")));
+
+        // When
+        searchEngine.flush();
+        LocalSearchEngine reloaded = newEngine();
+
+        // Then
+        assertTrue(Files.exists(tempDir.resolve("articles.seg")));
+        assertFalse(reloaded.needsBackfill());
+        assertEquals(1, reloaded.count());
+        assertEquals(7L, reloaded.search("检索", 0, 10).getHits().get(0).getDocId());
+    }
+
+    @Test
+    void testFlushAndReload_KeepsWatermark() {
+        // Given
+        searchEngine.bulkIndex(Collections.singletonList(new SearchDocument(7L, "分布式检索", "", "", null)));
+        searchEngine.advanceWatermark(2000L);
+        searchEngine.advanceWatermark(1000L);
+
+        // When
+        searchEngine.flush();
+        LocalSearchEngine reloaded = newEngine();
+
+        // Then
+        assertEquals(2000L, reloaded.getWatermark());
+    }
+
+    @Test
+    void testCommitRebuild_TakesLaterWatermark() {
+        // Given
+        searchEngine.advanceWatermark(5000L);
+        searchEngine.beginRebuild();
+        searchEngine.advanceWatermark(6000L);
+
+        // When
+        searchEngine.commitRebuild(3000L);
+
+        // Then
+        assertEquals(6000L, searchEngine.getWatermark());
+    }
+
+    @Test
+    void testReset() {
+        // Given
+        searchEngine.bulkIndex(Collections.singletonList(new SearchDocument(1L, "标题", "", "", null)));
+
+        // When
+        searchEngine.reset();
+
+        // Then
+        assertEquals(0, searchEngine.count());
+    }
+
+    @Test
+    void testRebuild_OldIndexServesUntilCommit() {
+        // Given
+        searchEngine.bulkIndex(Collections.singletonList(new SearchDocument(1L, "旧文章", "", "", null)));
+
+        // When
+        searchEngine.beginRebuild();
+        searchEngine.bulkIndexRebuild(Collections.singletonList(new SearchDocument(2L, "回填文章", "", "", null)));
+        searchEngine.bulkIndex(Collections.singletonList(new SearchDocument(3L, "新增文章", "", "", null)));
+        searchEngine.bulkDelete(Collections.singletonList(2L));
+
+        // Then：切换前检索旧索引，变更同时写入新旧索引
+        assertEquals(2, searchEngine.count());
+        assertEquals(1, searchEngine.search("旧文章", 0, 10).getTotal());
+
+        // When
+        searchEngine.commitRebuild(0);
+
+        // Then：切换后只保留回填与重建期间的变更
+        assertEquals(1, searchEngine.count());
+        assertEquals(0, searchEngine.search("旧文章", 0, 10).getTotal());
+        assertEquals(3L, searchEngine.search("新增", 0, 10).getHits().get(0).getDocId());
+        assertTrue(Files.exists(tempDir.resolve("articles.seg")));
+    }
+
+    @Test
+    void testAbortRebuild_IgnoresLateBackfill() {
+        // Given
+        searchEngine.bulkIndex(Collections.singletonList(new SearchDocument(1L, "旧文章", "", "", null)));
+        searchEngine.beginRebuild();
+
+        // When
+        searchEngine.abortRebuild();
+        searchEngine.bulkIndexRebuild(Collections.singletonList(new SearchDocument(2L, "回填文章", "", "", null)));
+        searchEngine.commitRebuild(0);
+
+        // Then
+        assertEquals(1, searchEngine.count());
+        assertEquals(1L, searchEngine.search("旧文章", 0, 10).getHits().get(0).getDocId());
+    }
+}
@@ -19,6 +19,82 @@ export const articleApi = {
         return http.get('/articles/page', params)
     },
 
+    /**
+     * 获取文章列表（游标分页，适用于无限滚动）
+     * @param {Object} params - 查询参数
+     * @param {string} params.cursor - 上一页返回的nextCursor，首页不传
+     * @param {number} params.size - 每页大小
+     * @param {boolean} params.withTotal - 是否返回近似总数
+     * @returns {Promise} 文章列表、nextCursor与hasMore
+     */
+    getArticleListByCursor: (params) => {
+        return http.get('/articles/cursor', params)
+    },
+
+    /**
+     * 获取分类下的文章列表（游标分页）
+     * @param {number} categoryId - 分类ID
+     * @param {Object} params - 查询参数，同 getArticleListByCursor
+     * @returns {Promise} 文章列表、nextCursor与hasMore
+     */
+    getArticlesByCategoryCursor: (categoryId, params) => {
+        return http.get(`/articles/category/${categoryId}/cursor`, params)
+    },
+
+    /**
+     * 获取标签下的文章列表（游标分页）
+     * @param {number} tagId - 标签ID
+     * @param {Object} params - 查询参数，同 getArticleListByCursor
+     * @returns {Promise} 文章列表、nextCursor与hasMore
+     */
+    getArticlesByTagCursor: (tagId, params) => {
+        return http.get(`/articles/tag/${tagId}/cursor`, params)
+    },
+
+    /**
+     * 按标签组合条件获取文章列表
+     * @param {Object} filter - 标签条件：all 同时包含、any 包含任一、none 排除，均为标签ID数组
+     * @param {Object} params - 分页参数 pageNum、pageSize
+     * @returns {Promise} 置顶在前、按文章ID倒序的分页结果
+     */
+    getArticlesByTagFilter: ({ all = [], any = [], none = [] } = {}, params = {}) => {
+        return http.get('/articles/tags/filter', {
+            ...params,
+            all: all.join(','),
+            any: any.join(','),
+            none: none.join(',')
+        })
+    },
+
+    /**
+     * 获取相关文章
+     * @param {number} id - 文章ID
+     * @param {number} limit - 返回数量
+     * @returns {Promise} 按相似度降序的相关文章列表
+     */
+    getRelatedArticles: (id, limit = 6) => {
+        return http.get(`/articles/${id}/related`, { limit })
+    },
+
+    /**
+     * 获取文章归档概览
+     * @returns {Promise} 按年月分组的文章数量
+     */
+    getArchiveSummary: () => {
+        return http.get('/articles/archive')
+    },
+
+    /**
+     * 分页获取某月归档的文章
+     * @param {number} year - 年
+     * @param {number} month - 月
+     * @param {Object} params - 分页参数 pageNum、pageSize
+     * @returns {Promise} 文章分页结果
+     */
+    getArchiveMonth: (year, month, params) => {
+        return http.get(`/articles/archive/${year}/${month}`, params)
+    },
+
     /**
      * 获取文章详情
      * @param {number} id - 文章ID
@@ -52,6 +128,71 @@ export const articleApi = {
         return http.put(`/articles/${id}`, articleData)
     },
 
+    /**
+     * 获取文章草稿
+     * @param {number} id - 文章ID
+     * @returns {Promise} 草稿正文及 contentHash
+     */
+    getArticleDraft: (id) => {
+        return http.get(`/articles/${id}/draft`)
+    },
+
+    /**
+     * 自动保存草稿
+     * @param {number} id - 文章ID
+     * @param {Object} draftData - 保存数据
+     * @param {string} draftData.baseHash - 补丁所基于的草稿哈希（上次响应的 contentHash）
+     * @param {Array} draftData.patches - 补丁列表 [{ start, deleteCount, text }]，位置相对基准正文、升序不重叠
+     * @param {string} draftData.content - 完整正文（与补丁二选一）
+     * @returns {Promise} 新的 contentHash；基准不一致时返回409，需重新获取草稿
+     */
+    autosaveArticleDraft: (id, draftData) => {
+        return http.put(`/articles/${id}/draft`, draftData)
+    },
+
+    /**
+     * 获取文章修订列表
+     * @param {number} id - 文章ID
+     * @param {number} limit - 返回数量
+     * @returns {Promise} 修订列表（不含正文）
+     */
+    getArticleRevisions: (id, limit = 50) => {
+        return http.get(`/articles/${id}/revisions`, { limit })
+    },
+
+    /**
+     * 获取修订详情
+     * @param {number} id - 文章ID
+     * @param {number} revisionNo - 修订号
+     * @returns {Promise} 修订正文
+     */
+    getArticleRevision: (id, revisionNo) => {
+        return http.get(`/articles/${id}/revisions/${revisionNo}`)
+    },
+
+    /**
+     * 把草稿恢复为指定修订
+     * @param {number} id - 文章ID
+     * @param {number} revisionNo - 修订号
+     * @returns {Promise} 恢复后的草稿
+     */
+    restoreArticleRevision: (id, revisionNo) => {
+        return http.post(`/articles/${id}/revisions/${revisionNo}/restore`)
+    },
+
+    /**
+     * 批量导入文章
+     * @param {string|Blob} lines - JSON Lines内容，每行一篇文章
+     * @returns {Promise} 导入结果（成功数、失败行号与原因）
+     */
+    importArticles: (lines) => {
+        return http.post('/articles/import', lines, {
+            headers: {
+                'Content-Type': 'application/x-ndjson'
+            }
+        })
+    },
+
     /**
      * 删除文章
      * @param {number} id - 文章ID
@@ -144,5 +285,15 @@ export const articleApi = {
      */
     searchArticles: (params) => {
         return http.get('/articles/search', params)
+    },
+
+    /**
+     * 搜索框输入联想（标签与文章标题，支持拼音首字母）
+     * @param {string} q - 用户输入
+     * @param {number} limit - 返回数量，默认8
+     * @returns {Promise} 联想结果列表，每项包含 type（tag/article）、id、text
+     */
+    suggest: (q, limit = 8) => {
+        return http.get('/suggest', { q, limit })
     }
 } 
\ No newline at end of file
@@ -88,5 +88,25 @@ export const tagApi = {
      */
     searchTags: (keyword) => {
         return http.get('/tags/search', { keyword })
+    },
+
+    /**
+     * 获取经常与该标签一起出现的相关标签
+     * @param {number} id - 标签ID
+     * @param {number} limit - 限制数量
+     * @returns {Promise} 相关标签列表
+     */
+    getRelatedTags: (id, limit = 10) => {
+        return http.get(`/tags/${id}/related`, { limit })
+    },
+
+    /**
+     * 编辑文章时根据已选标签推荐补充标签
+     * @param {number[]} tagIds - 已选标签ID
+     * @param {number} limit - 限制数量
+     * @returns {Promise} 推荐标签列表，不含已选标签
+     */
+    suggestTags: (tagIds, limit = 5) => {
+        return http.get('/tags/suggest', { tagIds: tagIds.join(','), limit })
     }
 } 
\ No newline at end of file